@@ -1,11 +1,21 @@
 package com.tapgame.tap_game;
 
+import com.tapgame.tap_game.bootstrap.ApplicationBootstrap;
+import com.tapgame.tap_game.bootstrap.StartupTimeline;
+import com.tapgame.tap_game.ui.ImageAssets;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Главный класс приложения "Тапалка Алабуга".
  * 
@@ -27,6 +37,11 @@ import javafx.stage.Stage;
  *   <li>Использует модульную систему Java 9+</li>
  * </ul>
  * 
+ * <p><strong>Запуск:</strong> окно с заставкой показывается сразу, а разметка игры,
+ * контекст Spring и клиент Telegram загружаются параллельно в фоне
+ * ({@link ApplicationBootstrap}). Время каждого этапа и первого кадра выводится
+ * в консоль отчетом {@link StartupTimeline}.
+ * 
  * @author Алабуга
  * @version 1.0
  * @since 1.0
@@ -36,20 +51,44 @@ import javafx.stage.Stage;
  */
 public class TapGameApplication extends Application {
 
+    /** Этапы запуска от старта JVM */
+    private final StartupTimeline timeline = new StartupTimeline();
+    
+    private ApplicationBootstrap bootstrap;
+    private CompletableFuture<Parent> gameView;
+
+    /**
+     * Подготовка приложения до создания окна.
+     * 
+     * <p>Вызывается JavaFX в потоке запуска до {@link #start(Stage)}.
+     * Запускает фоновое декодирование изображения гуся и фоновые этапы запуска:
+     * загрузку FXML, клиента Telegram и контекста Spring. К моменту показа окна
+     * они уже идут параллельно.
+     * 
+     * @see ImageAssets#preload(String, double, double)
+     * @see ApplicationBootstrap
+     */
+    @Override
+    public void init() {
+        timeline.mark("init");
+        ImageAssets.preload(ImageAssets.GOOSE, ImageAssets.GOOSE_SIZE, ImageAssets.GOOSE_SIZE);
+        bootstrap = new ApplicationBootstrap(timeline);
+        gameView = bootstrap.loadView(getClass().getResource("/fxml/goose_game.fxml"));
+        bootstrap.startServices();
+    }
+
     /**
      * Точка входа в JavaFX приложение.
      * 
      * <p>Этот метод вызывается автоматически JavaFX при запуске приложения.
      * Он выполняет следующие действия:
      * <ol>
-     *   <li>Загружает FXML файл с интерфейсом</li>
-     *   <li>Создает сцену с заданными размерами</li>
-     *   <li>Настраивает окно приложения</li>
-     *   <li>Отображает окно пользователю</li>
+     *   <li>Показывает окно с заставкой, не дожидаясь загрузки игры</li>
+     *   <li>Когда FXML загружен в фоне, подменяет заставку интерфейсом игры</li>
+     *   <li>Когда закончены все этапы запуска, выводит отчет о времени</li>
      * </ol>
      * 
      * @param primaryStage главное окно приложения, предоставляемое JavaFX
-     * @throws Exception если произошла ошибка при загрузке FXML или создании сцены
      * 
      * @see FXMLLoader#load(java.net.URL)
      * @see Stage#setTitle(String)
@@ -60,13 +99,54 @@ public class TapGameApplication extends Application {
      * @see Stage#show()
      */
     @Override
-    public void start(Stage primaryStage) throws Exception {
-        Parent root = FXMLLoader.load(getClass().getResource("/fxml/goose_game.fxml"));
+    public void start(Stage primaryStage) {
+        timeline.mark("fx-start");
+        Label status = new Label("Гусь просыпается...");
+        VBox placeholder = new VBox(12, new ProgressIndicator(), status);
+        placeholder.setAlignment(Pos.CENTER);
+        Scene scene = new Scene(placeholder, 600, 800);
+        markNextPulse(scene, "first-frame", () -> { });
+
         primaryStage.setTitle("Гусь-Тапалка");
-        primaryStage.setScene(new Scene(root, 600, 800));
+        primaryStage.setScene(scene);
         primaryStage.setMinWidth(600);
         primaryStage.setMinHeight(800);
         primaryStage.show();
+
+        gameView.whenComplete((root, error) -> Platform.runLater(() -> {
+            Runnable report = () -> bootstrap.whenReady().thenRun(() -> System.out.println(timeline.report()));
+            if (error != null) {
+                status.setText("Не удалось загрузить игру");
+                report.run();
+            } else {
+                markNextPulse(scene, "game-frame", report);
+                scene.setRoot(root);
+            }
+        }));
+    }
+
+    /**
+     * Отметка на шкале запуска после раскладки ближайшего кадра сцены.
+     */
+    private void markNextPulse(Scene scene, String name, Runnable then) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                timeline.mark(name);
+                then.run();
+            }
+        });
+    }
+
+    /**
+     * Остановка приложения: закрытие контекста Spring и потоков запуска.
+     */
+    @Override
+    public void stop() {
+        if (bootstrap != null) {
+            bootstrap.close();
+        }
     }
 
     /**
@@ -75,6 +155,10 @@ public class TapGameApplication extends Application {
      * <p>Этот метод является точкой входа в приложение. Он запускает JavaFX приложение
      * с помощью метода {@link Application#launch(String...)}.
      * 
+     * <p>До создания любого HTTP-сервера включает {@code TCP_NODELAY} для API Mini App
+     * (см. {@link com.tapgame.tap_game.webapp.MiniAppServer}), если флаг
+     * {@code -Dsun.net.httpserver.nodelay} не задан в командной строке.
+     * 
      * <p><strong>Пример использования:</strong>
      * <pre>{@code
      * // Запуск приложения
@@ -89,6 +173,9 @@ public class TapGameApplication extends Application {
      * @see Application#launch(String...)
      */
     public static void main(String[] args) {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
         launch(args);
     }
 }
@@ -0,0 +1,152 @@
+package com.tapgame.tap_game.balance;
+
+import com.tapgame.tap_game.models.EconomyConfig;
+
+import java.util.Arrays;
+
+/**
+ * Результат симуляции экономики.
+ *
+ * <p>Содержит:
+ * <ul>
+ *   <li>Распределение времени достижения каждой контрольной точки
+ *       (процентили по игрокам, которые ее достигли) и долю таких игроков</li>
+ *   <li>Выпуск монет по часам на всех игроков и его средний часовой рост</li>
+ * </ul>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see EconomySimulator
+ */
+public class EconomyReport {
+
+    private final EconomyConfig economy;
+    private final PlayerStrategy strategy;
+    private final int players;
+    /** Отсортированные времена достижения (только достигшие), по контрольным точкам */
+    private final int[][] reachedSeconds;
+    private final double[] coinsByHour;
+
+    EconomyReport(EconomyConfig economy, PlayerStrategy strategy, int players,
+                  int[][] reachedAt, double[] coinsByHour) {
+        this.economy = economy;
+        this.strategy = strategy;
+        this.players = players;
+        this.coinsByHour = coinsByHour;
+        this.reachedSeconds = new int[reachedAt.length][];
+        for (int m = 0; m < reachedAt.length; m++) {
+            reachedSeconds[m] = sortedNonNegative(reachedAt[m]);
+        }
+    }
+
+    private static int[] sortedNonNegative(int[] times) {
+        int[] result = Arrays.stream(times).filter(t -> t >= 0).toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * @return параметры экономики симуляции
+     */
+    public EconomyConfig getEconomy() {
+        return economy;
+    }
+
+    /**
+     * @return стратегия игроков
+     */
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return количество игроков
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * @param milestone контрольная точка
+     * @return доля игроков, достигших точки за время симуляции (от 0 до 1)
+     */
+    public double getReachedFraction(Milestone milestone) {
+        return reachedSeconds[milestone.ordinal()].length / (double) players;
+    }
+
+    /**
+     * Процентиль времени достижения среди игроков, достигших точки.
+     *
+     * @param milestone контрольная точка
+     * @param percentile процентиль от 0 до 100
+     * @return время в секундах или -1, если точку не достиг никто
+     */
+    public int getSecondsPercentile(Milestone milestone, double percentile) {
+        return percentile(reachedSeconds[milestone.ordinal()], percentile);
+    }
+
+    private static int percentile(int[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return -1;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank))];
+    }
+
+    /**
+     * @return выпуск монет (заработок всех игроков) по часам
+     */
+    public double[] getCoinsByHour() {
+        return coinsByHour.clone();
+    }
+
+    /**
+     * Средний часовой рост выпуска монет во второй половине симуляции.
+     *
+     * <p>Первые часы искажены стартом игроков, поэтому рост считается
+     * как среднее геометрическое по второй половине часов.
+     *
+     * @return рост в процентах за час
+     */
+    public double getHourlySupplyGrowthPercent() {
+        int from = coinsByHour.length / 2;
+        int to = coinsByHour.length - 1;
+        if (to <= from || coinsByHour[from] <= 0) {
+            return 0;
+        }
+        return (Math.pow(coinsByHour[to] / coinsByHour[from], 1.0 / (to - from)) - 1) * 100;
+    }
+
+    /**
+     * Форматированный отчет для консоли.
+     *
+     * @return многострочный отчет
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("📊 %s, %d игроков, %s%n", strategy, players, economy));
+        for (Milestone milestone : Milestone.values()) {
+            report.append(String.format("  %-18s достигли %5.1f%%  p10 %s  p50 %s  p90 %s%n",
+                    milestone.getTitle(),
+                    getReachedFraction(milestone) * 100,
+                    formatDuration(getSecondsPercentile(milestone, 10)),
+                    formatDuration(getSecondsPercentile(milestone, 50)),
+                    formatDuration(getSecondsPercentile(milestone, 90))));
+        }
+        double total = Arrays.stream(coinsByHour).sum();
+        report.append(String.format("  Выпуск монет: %.3g всего, %.3g за последний час, рост %.2f%%/час%n",
+                total, coinsByHour[coinsByHour.length - 1], getHourlySupplyGrowthPercent()));
+        return report.toString();
+    }
+
+    /**
+     * @param seconds длительность в секундах или -1
+     * @return длительность вида {@code 12ч05м} или прочерк
+     */
+    static String formatDuration(int seconds) {
+        if (seconds < 0) {
+            return "   —   ";
+        }
+        return String.format("%3dч%02dм", seconds / 3600, seconds / 60 % 60);
+    }
+}
@@ -0,0 +1,215 @@
+package com.tapgame.tap_game.balance;
+
+import com.tapgame.tap_game.models.EconomyConfig;
+import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.LargeNumber;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Симулятор игровой экономики методом Монте-Карло.
+ *
+ * <p>Прогоняет множество виртуальных игроков через настоящую игровую логику
+ * ({@link GooseGameState} и {@link GameState}) с заданными параметрами
+ * экономики и стратегией поведения:
+ * <ul>
+ *   <li>Во время сессии игрок каждую секунду кликает, получает пассивный доход
+ *       и совершает покупки по своей стратегии</li>
+ *   <li>Между сессиями начисляется только пассивный доход (одним вызовом на час)</li>
+ *   <li>Квесты основной игры выполняются по одному за сессию</li>
+ * </ul>
+ *
+ * <p>Игроки независимы, поэтому делятся между потоками {@link ForkJoinPool}
+ * без общих изменяемых данных: каждая задача пишет время достижения целей
+ * в свой диапазон массива, а почасовой выпуск монет суммируется при слиянии.
+ * Генератор случайных чисел каждого игрока выводится из общего зерна и номера
+ * игрока, поэтому результат не зависит от количества потоков.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * EconomyReport report = new EconomySimulator(EconomyConfig.DEFAULT, PlayerStrategy.OPTIMIZER, 10_000, 72, 1)
+ *         .run(ForkJoinPool.commonPool());
+ * System.out.println(report.format());
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see EconomySweep
+ */
+public class EconomySimulator {
+
+    /** Количество игроков, которые задача симулирует сама, не разделяясь */
+    private static final int PLAYERS_PER_TASK = 64;
+
+    private static final int HOUR_SECONDS = 60 * 60;
+
+    /** Количество квестов основной игры */
+    private static final String[] QUESTS = {"telegram", "dzen", "portal"};
+
+    private final EconomyConfig economy;
+    private final PlayerStrategy strategy;
+    private final int players;
+    private final int horizonHours;
+    private final long seed;
+
+    /**
+     * @param economy параметры экономики
+     * @param strategy стратегия всех игроков
+     * @param players количество игроков
+     * @param horizonHours длительность симуляции в часах
+     * @param seed зерно генератора случайных чисел
+     * @throws IllegalArgumentException если количество игроков или длительность не положительны
+     */
+    public EconomySimulator(EconomyConfig economy, PlayerStrategy strategy, int players, int horizonHours, long seed) {
+        if (players <= 0 || horizonHours <= 0) {
+            throw new IllegalArgumentException("Количество игроков и длительность должны быть положительными");
+        }
+        this.economy = economy;
+        this.strategy = strategy;
+        this.players = players;
+        this.horizonHours = horizonHours;
+        this.seed = seed;
+    }
+
+    /**
+     * Запуск симуляции.
+     *
+     * @param pool пул потоков
+     * @return отчет по всем игрокам
+     */
+    public EconomyReport run(ForkJoinPool pool) {
+        int[][] reachedAt = new int[Milestone.values().length][players];
+        for (int[] times : reachedAt) {
+            Arrays.fill(times, -1);
+        }
+        double[] coinsByHour = pool.invoke(new PlayersTask(0, players, reachedAt));
+        return new EconomyReport(economy, strategy, players, reachedAt, coinsByHour);
+    }
+
+    /**
+     * Симуляция одного игрока.
+     *
+     * @param index номер игрока
+     * @param reachedAt время достижения целей (заполняется для этого игрока)
+     * @param coinsByHour выпуск монет по часам (прибавляется заработок этого игрока)
+     */
+    private void simulatePlayer(int index, int[][] reachedAt, double[] coinsByHour) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        GooseGameState goose = new GooseGameState(economy);
+        LargeNumber balance = new LargeNumber();
+        GameState game = new GameState(economy);
+        Milestone[] milestones = Milestone.values();
+        int horizon = horizonHours * HOUR_SECONDS;
+        int sessionGap = PlayerStrategy.DAY_SECONDS / strategy.getSessionsPerDay() - strategy.getSessionSeconds();
+        int questsDone = 0;
+        int pending = milestones.length;
+
+        // Первая сессия начинается в случайный момент первого интервала
+        int time = random.nextInt(Math.max(1, sessionGap));
+        creditOffline(goose, balance, 0, time, coinsByHour);
+
+        while (time < horizon) {
+            // Сессия: длительность случайна в пределах 50%-150% от средней
+            int sessionEnd = Math.min(horizon, time + jitter(random, strategy.getSessionSeconds()));
+            if (questsDone < QUESTS.length) {
+                game.completeQuest(QUESTS[questsDone++], time * 1000L);
+            }
+            for (; time < sessionEnd; time++) {
+                double before = goose.readCoins(balance).doubleValue();
+                int taps = random.nextInt(2 * strategy.getTapsPerSecond() + 1);
+                for (int t = 0; t < taps; t++) {
+                    goose.tapGoose();
+                }
+                goose.addPassiveIncome(1000);
+                coinsByHour[time / HOUR_SECONDS] += goose.readCoins(balance).doubleValue() - before;
+
+                strategy.spendGoose(goose, economy);
+                strategy.spendMain(game);
+                if (pending > 0) {
+                    pending -= markReached(milestones, goose, game, index, time + 1, reachedAt);
+                }
+            }
+
+            // Перерыв между сессиями
+            int offlineEnd = Math.min(horizon, time + jitter(random, sessionGap));
+            creditOffline(goose, balance, time, offlineEnd, coinsByHour);
+            time = offlineEnd;
+        }
+    }
+
+    /**
+     * Начисление пассивного дохода за перерыв, по одному вызову на каждый затронутый час.
+     */
+    private static void creditOffline(GooseGameState goose, LargeNumber balance, int from, int to, double[] coinsByHour) {
+        int time = from;
+        while (time < to) {
+            int chunkEnd = Math.min(to, (time / HOUR_SECONDS + 1) * HOUR_SECONDS);
+            double before = goose.readCoins(balance).doubleValue();
+            goose.addPassiveIncome((chunkEnd - time) * 1000L);
+            coinsByHour[time / HOUR_SECONDS] += goose.readCoins(balance).doubleValue() - before;
+            time = chunkEnd;
+        }
+    }
+
+    private static int markReached(Milestone[] milestones, GooseGameState goose, GameState game,
+                                   int index, int time, int[][] reachedAt) {
+        int newlyReached = 0;
+        for (Milestone milestone : milestones) {
+            int[] times = reachedAt[milestone.ordinal()];
+            if (times[index] < 0 && milestone.isReached(goose, game)) {
+                times[index] = time;
+                newlyReached++;
+            }
+        }
+        return newlyReached;
+    }
+
+    private static int jitter(SplittableRandom random, int mean) {
+        return Math.max(1, mean / 2 + random.nextInt(Math.max(1, mean)));
+    }
+
+    /**
+     * Задача fork/join над диапазоном игроков.
+     *
+     * <p>Возвращает выпуск монет по часам для своего диапазона.
+     */
+    private final class PlayersTask extends RecursiveTask<double[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int[][] reachedAt;
+
+        PlayersTask(int from, int to, int[][] reachedAt) {
+            this.from = from;
+            this.to = to;
+            this.reachedAt = reachedAt;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= PLAYERS_PER_TASK) {
+                double[] coinsByHour = new double[horizonHours];
+                for (int i = from; i < to; i++) {
+                    simulatePlayer(i, reachedAt, coinsByHour);
+                }
+                return coinsByHour;
+            }
+            int middle = (from + to) >>> 1;
+            PlayersTask left = new PlayersTask(from, middle, reachedAt);
+            left.fork();
+            double[] right = new PlayersTask(middle, to, reachedAt).compute();
+            double[] result = left.join();
+            for (int hour = 0; hour < result.length; hour++) {
+                result[hour] += right[hour];
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tapgame.tap_game.balance;
+
+import com.tapgame.tap_game.models.EconomyConfig;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Перебор параметров экономики на симуляторе.
+ *
+ * <p>Для каждой комбинации множителя роста стоимости, базовой стоимости
+ * автокликера и стоимости билетика запускает {@link EconomySimulator} со всеми
+ * стратегиями и печатает медианное время достижения целей и рост выпуска монет.
+ * Все симуляции используют общий {@link ForkJoinPool}, то есть все ядра.
+ *
+ * <p>Запуск: {@code java -cp ... com.tapgame.tap_game.balance.EconomySweep [игроков] [часов] [зерно]}
+ * (по умолчанию 2000 игроков, 72 часа, зерно 1).
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ */
+public final class EconomySweep {
+
+    private static final double[] COST_GROWTH = {1.3, 1.4, 1.5, 1.6, 1.7};
+    private static final int[] AUTO_CLICKER_BASE_COST = {25, 50, 100};
+    private static final int[] TICKET_PRICE = {20, 50};
+
+    private EconomySweep() {
+    }
+
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int hours = args.length > 1 ? Integer.parseInt(args[1]) : 72;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+
+        System.out.printf("🎲 [Balance] %d игроков, %d ч, зерно %d, потоков: %d%n",
+                players, hours, seed, pool.getParallelism());
+        System.out.print(String.format("%-10s %5s %5s %5s", "Стратегия", "Рост", "Авто", "Билет"));
+        for (Milestone milestone : Milestone.values()) {
+            System.out.printf(" %15s", milestone.getTitle());
+        }
+        System.out.printf(" %12s%n", "Выпуск/час");
+
+        long start = System.nanoTime();
+        for (double growth : COST_GROWTH) {
+            for (int autoCost : AUTO_CLICKER_BASE_COST) {
+                for (int ticketPrice : TICKET_PRICE) {
+                    EconomyConfig economy = EconomyConfig.DEFAULT
+                            .withUpgradeCostGrowth(growth)
+                            .withAutoClickerBaseCost(autoCost)
+                            .withTicketPrice(ticketPrice);
+                    for (PlayerStrategy strategy : PlayerStrategy.values()) {
+                        EconomyReport report = new EconomySimulator(economy, strategy, players, hours, seed).run(pool);
+                        printRow(report);
+                    }
+                }
+            }
+        }
+        System.out.printf("✅ [Balance] Перебор завершен за %.1f с%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void printRow(EconomyReport report) {
+        EconomyConfig economy = report.getEconomy();
+        StringBuilder row = new StringBuilder(String.format("%-10s %5.2f %5d %5d",
+                report.getStrategy(), economy.upgradeCostGrowth(), economy.autoClickerBaseCost(), economy.ticketPrice()));
+        for (Milestone milestone : Milestone.values()) {
+            row.append(String.format(" %8s (%3.0f%%)",
+                    EconomyReport.formatDuration(report.getSecondsPercentile(milestone, 50)).trim(),
+                    report.getReachedFraction(milestone) * 100));
+        }
+        row.append(String.format(" %+11.2f%%", report.getHourlySupplyGrowthPercent()));
+        System.out.println(row);
+    }
+}
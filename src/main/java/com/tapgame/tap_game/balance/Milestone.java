@@ -0,0 +1,93 @@
+package com.tapgame.tap_game.balance;
+
+import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.LargeNumber;
+
+/**
+ * Контрольные точки прогресса игрока, время достижения которых измеряет симулятор.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see EconomySimulator
+ */
+public enum Milestone {
+
+    /** Первый автокликер */
+    FIRST_AUTO_CLICKER("Первый автокликер") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return goose.getAutoClickerLevel() >= 1;
+        }
+    },
+
+    /** Автокликер 5 уровня */
+    AUTO_CLICKER_5("Автокликер 5") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return goose.getAutoClickerLevel() >= 5;
+        }
+    },
+
+    /** Сила клика 10 уровня */
+    CLICK_POWER_10("Клик 10") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return goose.getClickPowerLevel() >= 10;
+        }
+    },
+
+    /** Автокликер 15 уровня */
+    AUTO_CLICKER_15("Автокликер 15") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return goose.getAutoClickerLevel() >= 15;
+        }
+    },
+
+    /** Баланс вышел за пределы {@code long} (хранится в большом виде {@link LargeNumber}) */
+    BEYOND_LONG("Баланс > 10^18") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return goose.getCoins() >= LargeNumber.EXACT_LIMIT;
+        }
+    },
+
+    /** Все квесты выполнены */
+    ALL_QUESTS("Все квесты") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return game.getQuestCompletions() >= 3;
+        }
+    },
+
+    /** Первый купленный билетик */
+    FIRST_TICKET("Первый билетик") {
+        @Override
+        boolean isReached(GooseGameState goose, GameState game) {
+            return game.getTicketsBought() >= 1;
+        }
+    };
+
+    private final String title;
+
+    Milestone(String title) {
+        this.title = title;
+    }
+
+    /**
+     * @return название для отчета
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Проверка достижения контрольной точки.
+     *
+     * @param goose состояние мини-игры "Гусь"
+     * @param game состояние основной игры
+     * @return {@code true}, если точка достигнута
+     */
+    abstract boolean isReached(GooseGameState goose, GameState game);
+}
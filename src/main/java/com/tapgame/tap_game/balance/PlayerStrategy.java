@@ -0,0 +1,144 @@
+package com.tapgame.tap_game.balance;
+
+import com.tapgame.tap_game.models.EconomyConfig;
+import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.GooseGameState;
+
+/**
+ * Модели поведения игроков для симулятора экономики.
+ *
+ * <p>Стратегия задает активность игрока (частоту и длину игровых сессий,
+ * скорость кликов) и правило покупки улучшений. Покупки совершаются только
+ * во время сессии, пассивный доход начисляется всегда.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see EconomySimulator
+ */
+public enum PlayerStrategy {
+
+    /** Заходит ненадолго, покупает самое дешевое улучшение */
+    CASUAL(2, 180, 6) {
+        @Override
+        void spendGoose(GooseGameState goose, EconomyConfig economy) {
+            for (int i = 0; i < MAX_PURCHASES_PER_SECOND; i++) {
+                boolean bought = goose.getClickPowerUpgradeCost() <= goose.getAutoClickerUpgradeCost()
+                        ? goose.upgradeClickPower()
+                        : goose.upgradeAutoClicker();
+                if (!bought) {
+                    return;
+                }
+            }
+        }
+    },
+
+    /** Много кликает, вкладывается только в силу клика */
+    CLICKER(6, 600, 8) {
+        @Override
+        void spendGoose(GooseGameState goose, EconomyConfig economy) {
+            for (int i = 0; i < MAX_PURCHASES_PER_SECOND && goose.upgradeClickPower(); i++) {
+                // Покупаем, пока хватает монет
+            }
+        }
+    },
+
+    /** Почти не кликает, вкладывается только в автокликер */
+    IDLER(1, 60, 12) {
+        @Override
+        void spendGoose(GooseGameState goose, EconomyConfig economy) {
+            for (int i = 0; i < MAX_PURCHASES_PER_SECOND && goose.upgradeAutoClicker(); i++) {
+                // Покупаем, пока хватает монет
+            }
+        }
+    },
+
+    /** Выбирает улучшение с наименьшим сроком окупаемости */
+    OPTIMIZER(4, 300, 8) {
+        @Override
+        void spendGoose(GooseGameState goose, EconomyConfig economy) {
+            double onlineShare = getOnlineShare();
+            double growth = economy.upgradeCostGrowth();
+            for (int i = 0; i < MAX_PURCHASES_PER_SECOND; i++) {
+                // Оценки в double: стоимости могут выходить за пределы long
+                int clickLevel = goose.getClickPowerLevel();
+                double clickCost = economy.clickPowerBaseCost() * Math.pow(growth, clickLevel - 1);
+                double autoCost = economy.autoClickerBaseCost() * Math.pow(growth, goose.getAutoClickerLevel());
+                // Прирост дохода в секунду, усредненный по суткам
+                double clickGain = getTapsPerSecond() * Math.pow(2, clickLevel - 1) * onlineShare;
+                double autoGain = economy.autoClickerCoinsPerSecond();
+                double clickPayback = clickCost / clickGain;
+                double autoPayback = autoCost / autoGain;
+                boolean bought = clickPayback <= autoPayback ? goose.upgradeClickPower() : goose.upgradeAutoClicker();
+                if (!bought) {
+                    return;
+                }
+            }
+        }
+    };
+
+    /**
+     * Предел покупок за секунду: живой игрок не нажимает кнопку чаще, а без
+     * предела стратегия при взрывном росте экономики покупала бы уровни бесконечно.
+     */
+    static final int MAX_PURCHASES_PER_SECOND = 10;
+
+    /** Длительность суток в секундах */
+    static final int DAY_SECONDS = 24 * 60 * 60;
+
+    private final int tapsPerSecond;
+    private final int sessionSeconds;
+    private final int sessionsPerDay;
+
+    PlayerStrategy(int tapsPerSecond, int sessionSeconds, int sessionsPerDay) {
+        this.tapsPerSecond = tapsPerSecond;
+        this.sessionSeconds = sessionSeconds;
+        this.sessionsPerDay = sessionsPerDay;
+    }
+
+    /**
+     * @return средняя скорость кликов во время сессии
+     */
+    public int getTapsPerSecond() {
+        return tapsPerSecond;
+    }
+
+    /**
+     * @return средняя длительность сессии в секундах
+     */
+    public int getSessionSeconds() {
+        return sessionSeconds;
+    }
+
+    /**
+     * @return количество сессий в сутки
+     */
+    public int getSessionsPerDay() {
+        return sessionsPerDay;
+    }
+
+    /**
+     * @return доля времени, которую игрок проводит в игре
+     */
+    double getOnlineShare() {
+        return (double) sessionSeconds * sessionsPerDay / DAY_SECONDS;
+    }
+
+    /**
+     * Покупки в мини-игре "Гусь" во время сессии.
+     *
+     * @param goose состояние мини-игры
+     * @param economy параметры экономики
+     */
+    abstract void spendGoose(GooseGameState goose, EconomyConfig economy);
+
+    /**
+     * Покупки в основной игре: сначала улучшение награды, затем билетики.
+     *
+     * @param game состояние основной игры
+     */
+    void spendMain(GameState game) {
+        while (game.upgradeReward() || game.buyTicket()) {
+            // Покупаем, пока хватает монет
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.tapgame.tap_game.bootstrap;
+
+import com.tapgame.tap_game.config.TelegramBotConfig;
+import com.tapgame.tap_game.services.TelegramService;
+import com.tapgame.tap_game.webapp.MiniAppServer;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.telegram.telegrambots.meta.TelegramBotsApi;
+
+import java.net.URL;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Параллельный запуск приложения в фоне.
+ *
+ * <p>Окно показывается сразу с заставкой, а все тяжелое идет параллельно в потоках
+ * {@code startup-N}, каждое своим этапом {@link StartupTimeline}:
+ * <ul>
+ *   <li>{@code fxml} - загрузка разметки и контроллера игры. Узлы JavaFX можно создавать
+ *       в любом потоке, пока они не попали в показанную сцену</li>
+ *   <li>{@code telegram-client} - {@link TelegramService}: настройки, HTTP-клиент, шаблоны</li>
+ *   <li>{@code spring} - контекст Spring. Бины конфигурации ленивые, поэтому здесь только
+ *       разбор определений; клиент Telegram регистрируется бином, который ждет этап
+ *       {@code telegram-client}, а не создает второй экземпляр</li>
+ *   <li>{@code bot-session} - {@link TelegramBotsApi} после контекста, если токен бота задан</li>
+ *   <li>{@code mini-app} - {@link MiniAppServer} после контекста, если заданы токен бота и
+ *       порт {@code miniapp.port}</li>
+ * </ul>
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * ApplicationBootstrap bootstrap = new ApplicationBootstrap(timeline);
+ * CompletableFuture<Parent> view = bootstrap.loadView(getClass().getResource("/fxml/goose_game.fxml"));
+ * bootstrap.startServices();
+ * view.thenAccept(root -> Platform.runLater(() -> scene.setRoot(root)));
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see StartupTimeline
+ */
+public class ApplicationBootstrap implements AutoCloseable {
+
+    /** Потоков запуска: этапы {@code fxml}, {@code telegram-client} и {@code spring} идут одновременно */
+    private static final int THREADS = 3;
+
+    private final StartupTimeline timeline;
+    private final ExecutorService executor;
+
+    private CompletableFuture<TelegramService> telegramClient;
+    private CompletableFuture<AnnotationConfigApplicationContext> context;
+    private CompletableFuture<TelegramBotsApi> botSession;
+    private CompletableFuture<MiniAppServer> miniApp;
+
+    /**
+     * @param timeline шкала, в которую записываются этапы
+     */
+    public ApplicationBootstrap(StartupTimeline timeline) {
+        this.timeline = timeline;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(THREADS, task -> {
+            Thread thread = new Thread(task, "startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Загрузка FXML в фоне.
+     *
+     * @param fxml разметка
+     * @return корневой узел; его нужно вставить в сцену в потоке JavaFX
+     */
+    public CompletableFuture<Parent> loadView(URL fxml) {
+        return run("fxml", () -> FXMLLoader.load(fxml));
+    }
+
+    /**
+     * Запуск клиента Telegram, контекста Spring, сессии бота и API Mini App.
+     *
+     * @return контекст Spring, готовый после этапа {@code spring}
+     */
+    public CompletableFuture<AnnotationConfigApplicationContext> startServices() {
+        telegramClient = run("telegram-client", TelegramService::new);
+        context = run("spring", this::createContext);
+        botSession = context.thenApplyAsync(started -> {
+            if (!hasBotToken(started.getBean(TelegramBotConfig.class))) {
+                return null;
+            }
+            StartupTimeline.Phase phase = timeline.begin("bot-session");
+            TelegramBotsApi api = started.getBean(TelegramBotsApi.class);
+            phase.end();
+            return api;
+        }, executor);
+        miniApp = context.thenApplyAsync(started -> {
+            TelegramBotConfig config = started.getBean(TelegramBotConfig.class);
+            // Без токена бота подпись initData проверить нечем
+            if (!hasBotToken(config) || !config.isMiniAppEnabled()) {
+                return null;
+            }
+            StartupTimeline.Phase phase = timeline.begin("mini-app");
+            try {
+                return started.getBean(MiniAppServer.class);
+            } finally {
+                phase.end();
+            }
+        }, executor);
+        return context;
+    }
+
+    /**
+     * @return клиент Telegram, готовый после этапа {@code telegram-client}
+     */
+    public CompletableFuture<TelegramService> getTelegramClient() {
+        return telegramClient;
+    }
+
+    /**
+     * @return API ботов ({@code null}, если токен не задан) после этапа {@code bot-session}
+     */
+    public CompletableFuture<TelegramBotsApi> getBotSession() {
+        return botSession;
+    }
+
+    /**
+     * @return API Mini App ({@code null}, если не включен) после этапа {@code mini-app}
+     */
+    public CompletableFuture<MiniAppServer> getMiniApp() {
+        return miniApp;
+    }
+
+    /**
+     * @return завершается, когда закончены все фоновые этапы (успешно или с ошибкой)
+     */
+    public CompletableFuture<Void> whenReady() {
+        return CompletableFuture.allOf(telegramClient, context, botSession, miniApp)
+                .handle((ignored, error) -> null);
+    }
+
+    /**
+     * Выполнение этапа в потоке запуска. Ошибка этапа выводится в лог и завершает
+     * результат исключительно, не мешая остальным этапам.
+     *
+     * @param phase имя этапа
+     * @param task работа этапа
+     * @param <T> тип результата
+     * @return результат этапа
+     */
+    public <T> CompletableFuture<T> run(String phase, Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            StartupTimeline.Phase running = timeline.begin(phase);
+            try {
+                return task.call();
+            } catch (Exception e) {
+                System.err.println("❌ [Startup] Этап " + phase + " завершился ошибкой: " + e.getMessage());
+                throw new CompletionException(e);
+            } finally {
+                running.end();
+            }
+        }, executor);
+    }
+
+    private static boolean hasBotToken(TelegramBotConfig config) {
+        String token = config.getBotToken();
+        return token != null && !token.isEmpty() && !token.equals("YOUR_BOT_TOKEN_HERE");
+    }
+
+    private AnnotationConfigApplicationContext createContext() {
+        AnnotationConfigApplicationContext created = new AnnotationConfigApplicationContext();
+        created.register(TelegramBotConfig.class);
+        // Бин получает экземпляр параллельного этапа при первом обращении
+        created.registerBean(TelegramService.class, telegramClient::join, definition -> definition.setLazyInit(true));
+        created.refresh();
+        return created;
+    }
+
+    /**
+     * Закрытие контекста Spring (если он успел запуститься) и потоков запуска.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        if (context != null) {
+            context.thenAccept(AnnotationConfigApplicationContext::close);
+        }
+    }
+}
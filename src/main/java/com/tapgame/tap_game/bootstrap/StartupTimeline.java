@@ -0,0 +1,135 @@
+package com.tapgame.tap_game.bootstrap;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Временная шкала запуска приложения.
+ *
+ * <p>Все отметки отсчитываются от старта JVM, поэтому в отчет попадает и время до
+ * {@code main}: загрузка классов JavaFX, запуск инструментария. Этапы, идущие
+ * параллельно в разных потоках, записываются независимо; отчет сортирует их по началу.
+ *
+ * <p>Потокобезопасна.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * StartupTimeline timeline = new StartupTimeline();
+ * StartupTimeline.Phase phase = timeline.begin("spring");
+ * context.refresh();
+ * phase.end();
+ * timeline.mark("first-frame");
+ * System.out.println(timeline.report());
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see ApplicationBootstrap
+ */
+public final class StartupTimeline {
+
+    /**
+     * Запись этапа: начало и конец в наносекундах от старта JVM.
+     * У мгновенной отметки начало совпадает с концом.
+     */
+    private record Entry(String name, String thread, long startNanos, long endNanos) {
+    }
+
+    /**
+     * Незавершенный этап.
+     */
+    public final class Phase {
+
+        private final String name;
+        private final long startNanos;
+
+        private Phase(String name) {
+            this.name = name;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Завершение этапа; записывается поток, в котором он шел.
+         */
+        public void end() {
+            entries.add(new Entry(name, Thread.currentThread().getName(),
+                    startNanos - originNanos, System.nanoTime() - originNanos));
+        }
+    }
+
+    /** Момент старта JVM по шкале {@link System#nanoTime()} */
+    private final long originNanos;
+    private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Шкала с началом в момент старта JVM.
+     */
+    public StartupTimeline() {
+        long sinceJvmStartMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        this.originNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(Math.max(0, sinceJvmStartMillis));
+    }
+
+    /**
+     * Начало этапа.
+     *
+     * @param name имя этапа
+     * @return этап, который нужно завершить {@link Phase#end()}
+     */
+    public Phase begin(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Мгновенная отметка (например, первый кадр).
+     *
+     * @param name имя отметки
+     */
+    public void mark(String name) {
+        long now = System.nanoTime() - originNanos;
+        entries.add(new Entry(name, Thread.currentThread().getName(), now, now));
+    }
+
+    /**
+     * @param name имя этапа или отметки
+     * @return время окончания от старта JVM в миллисекундах или {@code -1}, если записи нет
+     */
+    public long getMillis(String name) {
+        for (Entry entry : entries) {
+            if (entry.name().equals(name)) {
+                return TimeUnit.NANOSECONDS.toMillis(entry.endNanos());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Отчет: по строке на этап в порядке начала.
+     *
+     * <pre>
+     * ⏱️ [Startup] Запуск от старта JVM:
+     *   first-frame     +412 мс                  JavaFX Application Thread
+     *   spring          +405 мс ... +903 мс (498 мс)  startup-2
+     * </pre>
+     *
+     * @return текст отчета
+     */
+    public String report() {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(Entry::startNanos));
+        StringBuilder report = new StringBuilder("⏱️ [Startup] Запуск от старта JVM:");
+        for (Entry entry : sorted) {
+            long start = TimeUnit.NANOSECONDS.toMillis(entry.startNanos());
+            long end = TimeUnit.NANOSECONDS.toMillis(entry.endNanos());
+            String timing = entry.startNanos() == entry.endNanos()
+                    ? "+" + end + " мс"
+                    : "+" + start + " мс ... +" + end + " мс (" + (end - start) + " мс)";
+            report.append(String.format("%n  %-16s %-32s %s", entry.name(), timing, entry.thread()));
+        }
+        return report.toString();
+    }
+}
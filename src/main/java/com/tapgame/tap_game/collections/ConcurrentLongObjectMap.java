@@ -0,0 +1,575 @@
+package com.tapgame.tap_game.collections;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Потокобезопасная хеш-таблица с ключами {@code long} без упаковки ключей.
+ *
+ * <p>В отличие от {@code ConcurrentHashMap<Long, V>} не создает ни объекта {@link Long},
+ * ни узла на каждую запись: ключи лежат в массиве {@code long[]}, значения - в
+ * параллельном массиве ссылок (открытая адресация с линейным пробированием).
+ *
+ * <p><strong>Свойства:</strong>
+ * <ul>
+ *   <li>Чтение без блокировок: одно чтение с acquire на каждую просмотренную ячейку</li>
+ *   <li>Запись под одной из {@value #STRIPES} блокировок, выбранной по хешу ключа;
+ *       записи разных ключей идут параллельно, свободная ячейка занимается CAS</li>
+ *   <li>Удаление оставляет метку-надгробие; ячейка переиспользуется только тем же
+ *       ключом, поэтому ключ занятой ячейки не меняется до конца жизни таблицы</li>
+ *   <li>Расширение постепенное: новая таблица создается сразу, а записи переносятся
+ *       порциями по {@value #MIGRATION_CHUNK} ячеек при последующих записях.
+ *       Остановки всего мира на перехеширование нет; чтение во время переноса
+ *       проверяет обе таблицы</li>
+ * </ul>
+ *
+ * <p>Значения {@code null} не поддерживаются. Обход ({@link #forEach(LongObjectVisitor)})
+ * слабо согласован: во время переноса запись может быть посещена дважды.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * ConcurrentLongObjectMap<PlayerState> players = new ConcurrentLongObjectMap<>(1024);
+ * PlayerState player = players.computeIfAbsent(user.getId(), PlayerState::new);
+ * }</pre>
+ *
+ * @param <V> тип значений
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ConcurrentLongObjectMap<V> {
+
+    /** Количество блокировок записи */
+    private static final int STRIPES = 64;
+
+    /** Количество ячеек, переносимых за один шаг расширения */
+    private static final int MIGRATION_CHUNK = 256;
+
+    /** Максимальная доля занятых ячеек (включая надгробия) */
+    private static final double MAX_LOAD = 0.75;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // Служебные состояния ячейки (сравниваются по ссылке)
+    /** Ячейка занята вставкой, ключ еще не записан */
+    private static final Object RESERVED = new Object();
+    /** Запись удалена; ключ ячейки действителен */
+    private static final Object TOMBSTONE = new Object();
+    /** Запись перенесена в следующую таблицу; ключ ячейки действителен */
+    private static final Object MOVED = new Object();
+    /** Пустая ячейка закрыта при переносе; конец цепочки пробирования */
+    private static final Object MOVED_EMPTY = new Object();
+    /** Результат поиска: ключ нужно искать в следующей таблице */
+    private static final Object REDIRECT = new Object();
+
+    /** Результаты {@link #lookupSlot}: ключа нет / ключ перенесен */
+    private static final int NOT_FOUND = -1;
+    private static final int REDIRECTED = -2;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    /**
+     * Одна таблица. Во время расширения {@link #next} указывает на новую таблицу.
+     */
+    private static final class Table {
+        final long[] keys;
+        final Object[] values;
+        final int mask;
+        /** Занятые ячейки, включая надгробия */
+        final AtomicInteger used = new AtomicInteger();
+        /** Надгробия среди занятых ячеек */
+        final AtomicInteger tombstones = new AtomicInteger();
+        /** Живые записи, уже перенесенные в следующую таблицу */
+        final AtomicInteger movedLive = new AtomicInteger();
+        /** Следующая ячейка для переноса */
+        final AtomicInteger migrateCursor = new AtomicInteger();
+        /** Количество перенесенных ячеек */
+        final AtomicInteger migrated = new AtomicInteger();
+        volatile Table next;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+
+        int capacity() {
+            return values.length;
+        }
+
+        boolean overloaded(int extra) {
+            return used.get() + extra > capacity() * MAX_LOAD;
+        }
+
+        /**
+         * Переполнение новой таблицы с учетом живых записей, которые еще предстоит
+         * перенести из {@code previous}. Надгробия и уже перенесенные записи не считаются,
+         * поэтому очистка от надгробий в таблицу того же размера не вызывает переполнения
+         * сразу после начала.
+         */
+        boolean overloadedWithPending(Table previous) {
+            // Сначала счетчики старой таблицы: перенос между чтениями посчитается дважды, а не ни разу
+            int pending = previous.used.get() - previous.tombstones.get() - previous.movedLive.get();
+            return used.get() + pending > capacity() * MAX_LOAD;
+        }
+    }
+
+    /**
+     * Обработчик записей при обходе.
+     *
+     * @param <V> тип значений
+     */
+    @FunctionalInterface
+    public interface LongObjectVisitor<V> {
+        /**
+         * @param key ключ
+         * @param value значение
+         */
+        void visit(long key, V value);
+    }
+
+    private volatile Table table;
+    private final Object[] locks = new Object[STRIPES];
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Создает таблицу на 16 записей.
+     */
+    public ConcurrentLongObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize ожидаемое количество записей (для начального размера)
+     */
+    public ConcurrentLongObjectMap(int expectedSize) {
+        table = new Table(capacityFor(expectedSize));
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // === Чтение ===
+
+    /**
+     * Поиск значения без блокировок.
+     *
+     * @param key ключ
+     * @return значение или {@code null}
+     */
+    public V get(long key) {
+        long hash = hash(key);
+        Table t = table;
+        while (true) {
+            Object value = lookup(t, key, hash);
+            if (value != null && value != REDIRECT) {
+                return cast(value);
+            }
+            Table next = t.next;
+            if (next == null) {
+                return null;
+            }
+            t = next;
+        }
+    }
+
+    /**
+     * @param key ключ
+     * @return {@code true}, если ключ есть в таблице
+     */
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return количество записей
+     */
+    public int size() {
+        return (int) Math.min(size.sum(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return {@code true}, если записей нет
+     */
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    /**
+     * Слабо согласованный обход всех записей.
+     *
+     * @param visitor обработчик
+     */
+    public void forEach(LongObjectVisitor<? super V> visitor) {
+        for (Table t = table; t != null; t = t.next) {
+            for (int i = 0; i < t.capacity(); i++) {
+                Object value = SLOTS.getAcquire(t.values, i);
+                if (isLive(value)) {
+                    visitor.visit(t.keys[i], cast(value));
+                }
+            }
+        }
+    }
+
+    // === Запись ===
+
+    /**
+     * @param key ключ
+     * @param value значение (не {@code null})
+     * @return предыдущее значение или {@code null}
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Значение не может быть null");
+        }
+        V previous;
+        synchronized (lockFor(key)) {
+            previous = putLocked(key, hash(key), value, false);
+        }
+        afterWrite();
+        return previous;
+    }
+
+    /**
+     * Значение по ключу; если его нет - создание и вставка.
+     *
+     * <p>Функция вызывается не больше одного раза на ключ, под блокировкой записи ключа.
+     *
+     * @param key ключ
+     * @param factory создание значения (не должно возвращать {@code null})
+     * @return существующее или созданное значение
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        V result;
+        synchronized (lockFor(key)) {
+            existing = get(key);
+            if (existing != null) {
+                return existing;
+            }
+            result = factory.apply(key);
+            if (result == null) {
+                throw new NullPointerException("Фабрика вернула null для ключа " + key);
+            }
+            putLocked(key, hash(key), result, false);
+        }
+        afterWrite();
+        return result;
+    }
+
+    /**
+     * @param key ключ
+     * @return удаленное значение или {@code null}
+     */
+    public V remove(long key) {
+        V previous;
+        synchronized (lockFor(key)) {
+            previous = putLocked(key, hash(key), null, true);
+        }
+        afterWrite();
+        return previous;
+    }
+
+    // === Внутренние операции ===
+
+    /**
+     * Поиск ключа в одной таблице.
+     *
+     * @return значение; {@code null}, если ключа в таблице нет; {@link #REDIRECT},
+     *         если запись перенесена в следующую таблицу
+     */
+    private static Object lookup(Table t, long key, long hash) {
+        int index = (int) hash & t.mask;
+        for (int probes = 0; probes <= t.mask; probes++) {
+            Object value = SLOTS.getAcquire(t.values, index);
+            if (value == null || value == MOVED_EMPTY) {
+                return null;
+            }
+            if (value != RESERVED && t.keys[index] == key) {
+                if (value == TOMBSTONE) {
+                    return null;
+                }
+                return value == MOVED ? REDIRECT : value;
+            }
+            index = (index + 1) & t.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Вставка, замена или удаление под блокировкой ключа.
+     *
+     * @param value новое значение или {@code null} при удалении
+     * @param remove {@code true} для удаления
+     * @return предыдущее значение
+     */
+    private V putLocked(long key, long hash, V value, boolean remove) {
+        Table t = table;
+        while (true) {
+            Table next = t.next;
+            if (next != null) {
+                // Идет перенос: сначала переносим ячейку этого ключа, затем работаем с новой таблицей
+                migrateKey(t, next, key, hash);
+                t = next;
+                continue;
+            }
+            if (!remove && t == table && t.overloaded(1)) {
+                startResize(t);
+                continue;
+            }
+            Object previous = remove ? removeFrom(t, key, hash) : insertInto(t, key, hash, value);
+            if (previous == REDIRECT) {
+                t = t.next;
+                continue;
+            }
+            return cast(previous);
+        }
+    }
+
+    /**
+     * Вставка или замена в таблице.
+     *
+     * @return предыдущее значение, {@code null} или {@link #REDIRECT}
+     */
+    private Object insertInto(Table t, long key, long hash, Object value) {
+        int index = (int) hash & t.mask;
+        for (int probes = 0; probes <= t.mask; ) {
+            Object current = SLOTS.getAcquire(t.values, index);
+            if (current == null) {
+                if (SLOTS.compareAndSet(t.values, index, null, RESERVED)) {
+                    t.keys[index] = key;
+                    t.used.incrementAndGet();
+                    SLOTS.setRelease(t.values, index, value);
+                    size.increment();
+                    return null;
+                }
+                // Ячейку заняли (вставка другого ключа или перенос) - перечитываем ее
+                continue;
+            }
+            if (current == MOVED || current == MOVED_EMPTY) {
+                return REDIRECT;
+            }
+            if (current != RESERVED && t.keys[index] == key) {
+                if (current == TOMBSTONE) {
+                    // Запись учитывается до публикации, чтобы оценка переноса не оказалась заниженной
+                    t.tombstones.decrementAndGet();
+                    SLOTS.setRelease(t.values, index, value);
+                    size.increment();
+                    return null;
+                }
+                SLOTS.setRelease(t.values, index, value);
+                return current;
+            }
+            index = (index + 1) & t.mask;
+            probes++;
+        }
+        throw new IllegalStateException("Таблица переполнена");
+    }
+
+    /**
+     * Удаление из таблицы.
+     *
+     * @return удаленное значение, {@code null} или {@link #REDIRECT}
+     */
+    private Object removeFrom(Table t, long key, long hash) {
+        int index = lookupSlot(t, key, hash);
+        if (index == NOT_FOUND) {
+            return null;
+        }
+        if (index == REDIRECTED) {
+            return REDIRECT;
+        }
+        Object value = SLOTS.getAcquire(t.values, index);
+        if (value == TOMBSTONE) {
+            return null;
+        }
+        SLOTS.setRelease(t.values, index, TOMBSTONE);
+        t.tombstones.incrementAndGet();
+        size.decrement();
+        return value;
+    }
+
+    /**
+     * Поиск ячейки ключа (для удаления и переноса).
+     *
+     * @return индекс ячейки, {@link #NOT_FOUND} или {@link #REDIRECTED}
+     */
+    private static int lookupSlot(Table t, long key, long hash) {
+        int index = (int) hash & t.mask;
+        for (int probes = 0; probes <= t.mask; probes++) {
+            Object value = SLOTS.getAcquire(t.values, index);
+            if (value == null || value == MOVED_EMPTY) {
+                return NOT_FOUND;
+            }
+            if (value != RESERVED && t.keys[index] == key) {
+                return value == MOVED ? REDIRECTED : index;
+            }
+            index = (index + 1) & t.mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Перенос ячейки одного ключа в следующую таблицу. Вызывается под блокировкой ключа.
+     */
+    private void migrateKey(Table t, Table next, long key, long hash) {
+        int index = lookupSlot(t, key, hash);
+        if (index >= 0) {
+            moveSlot(t, next, index);
+        }
+    }
+
+    /**
+     * Перенос занятой ячейки. Вызывается под блокировкой ключа ячейки.
+     */
+    private void moveSlot(Table t, Table next, int index) {
+        Object value = SLOTS.getAcquire(t.values, index);
+        if (value == MOVED) {
+            return;
+        }
+        if (value != TOMBSTONE) {
+            long key = t.keys[index];
+            // Запись переезжает без изменения размера: возвращаем учтенную единицу
+            if (insertInto(next, key, hash(key), value) == null) {
+                size.decrement();
+            }
+            t.movedLive.incrementAndGet();
+        }
+        SLOTS.setRelease(t.values, index, MOVED);
+    }
+
+    /**
+     * Начало расширения (или очистки от надгробий) таблицы.
+     */
+    private void startResize(Table t) {
+        synchronized (this) {
+            if (table != t || t.next != null) {
+                return;
+            }
+            long live = size.sum();
+            int capacity = live * 2 < t.capacity() * MAX_LOAD ? t.capacity() : t.capacity() * 2;
+            if (capacity > MAX_CAPACITY) {
+                throw new IllegalStateException("Превышен максимальный размер таблицы");
+            }
+            t.next = new Table(capacity);
+        }
+    }
+
+    /**
+     * @return {@code true}, пока идет перенос в новую таблицу (для тестов)
+     */
+    boolean isResizing() {
+        return table.next != null;
+    }
+
+    /**
+     * Помощь переносу после записи (вне блокировок ключей).
+     */
+    private void afterWrite() {
+        Table t = table;
+        Table next = t.next;
+        if (next == null) {
+            return;
+        }
+        migrateChunk(t, next);
+        // Новая таблица заполняется быстрее переноса - доводим перенос до конца.
+        // Еще не перенесенные записи учитываются заранее: если поток, взявший порцию,
+        // задержится, новые ключи не должны занять место, нужное для его переноса
+        while (table == t && next.overloadedWithPending(t)) {
+            if (!migrateChunk(t, next)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Перенос очередной порции ячеек.
+     *
+     * @return {@code false}, если все порции уже разобраны другими потоками
+     */
+    private boolean migrateChunk(Table t, Table next) {
+        int from;
+        do {
+            // Курсор не двигается за конец таблицы: иначе ожидающие потоки переполнили бы его
+            from = t.migrateCursor.get();
+            if (from >= t.capacity()) {
+                return false;
+            }
+        } while (!t.migrateCursor.compareAndSet(from, from + MIGRATION_CHUNK));
+        int to = Math.min(from + MIGRATION_CHUNK, t.capacity());
+        for (int index = from; index < to; index++) {
+            migrateIndex(t, next, index);
+        }
+        if (t.migrated.addAndGet(to - from) == t.capacity()) {
+            // Все ячейки перенесены: новая таблица становится основной
+            synchronized (this) {
+                if (table == t) {
+                    table = next;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void migrateIndex(Table t, Table next, int index) {
+        while (true) {
+            Object value = SLOTS.getAcquire(t.values, index);
+            if (value == null) {
+                if (SLOTS.compareAndSet(t.values, index, null, MOVED_EMPTY)) {
+                    return;
+                }
+            } else if (value == RESERVED) {
+                // Вставка, начатая до расширения, сейчас завершится
+                Thread.onSpinWait();
+            } else if (value == MOVED || value == MOVED_EMPTY) {
+                return;
+            } else {
+                synchronized (lockFor(t.keys[index])) {
+                    moveSlot(t, next, index);
+                }
+                return;
+            }
+        }
+    }
+
+    private Object lockFor(long key) {
+        return locks[(int) (hash(key) >>> 58) & (STRIPES - 1)];
+    }
+
+    private static boolean isLive(Object value) {
+        return value != null && value != RESERVED && value != TOMBSTONE && value != MOVED && value != MOVED_EMPTY;
+    }
+
+    /**
+     * Перемешивание битов ключа (финализатор MurmurHash3).
+     */
+    private static long hash(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / MAX_LOAD) + 1;
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object value) {
+        return (V) value;
+    }
+}
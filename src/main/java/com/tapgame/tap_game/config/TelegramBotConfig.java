@@ -1,21 +1,53 @@
 package com.tapgame.tap_game.config;
 
+import com.tapgame.tap_game.engine.CommandPipeline;
+import com.tapgame.tap_game.webapp.InitDataVerifier;
+import com.tapgame.tap_game.webapp.MiniAppServer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.PropertySource;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Бины Telegram: API ботов и HTTP API Mini App с конвейером команд игроков.
+ *
+ * <p>Настройки берутся из {@code telegram.properties}; системные свойства их переопределяют.
+ * Все бины ленивые: контекст поднимается без обращения к ним, а создаются они при первом
+ * запросе (см. {@link com.tapgame.tap_game.bootstrap.ApplicationBootstrap}).
+ *
+ * @version 1.0
+ * @since 1.0
+ */
 @Configuration
+@Lazy
+@PropertySource(value = "classpath:telegram.properties", encoding = "UTF-8")
 public class TelegramBotConfig {
 
+    /** Шардов конвейера команд Mini App */
+    private static final int PIPELINE_SHARDS = 4;
+
+    /** Емкость буфера каждого шарда */
+    private static final int PIPELINE_RING_CAPACITY = 4096;
+
+    /** Потоков обработки HTTP-запросов Mini App */
+    private static final int MINI_APP_THREADS = 8;
+
     @Value("${telegram.bot.token}")
     private String botToken;
 
     @Value("${telegram.bot.username}")
     private String botUsername;
 
+    @Value("${miniapp.port:}")
+    private String miniAppPort;
+
     @Bean
     public TelegramBotsApi telegramBotsApi() throws TelegramApiException {
         TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
@@ -23,6 +55,63 @@ public class TelegramBotConfig {
         return botsApi;
     }
 
+    /**
+     * Проверка {@code initData} Telegram Mini App токеном этого бота.
+     *
+     * <p>Секретный ключ вычисляется один раз при создании бина.
+     *
+     * @return проверка подписи с допустимым возрастом данных в сутки
+     */
+    @Bean
+    public InitDataVerifier initDataVerifier() {
+        return new InitDataVerifier(botToken, InitDataVerifier.DEFAULT_MAX_AGE_SECONDS);
+    }
+
+    /**
+     * Конвейер команд игроков Mini App; потоки шардов запускаются сразу.
+     *
+     * <p>Закрывается вместе с контекстом и перед этим применяет принятые команды.
+     *
+     * @return запущенный конвейер
+     */
+    @Bean
+    public CommandPipeline commandPipeline() {
+        CommandPipeline pipeline = new CommandPipeline(PIPELINE_SHARDS, PIPELINE_RING_CAPACITY,
+                (command, sequence, endOfBatch) -> { });
+        pipeline.start();
+        return pipeline;
+    }
+
+    /**
+     * HTTP API Mini App на порту {@code miniapp.port}; сервер запускается сразу.
+     *
+     * <p>Закрывается вместе с контекстом раньше конвейера, от которого зависит.
+     *
+     * @param initDataVerifier проверка {@code initData}
+     * @param commandPipeline конвейер команд игроков
+     * @return запущенный сервер
+     * @throws IOException если порт не удалось открыть
+     * @throws IllegalStateException если порт не задан
+     */
+    @Bean
+    public MiniAppServer miniAppServer(InitDataVerifier initDataVerifier, CommandPipeline commandPipeline)
+            throws IOException {
+        if (!isMiniAppEnabled()) {
+            throw new IllegalStateException("Порт Mini App не задан: miniapp.port");
+        }
+        MiniAppServer server = new MiniAppServer(new InetSocketAddress(Integer.parseInt(miniAppPort.trim())),
+                initDataVerifier, commandPipeline, MINI_APP_THREADS);
+        server.start();
+        return server;
+    }
+
+    /**
+     * @return {@code true}, если задан порт API Mini App
+     */
+    public boolean isMiniAppEnabled() {
+        return miniAppPort != null && !miniAppPort.isBlank();
+    }
+
     public String getBotToken() {
         return botToken;
     }
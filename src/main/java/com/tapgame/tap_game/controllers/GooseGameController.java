@@ -1,15 +1,27 @@
 package com.tapgame.tap_game.controllers;
 
+import com.tapgame.tap_game.engine.GooseSimulation;
+import com.tapgame.tap_game.engine.GooseSnapshot;
 import com.tapgame.tap_game.models.GooseGameState;
-import javafx.animation.AnimationTimer;
+import com.tapgame.tap_game.models.LargeNumber;
+import com.tapgame.tap_game.ui.CoinPopupPool;
+import com.tapgame.tap_game.ui.DirtyLabel;
+import com.tapgame.tap_game.ui.FrameScheduler;
+import com.tapgame.tap_game.ui.ImageAssets;
+import com.tapgame.tap_game.ui.InputLatencyTracer;
+import com.tapgame.tap_game.ui.LatencyOverlay;
+import com.tapgame.tap_game.ui.ParticleLayer;
+import com.tapgame.tap_game.ui.WindowVisibility;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Bounds;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 
 import java.text.NumberFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Контроллер для игры "Гусь-Тапалка".
@@ -17,26 +29,60 @@ import java.text.NumberFormat;
  * <p>Управляет логикой взаимодействия пользователя с игровым интерфейсом,
  * обновляет состояние игры и отображает актуальную информацию.</p>
  * 
+ * <p>Игровая логика выполняется в потоке {@link GooseSimulation}: контроллер
+ * только передает ему клики и покупки, а на каждом кадре выводит последний
+ * опубликованный снимок состояния.</p>
+ * 
  * <p>Основные функции:
  * <ul>
  *   <li>Обработка нажатий на гуся</li>
  *   <li>Управление улучшениями</li>
  *   <li>Обновление игрового состояния</li>
  *   <li>Отображение статистики</li>
+ *   <li>Трассировка задержки "клик → кадр" (оверлей по F3)</li>
  * </ul>
  * 
  * @see GooseGameState
  */
 public class GooseGameController {
-    /** Текущее состояние игры */
-    private GooseGameState gameState;
+    /** Поток симуляции, владеющий состоянием игры */
+    private GooseSimulation simulation;
+    
+    /** Последний прочитанный снимок состояния (только поток JavaFX) */
+    private final GooseSnapshot snapshot = new GooseSnapshot();
     
-    /** Время последнего обновления игры (в миллисекундах) */
-    private long lastUpdateTime;
+    /** Запрошена ли уже отрисовка нового снимка */
+    private final AtomicBoolean renderPending = new AtomicBoolean();
     
     /** Форматтер для отображения чисел */
     private final NumberFormat numberFormat = NumberFormat.getInstance();
 
+    /** Пул всплывающих надписей с заработанными монетами */
+    private CoinPopupPool coinPopups;
+
+    /** Слой эффектов частиц поверх экрана */
+    private ParticleLayer particles;
+
+    /** Трассировка задержки от клика до кадра */
+    private InputLatencyTracer latencyTracer;
+
+    /** Отладочный оверлей задержек (F3) */
+    private LatencyOverlay latencyOverlay;
+
+    /** Планировщик отрисовки: изменения за кадр выводятся одним обновлением */
+    private final FrameScheduler frameScheduler = new FrameScheduler(now -> renderFrame());
+
+    // Уровни улучшений из последнего выведенного снимка (для эффекта покупки)
+    private int shownClickPowerLevel;
+    private int shownAutoClickerLevel;
+
+    // Надписи с отложенным обновлением (создаются после внедрения FXML-полей)
+    private DirtyLabel coinsText;
+    private DirtyLabel cpsText;
+    private DirtyLabel cpcText;
+    private DirtyLabel clickCostText;
+    private DirtyLabel autoClickerCostText;
+
     /** Метка для отображения количества монет */
     @FXML
     private Label coinsLabel;
@@ -53,6 +99,10 @@ public class GooseGameController {
     @FXML
     private Button gooseButton;
     
+    /** Изображение гуся внутри кнопки */
+    @FXML
+    private ImageView gooseImage;
+    
     /** Кнопка улучшения силы клика */
     @FXML
     private Button upgradeClickButton;
@@ -72,154 +122,168 @@ public class GooseGameController {
      * <ul>
      *   <li>Инициализацию состояния игры</li>
      *   <li>Настройку форматирования чисел</li>
-     *   <li>Запуск игрового цикла</li>
+     *   <li>Запуск потока симуляции; он останавливается при закрытии окна</li>
      * </ul>
      */
     @FXML
     public void initialize() {
-        gameState = new GooseGameState();
-        lastUpdateTime = System.currentTimeMillis();
+        coinPopups = new CoinPopupPool(mainPane);
+        particles = new ParticleLayer(mainPane);
 
         // Настройка форматирования чисел
         numberFormat.setGroupingUsed(true);
+        coinsText = new DirtyLabel(coinsLabel, "", " монет", numberFormat);
+        cpsText = new DirtyLabel(cpsLabel, "", " монет/сек", numberFormat);
+        cpcText = new DirtyLabel(cpcLabel, "", " монет/клик", numberFormat);
+        clickCostText = new DirtyLabel(upgradeClickButton, "Улучшить клик (", " монет)", numberFormat);
+        autoClickerCostText = new DirtyLabel(upgradeAutoClickerButton, "Купить автокликер (", " монет)", numberFormat);
 
-        // Запуск игрового цикла
-        new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                updateGame();
-            }
-        }.start();
+        // Запуск симуляции; пока окно свернуто, доход копится без пробуждений
+        simulation = new GooseSimulation(new GooseGameState(), this::onSnapshotPublished);
+        simulation.readSnapshot(snapshot);
+        shownClickPowerLevel = snapshot.getClickPowerLevel();
+        shownAutoClickerLevel = snapshot.getAutoClickerLevel();
+        latencyTracer = new InputLatencyTracer(snapshot.getTotalClicks());
+        latencyOverlay = new LatencyOverlay(mainPane, latencyTracer);
+        WindowVisibility.onIconified(mainPane, simulation::setSuspended);
+        WindowVisibility.onHidden(mainPane, simulation::close);
+        simulation.start();
 
         // Настройка кнопки гуся
         setupGooseButton();
-        updateUI();
+        renderFrame();
     }
 
     /**
      * Настройка кнопки гуся.
      * 
-     * <p>Загружает изображение гуся и устанавливает обработчик клика.</p>
+     * <p>Берет изображение гуся из общего кэша {@link ImageAssets} (оно декодируется
+     * один раз, в фоне и сразу в нужном размере) и устанавливает обработчик клика.</p>
      */
     private void setupGooseButton() {
-        // Загрузка изображения гуся
+        // Изображение гуся из общего кэша
         try {
-            Image gooseImage = new Image(getClass().getResourceAsStream("/images/goose.png"));
-            ImageView imageView = new ImageView(gooseImage);
-            imageView.setFitHeight(200);
-            imageView.setFitWidth(200);
-            imageView.setPreserveRatio(true);
-            gooseButton.setGraphic(imageView);
+            gooseImage.setImage(ImageAssets.get(ImageAssets.GOOSE, ImageAssets.GOOSE_SIZE, ImageAssets.GOOSE_SIZE));
         } catch (Exception e) {
             System.err.println("Не удалось загрузить изображение гуся: " + e.getMessage());
         }
 
         // Обработка клика по гусю
+        latencyOverlay.traceInput(gooseButton);
         gooseButton.setOnAction(event -> {
-            long earned = gameState.tapGoose();
-            // Анимация получения монет
-            showEarnedCoins(earned);
-            updateUI();
+            latencyTracer.onTap(System.nanoTime());
+            simulation.tap();
+            // Анимация получения монет (сила клика из последнего снимка)
+            showEarnedCoins(snapshot.getCoinsPerClick());
         });
     }
 
     /**
-     * Обновляет игровое состояние.
+     * Вызывается потоком симуляции после публикации нового снимка.
      * 
-     * <p>Вызывается в игровом цикле. Вычисляет прошедшее время
-     * и начисляет пассивный доход.</p>
+     * <p>Сколько бы снимков ни было опубликовано между кадрами, в поток JavaFX
+     * передается не больше одной задачи.</p>
      */
-    private void updateGame() {
-        long currentTime = System.currentTimeMillis();
-        long deltaTime = currentTime - lastUpdateTime;
-
-        if (deltaTime >= 1000) { // Обновляем раз в секунду
-            gameState.addPassiveIncome(deltaTime);
-            updateUI();
-            lastUpdateTime = currentTime;
+    private void onSnapshotPublished() {
+        if (renderPending.compareAndSet(false, true)) {
+            Platform.runLater(frameScheduler::requestFrame);
         }
     }
 
     /**
-     * Обновляет отображение игрового состояния.
+     * Выводит последний снимок состояния на экран.
      * 
-     * <p>Обновляет все элементы интерфейса в соответствии
-     * с текущим состоянием игры.</p>
+     * <p>Вызывается {@link FrameScheduler} на ближайшем кадре после публикации.
+     * Снимок читается без блокировок; форматирование чисел выполняется только
+     * для изменившихся надписей.</p>
      */
-    private void updateUI() {
-        coinsLabel.setText(numberFormat.format(gameState.getCoins()) + " монет");
-        cpsLabel.setText(numberFormat.format(gameState.getCoinsPerSecond()) + " монет/сек");
-        cpcLabel.setText(numberFormat.format(gameState.getCoinsPerClick()) + " монет/клик");
-
-        // Обновление кнопок улучшений
-        upgradeClickButton.setText("Улучшить клик (" + numberFormat.format(gameState.getClickPowerUpgradeCost()) + " монет)");
-        upgradeAutoClickerButton.setText("Купить автокликер (" + numberFormat.format(gameState.getAutoClickerUpgradeCost()) + " монет)");
+    private void renderFrame() {
+        renderPending.set(false);
+        simulation.readSnapshot(snapshot);
+
+        coinsText.set(snapshot.getCoins());
+        cpsText.set(snapshot.getCoinsPerSecond());
+        cpcText.set(snapshot.getCoinsPerClick());
+        clickCostText.set(snapshot.getClickPowerUpgradeCost());
+        autoClickerCostText.set(snapshot.getAutoClickerUpgradeCost());
+        coinsText.flush();
+        cpsText.flush();
+        cpcText.flush();
+        clickCostText.flush();
+        autoClickerCostText.flush();
+        latencyTracer.onRender(snapshot.getTotalClicks(), snapshot.getPublishedNanos(), System.nanoTime());
+
+        // Покупки применяются в потоке симуляции, эффект показываем по снимку
+        if (snapshot.getClickPowerLevel() > shownClickPowerLevel) {
+            showUpgradeEffect(upgradeClickButton);
+        }
+        if (snapshot.getAutoClickerLevel() > shownAutoClickerLevel) {
+            showUpgradeEffect(upgradeAutoClickerButton);
+        }
+        shownClickPowerLevel = snapshot.getClickPowerLevel();
+        shownAutoClickerLevel = snapshot.getAutoClickerLevel();
     }
 
     /**
      * Обработчик улучшения силы клика.
      * 
      * <p>Увеличивает количество монет, получаемых за клик.
-     * Обновляет отображение стоимости улучшения.</p>
+     * Стоимость и эффект покупки появятся со следующим снимком состояния.</p>
      */
     @FXML
     private void onUpgradeClick() {
-        if (gameState.upgradeClickPower()) {
-            updateUI();
-            // Эффект при улучшении
-            showUpgradeEffect(upgradeClickButton);
-        }
+        simulation.upgradeClickPower();
     }
 
     /**
      * Обработчик улучшения автокликера.
      * 
      * <p>Увеличивает пассивный доход в секунду.
-     * Обновляет отображение стоимости улучшения.</p>
+     * Стоимость и эффект покупки появятся со следующим снимком состояния.</p>
      */
     @FXML
     private void onUpgradeAutoClicker() {
-        if (gameState.upgradeAutoClicker()) {
-            updateUI();
-            // Эффект при улучшении
-            showUpgradeEffect(upgradeAutoClickerButton);
-        }
+        simulation.upgradeAutoClicker();
     }
 
     /**
      * Показывает анимацию получения монет.
      * 
-     * <p>Создает всплывающую метку с количеством полученных монет.</p>
+     * <p>Показывает всплывающую надпись с количеством полученных монет
+     * из пула {@link CoinPopupPool} и россыпь монет на слое частиц.
+     * Частые клики объединяются в одну надпись.</p>
      * 
      * @param amount количество полученных монет
      */
-    private void showEarnedCoins(long amount) {
-        Label popup = new Label("+" + amount);
-        popup.setStyle("-fx-text-fill: gold; -fx-font-weight: bold; -fx-font-size: 16px;");
-
-        // Позиционируем над гусем
-        popup.setLayoutX(gooseButton.getLayoutX() + 50);
-        popup.setLayoutY(gooseButton.getLayoutY() - 30);
-
-        mainPane.getChildren().add(popup);
+    private void showEarnedCoins(LargeNumber amount) {
+        // Позиционируем над гусем (гусь лежит во вложенном VBox, поэтому переводим координаты)
+        Bounds gooseBounds = boundsInMainPane(gooseButton);
+        coinPopups.show(amount, gooseBounds.getMinX() + 50, gooseBounds.getMinY() - 30);
+        particles.emitCoinShower(gooseBounds.getCenterX(), gooseBounds.getMinY() + 40, 6);
+    }
 
-        // Анимация всплывающего текста
-        new javafx.animation.Timeline(
-                new javafx.animation.KeyFrame(
-                        javafx.util.Duration.seconds(1),
-                        e -> mainPane.getChildren().remove(popup)
-                )
-        ).play();
+    /**
+     * Границы узла в системе координат главной панели.
+     *
+     * @param node узел сцены
+     * @return границы узла относительно {@link #mainPane}
+     */
+    private Bounds boundsInMainPane(javafx.scene.Node node) {
+        return mainPane.sceneToLocal(node.localToScene(node.getBoundsInLocal()));
     }
 
     /**
      * Показывает эффект улучшения.
      * 
-     * <p>Изменяет цвет кнопки на зеленый на 0.5 секунд.</p>
+     * <p>Изменяет цвет кнопки на зеленый на 0.5 секунд и запускает
+     * взрыв частиц из центра кнопки.</p>
      * 
      * @param button кнопка, для которой показываем эффект
      */
     private void showUpgradeEffect(Button button) {
+        Bounds buttonBounds = boundsInMainPane(button);
+        particles.emitUpgradeBurst(buttonBounds.getCenterX(), buttonBounds.getCenterY(), 80);
+
         String originalText = button.getText();
         button.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white;");
 
@@ -239,13 +303,13 @@ public class GooseGameController {
      */
     @FXML
     private void onGooseClick(javafx.event.ActionEvent event) {
-        // Получаем количество заработанных монет
-        long earned = gameState.tapGoose();
+        // Клик применяется в потоке симуляции
+        latencyTracer.onTap(System.nanoTime());
+        simulation.tap();
 
         // Показываем анимацию получения монет
-        showEarnedCoins(earned);
+        showEarnedCoins(snapshot.getCoinsPerClick());
 
-        // Обновляем интерфейс
-        updateUI();
+        // Интерфейс обновится со следующим снимком состояния
     }
 }
@@ -1,11 +1,19 @@
 package com.tapgame.tap_game.controllers;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
+import com.tapgame.tap_game.engine.QuestCooldownScheduler;
 import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.LargeNumber;
+import com.tapgame.tap_game.models.StateChange;
+import com.tapgame.tap_game.ui.DirtyLabel;
+import com.tapgame.tap_game.ui.FrameScheduler;
+import com.tapgame.tap_game.ui.FxStateBridge;
+import com.tapgame.tap_game.ui.WindowVisibility;
 
 import java.net.URL;
 import java.util.ResourceBundle;
@@ -143,6 +151,46 @@ public class MainController implements Initializable {
     /** Объект, содержащий игровую логику и состояние */
     private GameState gameState;
 
+    // === Отложенная отрисовка ===
+
+    /** Стиль карточки выполненного квеста */
+    private static final String QUEST_COMPLETED_STYLE =
+            "-fx-background-color: #e8f5e8; -fx-background-radius: 15; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);";
+
+    /** Стиль карточки доступного квеста */
+    private static final String QUEST_AVAILABLE_STYLE =
+            "-fx-background-color: white; -fx-background-radius: 15; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);";
+
+    /** Типы квестов в порядке отображения */
+    private static final String[] QUEST_TYPES = {"telegram", "dzen", "portal"};
+
+    /** Планировщик отрисовки: изменения за кадр выводятся одним обновлением */
+    private final FrameScheduler frameScheduler = new FrameScheduler(now -> renderFrame());
+
+    private DirtyLabel coinsDisplayText;
+    private DirtyLabel coinsText;
+    private DirtyLabel characterLevelText;
+    private DirtyLabel speedLevelText;
+    private DirtyLabel rewardLevelText;
+    private DirtyLabel speedCostText;
+    private DirtyLabel rewardCostText;
+
+    /** Монеты игрока без ограничения int; читаются и сравниваются только в потоке JavaFX */
+    private final LargeNumber coins = new LargeNumber();
+
+    /** Показанное состояние квестов (по индексу в {@link #QUEST_TYPES}) */
+    private final boolean[] shownQuestCompleted = new boolean[QUEST_TYPES.length];
+
+    /** Нужно ли пересчитать состояние квестов на ближайшем кадре */
+    private boolean questsDirty = true;
+
+    /** Свойства JavaFX, пересчитываемые по событиям состояния (доступность кнопок) */
+    private final FxStateBridge stateBridge = new FxStateBridge();
+
+    /** Окончание перезарядки квестов: кнопка квеста снова становится активной */
+    private final QuestCooldownScheduler questCooldowns = new QuestCooldownScheduler(1000,
+            (playerId, questType) -> Platform.runLater(() -> gameState.questCooldownExpired(questType)));
+
     /**
      * Инициализация контроллера.
      * 
@@ -150,8 +198,11 @@ public class MainController implements Initializable {
      * Он выполняет следующие действия:
      * <ol>
      *   <li>Создает новый экземпляр {@link GameState}</li>
+     *   <li>Подписывается на изменения состояния</li>
+     *   <li>Привязывает доступность кнопок к состоянию</li>
      *   <li>Обновляет пользовательский интерфейс</li>
      *   <li>Настраивает обработчики событий для всех кнопок</li>
+     *   <li>Запускает планировщик перезарядки квестов; он останавливается при закрытии окна</li>
      * </ol>
      * 
      * @param location URL, используемый для разрешения относительных путей для корневого объекта
@@ -162,8 +213,27 @@ public class MainController implements Initializable {
     @Override
     public void initialize(URL location, ResourceBundle resources) {
         gameState = new GameState();
-        updateUI();
+        setupDirtyLabels();
+        gameState.addChangeListener(this::onStateChanged);
+        gameState.addChangeListener(stateBridge);
+        bindButtonStates();
+        onStateChanged(StateChange.ALL);
         setupEventHandlers();
+        questCooldowns.start();
+        WindowVisibility.onHidden(questTelegram, questCooldowns::close);
+    }
+
+    /**
+     * Создание надписей с отложенным обновлением для всех числовых полей.
+     */
+    private void setupDirtyLabels() {
+        coinsDisplayText = new DirtyLabel(coinsDisplayLabel, "💰 ", " монет", null);
+        coinsText = new DirtyLabel(coinsLabel, "", "", null);
+        characterLevelText = new DirtyLabel(characterLevel, "Уровень: ", "", null);
+        speedLevelText = new DirtyLabel(speedLevel, "Уровень ", "", null);
+        rewardLevelText = new DirtyLabel(rewardLevel, "Уровень ", "", null);
+        speedCostText = new DirtyLabel(speedCost, "Стоимость: ", " монет", null);
+        rewardCostText = new DirtyLabel(rewardCost, "Стоимость: ", " монет", null);
     }
 
     /**
@@ -194,8 +264,8 @@ public class MainController implements Initializable {
      * Выполнение квеста указанного типа.
      * 
      * <p>Этот метод пытается выполнить квест через {@link GameState#completeQuest(String)}.
-     * Если квест выполнен успешно, обновляется интерфейс и показывается сообщение о награде.
-     * Если квест уже был выполнен, показывается соответствующее сообщение.
+     * Если квест выполнен успешно, показывается сообщение о награде и планируется
+     * окончание его перезарядки. Если квест на перезарядке, показывается соответствующее сообщение.
      * 
      * @param questType тип квеста ("telegram", "dzen", "portal")
      * 
@@ -204,10 +274,10 @@ public class MainController implements Initializable {
      */
     private void completeQuest(String questType) {
         if (gameState.completeQuest(questType)) {
-            updateUI();
+            questCooldowns.schedule(0, questType, gameState.getQuestAvailableAt(questType));
             showMessage("Квест выполнен! Получено " + gameState.getQuestReward() + " монет.");
         } else {
-            showMessage("Квест уже выполнен!");
+            showMessage("Квест на перезарядке!");
         }
     }
 
@@ -215,14 +285,13 @@ public class MainController implements Initializable {
      * Покупка билетика за монеты.
      * 
      * <p>Этот метод пытается купить билетик через {@link GameState#buyTicket()}.
-     * Если покупка успешна, обновляется интерфейс и показывается сообщение.
+     * Если покупка успешна, показывается сообщение.
      * Если недостаточно монет, показывается соответствующее сообщение.
      * 
      * @see GameState#buyTicket()
      */
     private void buyTicket() {
         if (gameState.buyTicket()) {
-            updateUI();
             showMessage("Билетик куплен!");
         } else {
             showMessage("Недостаточно монет!");
@@ -233,14 +302,13 @@ public class MainController implements Initializable {
      * Улучшение скорости выполнения квестов.
      * 
      * <p>Этот метод пытается улучшить скорость через {@link GameState#upgradeSpeed()}.
-     * Если улучшение успешно, обновляется интерфейс и показывается сообщение.
+     * Если улучшение успешно, показывается сообщение.
      * Если недостаточно монет, показывается соответствующее сообщение.
      * 
      * @see GameState#upgradeSpeed()
      */
     private void upgradeSpeed() {
         if (gameState.upgradeSpeed()) {
-            updateUI();
             showMessage("Скорость увеличена!");
         } else {
             showMessage("Недостаточно монет!");
@@ -251,14 +319,13 @@ public class MainController implements Initializable {
      * Улучшение награды за выполнение квестов.
      * 
      * <p>Этот метод пытается улучшить награду через {@link GameState#upgradeReward()}.
-     * Если улучшение успешно, обновляется интерфейс и показывается сообщение.
+     * Если улучшение успешно, показывается сообщение.
      * Если недостаточно монет, показывается соответствующее сообщение.
      * 
      * @see GameState#upgradeReward()
      */
     private void upgradeReward() {
         if (gameState.upgradeReward()) {
-            updateUI();
             showMessage("Награда увеличена!");
         } else {
             showMessage("Недостаточно монет!");
@@ -266,95 +333,138 @@ public class MainController implements Initializable {
     }
 
     /**
-     * Обновление пользовательского интерфейса.
+     * Обработка изменений игрового состояния.
      * 
-     * <p>Этот метод синхронизирует отображение данных в интерфейсе с текущим
-     * состоянием игры. Обновляются:
+     * <p>Этот метод вызывается {@link GameState} после каждой успешной операции
+     * и читает только значения, затронутые изменением. Изменившиеся поля
+     * помечаются и выводятся в {@link #renderFrame()} не чаще одного раза за кадр.
+     * Отслеживаются:
      * <ul>
-     *   <li>Количество монет</li>
-     *   <li>Уровень персонажа</li>
-     *   <li>Уровни бустеров</li>
-     *   <li>Стоимость улучшений</li>
-     *   <li>Состояние кнопок</li>
+     *   <li>Количество монет ({@link StateChange#COINS})</li>
+     *   <li>Уровни персонажа и бустеров ({@link StateChange#LEVEL})</li>
+     *   <li>Стоимость улучшений ({@link StateChange#COST})</li>
+     *   <li>Состояние квестов ({@link StateChange#QUEST})</li>
      * </ul>
      * 
-     * @see #updateButtonStates()
+     * <p>Доступность кнопок пересчитывается отдельно, через свойства {@link FxStateBridge}.
+     * 
+     * @param changes маска флагов {@link StateChange}
+     * @see #renderFrame()
+     * @see #bindButtonStates()
      */
-    private void updateUI() {
-        // Обновляем монеты в шапке
-        coinsDisplayLabel.setText("💰 " + gameState.getCoins() + " монет");
-        
-        // Обновляем монеты (если есть старое поле)
-        if (coinsLabel != null) {
-            coinsLabel.setText(String.valueOf(gameState.getCoins()));
+    private void onStateChanged(int changes) {
+        boolean changed = false;
+        if (StateChange.contains(changes, StateChange.COINS)) {
+            gameState.readCoins(coins);
+            changed = coinsDisplayText.set(coins);
+            coinsText.set(coins);
+        }
+        if (StateChange.contains(changes, StateChange.LEVEL)) {
+            changed |= characterLevelText.set(gameState.getCharacterLevel());
+            changed |= speedLevelText.set(gameState.getSpeedLevel());
+            changed |= rewardLevelText.set(gameState.getRewardLevel());
+        }
+        if (StateChange.contains(changes, StateChange.COST)) {
+            changed |= speedCostText.set(gameState.getSpeedUpgradeCost());
+            changed |= rewardCostText.set(gameState.getRewardUpgradeCost());
+        }
+        if (StateChange.contains(changes, StateChange.QUEST)) {
+            questsDirty = true;
+            changed = true;
+        }
+        if (changed) {
+            frameScheduler.requestFrame();
+        }
+    }
+
+    /**
+     * Вывод изменившихся значений на экран.
+     * 
+     * <p>Вызывается {@link FrameScheduler} на ближайшем кадре после изменений.
+     * Обновляются только надписи, значения которых изменились.
+     */
+    private void renderFrame() {
+        coinsDisplayText.flush();
+        coinsText.flush();
+        characterLevelText.flush();
+        speedLevelText.flush();
+        rewardLevelText.flush();
+        speedCostText.flush();
+        rewardCostText.flush();
+
+        if (questsDirty) {
+            updateQuestVisualStates();
+            questsDirty = false;
         }
-        
-        // Обновляем информацию о персонаже
-        characterLevel.setText("Уровень: " + gameState.getCharacterLevel());
-        speedLevel.setText("Уровень " + gameState.getSpeedLevel());
-        rewardLevel.setText("Уровень " + gameState.getRewardLevel());
-        
-        // Обновляем стоимость улучшений
-        speedCost.setText("Стоимость: " + gameState.getSpeedUpgradeCost() + " монет");
-        rewardCost.setText("Стоимость: " + gameState.getRewardUpgradeCost() + " монет");
-        
-        // Обновляем состояние кнопок
-        updateButtonStates();
-        
-        // Обновляем визуальное состояние квестов
-        updateQuestVisualStates();
     }
 
     /**
-     * Обновление состояния кнопок интерфейса.
+     * Привязка доступности кнопок к состоянию игры.
      * 
-     * <p>Этот метод активирует/деактивирует кнопки в зависимости от текущего
-     * состояния игры:
+     * <p>Каждая кнопка привязана к свойству, которое пересчитывается только
+     * при изменении нужных полей:
      * <ul>
-     *   <li>Кнопки квестов деактивируются после выполнения</li>
-     *   <li>Кнопка покупки билетика деактивируется при недостатке монет</li>
-     *   <li>Кнопки улучшений деактивируются при недостатке монет</li>
+     *   <li>Кнопки квестов деактивируются на время перезарядки ({@link StateChange#QUEST})</li>
+     *   <li>Кнопка покупки билетика деактивируется при недостатке монет ({@link StateChange#COINS})</li>
+     *   <li>Кнопки улучшений деактивируются при недостатке монет
+     *       ({@link StateChange#COINS}, {@link StateChange#COST})</li>
      * </ul>
      */
-    private void updateButtonStates() {
-        // Обновляем состояние кнопок квестов
-        questTelegram.setDisable(gameState.isQuestCompleted("telegram"));
-        questDzen.setDisable(gameState.isQuestCompleted("dzen"));
-        questPortal.setDisable(gameState.isQuestCompleted("portal"));
+    private void bindButtonStates() {
+        // Кнопки квестов
+        questTelegram.disableProperty().bind(
+                stateBridge.booleanProperty(StateChange.QUEST, () -> gameState.isQuestCompleted("telegram")));
+        questDzen.disableProperty().bind(
+                stateBridge.booleanProperty(StateChange.QUEST, () -> gameState.isQuestCompleted("dzen")));
+        questPortal.disableProperty().bind(
+                stateBridge.booleanProperty(StateChange.QUEST, () -> gameState.isQuestCompleted("portal")));
         
-        // Обновляем состояние кнопки покупки билетика
-        buyTicketButton.setDisable(gameState.getCoins() < gameState.getTicketPrice());
+        // Кнопка покупки билетика
+        buyTicketButton.disableProperty().bind(
+                stateBridge.booleanProperty(StateChange.COINS, () -> !canAfford(gameState.getTicketPrice())));
         
-        // Обновляем состояние кнопок улучшений
-        upgradeSpeedButton.setDisable(gameState.getCoins() < gameState.getSpeedUpgradeCost());
-        upgradeRewardButton.setDisable(gameState.getCoins() < gameState.getRewardUpgradeCost());
+        // Кнопки улучшений
+        upgradeSpeedButton.disableProperty().bind(stateBridge.booleanProperty(
+                StateChange.COINS | StateChange.COST, () -> !canAfford(gameState.getSpeedUpgradeCost())));
+        upgradeRewardButton.disableProperty().bind(stateBridge.booleanProperty(
+                StateChange.COINS | StateChange.COST, () -> !canAfford(gameState.getRewardUpgradeCost())));
+    }
+
+    /**
+     * Хватает ли монет на покупку. Сравнение идет по {@link LargeNumber}, поэтому
+     * остается верным и после {@link Integer#MAX_VALUE} монет.
+     *
+     * @param price цена
+     * @return {@code true}, если монет не меньше цены
+     */
+    private boolean canAfford(long price) {
+        return gameState.readCoins(coins).compareTo(price) >= 0;
     }
 
     /**
      * Обновление визуального состояния квестов.
      * 
      * <p>Этот метод изменяет внешний вид контейнеров квестов
-     * в зависимости от их статуса выполнения.
+     * в зависимости от их статуса выполнения. Стиль контейнера
+     * меняется только при смене статуса квеста.
      */
     private void updateQuestVisualStates() {
-        updateQuestContainer(questTelegramContainer, gameState.isQuestCompleted("telegram"));
-        updateQuestContainer(questDzenContainer, gameState.isQuestCompleted("dzen"));
-        updateQuestContainer(questPortalContainer, gameState.isQuestCompleted("portal"));
+        updateQuestContainer(0, questTelegramContainer);
+        updateQuestContainer(1, questDzenContainer);
+        updateQuestContainer(2, questPortalContainer);
     }
     
     /**
      * Обновление визуального состояния контейнера квеста.
      * 
+     * @param index индекс квеста в {@link #QUEST_TYPES}
      * @param container контейнер квеста
-     * @param completed выполнен ли квест
      */
-    private void updateQuestContainer(VBox container, boolean completed) {
-        if (container != null) {
-            if (completed) {
-                container.setStyle("-fx-background-color: #e8f5e8; -fx-background-radius: 15; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
-            } else {
-                container.setStyle("-fx-background-color: white; -fx-background-radius: 15; -fx-padding: 20; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
-            }
+    private void updateQuestContainer(int index, VBox container) {
+        boolean completed = gameState.isQuestCompleted(QUEST_TYPES[index]);
+        if (container != null && completed != shownQuestCompleted[index]) {
+            container.setStyle(completed ? QUEST_COMPLETED_STYLE : QUEST_AVAILABLE_STYLE);
+            shownQuestCompleted[index] = completed;
         }
     }
 
@@ -0,0 +1,114 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.Buff;
+
+/**
+ * Ячейка кольцевого буфера команд.
+ *
+ * <p>Ячейки создаются один раз вместе с {@link CommandRingBuffer} и
+ * переиспользуются: производитель заполняет параметры команды, обработчик
+ * шарда применяет ее к состоянию игрока и записывает результат в ту же ячейку,
+ * а последующие обработчики (сохранение, уведомления) читают уже готовый результат.
+ *
+ * <p>Ячейку можно читать только внутри обработчика; после возврата из него
+ * ячейка может быть перезаписана новой командой.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see CommandEventHandler
+ */
+public final class Command {
+
+    // Параметры команды (заполняет производитель)
+    private CommandType type;
+    private long playerId;
+    private String questType;
+    private Buff buff;
+    private int count;
+
+    // Результат команды (заполняет обработчик шарда)
+    private boolean success;
+    private long coinsAfter;
+
+    void set(CommandType type, long playerId, String questType, Buff buff, int count) {
+        this.type = type;
+        this.playerId = playerId;
+        this.questType = questType;
+        this.buff = buff;
+        this.count = count;
+        this.success = false;
+        this.coinsAfter = 0;
+    }
+
+    void complete(boolean success, long coinsAfter) {
+        this.success = success;
+        this.coinsAfter = coinsAfter;
+    }
+
+    /**
+     * @return тип команды
+     */
+    public CommandType getType() {
+        return type;
+    }
+
+    /**
+     * @return ID игрока
+     */
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return тип квеста для {@link CommandType#COMPLETE_QUEST}, иначе {@code null}
+     */
+    public String getQuestType() {
+        return questType;
+    }
+
+    /**
+     * @return усиление для {@link CommandType#ACTIVATE_BUFF} или {@code null}
+     */
+    public Buff getBuff() {
+        return buff;
+    }
+
+    /**
+     * @return количество кликов для {@link CommandType#TAP}, для остальных команд 1
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return {@code true}, если команда изменила состояние
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Количество монет игрока после выполнения команды.
+     *
+     * <p>Для команд мини-игры ({@link CommandType#TAP}, улучшения клика и автокликера)
+     * это монеты мини-игры, для остальных — монеты основной игры.
+     *
+     * @return количество монет
+     */
+    public long getCoinsAfter() {
+        return coinsAfter;
+    }
+
+    @Override
+    public String toString() {
+        return "Command{" +
+                "type=" + type +
+                ", playerId=" + playerId +
+                ", questType='" + questType + '\'' +
+                ", buff=" + buff +
+                ", count=" + count +
+                ", success=" + success +
+                ", coinsAfter=" + coinsAfter +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package com.tapgame.tap_game.engine;
+
+/**
+ * Обработчик выполненных команд (сохранение, уведомления и т.п.).
+ *
+ * <p>Вызывается в потоке шарда сразу после того, как команда применена
+ * к состоянию игрока. Команды приходят пачками: {@code endOfBatch} отмечает
+ * последнюю команду из уже доступных, и это удобный момент, чтобы сбросить
+ * накопленные записи на диск или отправить собранные уведомления одним запросом.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see CommandPipeline
+ */
+@FunctionalInterface
+public interface CommandEventHandler {
+
+    /**
+     * Обработка выполненной команды.
+     *
+     * @param command команда с результатом; действительна только во время вызова
+     * @param sequence порядковый номер команды в шарде
+     * @param endOfBatch {@code true} для последней команды пачки
+     */
+    void onEvent(Command command, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,234 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.Buff;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Конвейер команд игрового сервера с одним писателем на шард.
+ *
+ * <p>Все изменения состояний игроков проходят через этот конвейер в виде
+ * команд (клик, улучшение, квест, билетик). Игроки распределены по шардам
+ * по ID; у каждого шарда свой кольцевой буфер ({@link CommandRingBuffer})
+ * и свой поток, который единственный изменяет состояния игроков шарда.
+ *
+ * <p><strong>Свойства:</strong>
+ * <ul>
+ *   <li>Нет блокировок ни на состояниях игроков, ни на пути публикации команды</li>
+ *   <li>Команды одного игрока применяются строго в порядке публикации</li>
+ *   <li>Результаты передаются {@link CommandEventHandler} пачками с признаком конца пачки,
+ *       что позволяет сохранять и рассылать уведомления группами</li>
+ * </ul>
+ *
+ * <p>Обработчик событий вызывается из потоков разных шардов параллельно,
+ * но для одного игрока — всегда из одного потока.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * CommandPipeline pipeline = new CommandPipeline(4, 1024, (command, sequence, endOfBatch) -> {
+ *     journal.append(command);
+ *     if (endOfBatch) {
+ *         journal.flush();
+ *     }
+ * });
+ * pipeline.start();
+ * pipeline.submit(CommandType.TAP, userId);
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see CommandRingBuffer
+ */
+public class CommandPipeline implements AutoCloseable {
+
+    private final CommandRingBuffer[] ringBuffers;
+    private final ShardProcessor[] processors;
+    private final Thread[] threads;
+    private final PlayerRegistry players = new PlayerRegistry();
+    private final GooseStateBoard stateBoard = new GooseStateBoard();
+
+    private volatile boolean closed;
+
+    /**
+     * Создает конвейер.
+     *
+     * @param shardCount количество шардов (степень двойки)
+     * @param ringCapacity емкость буфера каждого шарда (степень двойки)
+     * @param handler обработчик выполненных команд
+     * @throws IllegalArgumentException если количество шардов не степень двойки
+     */
+    public CommandPipeline(int shardCount, int ringCapacity, CommandEventHandler handler) {
+        this(shardCount, ringCapacity, handler, null);
+    }
+
+    /**
+     * Создает конвейер с планировщиком перезарядки квестов.
+     *
+     * <p>После каждого выполненного квеста шард планирует событие окончания его перезарядки.
+     *
+     * @param shardCount количество шардов (степень двойки)
+     * @param ringCapacity емкость буфера каждого шарда (степень двойки)
+     * @param handler обработчик выполненных команд
+     * @param questCooldowns планировщик перезарядки квестов или {@code null}
+     * @throws IllegalArgumentException если количество шардов не степень двойки
+     */
+    public CommandPipeline(int shardCount, int ringCapacity, CommandEventHandler handler,
+                           QuestCooldownScheduler questCooldowns) {
+        if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Количество шардов должно быть степенью двойки: " + shardCount);
+        }
+        this.ringBuffers = new CommandRingBuffer[shardCount];
+        this.processors = new ShardProcessor[shardCount];
+        this.threads = new Thread[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            ringBuffers[i] = new CommandRingBuffer(ringCapacity);
+            processors[i] = new ShardProcessor(ringBuffers[i], handler, players, stateBoard, questCooldowns);
+            threads[i] = new Thread(processors[i], "game-shard-" + i);
+            threads[i].setDaemon(true);
+        }
+    }
+
+    /**
+     * Запуск потоков шардов.
+     */
+    public void start() {
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Публикация команды без параметров.
+     *
+     * @param type тип команды
+     * @param playerId ID игрока
+     * @return порядковый номер команды в шарде игрока
+     * @throws IllegalStateException если конвейер остановлен
+     */
+    public long submit(CommandType type, long playerId) {
+        return submit(type, playerId, null);
+    }
+
+    /**
+     * Публикация команды.
+     *
+     * @param type тип команды
+     * @param playerId ID игрока
+     * @param questType тип квеста для {@link CommandType#COMPLETE_QUEST}
+     * @return порядковый номер команды в шарде игрока
+     * @throws IllegalStateException если конвейер остановлен
+     */
+    public long submit(CommandType type, long playerId, String questType) {
+        if (closed) {
+            throw new IllegalStateException("Конвейер команд остановлен");
+        }
+        return ringBuffers[shardOf(playerId)].publish(type, playerId, questType);
+    }
+
+    /**
+     * Публикация нескольких кликов игрока одной командой: они занимают одну ячейку
+     * буфера и применяются целиком или не применяются вовсе.
+     *
+     * @param playerId ID игрока
+     * @param count количество кликов (положительное)
+     * @return порядковый номер команды в шарде игрока
+     * @throws IllegalArgumentException если количество не положительное
+     * @throws IllegalStateException если конвейер остановлен
+     */
+    public long submitTaps(long playerId, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Количество кликов должно быть положительным: " + count);
+        }
+        if (closed) {
+            throw new IllegalStateException("Конвейер команд остановлен");
+        }
+        return ringBuffers[shardOf(playerId)].publishTaps(playerId, count);
+    }
+
+    /**
+     * Публикация команды активации временного усиления.
+     *
+     * @param playerId ID игрока
+     * @param buff усиление
+     * @return порядковый номер команды в шарде игрока
+     * @throws IllegalStateException если конвейер остановлен
+     */
+    public long submitBuff(long playerId, Buff buff) {
+        if (closed) {
+            throw new IllegalStateException("Конвейер команд остановлен");
+        }
+        return ringBuffers[shardOf(playerId)].publishBuff(playerId, buff);
+    }
+
+    /**
+     * Номер шарда игрока.
+     *
+     * @param playerId ID игрока
+     * @return номер шарда
+     */
+    public int shardOf(long playerId) {
+        // Перемешивание битов, чтобы последовательные ID равномерно ложились по шардам
+        long h = playerId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (ringBuffers.length - 1);
+    }
+
+    /**
+     * @return количество шардов
+     */
+    public int getShardCount() {
+        return ringBuffers.length;
+    }
+
+    /**
+     * Количество игроков во всех шардах.
+     *
+     * @return количество игроков
+     */
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Реестр игроков всех шардов.
+     *
+     * <p>Состояния игроков изменяются потоками шардов; снаружи их можно только читать.
+     *
+     * @return реестр игроков
+     */
+    public PlayerRegistry getPlayers() {
+        return players;
+    }
+
+    /**
+     * Опубликованные состояния мини-игры "Гусь" и очки игроков.
+     *
+     * <p>Обновляются потоками шардов после каждой команды; читать их можно из любого потока.
+     *
+     * @return доска состояний
+     */
+    public GooseStateBoard getStateBoard() {
+        return stateBoard;
+    }
+
+    /**
+     * Остановка конвейера.
+     *
+     * <p>Все уже опубликованные команды будут обработаны до завершения потоков.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (ShardProcessor processor : processors) {
+            processor.stop();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
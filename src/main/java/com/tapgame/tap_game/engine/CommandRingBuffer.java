@@ -0,0 +1,228 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.Buff;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Кольцевой буфер команд: много производителей, один потребитель.
+ *
+ * <p>Устроен в духе LMAX Disruptor:
+ * <ul>
+ *   <li>Ячейки ({@link Command}) создаются один раз и переиспользуются,
+ *       публикация команды не выделяет памяти</li>
+ *   <li>Производитель захватывает номер ячейки одним {@code getAndIncrement},
+ *       заполняет ее и отмечает номер опубликованным</li>
+ *   <li>Потребитель забирает сразу все опубликованные подряд команды
+ *       и освобождает их одной записью после обработки пачки</li>
+ *   <li>Блокировок нет; если буфер полон, производитель ждет потребителя</li>
+ * </ul>
+ *
+ * <p>Простаивающий потребитель сначала крутится, затем засыпает; производитель
+ * будит его после публикации, так что пустой шард не нагружает процессор.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see CommandPipeline
+ */
+public final class CommandRingBuffer {
+
+    /** Сколько раз потребитель проверяет буфер перед тем, как заснуть */
+    private static final int SPIN_TRIES = 200;
+
+    /** Максимальное время сна потребителя (страховка от потерянного пробуждения) */
+    private static final long PARK_NANOS = 1_000_000L;
+
+    private final int mask;
+    private final Command[] slots;
+
+    /** Номер последней команды, опубликованной в ячейке (по индексу ячейки) */
+    private final AtomicLongArray published;
+
+    /** Последний захваченный производителями номер */
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    /** Последний номер, обработанный потребителем */
+    private volatile long consumed = -1;
+
+    private volatile Thread consumer;
+    private volatile boolean consumerParked;
+
+    /**
+     * @param capacity количество ячеек (степень двойки)
+     * @throws IllegalArgumentException если емкость не степень двойки
+     */
+    public CommandRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Емкость буфера должна быть степенью двойки: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.slots = new Command[capacity];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Command();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Публикация команды.
+     *
+     * <p>Потокобезопасен. Если буфер полон, ждет, пока потребитель освободит место.
+     *
+     * @param type тип команды
+     * @param playerId ID игрока
+     * @param questType тип квеста или {@code null}
+     * @return порядковый номер команды
+     */
+    public long publish(CommandType type, long playerId, String questType) {
+        return publish(type, playerId, questType, null, 1);
+    }
+
+    /**
+     * Публикация нескольких кликов одной командой.
+     *
+     * @param playerId ID игрока
+     * @param count количество кликов
+     * @return порядковый номер команды
+     */
+    public long publishTaps(long playerId, int count) {
+        return publish(CommandType.TAP, playerId, null, null, count);
+    }
+
+    /**
+     * Публикация команды активации усиления.
+     *
+     * @param playerId ID игрока
+     * @param buff усиление
+     * @return порядковый номер команды
+     */
+    public long publishBuff(long playerId, Buff buff) {
+        return publish(CommandType.ACTIVATE_BUFF, playerId, null, buff, 1);
+    }
+
+    private long publish(CommandType type, long playerId, String questType, Buff buff, int count) {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        while (wrapPoint > consumed) {
+            LockSupport.parkNanos(1_000L);
+        }
+        int index = (int) sequence & mask;
+        slots[index].set(type, playerId, questType, buff, count);
+        published.set(index, sequence);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return sequence;
+    }
+
+    /**
+     * @return емкость буфера
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * @return количество команд, опубликованных или публикуемых, но еще не обработанных
+     */
+    public long getBacklog() {
+        return claimed.get() - consumed;
+    }
+
+    // === Сторона потребителя ===
+
+    /**
+     * Ожидание опубликованных команд начиная с номера {@code next}.
+     *
+     * @param next номер следующей ожидаемой команды
+     * @return номер последней опубликованной подряд команды;
+     *         {@code next - 1}, если за время ожидания ничего не пришло
+     */
+    long waitFor(long next) {
+        return waitFor(next, PARK_NANOS);
+    }
+
+    /**
+     * Ожидание опубликованных команд с заданным максимальным временем сна.
+     *
+     * <p>Производитель будит спящего потребителя сразу после публикации,
+     * поэтому длинный сон не увеличивает задержку обработки команд.
+     *
+     * @param next номер следующей ожидаемой команды
+     * @param maxParkNanos максимальное время сна в наносекундах;
+     *        {@link Long#MAX_VALUE} - спать без ограничения до публикации или {@link #wakeConsumer()}
+     * @return номер последней опубликованной подряд команды;
+     *         {@code next - 1}, если за время ожидания ничего не пришло
+     */
+    long waitFor(long next, long maxParkNanos) {
+        consumer = Thread.currentThread();
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            long available = availableFrom(next);
+            if (available >= next) {
+                return available;
+            }
+            Thread.onSpinWait();
+        }
+        consumerParked = true;
+        try {
+            long available = availableFrom(next);
+            if (available >= next) {
+                return available;
+            }
+            if (maxParkNanos == Long.MAX_VALUE) {
+                LockSupport.park(this);
+            } else if (maxParkNanos > 0) {
+                LockSupport.parkNanos(this, maxParkNanos);
+            }
+            return availableFrom(next);
+        } finally {
+            consumerParked = false;
+        }
+    }
+
+    /**
+     * Последний номер, опубликованный подряд начиная с {@code next}.
+     */
+    private long availableFrom(long next) {
+        long limit = next + slots.length - 1;
+        long sequence = next;
+        while (sequence <= limit && published.get((int) sequence & mask) == sequence) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    /**
+     * @return последний захваченный производителями номер
+     */
+    long getClaimed() {
+        return claimed.get();
+    }
+
+    /**
+     * Ячейка с командой по номеру.
+     */
+    Command get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+     * Освобождение всех ячеек до номера {@code sequence} включительно.
+     */
+    void release(long sequence) {
+        consumed = sequence;
+    }
+
+    /**
+     * Пробуждение потребителя (например, при остановке).
+     */
+    void wakeConsumer() {
+        Thread thread = consumer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.tapgame.tap_game.engine;
+
+/**
+ * Типы команд, изменяющих игровое состояние игрока.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see Command
+ */
+public enum CommandType {
+
+    /** Клики по гусю; количество в {@link Command#getCount()} */
+    TAP,
+
+    /** Улучшение силы клика */
+    UPGRADE_CLICK_POWER,
+
+    /** Улучшение автокликера */
+    UPGRADE_AUTO_CLICKER,
+
+    /** Выполнение квеста (тип квеста в {@link Command#getQuestType()}) */
+    COMPLETE_QUEST,
+
+    /** Покупка билетика */
+    BUY_TICKET,
+
+    /** Улучшение скорости квестов */
+    UPGRADE_SPEED,
+
+    /** Улучшение награды за квесты */
+    UPGRADE_REWARD,
+
+    /** Активация временного усиления (усиление в {@link Command#getBuff()}) */
+    ACTIVATE_BUFF,
+
+    /** Публикация текущего состояния (например, для нового подписчика); изменяет только начисленный пассивный доход */
+    SYNC
+}
@@ -0,0 +1,208 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.Buff;
+import com.tapgame.tap_game.models.GooseGameState;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Поток симуляции мини-игры "Гусь" для настольного клиента.
+ *
+ * <p>Вся игровая логика выполняется в отдельном потоке, а не в потоке JavaFX:
+ * <ul>
+ *   <li>Клики и покупки улучшений передаются через {@link CommandRingBuffer}
+ *       без блокировок; ввод никогда не ждет отрисовку</li>
+ *   <li>Пассивный доход начисляется с фиксированным шагом в одну секунду;
+ *       пропущенные шаги (после сна или паузы) начисляются одной операцией</li>
+ *   <li>Окончание временных усилений проверяется здесь же, а не на клике</li>
+ *   <li>После каждого изменения состояние публикуется снимком под seqlock;
+ *       поток отрисовки читает последний снимок и никогда не блокирует симуляцию</li>
+ * </ul>
+ *
+ * <p>Когда делать нечего (нет ввода, автокликера и активных усилений), поток спит
+ * без таймаута до первого клика. Пока симуляция приостановлена
+ * ({@link #setSuspended(boolean)}), поток тоже спит без таймаута и время не
+ * начисляется, а при возобновлении доход за паузу начисляется сразу.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * GooseSimulation simulation = new GooseSimulation(new GooseGameState(), this::requestRender);
+ * simulation.start();
+ * simulation.tap();
+ * // в потоке отрисовки
+ * simulation.readSnapshot(snapshot);
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see GooseSnapshot
+ */
+public class GooseSimulation implements AutoCloseable {
+
+    /** Шаг симуляции пассивного дохода */
+    private static final long STEP_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** Сон без дел: без таймаута, поток будят ввод, {@link #setSuspended(boolean)} и {@link #close()} */
+    private static final long IDLE_PARK_NANOS = Long.MAX_VALUE;
+
+    /** Емкость очереди ввода */
+    private static final int INPUT_CAPACITY = 1024;
+
+    private final GooseGameState state;
+    private final Runnable onPublish;
+    private final CommandRingBuffer input = new CommandRingBuffer(INPUT_CAPACITY);
+    private final GooseSnapshotCell snapshot = new GooseSnapshotCell();
+    private final Thread thread;
+
+    /** Изменения состояния с последней публикации (только поток симуляции) */
+    private int pendingChanges;
+
+    private volatile boolean running = true;
+    private volatile boolean suspended;
+
+    /**
+     * @param state состояние игры; после запуска изменяется только потоком симуляции
+     * @param onPublish вызывается в потоке симуляции после публикации нового снимка
+     */
+    public GooseSimulation(GooseGameState state, Runnable onPublish) {
+        this.state = state;
+        this.onPublish = onPublish;
+        this.thread = new Thread(this::run, "goose-simulation");
+        this.thread.setDaemon(true);
+        state.addChangeListener(changes -> pendingChanges |= changes);
+        snapshot.publish(state);
+    }
+
+    /**
+     * Запуск потока симуляции.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Клик по гусю. Не блокирует вызывающий поток.
+     */
+    public void tap() {
+        input.publish(CommandType.TAP, 0, null);
+    }
+
+    /**
+     * Покупка улучшения силы клика. Не блокирует вызывающий поток.
+     */
+    public void upgradeClickPower() {
+        input.publish(CommandType.UPGRADE_CLICK_POWER, 0, null);
+    }
+
+    /**
+     * Покупка автокликера. Не блокирует вызывающий поток.
+     */
+    public void upgradeAutoClicker() {
+        input.publish(CommandType.UPGRADE_AUTO_CLICKER, 0, null);
+    }
+
+    /**
+     * Активация временного усиления. Не блокирует вызывающий поток.
+     *
+     * @param buff усиление
+     */
+    public void activateBuff(Buff buff) {
+        input.publishBuff(0, buff);
+    }
+
+    /**
+     * Приостановка и возобновление начисления времени (например, пока окно свернуто).
+     *
+     * @param suspended {@code true}, чтобы приостановить
+     */
+    public void setSuspended(boolean suspended) {
+        this.suspended = suspended;
+        // Будим сам поток, а не потребителя буфера: он мог еще ни разу не ждать ввода
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Копирование последнего опубликованного снимка. Можно вызывать из любого потока.
+     *
+     * @param target снимок читателя
+     */
+    public void readSnapshot(GooseSnapshot target) {
+        snapshot.readInto(target);
+    }
+
+    /**
+     * Остановка потока симуляции.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Главный цикл симуляции.
+     */
+    private void run() {
+        long nextInput = 0;
+        long lastStep = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            long parkNanos = IDLE_PARK_NANOS;
+
+            if (suspended) {
+                // Время паузы не теряется: lastStep остается прежним и будет догнан при возобновлении
+            } else if (state.getCoinsPerSecond() > 0) {
+                long steps = (now - lastStep) / STEP_NANOS;
+                if (steps > 0) {
+                    state.addPassiveIncome(TimeUnit.NANOSECONDS.toMillis(steps * STEP_NANOS));
+                    lastStep += steps * STEP_NANOS;
+                }
+                parkNanos = lastStep + STEP_NANOS - now;
+            } else {
+                // Дохода нет: отсчет начнется с момента покупки автокликера
+                lastStep = now;
+            }
+            long wallMillis = System.currentTimeMillis();
+            state.expireBuffs(wallMillis);
+            long nextExpiry = state.getModifiers().getNextExpiryMillis();
+            if (nextExpiry != Long.MAX_VALUE) {
+                parkNanos = Math.min(parkNanos, TimeUnit.MILLISECONDS.toNanos(nextExpiry - wallMillis));
+            }
+            publishIfChanged();
+
+            long available = input.waitFor(nextInput, Math.max(1, parkNanos));
+            for (long sequence = nextInput; sequence <= available; sequence++) {
+                apply(input.get(sequence));
+            }
+            if (available >= nextInput) {
+                input.release(available);
+                nextInput = available + 1;
+                publishIfChanged();
+            }
+        }
+    }
+
+    private void apply(Command command) {
+        switch (command.getType()) {
+            case TAP -> state.tapGoose(command.getCount());
+            case UPGRADE_CLICK_POWER -> state.upgradeClickPower();
+            case UPGRADE_AUTO_CLICKER -> state.upgradeAutoClicker();
+            case ACTIVATE_BUFF -> state.applyBuff(command.getBuff(), System.currentTimeMillis());
+            default -> System.err.println("⚠️ [Simulation] Неподдерживаемая команда: " + command.getType());
+        }
+    }
+
+    private void publishIfChanged() {
+        if (pendingChanges != 0) {
+            pendingChanges = 0;
+            snapshot.publish(state);
+            onPublish.run();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.LargeNumber;
+
+/**
+ * Согласованный снимок состояния мини-игры "Гусь" для отрисовки.
+ *
+ * <p>Объект принадлежит читателю (например, контроллеру JavaFX) и заполняется
+ * через {@link GooseSimulation#readSnapshot(GooseSnapshot)}, поэтому чтение
+ * снимка не выделяет памяти. Все поля относятся к одному и тому же моменту
+ * симуляции.
+ *
+ * <p>Монеты, доход и стоимости возвращаются как {@link LargeNumber}, принадлежащие
+ * снимку: их можно читать до следующего заполнения снимка, но не изменять.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see GooseSimulation
+ */
+public final class GooseSnapshot {
+
+    long version;
+    final LargeNumber coins = new LargeNumber();
+    final LargeNumber coinsPerClick = new LargeNumber();
+    final LargeNumber coinsPerSecond = new LargeNumber();
+    final LargeNumber clickPowerUpgradeCost = new LargeNumber();
+    final LargeNumber autoClickerUpgradeCost = new LargeNumber();
+    long totalClicks;
+    int clickPowerLevel;
+    int autoClickerLevel;
+    long publishedNanos;
+
+    /**
+     * @return номер публикации; растет с каждым изменением состояния
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return количество монет
+     */
+    public LargeNumber getCoins() {
+        return coins;
+    }
+
+    /**
+     * @return монет за клик
+     */
+    public LargeNumber getCoinsPerClick() {
+        return coinsPerClick;
+    }
+
+    /**
+     * @return монет в секунду
+     */
+    public LargeNumber getCoinsPerSecond() {
+        return coinsPerSecond;
+    }
+
+    /**
+     * @return стоимость улучшения силы клика
+     */
+    public LargeNumber getClickPowerUpgradeCost() {
+        return clickPowerUpgradeCost;
+    }
+
+    /**
+     * @return стоимость улучшения автокликера
+     */
+    public LargeNumber getAutoClickerUpgradeCost() {
+        return autoClickerUpgradeCost;
+    }
+
+    /**
+     * @return общее количество кликов
+     */
+    public long getTotalClicks() {
+        return totalClicks;
+    }
+
+    /**
+     * @return уровень улучшения силы клика
+     */
+    public int getClickPowerLevel() {
+        return clickPowerLevel;
+    }
+
+    /**
+     * @return уровень автокликера
+     */
+    public int getAutoClickerLevel() {
+        return autoClickerLevel;
+    }
+
+    /**
+     * @return момент публикации снимка по {@link System#nanoTime()}
+     */
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+}
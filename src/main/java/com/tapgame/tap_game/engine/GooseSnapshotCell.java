@@ -0,0 +1,104 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.LargeNumber;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Ячейка публикации снимков состояния под seqlock.
+ *
+ * <p>Писатель (поток симуляции) делает номер версии нечетным, записывает поля
+ * и делает номер снова четным. Читатель копирует поля и проверяет, что номер
+ * не изменился и был четным; иначе повторяет чтение. Ни писатель, ни читатель
+ * не берут блокировок и не выделяют памяти, а писатель никогда не ждет читателя.
+ *
+ * <p>Числа {@link LargeNumber} ячейки копируются поле за полем внутри той же
+ * критической секции, поэтому читатель либо видит их целиком, либо повторяет чтение.
+ *
+ * <p>Поддерживается ровно один писатель.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class GooseSnapshotCell {
+
+    private static final VarHandle SEQUENCE;
+
+    static {
+        try {
+            SEQUENCE = MethodHandles.lookup().findVarHandle(GooseSnapshotCell.class, "sequence", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /** Номер версии: нечетный, пока идет запись */
+    @SuppressWarnings("unused")
+    private long sequence;
+
+    private final LargeNumber coins = new LargeNumber();
+    private final LargeNumber coinsPerClick = new LargeNumber();
+    private final LargeNumber coinsPerSecond = new LargeNumber();
+    private final LargeNumber clickPowerUpgradeCost = new LargeNumber();
+    private final LargeNumber autoClickerUpgradeCost = new LargeNumber();
+    private long totalClicks;
+    private int clickPowerLevel;
+    private int autoClickerLevel;
+    private long publishedNanos;
+
+    /**
+     * Публикация текущего состояния. Вызывается только потоком-владельцем состояния.
+     *
+     * @param state состояние игры
+     */
+    void publish(GooseGameState state) {
+        long current = (long) SEQUENCE.getOpaque(this);
+        SEQUENCE.setOpaque(this, current + 1);
+        VarHandle.storeStoreFence();
+
+        state.readCoins(coins);
+        state.readCoinsPerClick(coinsPerClick);
+        state.readCoinsPerSecond(coinsPerSecond);
+        state.readClickPowerUpgradeCost(clickPowerUpgradeCost);
+        state.readAutoClickerUpgradeCost(autoClickerUpgradeCost);
+        totalClicks = state.getTotalClicks();
+        clickPowerLevel = state.getClickPowerLevel();
+        autoClickerLevel = state.getAutoClickerLevel();
+        publishedNanos = System.nanoTime();
+
+        SEQUENCE.setRelease(this, current + 2);
+    }
+
+    /**
+     * Копирование последнего опубликованного состояния.
+     *
+     * @param target снимок читателя
+     */
+    void readInto(GooseSnapshot target) {
+        while (true) {
+            long before = (long) SEQUENCE.getAcquire(this);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            target.coins.set(coins);
+            target.coinsPerClick.set(coinsPerClick);
+            target.coinsPerSecond.set(coinsPerSecond);
+            target.clickPowerUpgradeCost.set(clickPowerUpgradeCost);
+            target.autoClickerUpgradeCost.set(autoClickerUpgradeCost);
+            target.totalClicks = totalClicks;
+            target.clickPowerLevel = clickPowerLevel;
+            target.autoClickerLevel = autoClickerLevel;
+            target.publishedNanos = publishedNanos;
+
+            VarHandle.loadLoadFence();
+            if ((long) SEQUENCE.getOpaque(this) == before) {
+                target.version = before >>> 1;
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.collections.ConcurrentLongObjectMap;
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.LargeNumber;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Опубликованные состояния мини-игры "Гусь" игроков конвейера.
+ *
+ * <p>Поток шарда после каждой команды обновляет здесь очки игрока (десятичный
+ * логарифм монет, для рейтинга) и, если за игроком кто-то наблюдает, публикует его
+ * состояние в {@link GooseSnapshotCell}. Читатели из других потоков получают
+ * согласованный снимок без блокировок, как и у {@link GooseSimulation}.
+ *
+ * <p>Ячейка снимка создается только на время наблюдения ({@link #watch(long)}),
+ * поэтому игроки без подписчиков стоят шарду одного поиска в таблице и одной записи
+ * очков на команду.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * GooseStateBoard board = pipeline.getStateBoard();
+ * board.watch(userId);
+ * pipeline.submit(CommandType.SYNC, userId); // первая публикация
+ * GooseSnapshot snapshot = new GooseSnapshot();
+ * if (board.read(userId, snapshot)) {
+ *     render(snapshot);
+ * }
+ * board.unwatch(userId);
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see CommandPipeline#getStateBoard()
+ */
+public final class GooseStateBoard {
+
+    /**
+     * Данные одного игрока. Поля, кроме счетчика наблюдателей, пишет только поток шарда игрока.
+     */
+    private static final class Entry {
+
+        /** Монеты для вычисления очков; принадлежит потоку шарда */
+        final LargeNumber coins = new LargeNumber();
+
+        volatile double score = Double.NEGATIVE_INFINITY;
+
+        /** Ячейка снимка или {@code null}, если за игроком не наблюдают */
+        volatile GooseSnapshotCell cell;
+
+        /** Количество наблюдателей (под монитором записи) */
+        int watchers;
+    }
+
+    private final ConcurrentLongObjectMap<Entry> entries = new ConcurrentLongObjectMap<>();
+
+    GooseStateBoard() {
+    }
+
+    /**
+     * Публикация состояния игрока после команды. Вызывается только потоком шарда игрока.
+     *
+     * @param playerId ID игрока
+     * @param state состояние мини-игры игрока
+     */
+    void publish(long playerId, GooseGameState state) {
+        Entry entry = entries.computeIfAbsent(playerId, id -> new Entry());
+        entry.score = state.readCoins(entry.coins).log10();
+        GooseSnapshotCell cell = entry.cell;
+        if (cell != null) {
+            cell.publish(state);
+        }
+    }
+
+    /**
+     * Начало наблюдения за игроком. Снимок появится после следующей команды игрока,
+     * поэтому вызывающий обычно сразу публикует {@link CommandType#SYNC}.
+     *
+     * <p>Наблюдатели считаются: каждому вызову должен соответствовать {@link #unwatch(long)}.
+     *
+     * @param playerId ID игрока
+     */
+    public void watch(long playerId) {
+        Entry entry = entries.computeIfAbsent(playerId, id -> new Entry());
+        synchronized (entry) {
+            if (entry.watchers++ == 0) {
+                entry.cell = new GooseSnapshotCell();
+            }
+        }
+    }
+
+    /**
+     * Окончание наблюдения за игроком.
+     *
+     * @param playerId ID игрока
+     */
+    public void unwatch(long playerId) {
+        Entry entry = entries.get(playerId);
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (entry.watchers > 0 && --entry.watchers == 0) {
+                entry.cell = null;
+            }
+        }
+    }
+
+    /**
+     * Чтение последнего опубликованного состояния игрока.
+     *
+     * @param playerId ID игрока
+     * @param target снимок читателя
+     * @return {@code false}, если за игроком не наблюдают или состояние еще не опубликовано
+     */
+    public boolean read(long playerId, GooseSnapshot target) {
+        Entry entry = entries.get(playerId);
+        GooseSnapshotCell cell = entry != null ? entry.cell : null;
+        if (cell == null) {
+            return false;
+        }
+        cell.readInto(target);
+        return target.version != 0;
+    }
+
+    /**
+     * @param playerId ID игрока
+     * @return очки игрока (десятичный логарифм монет) или {@link Double#NEGATIVE_INFINITY},
+     *         если игрок не выполнял команд
+     */
+    public double getScore(long playerId) {
+        Entry entry = entries.get(playerId);
+        return entry != null ? entry.score : Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Обход очков всех игроков, выполнявших команды. Значения не образуют единого
+     * снимка: каждое актуально на момент чтения.
+     *
+     * @param action получатель очков
+     */
+    public void forEachScore(DoubleConsumer action) {
+        entries.forEach((playerId, entry) -> action.accept(entry.score));
+    }
+
+    /**
+     * @return количество игроков на доске
+     */
+    public int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,69 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.collections.ConcurrentLongObjectMap;
+import com.tapgame.tap_game.models.PlayerState;
+
+import java.util.function.Consumer;
+
+/**
+ * Реестр игроков по Telegram ID.
+ *
+ * <p>Хранит состояния в {@link ConcurrentLongObjectMap}: ID не упаковываются в {@link Long},
+ * поиск не берет блокировок, а рост реестра не останавливает шарды на перехеширование.
+ * Состояние игрока изменяет только поток его шарда, реестр лишь выдает ссылку.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PlayerRegistry {
+
+    private final ConcurrentLongObjectMap<PlayerState> players;
+
+    /**
+     * Создает пустой реестр.
+     */
+    public PlayerRegistry() {
+        this(1024);
+    }
+
+    /**
+     * @param expectedPlayers ожидаемое количество игроков
+     */
+    public PlayerRegistry(int expectedPlayers) {
+        this.players = new ConcurrentLongObjectMap<>(expectedPlayers);
+    }
+
+    /**
+     * @param userId Telegram ID игрока
+     * @return состояние игрока или {@code null}, если игрок еще не играл
+     */
+    public PlayerState get(long userId) {
+        return players.get(userId);
+    }
+
+    /**
+     * Состояние игрока; для нового игрока создается начальное состояние.
+     *
+     * @param userId Telegram ID игрока
+     * @return состояние игрока
+     */
+    public PlayerState getOrCreate(long userId) {
+        return players.computeIfAbsent(userId, PlayerState::new);
+    }
+
+    /**
+     * @return количество игроков
+     */
+    public int size() {
+        return players.size();
+    }
+
+    /**
+     * Обход всех игроков (слабо согласованный).
+     *
+     * @param action действие для каждого игрока
+     */
+    public void forEach(Consumer<? super PlayerState> action) {
+        players.forEach((userId, player) -> action.accept(player));
+    }
+}
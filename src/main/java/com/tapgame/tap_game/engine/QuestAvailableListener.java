@@ -0,0 +1,23 @@
+package com.tapgame.tap_game.engine;
+
+/**
+ * Слушатель окончания перезарядки квестов.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see QuestCooldownScheduler
+ */
+@FunctionalInterface
+public interface QuestAvailableListener {
+
+    /**
+     * Квест снова доступен игроку.
+     *
+     * <p>Вызывается из потока планировщика; долгие действия (отправку уведомления)
+     * следует передавать исполнителю.
+     *
+     * @param playerId ID игрока
+     * @param questType тип квеста
+     */
+    void onQuestAvailable(long playerId, String questType);
+}
@@ -0,0 +1,132 @@
+package com.tapgame.tap_game.engine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Планировщик окончания перезарядки квестов.
+ *
+ * <p>Перезарядки всех игроков лежат в одном {@link TimingWheel}, которое продвигает
+ * один поток: добавление и срабатывание стоят O(1), миллионы ожидающих перезарядок
+ * не требуют ни потока, ни задачи {@code ScheduledExecutorService} на игрока.
+ * По окончании перезарядки вызывается {@link QuestAvailableListener} - например,
+ * для уведомления игрока в Telegram.
+ *
+ * <p>Сама доступность квеста определяется временем в {@code GameState}, поэтому
+ * событие только сообщает о ней и может прийти на тик позже срока.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * QuestCooldownScheduler cooldowns = new QuestCooldownScheduler(1000, (playerId, questType) ->
+ *         executor.execute(() -> telegramService.sendQuestAvailableNotification(chatId(playerId), questType)));
+ * cooldowns.start();
+ * if (game.completeQuest(questType, now)) {
+ *     cooldowns.schedule(playerId, questType, game.getQuestAvailableAt(questType));
+ * }
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see TimingWheel
+ */
+public class QuestCooldownScheduler implements AutoCloseable {
+
+    /** Уровней колеса: при тике 1 с покрывают 194 дня */
+    private static final int WHEEL_LEVELS = 4;
+
+    private final long tickMillis;
+    private final QuestAvailableListener listener;
+    private final TimingWheel<String> wheel;
+    private final TimingWheel.ExpiryHandler<String> handler;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * Создает планировщик.
+     *
+     * @param tickMillis точность срабатывания, мс
+     * @param listener слушатель окончания перезарядки
+     */
+    public QuestCooldownScheduler(long tickMillis, QuestAvailableListener listener) {
+        this.tickMillis = tickMillis;
+        this.listener = listener;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_LEVELS, System.currentTimeMillis());
+        this.handler = this::fire;
+        this.thread = new Thread(this::run, "quest-cooldowns");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Запуск потока планировщика.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Планирование события окончания перезарядки.
+     *
+     * @param playerId ID игрока
+     * @param questType тип квеста
+     * @param availableAtMillis время окончания перезарядки, мс эпохи
+     */
+    public void schedule(long playerId, String questType, long availableAtMillis) {
+        synchronized (wheel) {
+            wheel.schedule(playerId, questType, availableAtMillis);
+        }
+    }
+
+    /**
+     * Срабатывание наступивших перезарядок.
+     *
+     * <p>Вызывается потоком планировщика; открыт для тестов и ручного продвижения времени.
+     *
+     * @param nowMillis текущее время, мс эпохи
+     * @return количество сработавших перезарядок
+     */
+    public int advance(long nowMillis) {
+        synchronized (wheel) {
+            return wheel.advance(nowMillis, handler);
+        }
+    }
+
+    /**
+     * @return количество ожидающих перезарядок
+     */
+    public int getPendingCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    /**
+     * Остановка потока планировщика.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            advance(System.currentTimeMillis());
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(tickMillis));
+        }
+    }
+
+    private void fire(long playerId, String questType) {
+        try {
+            listener.onQuestAvailable(playerId, questType);
+        } catch (RuntimeException e) {
+            System.err.println("❌ [Quests] Ошибка обработчика перезарядки игрока " + playerId + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.Buff;
+import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.PlayerState;
+import com.tapgame.tap_game.models.Stat;
+
+/**
+ * Единственный писатель шарда.
+ *
+ * <p>Только поток этого обработчика изменяет состояния игроков своего шарда,
+ * поэтому сами состояния не нуждаются в синхронизации, а порядок изменений
+ * строго совпадает с порядком команд в буфере.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ShardProcessor implements Runnable {
+
+    /** Шаг начисления пассивного дохода; неполный шаг переносится на следующую команду */
+    private static final long INCOME_STEP_MILLIS = 1000;
+
+    private final CommandRingBuffer ringBuffer;
+    private final CommandEventHandler handler;
+
+    /** Общий реестр игроков; состояния игроков шарда изменяет только поток шарда */
+    private final PlayerRegistry players;
+
+    /** Доска опубликованных состояний */
+    private final GooseStateBoard stateBoard;
+
+    /** Планировщик перезарядки квестов или {@code null} */
+    private final QuestCooldownScheduler questCooldowns;
+
+    private volatile boolean running = true;
+
+    ShardProcessor(CommandRingBuffer ringBuffer, CommandEventHandler handler, PlayerRegistry players,
+                   GooseStateBoard stateBoard, QuestCooldownScheduler questCooldowns) {
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.players = players;
+        this.stateBoard = stateBoard;
+        this.questCooldowns = questCooldowns;
+    }
+
+    @Override
+    public void run() {
+        long next = 0;
+        while (true) {
+            long available = ringBuffer.waitFor(next);
+            if (available < next) {
+                if (!running && ringBuffer.getClaimed() < next) {
+                    return;
+                }
+                continue;
+            }
+            long nowMillis = System.currentTimeMillis();
+            for (long sequence = next; sequence <= available; sequence++) {
+                Command command = ringBuffer.get(sequence);
+                try {
+                    apply(command, nowMillis);
+                } catch (RuntimeException e) {
+                    // Сбой одной команды не должен останавливать шард: остальные игроки ждут его
+                    command.complete(false, 0);
+                    System.err.println("❌ [Engine] Ошибка применения команды " + command + ": " + e);
+                }
+                try {
+                    handler.onEvent(command, sequence, sequence == available);
+                } catch (RuntimeException e) {
+                    System.err.println("❌ [Engine] Ошибка обработчика команды " + command + ": " + e.getMessage());
+                }
+            }
+            ringBuffer.release(available);
+            next = available + 1;
+        }
+    }
+
+    /**
+     * Остановка после обработки уже опубликованных команд.
+     */
+    void stop() {
+        running = false;
+        ringBuffer.wakeConsumer();
+    }
+
+    /**
+     * Применение команды к состоянию игрока.
+     *
+     * <p>Перед командой начисляется пассивный доход за время с прошлой команды и
+     * снимаются закончившиеся усиления игрока (одно сравнение, если ни одно не
+     * закончилось), поэтому сам клик их не проверяет. После команды состояние гуся
+     * публикуется на {@link GooseStateBoard}.
+     */
+    private void apply(Command command, long nowMillis) {
+        PlayerState player = players.getOrCreate(command.getPlayerId());
+        GameState game = player.getGameState();
+        GooseGameState goose = player.getGooseGameState();
+        // Доход до окончания каждого усиления начисляется по ставке с этим усилением
+        long nextExpiry = goose.getModifiers().getNextExpiryMillis();
+        while (nextExpiry <= nowMillis) {
+            creditPassiveIncome(player, goose, nextExpiry);
+            goose.expireBuffs(nextExpiry);
+            nextExpiry = goose.getModifiers().getNextExpiryMillis();
+        }
+        creditPassiveIncome(player, goose, nowMillis);
+        switch (command.getType()) {
+            case TAP -> {
+                goose.tapGoose(command.getCount());
+                command.complete(true, goose.getCoins());
+            }
+            case UPGRADE_CLICK_POWER -> command.complete(goose.upgradeClickPower(), goose.getCoins());
+            case UPGRADE_AUTO_CLICKER -> command.complete(goose.upgradeAutoClicker(), goose.getCoins());
+            case COMPLETE_QUEST -> {
+                String questType = command.getQuestType();
+                boolean completed = game.completeQuest(questType, nowMillis);
+                if (completed && questCooldowns != null) {
+                    questCooldowns.schedule(command.getPlayerId(), questType, game.getQuestAvailableAt(questType));
+                }
+                command.complete(completed, game.getCoins());
+            }
+            case BUY_TICKET -> command.complete(game.buyTicket(), game.getCoins());
+            case UPGRADE_SPEED -> command.complete(game.upgradeSpeed(), game.getCoins());
+            case UPGRADE_REWARD -> command.complete(game.upgradeReward(), game.getCoins());
+            case ACTIVATE_BUFF -> {
+                Buff buff = command.getBuff();
+                if (buff.getStat() == Stat.QUEST_REWARD) {
+                    game.applyBuff(buff, nowMillis);
+                    command.complete(true, game.getCoins());
+                } else {
+                    goose.applyBuff(buff, nowMillis);
+                    command.complete(true, goose.getCoins());
+                }
+            }
+            case SYNC -> command.complete(true, goose.getCoins());
+        }
+        stateBoard.publish(command.getPlayerId(), goose);
+    }
+
+    /**
+     * Ленивое начисление пассивного дохода целыми секундами, без отдельного таймера.
+     *
+     * <p>Вызывается до снятия усилений, закончившихся к {@code nowMillis}, поэтому время
+     * их действия начисляется по повышенной ставке, даже если игрок все это время
+     * молчал. Пока дохода нет, отсчет сдвигается к {@code nowMillis}: доход
+     * автокликера идет с момента покупки.
+     */
+    private static void creditPassiveIncome(PlayerState player, GooseGameState goose, long nowMillis) {
+        long creditedUntil = player.getIncomeCreditedUntilMillis();
+        if (creditedUntil == 0 || goose.getCoinsPerSecond() == 0) {
+            player.setIncomeCreditedUntilMillis(nowMillis);
+            return;
+        }
+        long steps = (nowMillis - creditedUntil) / INCOME_STEP_MILLIS;
+        if (steps > 0) {
+            goose.addPassiveIncome(steps * INCOME_STEP_MILLIS);
+            player.setIncomeCreditedUntilMillis(creditedUntil + steps * INCOME_STEP_MILLIS);
+        }
+    }
+}
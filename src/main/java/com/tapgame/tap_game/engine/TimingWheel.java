@@ -0,0 +1,250 @@
+package com.tapgame.tap_game.engine;
+
+/**
+ * Иерархическое колесо таймеров.
+ *
+ * <p>Время делится на тики ({@code tickMillis}). Каждый уровень колеса - 64 ячейки;
+ * ячейка уровня {@code L} покрывает {@code 64^L} тиков. Таймер кладется в ячейку того
+ * уровня, в котором его срок впервые отличается от текущего тика, и опускается на
+ * уровень ниже, когда текущее время доходит до его ячейки. Таймеры дальше всех уровней
+ * лежат на верхнем уровне и перекладываются на каждом его обороте.
+ *
+ * <p><strong>Сложность:</strong>
+ * <ul>
+ *   <li>Добавление и отмена - O(1), без поиска и без упорядочивания</li>
+ *   <li>Срабатывание - O(1) на таймер плюс не больше {@code levels - 1} перекладываний</li>
+ *   <li>Один узел на таймер, без отдельного потока на таймер</li>
+ * </ul>
+ *
+ * <p>Таймер срабатывает на первом {@link #advance} после своего срока (срок округляется
+ * вверх до тика); таймер с уже прошедшим сроком - на следующем тике.
+ * Не потокобезопасно: используется одним потоком или под внешней блокировкой.
+ *
+ * @param <T> тип данных таймера
+ * @version 1.0
+ * @since 1.0
+ * @see QuestCooldownScheduler
+ */
+public final class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    /**
+     * Обработчик сработавших таймеров.
+     *
+     * @param <T> тип данных таймера
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler<T> {
+        /**
+         * @param id идентификатор таймера (например, ID игрока)
+         * @param payload данные таймера
+         */
+        void onExpired(long id, T payload);
+    }
+
+    /**
+     * Запланированный таймер; узел списка ячейки колеса.
+     *
+     * @param <T> тип данных таймера
+     */
+    public static final class Timeout<T> {
+        private final long id;
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private int bucket = -1;
+
+        private Timeout(long id, T payload, long deadlineTick) {
+            this.id = id;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return идентификатор таймера
+         */
+        public long getId() {
+            return id;
+        }
+
+        /**
+         * @return данные таймера
+         */
+        public T getPayload() {
+            return payload;
+        }
+
+        /**
+         * @return {@code true}, если таймер еще не сработал и не отменен
+         */
+        public boolean isPending() {
+            return bucket >= 0;
+        }
+    }
+
+    private final long tickMillis;
+    private final int levels;
+    private final Timeout<T>[] buckets;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Создает колесо.
+     *
+     * @param tickMillis длительность тика, мс
+     * @param levels количество уровней (4 уровня по 1 с покрывают 194 дня)
+     * @param startMillis начальное время, мс
+     * @throws IllegalArgumentException если тик или количество уровней не положительны
+     */
+    public TimingWheel(long tickMillis, int levels, long startMillis) {
+        if (tickMillis <= 0 || levels <= 0 || levels > 10) {
+            throw new IllegalArgumentException("Некорректные параметры колеса: тик " + tickMillis + ", уровней " + levels);
+        }
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        @SuppressWarnings("unchecked")
+        Timeout<T>[] created = (Timeout<T>[]) new Timeout<?>[levels * WHEEL_SIZE];
+        this.buckets = created;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Добавление таймера.
+     *
+     * <p>Таймер с уже прошедшим сроком сработает при следующем {@link #advance}.
+     *
+     * @param id идентификатор таймера
+     * @param payload данные таймера
+     * @param deadlineMillis срок, мс
+     * @return таймер (для отмены)
+     */
+    public Timeout<T> schedule(long id, T payload, long deadlineMillis) {
+        // Округление вверх: таймер не срабатывает раньше срока
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(id, payload, deadlineTick);
+        place(timeout, false);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Отмена таймера.
+     *
+     * @param timeout таймер
+     * @return {@code true}, если таймер был запланирован и отменен
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Продвижение времени и срабатывание наступивших таймеров.
+     *
+     * <p>Обработчик может планировать новые таймеры.
+     *
+     * @param nowMillis текущее время, мс
+     * @param handler обработчик сработавших таймеров
+     * @return количество сработавших таймеров
+     */
+    public int advance(long nowMillis, ExpiryHandler<? super T> handler) {
+        long targetTick = nowMillis / tickMillis;
+        int fired = 0;
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            long tick = ++currentTick;
+            // Сначала верхние уровни: их таймеры могут опуститься в ячейки нижних
+            for (int level = levels - 1; level > 0; level--) {
+                int shift = level * WHEEL_BITS;
+                if ((tick & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) (tick >>> shift) & WHEEL_MASK);
+                }
+            }
+            // По одному из головы ячейки: обработчик может отменять и планировать таймеры
+            int index = (int) tick & WHEEL_MASK;
+            Timeout<T> timeout;
+            while ((timeout = buckets[index]) != null) {
+                unlink(timeout);
+                size--;
+                fired++;
+                handler.onExpired(timeout.id, timeout.payload);
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * @return количество запланированных таймеров
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Перекладывание таймеров ячейки на нижние уровни.
+     */
+    private void cascade(int level, int slot) {
+        Timeout<T> timeout = detach(level * WHEEL_SIZE + slot);
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            timeout.prev = null;
+            timeout.next = null;
+            place(timeout, true);
+            timeout = next;
+        }
+    }
+
+    /**
+     * @param cascading {@code true} при перекладывании: ячейка текущего тика еще не сработала
+     */
+    private void place(Timeout<T> timeout, boolean cascading) {
+        long deadline = timeout.deadlineTick;
+        int bucket;
+        if (deadline <= currentTick) {
+            bucket = (int) (cascading ? currentTick : currentTick + 1) & WHEEL_MASK;
+        } else {
+            // Уровень - старшая группа битов, в которой срок отличается от текущего тика
+            int highestBit = 63 - Long.numberOfLeadingZeros(deadline ^ currentTick);
+            int level = Math.min(highestBit / WHEEL_BITS, levels - 1);
+            bucket = level * WHEEL_SIZE + ((int) (deadline >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+        }
+        Timeout<T> head = buckets[bucket];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[bucket] = timeout;
+        timeout.bucket = bucket;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+    }
+
+    private Timeout<T> detach(int bucket) {
+        Timeout<T> head = buckets[bucket];
+        buckets[bucket] = null;
+        return head;
+    }
+}
@@ -0,0 +1,119 @@
+package com.tapgame.tap_game.lottery;
+
+import com.tapgame.tap_game.models.PlayerState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Розыгрыш призов среди всех игроков пропорционально количеству билетов.
+ *
+ * <p>Особенности:
+ * <ul>
+ *   <li>Вероятность выигрыша игрока равна доле его билетов в общем числе билетов</li>
+ *   <li>Розыгрыш без возвращения: игрок выигрывает не больше одного приза,
+ *       после победы его билеты выбывают из розыгрыша</li>
+ *   <li>Результат полностью определяется зерном генератора и может быть
+ *       повторен для проверки</li>
+ *   <li>Выбор одного победителя - O(log n) по дереву Фенвика; розыгрыш
+ *       по десяткам миллионов билетов занимает доли секунды</li>
+ * </ul>
+ *
+ * <p>Участники фиксируются при создании объекта; один и тот же объект можно
+ * разыгрывать повторно с разными зернами.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * PrizeDraw draw = PrizeDraw.of(players);
+ * List<PrizeWinner> winners = draw.draw(List.of("Худи", "Кружка"), seed);
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see PrizeNotifier
+ */
+public class PrizeDraw {
+
+    private final long[] playerIds;
+    private final long[] tickets;
+
+    /**
+     * Создание розыгрыша по массивам участников.
+     *
+     * @param playerIds ID игроков
+     * @param tickets количество билетов каждого игрока (в том же порядке)
+     * @throws IllegalArgumentException если длины массивов различаются
+     */
+    public PrizeDraw(long[] playerIds, long[] tickets) {
+        if (playerIds.length != tickets.length) {
+            throw new IllegalArgumentException("Количество игроков и записей о билетах не совпадает");
+        }
+        this.playerIds = playerIds.clone();
+        this.tickets = tickets.clone();
+    }
+
+    /**
+     * Создание розыгрыша по состояниям игроков.
+     *
+     * @param players игроки; учитываются купленные билеты {@link com.tapgame.tap_game.models.GameState#getTicketsBought()}
+     * @return розыгрыш среди игроков с билетами
+     */
+    public static PrizeDraw of(Collection<PlayerState> players) {
+        long[] ids = new long[players.size()];
+        long[] counts = new long[players.size()];
+        int i = 0;
+        for (PlayerState player : players) {
+            ids[i] = player.getPlayerId();
+            counts[i] = player.getGameState().getTicketsBought();
+            i++;
+        }
+        return new PrizeDraw(ids, counts);
+    }
+
+    /**
+     * @return количество участников (включая игроков без билетов)
+     */
+    public int getPlayerCount() {
+        return playerIds.length;
+    }
+
+    /**
+     * @return суммарное количество билетов
+     */
+    public long getTotalTickets() {
+        long total = 0;
+        for (long count : tickets) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Розыгрыш призов.
+     *
+     * <p>Призы разыгрываются по порядку. Если призов больше, чем игроков с билетами,
+     * лишние призы остаются неразыгранными.
+     *
+     * @param prizes названия призов
+     * @param seed зерно генератора случайных чисел
+     * @return победители в порядке розыгрыша призов
+     */
+    public List<PrizeWinner> draw(List<String> prizes, long seed) {
+        TicketFenwickTree tree = new TicketFenwickTree(tickets);
+        SplittableRandom random = new SplittableRandom(seed);
+        List<PrizeWinner> winners = new ArrayList<>(prizes.size());
+        for (String prize : prizes) {
+            if (tree.total() == 0) {
+                break;
+            }
+            int index = tree.find(random.nextLong(tree.total()));
+            long weight = tree.weight(index);
+            tree.add(index, -weight);
+            winners.add(new PrizeWinner(playerIds[index], prize, weight));
+        }
+        return winners;
+    }
+}
@@ -0,0 +1,80 @@
+package com.tapgame.tap_game.lottery;
+
+import com.tapgame.tap_game.services.TelegramService;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.LongFunction;
+
+/**
+ * Отправка уведомлений победителям розыгрыша пачками.
+ *
+ * <p>Победители делятся на пачки фиксированного размера; каждая пачка
+ * отправляется одной задачей {@link Executor}. Так большой розыгрыш не
+ * создает тысячи задач разом, а размер пачки и исполнитель позволяют
+ * уложиться в ограничения Telegram API на частоту сообщений.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * PrizeNotifier notifier = new PrizeNotifier(telegramService, String::valueOf, 30, executor);
+ * notifier.notifyWinners(draw.draw(prizes, seed));
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see PrizeDraw
+ * @see TelegramService#sendPrizeWonNotification(String, String)
+ */
+public class PrizeNotifier {
+
+    private final TelegramService telegramService;
+    private final LongFunction<String> chatIdResolver;
+    private final int batchSize;
+    private final Executor executor;
+
+    /**
+     * @param telegramService сервис отправки сообщений
+     * @param chatIdResolver ID чата по ID игрока (для личных чатов совпадает с ID пользователя)
+     * @param batchSize количество сообщений в одной задаче
+     * @param executor исполнитель для отправки пачек
+     * @throws IllegalArgumentException если размер пачки не положителен
+     */
+    public PrizeNotifier(TelegramService telegramService, LongFunction<String> chatIdResolver,
+                         int batchSize, Executor executor) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Размер пачки должен быть положительным: " + batchSize);
+        }
+        this.telegramService = telegramService;
+        this.chatIdResolver = chatIdResolver;
+        this.batchSize = batchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * Отправка уведомлений всем победителям.
+     *
+     * @param winners победители розыгрыша
+     * @return количество отправленных пачек
+     */
+    public int notifyWinners(List<PrizeWinner> winners) {
+        int batches = 0;
+        for (int from = 0; from < winners.size(); from += batchSize) {
+            List<PrizeWinner> batch = List.copyOf(winners.subList(from, Math.min(from + batchSize, winners.size())));
+            executor.execute(() -> sendBatch(batch));
+            batches++;
+        }
+        System.out.println("🎁 [Lottery] Уведомления о выигрыше: " + winners.size() + " победителей, " + batches + " пачек");
+        return batches;
+    }
+
+    private void sendBatch(List<PrizeWinner> batch) {
+        for (PrizeWinner winner : batch) {
+            try {
+                telegramService.sendPrizeWonNotification(chatIdResolver.apply(winner.getPlayerId()), winner.getPrizeName());
+            } catch (RuntimeException e) {
+                System.err.println("❌ [Lottery] Не удалось уведомить игрока " + winner.getPlayerId() + ": " + e.getMessage());
+            }
+        }
+    }
+}
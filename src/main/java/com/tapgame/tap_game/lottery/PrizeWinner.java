@@ -0,0 +1,51 @@
+package com.tapgame.tap_game.lottery;
+
+/**
+ * Победитель розыгрыша.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class PrizeWinner {
+
+    private final long playerId;
+    private final String prizeName;
+    private final long tickets;
+
+    /**
+     * @param playerId ID игрока
+     * @param prizeName название приза
+     * @param tickets количество билетов игрока на момент розыгрыша
+     */
+    public PrizeWinner(long playerId, String prizeName, long tickets) {
+        this.playerId = playerId;
+        this.prizeName = prizeName;
+        this.tickets = tickets;
+    }
+
+    /**
+     * @return ID игрока (пользователя Telegram)
+     */
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return название приза
+     */
+    public String getPrizeName() {
+        return prizeName;
+    }
+
+    /**
+     * @return количество билетов игрока на момент розыгрыша
+     */
+    public long getTickets() {
+        return tickets;
+    }
+
+    @Override
+    public String toString() {
+        return "PrizeWinner{playerId=" + playerId + ", prizeName='" + prizeName + "', tickets=" + tickets + "}";
+    }
+}
@@ -0,0 +1,107 @@
+package com.tapgame.tap_game.lottery;
+
+/**
+ * Дерево Фенвика над количеством билетов игроков.
+ *
+ * <p>Позволяет выбирать игрока с вероятностью, пропорциональной числу его билетов:
+ * <ul>
+ *   <li>Построение по массиву весов - O(n)</li>
+ *   <li>Поиск игрока по номеру билета - O(log n), без деления и рекурсии</li>
+ *   <li>Изменение веса игрока (например, исключение победителя) - O(log n)</li>
+ * </ul>
+ *
+ * <p>Индексы игроков начинаются с нуля. Класс не потокобезопасен.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class TicketFenwickTree {
+
+    /** Частичные суммы, индексация с единицы */
+    private final long[] tree;
+
+    /** Старшая степень двойки, не превышающая размер (шаг двоичного спуска) */
+    private final int topStep;
+
+    private long total;
+
+    /**
+     * Построение дерева за линейное время.
+     *
+     * @param weights количество билетов каждого игрока (неотрицательное)
+     * @throws IllegalArgumentException если встречен отрицательный вес
+     */
+    TicketFenwickTree(long[] weights) {
+        int size = weights.length;
+        tree = new long[size + 1];
+        for (int i = 1; i <= size; i++) {
+            long weight = weights[i - 1];
+            if (weight < 0) {
+                throw new IllegalArgumentException("Отрицательное количество билетов: " + weight);
+            }
+            tree[i] += weight;
+            total += weight;
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+        topStep = size == 0 ? 0 : Integer.highestOneBit(size);
+    }
+
+    /**
+     * @return суммарное количество билетов
+     */
+    long total() {
+        return total;
+    }
+
+    /**
+     * Изменение количества билетов игрока.
+     *
+     * @param index индекс игрока
+     * @param delta изменение количества билетов
+     */
+    void add(int index, long delta) {
+        total += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Количество билетов игрока.
+     *
+     * @param index индекс игрока
+     * @return текущий вес игрока
+     */
+    long weight(int index) {
+        long weight = tree[index + 1];
+        // Вычитаем суммы, которые входят в узел, но относятся к предыдущим игрокам
+        int stop = index + 1 - ((index + 1) & -(index + 1));
+        for (int i = index; i > stop; i -= i & -i) {
+            weight -= tree[i];
+        }
+        return weight;
+    }
+
+    /**
+     * Поиск владельца билета с заданным номером.
+     *
+     * <p>Билеты пронумерованы подряд: сначала все билеты игрока 0, затем игрока 1 и т.д.
+     *
+     * @param ticket номер билета от 0 до {@link #total()} (не включая)
+     * @return индекс игрока, которому принадлежит билет
+     */
+    int find(long ticket) {
+        int position = 0;
+        for (int step = topStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= ticket) {
+                position = next;
+                ticket -= tree[next];
+            }
+        }
+        return position;
+    }
+}
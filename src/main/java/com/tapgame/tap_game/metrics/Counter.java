@@ -0,0 +1,38 @@
+package com.tapgame.tap_game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Монотонный счетчик событий.
+ *
+ * <p>Построен на {@link LongAdder}: увеличение не использует блокировок
+ * и не выделяет память (ячейки для конкурирующих потоков создаются
+ * один раз при первом столкновении).
+ *
+ * @see MetricsRegistry#counter(String)
+ */
+public class Counter implements CounterMXBean {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Регистрирует одно событие.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Регистрирует несколько событий.
+     *
+     * @param n количество событий
+     */
+    public void add(long n) {
+        count.add(n);
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,16 @@
+package com.tapgame.tap_game.metrics;
+
+/**
+ * JMX-представление счетчика.
+ *
+ * @see Counter
+ */
+public interface CounterMXBean {
+
+    /**
+     * Возвращает накопленное значение счетчика.
+     *
+     * @return количество зарегистрированных событий
+     */
+    long getCount();
+}
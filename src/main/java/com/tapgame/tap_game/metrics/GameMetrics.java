@@ -0,0 +1,144 @@
+package com.tapgame.tap_game.metrics;
+
+/**
+ * Метрики игры, собранные в одном месте.
+ *
+ * <p>Все метрики создаются при загрузке класса в общем
+ * {@link MetricsRegistry#getDefault() реестре} и доступны через JMX
+ * (например, в JConsole или VisualVM в разделе {@code com.tapgame.tap_game}).
+ *
+ * <p><strong>Игровые события:</strong>
+ * <ul>
+ *   <li>{@link #TAPS} - клики по гусю и их частота</li>
+ *   <li>{@link #CLICK_POWER_UPGRADES}, {@link #AUTO_CLICKER_UPGRADES},
+ *       {@link #SPEED_UPGRADES}, {@link #REWARD_UPGRADES} - покупки улучшений</li>
+ *   <li>{@link #QUESTS_COMPLETED} - выполненные квесты</li>
+ *   <li>{@link #TICKETS_BOUGHT} - купленные билетики</li>
+ * </ul>
+ *
+ * <p><strong>Отзывчивость клиента:</strong>
+ * <ul>
+ *   <li>{@link #INPUT_LATENCY} - от клика по гусю до кадра с новыми надписями</li>
+ *   <li>{@link #FRAME_TIME} - интервал между кадрами JavaFX</li>
+ * </ul>
+ *
+ * <p><strong>Сессии игроков:</strong>
+ * <ul>
+ *   <li>{@link #SESSION_HITS}, {@link #SESSION_MISSES} - обращения к кешу сессий</li>
+ *   <li>{@link #SESSION_EVICTIONS} - игроки, выгруженные в хранилище</li>
+ * </ul>
+ *
+ * <p><strong>Telegram Mini App:</strong>
+ * <ul>
+ *   <li>{@link #WEBAPP_AUTH_CACHE_HITS} - запросы, принятые по запомненной сессии</li>
+ *   <li>{@link #WEBAPP_AUTH_VERIFIED} - проверенные подписи {@code initData}</li>
+ *   <li>{@link #WEBAPP_AUTH_REJECTED} - отклоненные запросы</li>
+ * </ul>
+ *
+ * <p><strong>Telegram:</strong>
+ * <ul>
+ *   <li>{@link #TELEGRAM_REQUEST_LATENCY} - время ответа Telegram API</li>
+ *   <li>{@link #TELEGRAM_MESSAGES_SENT} - успешно отправленные сообщения</li>
+ *   <li>{@link #TELEGRAM_SEND_FAILURES} - ошибки отправки</li>
+ *   <li>{@link #TELEGRAM_RETRIES} - повторные попытки после 429, 5xx и сетевых ошибок</li>
+ *   <li>{@link #TELEGRAM_OUTBOX_ENQUEUED}, {@link #TELEGRAM_OUTBOX_DROPPED},
+ *       {@link #TELEGRAM_OUTBOX_FSYNC} - дисковая очередь исходящих сообщений</li>
+ * </ul>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see MetricsRegistry
+ */
+public final class GameMetrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+
+    // === Гусь-Тапалка ===
+
+    /** Клики по гусю */
+    public static final Meter TAPS = REGISTRY.meter("goose.taps");
+
+    /** Покупки улучшения силы клика */
+    public static final Counter CLICK_POWER_UPGRADES = REGISTRY.counter("goose.upgrades.clickPower");
+
+    /** Покупки улучшения автокликера */
+    public static final Counter AUTO_CLICKER_UPGRADES = REGISTRY.counter("goose.upgrades.autoClicker");
+
+    /** Задержка от клика по гусю до кадра, в котором выведен его результат */
+    public static final LatencyHistogram INPUT_LATENCY = REGISTRY.histogram("goose.input.latency");
+
+    /** Интервал между соседними кадрами JavaFX (без пауз, когда кадры не нужны) */
+    public static final LatencyHistogram FRAME_TIME = REGISTRY.histogram("ui.frame.time");
+
+    // === Тапалка Алабуга ===
+
+    /** Выполненные квесты */
+    public static final Counter QUESTS_COMPLETED = REGISTRY.counter("game.quests.completed");
+
+    /** Купленные билетики */
+    public static final Counter TICKETS_BOUGHT = REGISTRY.counter("game.tickets.bought");
+
+    /** Покупки улучшения скорости квестов */
+    public static final Counter SPEED_UPGRADES = REGISTRY.counter("game.upgrades.speed");
+
+    /** Покупки улучшения награды за квесты */
+    public static final Counter REWARD_UPGRADES = REGISTRY.counter("game.upgrades.reward");
+
+    // === Сессии игроков ===
+
+    /** Игрок найден в кеше сессий */
+    public static final Counter SESSION_HITS = REGISTRY.counter("sessions.hits");
+
+    /** Игрок загружен из хранилища */
+    public static final Counter SESSION_MISSES = REGISTRY.counter("sessions.misses");
+
+    /** Игрок вытеснен из памяти в хранилище */
+    public static final Counter SESSION_EVICTIONS = REGISTRY.counter("sessions.evictions");
+
+    // === Telegram Mini App ===
+
+    /** Запросы Mini App, принятые по запомненной проверенной сессии */
+    public static final Counter WEBAPP_AUTH_CACHE_HITS = REGISTRY.counter("webapp.auth.cacheHits");
+
+    /** Проверенные подписи {@code initData} (новые сессии) */
+    public static final Counter WEBAPP_AUTH_VERIFIED = REGISTRY.counter("webapp.auth.verified");
+
+    /** Запросы Mini App с неверной или устаревшей {@code initData} */
+    public static final Counter WEBAPP_AUTH_REJECTED = REGISTRY.counter("webapp.auth.rejected");
+
+    /** Открытые потоки изменений Mini App */
+    public static final Counter WEBAPP_STREAM_OPENED = REGISTRY.counter("webapp.stream.opened");
+
+    /** Потоки изменений, закрытые из-за клиента, который не читает */
+    public static final Counter WEBAPP_STREAM_DROPPED = REGISTRY.counter("webapp.stream.dropped");
+
+    /** События, отправленные в потоки изменений (после объединения) */
+    public static final Counter WEBAPP_STREAM_EVENTS = REGISTRY.counter("webapp.stream.events");
+
+    // === Telegram ===
+
+    /** Время выполнения запросов к Telegram API */
+    public static final LatencyHistogram TELEGRAM_REQUEST_LATENCY = REGISTRY.histogram("telegram.request.latency");
+
+    /** Успешно отправленные сообщения */
+    public static final Counter TELEGRAM_MESSAGES_SENT = REGISTRY.counter("telegram.messages.sent");
+
+    /** Сообщения, которые не удалось отправить */
+    public static final Counter TELEGRAM_SEND_FAILURES = REGISTRY.counter("telegram.messages.failed");
+
+    /** Повторные попытки запросов к Telegram API */
+    public static final Counter TELEGRAM_RETRIES = REGISTRY.counter("telegram.requests.retried");
+
+    /** Сообщения, поставленные в дисковую очередь */
+    public static final Counter TELEGRAM_OUTBOX_ENQUEUED = REGISTRY.counter("telegram.outbox.enqueued");
+
+    /** Сообщения, отброшенные очередью после всех попыток отправки */
+    public static final Counter TELEGRAM_OUTBOX_DROPPED = REGISTRY.counter("telegram.outbox.dropped");
+
+    /** Запись и {@code fsync} одной пачки журнала очереди */
+    public static final LatencyHistogram TELEGRAM_OUTBOX_FSYNC = REGISTRY.histogram("telegram.outbox.fsync");
+
+    private GameMetrics() {
+    }
+}
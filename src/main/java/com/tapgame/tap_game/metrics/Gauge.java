@@ -0,0 +1,28 @@
+package com.tapgame.tap_game.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Датчик текущего значения.
+ *
+ * <p>Значение не хранится, а вычисляется при каждом чтении через JMX,
+ * поэтому датчик ничего не стоит измеряемому коду.
+ *
+ * @see MetricsRegistry#gauge(String, LongSupplier)
+ */
+public class Gauge implements GaugeMXBean {
+
+    private final LongSupplier supplier;
+
+    /**
+     * @param supplier источник значения
+     */
+    public Gauge(LongSupplier supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public long getValue() {
+        return supplier.getAsLong();
+    }
+}
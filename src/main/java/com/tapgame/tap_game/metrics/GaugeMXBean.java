@@ -0,0 +1,16 @@
+package com.tapgame.tap_game.metrics;
+
+/**
+ * JMX-представление датчика текущего значения.
+ *
+ * @see Gauge
+ */
+public interface GaugeMXBean {
+
+    /**
+     * Возвращает текущее значение датчика.
+     *
+     * @return значение
+     */
+    long getValue();
+}
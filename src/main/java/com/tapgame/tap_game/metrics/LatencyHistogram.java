@@ -0,0 +1,168 @@
+package com.tapgame.tap_game.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма задержек с логарифмическими корзинами.
+ *
+ * <p>Каждая степень двойки делится на {@value #SUB_BUCKETS} линейных
+ * подкорзин, поэтому относительная погрешность перцентилей не превышает
+ * 12.5% во всем диапазоне от наносекунд до часов. Массив корзин
+ * выделяется один раз; запись — это несколько атомарных инкрементов
+ * без блокировок и без выделения памяти.
+ *
+ * <p>Перцентили считаются по корзинам в момент чтения, поэтому при
+ * параллельной записи они приблизительны, что для мониторинга нормально.
+ *
+ * @see MetricsRegistry#histogram(String)
+ */
+public class LatencyHistogram implements LatencyHistogramMXBean {
+
+    /** Число подкорзин на одну степень двойки (степень двойки) */
+    private static final int SUB_BUCKETS = 8;
+
+    /** log2({@link #SUB_BUCKETS}) */
+    private static final int SUB_BITS = 3;
+
+    /** Общее число корзин, покрывающее весь диапазон long */
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Записывает одно измерение.
+     *
+     * @param nanos задержка в наносекундах; отрицательные значения считаются нулем
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long currentMax;
+        while (value > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, value)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Записывает задержку от момента {@code startNanos} до текущего момента.
+     *
+     * @param startNanos значение {@link System#nanoTime()} в начале операции
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Обнуляет гистограмму.
+     *
+     * <p>Используется для скользящих окон: читатель снимает показатели
+     * и сбрасывает их. Записи, пришедшие во время сброса, могут потеряться.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Возвращает значение заданного перцентиля в наносекундах.
+     *
+     * @param quantile квантиль от 0 до 1
+     * @return нижняя граница корзины, содержащей перцентиль; 0 если измерений нет
+     */
+    public long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return Math.min(bucketLowerBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * @return максимальная записанная задержка в наносекундах
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / (double) n / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double get50thPercentileMicros() {
+        return percentile(0.50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double get90thPercentileMicros() {
+        return percentile(0.90) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double get99thPercentileMicros() {
+        return percentile(0.99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return max.get() / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Номер корзины для значения: первые {@value #SUB_BUCKETS} значений
+     * хранятся точно, дальше — по старшему биту и трем следующим за ним.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Нижняя граница значений, попадающих в корзину.
+     */
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+}
@@ -0,0 +1,29 @@
+package com.tapgame.tap_game.metrics;
+
+/**
+ * JMX-представление гистограммы задержек.
+ *
+ * <p>Все значения возвращаются в микросекундах.
+ *
+ * @see LatencyHistogram
+ */
+public interface LatencyHistogramMXBean {
+
+    /** @return количество измерений */
+    long getCount();
+
+    /** @return средняя задержка, мкс */
+    double getMeanMicros();
+
+    /** @return медиана, мкс */
+    double get50thPercentileMicros();
+
+    /** @return 90-й перцентиль, мкс */
+    double get90thPercentileMicros();
+
+    /** @return 99-й перцентиль, мкс */
+    double get99thPercentileMicros();
+
+    /** @return максимальная задержка, мкс */
+    double getMaxMicros();
+}
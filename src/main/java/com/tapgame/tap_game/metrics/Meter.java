@@ -0,0 +1,77 @@
+package com.tapgame.tap_game.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Измеритель частоты событий (например, тапов в секунду).
+ *
+ * <p>Хранит кольцо посекундных корзин. Каждая корзина помечена номером
+ * секунды, к которой относится; при переходе на новую секунду корзина
+ * обнуляется через CAS. Запись не блокирует и не выделяет память.
+ *
+ * <p>Гонка между обнулением корзины и параллельной записью может потерять
+ * несколько событий на границе секунды — для мониторинга это допустимо.
+ * Общий счетчик {@link #getCount()} при этом всегда точен.
+ *
+ * @see MetricsRegistry#meter(String)
+ */
+public class Meter implements MeterMXBean {
+
+    /** Количество корзин в кольце (степень двойки) */
+    private static final int SLOTS = 16;
+
+    /** Окно усреднения частоты, в секундах */
+    private static final int WINDOW_SECONDS = 10;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final LongAdder total = new LongAdder();
+    private final AtomicLongArray slotCounts = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray slotSeconds = new AtomicLongArray(SLOTS);
+
+    /**
+     * Регистрирует одно событие.
+     */
+    public void mark() {
+        mark(1);
+    }
+
+    /**
+     * Регистрирует несколько событий.
+     *
+     * @param n количество событий
+     */
+    public void mark(long n) {
+        total.add(n);
+        long second = System.nanoTime() / NANOS_PER_SECOND;
+        int slot = (int) (second & (SLOTS - 1));
+        long slotSecond = slotSeconds.get(slot);
+        if (slotSecond != second && slotSeconds.compareAndSet(slot, slotSecond, second)) {
+            slotCounts.set(slot, 0);
+        }
+        slotCounts.addAndGet(slot, n);
+    }
+
+    @Override
+    public long getCount() {
+        return total.sum();
+    }
+
+    /**
+     * Средняя частота за последние {@value #WINDOW_SECONDS} полных секунд.
+     * Текущая, еще не завершенная секунда не учитывается.
+     */
+    @Override
+    public double getRatePerSecond() {
+        long current = System.nanoTime() / NANOS_PER_SECOND;
+        long sum = 0;
+        for (int i = 0; i < SLOTS; i++) {
+            long age = current - slotSeconds.get(i);
+            if (age >= 1 && age <= WINDOW_SECONDS) {
+                sum += slotCounts.get(i);
+            }
+        }
+        return (double) sum / WINDOW_SECONDS;
+    }
+}
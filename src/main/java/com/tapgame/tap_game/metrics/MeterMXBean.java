@@ -0,0 +1,16 @@
+package com.tapgame.tap_game.metrics;
+
+/**
+ * JMX-представление измерителя частоты событий.
+ *
+ * @see Meter
+ */
+public interface MeterMXBean extends CounterMXBean {
+
+    /**
+     * Возвращает среднюю частоту событий за последние секунды.
+     *
+     * @return событий в секунду
+     */
+    double getRatePerSecond();
+}
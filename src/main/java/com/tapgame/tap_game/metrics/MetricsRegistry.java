@@ -0,0 +1,136 @@
+package com.tapgame.tap_game.metrics;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Реестр метрик приложения с публикацией через JMX.
+ *
+ * <p>Каждая метрика создается один раз по имени и регистрируется
+ * в платформенном {@link MBeanServer} под именем
+ * {@code com.tapgame.tap_game:type=<Тип>,name=<имя>}. Повторный запрос
+ * метрики с тем же именем возвращает уже созданный экземпляр, поэтому
+ * метрики удобно хранить в статических полях измеряемых классов.
+ *
+ * <p>Ошибка регистрации в JMX не мешает работе: метрика продолжает
+ * считать, просто не будет видна снаружи.
+ *
+ * <p><strong>Пример:</strong>
+ * <pre>{@code
+ * Meter taps = MetricsRegistry.getDefault().meter("goose.taps");
+ * taps.mark();
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see GameMetrics
+ */
+public class MetricsRegistry {
+
+    /** JMX-домен для всех метрик приложения */
+    public static final String JMX_DOMAIN = "com.tapgame.tap_game";
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry(ManagementFactory.getPlatformMBeanServer());
+
+    private final Map<String, Object> metrics = new ConcurrentHashMap<>();
+    private final MBeanServer mBeanServer;
+
+    /**
+     * Создает реестр, публикующий метрики в указанный MBean-сервер.
+     *
+     * @param mBeanServer сервер для регистрации или {@code null}, чтобы не публиковать метрики
+     */
+    public MetricsRegistry(MBeanServer mBeanServer) {
+        this.mBeanServer = mBeanServer;
+    }
+
+    /**
+     * Получение общего реестра приложения.
+     *
+     * @return реестр, публикующий метрики в платформенный MBean-сервер
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Получение или создание счетчика.
+     *
+     * @param name имя метрики
+     * @return счетчик
+     */
+    public Counter counter(String name) {
+        return register(name, "Counter", Counter.class, new Counter());
+    }
+
+    /**
+     * Получение или создание измерителя частоты.
+     *
+     * @param name имя метрики
+     * @return измеритель частоты
+     */
+    public Meter meter(String name) {
+        return register(name, "Meter", Meter.class, new Meter());
+    }
+
+    /**
+     * Получение или создание гистограммы задержек.
+     *
+     * @param name имя метрики
+     * @return гистограмма
+     */
+    public LatencyHistogram histogram(String name) {
+        return register(name, "Histogram", LatencyHistogram.class, new LatencyHistogram());
+    }
+
+    /**
+     * Получение или создание датчика.
+     *
+     * <p>Если датчик с таким именем уже есть, новый источник игнорируется.
+     *
+     * @param name имя метрики
+     * @param supplier источник значения
+     * @return датчик
+     */
+    public Gauge gauge(String name, LongSupplier supplier) {
+        return register(name, "Gauge", Gauge.class, new Gauge(supplier));
+    }
+
+    /**
+     * Регистрация метрики, если ее еще нет.
+     */
+    private <T> T register(String name, String type, Class<T> metricClass, T candidate) {
+        Object existing = metrics.putIfAbsent(name, candidate);
+        if (existing != null) {
+            if (!metricClass.isInstance(existing)) {
+                throw new IllegalArgumentException("Метрика " + name + " уже зарегистрирована с другим типом: "
+                        + existing.getClass().getSimpleName());
+            }
+            return metricClass.cast(existing);
+        }
+        publish(name, type, candidate);
+        return candidate;
+    }
+
+    /**
+     * Публикация метрики в JMX.
+     */
+    private void publish(String name, String type, Object metric) {
+        if (mBeanServer == null) {
+            return;
+        }
+        try {
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            if (!mBeanServer.isRegistered(objectName)) {
+                mBeanServer.registerMBean(metric, objectName);
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️ [Metrics] Не удалось зарегистрировать метрику " + name + " в JMX: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Временные усиления (бустеры), которые складываются с постоянными улучшениями.
+ *
+ * <p>Каждое усиление действует на одну характеристику ({@link Stat}) и дает
+ * либо надбавку в долях базового значения (+50% = {@code 0.5}), либо множитель (x2).
+ * Итоговый множитель характеристики:
+ * <pre>
+ * (1 + сумма надбавок) * произведение множителей
+ * </pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see ModifierStack
+ */
+public enum Buff {
+
+    /** x2 монет за клик на 60 секунд */
+    DOUBLE_TAPS("x2 к кликам", Stat.TAP_INCOME, 0, 2, 60_000),
+
+    /** +50% пассивного дохода на 60 секунд */
+    IDLE_BOOST("+50% к автокликеру", Stat.IDLE_INCOME, 0.5, 1, 60_000),
+
+    /** x3 монет за клик на 10 секунд */
+    FRENZY("Гусиное безумие", Stat.TAP_INCOME, 0, 3, 10_000),
+
+    /** +100% награды за квесты на 10 минут */
+    QUEST_BOOST("x2 к наградам за квесты", Stat.QUEST_REWARD, 1, 1, 600_000);
+
+    private final String displayName;
+    private final Stat stat;
+    private final double bonus;
+    private final double multiplier;
+    private final long durationMillis;
+
+    Buff(String displayName, Stat stat, double bonus, double multiplier, long durationMillis) {
+        this.displayName = displayName;
+        this.stat = stat;
+        this.bonus = bonus;
+        this.multiplier = multiplier;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return название для интерфейса и уведомлений
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return характеристика, на которую действует усиление
+     */
+    public Stat getStat() {
+        return stat;
+    }
+
+    /**
+     * @return надбавка в долях базового значения (0 - без надбавки)
+     */
+    public double getBonus() {
+        return bonus;
+    }
+
+    /**
+     * @return множитель (1 - без множителя)
+     */
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    /**
+     * @return длительность действия, мс
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+}
@@ -0,0 +1,103 @@
+package com.tapgame.tap_game.models;
+
+import java.util.Arrays;
+
+/**
+ * Рассылка изменений игрового состояния слушателям.
+ *
+ * <p>Рассчитан на горячие пути вроде клика по гусю:
+ * <ul>
+ *   <li>Слушатели хранятся в массиве, который копируется только при подписке и отписке,
+ *       поэтому рассылка не выделяет памяти и не берет блокировок</li>
+ *   <li>Без слушателей {@link #fire(int)} сводится к одной проверке</li>
+ *   <li>Внутри {@link #batch(Runnable)} изменения накапливаются в маске и рассылаются
+ *       одним вызовом в конце пачки</li>
+ * </ul>
+ *
+ * <p>Пачки предназначены для потока, владеющего состоянием, и не синхронизированы.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see StateChange
+ */
+public class ChangeNotifier {
+
+    private static final StateChangeListener[] NO_LISTENERS = new StateChangeListener[0];
+
+    private volatile StateChangeListener[] listeners = NO_LISTENERS;
+
+    /** Глубина вложенности пачек */
+    private int batchDepth;
+
+    /** Изменения, накопленные внутри пачки */
+    private int pendingChanges;
+
+    /**
+     * Подписка слушателя.
+     *
+     * @param listener слушатель
+     */
+    public synchronized void addListener(StateChangeListener listener) {
+        StateChangeListener[] current = listeners;
+        StateChangeListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Отписка слушателя.
+     *
+     * @param listener слушатель
+     */
+    public synchronized void removeListener(StateChangeListener listener) {
+        StateChangeListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                StateChangeListener[] updated = new StateChangeListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Сообщение об изменениях.
+     *
+     * @param changes маска флагов {@link StateChange}
+     */
+    public void fire(int changes) {
+        if (batchDepth > 0) {
+            pendingChanges |= changes;
+            return;
+        }
+        dispatch(changes);
+    }
+
+    /**
+     * Выполнение нескольких изменений как одной транзакции:
+     * слушатели получат одно уведомление с объединенной маской.
+     *
+     * @param transaction действия над состоянием
+     */
+    public void batch(Runnable transaction) {
+        batchDepth++;
+        try {
+            transaction.run();
+        } finally {
+            if (--batchDepth == 0 && pendingChanges != 0) {
+                int changes = pendingChanges;
+                pendingChanges = 0;
+                dispatch(changes);
+            }
+        }
+    }
+
+    private void dispatch(int changes) {
+        StateChangeListener[] current = listeners;
+        for (StateChangeListener listener : current) {
+            listener.onStateChanged(changes);
+        }
+    }
+}
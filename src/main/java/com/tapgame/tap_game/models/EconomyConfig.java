@@ -0,0 +1,107 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Параметры игровой экономики.
+ *
+ * <p>Значения по умолчанию ({@link #DEFAULT}) совпадают с константами
+ * {@link GameState} и {@link GooseGameState}. Другие значения используются
+ * при подборе баланса, например в симуляторе экономики
+ * {@link com.tapgame.tap_game.balance.EconomySimulator}.
+ *
+ * @param clickPowerBaseCost базовая стоимость улучшения силы клика ("Гусь")
+ * @param autoClickerBaseCost базовая стоимость автокликера ("Гусь")
+ * @param upgradeCostGrowth множитель роста стоимости улучшений с каждым уровнем ("Гусь")
+ * @param autoClickerCoinsPerSecond доход одного уровня автокликера в секунду ("Гусь")
+ * @param questRewardBase базовая награда за квест
+ * @param ticketPrice стоимость билетика
+ * @param speedUpgradeBaseCost базовая стоимость улучшения скорости
+ * @param rewardUpgradeBaseCost базовая стоимость улучшения награды
+ * @param questCooldownMillis перезарядка квеста при первом уровне скорости, мс
+ * @version 1.0
+ * @since 1.0
+ */
+public record EconomyConfig(
+        int clickPowerBaseCost,
+        int autoClickerBaseCost,
+        double upgradeCostGrowth,
+        int autoClickerCoinsPerSecond,
+        int questRewardBase,
+        int ticketPrice,
+        int speedUpgradeBaseCost,
+        int rewardUpgradeBaseCost,
+        long questCooldownMillis) {
+
+    /** Текущие параметры игры */
+    public static final EconomyConfig DEFAULT = new EconomyConfig(
+            GooseGameState.CLICK_POWER_BASE_COST,
+            GooseGameState.AUTO_CLICKER_BASE_COST,
+            GooseGameState.UPGRADE_COST_GROWTH,
+            GooseGameState.AUTO_CLICKER_COINS_PER_SECOND,
+            GameState.QUEST_REWARD_BASE,
+            GameState.TICKET_PRICE,
+            GameState.SPEED_UPGRADE_BASE_COST,
+            GameState.REWARD_UPGRADE_BASE_COST,
+            GameState.QUEST_COOLDOWN_MILLIS);
+
+    /**
+     * Проверка параметров.
+     *
+     * @throws IllegalArgumentException если стоимость, награда или перезарядка не положительна,
+     *                                  или множитель роста меньше 1
+     */
+    public EconomyConfig {
+        if (clickPowerBaseCost <= 0 || autoClickerBaseCost <= 0 || autoClickerCoinsPerSecond <= 0
+                || questRewardBase <= 0 || ticketPrice <= 0
+                || speedUpgradeBaseCost <= 0 || rewardUpgradeBaseCost <= 0 || questCooldownMillis <= 0) {
+            throw new IllegalArgumentException("Стоимости и награды должны быть положительными");
+        }
+        if (upgradeCostGrowth < 1.0) {
+            throw new IllegalArgumentException("Множитель роста стоимости меньше 1: " + upgradeCostGrowth);
+        }
+    }
+
+    /**
+     * @param cost новая базовая стоимость улучшения силы клика
+     * @return копия параметров с измененным значением
+     */
+    public EconomyConfig withClickPowerBaseCost(int cost) {
+        return new EconomyConfig(cost, autoClickerBaseCost, upgradeCostGrowth, autoClickerCoinsPerSecond,
+                questRewardBase, ticketPrice, speedUpgradeBaseCost, rewardUpgradeBaseCost, questCooldownMillis);
+    }
+
+    /**
+     * @param cost новая базовая стоимость автокликера
+     * @return копия параметров с измененным значением
+     */
+    public EconomyConfig withAutoClickerBaseCost(int cost) {
+        return new EconomyConfig(clickPowerBaseCost, cost, upgradeCostGrowth, autoClickerCoinsPerSecond,
+                questRewardBase, ticketPrice, speedUpgradeBaseCost, rewardUpgradeBaseCost, questCooldownMillis);
+    }
+
+    /**
+     * @param growth новый множитель роста стоимости улучшений
+     * @return копия параметров с измененным значением
+     */
+    public EconomyConfig withUpgradeCostGrowth(double growth) {
+        return new EconomyConfig(clickPowerBaseCost, autoClickerBaseCost, growth, autoClickerCoinsPerSecond,
+                questRewardBase, ticketPrice, speedUpgradeBaseCost, rewardUpgradeBaseCost, questCooldownMillis);
+    }
+
+    /**
+     * @param price новая стоимость билетика
+     * @return копия параметров с измененным значением
+     */
+    public EconomyConfig withTicketPrice(int price) {
+        return new EconomyConfig(clickPowerBaseCost, autoClickerBaseCost, upgradeCostGrowth, autoClickerCoinsPerSecond,
+                questRewardBase, price, speedUpgradeBaseCost, rewardUpgradeBaseCost, questCooldownMillis);
+    }
+
+    /**
+     * @param millis новая перезарядка квеста при первом уровне скорости, мс
+     * @return копия параметров с измененным значением
+     */
+    public EconomyConfig withQuestCooldownMillis(long millis) {
+        return new EconomyConfig(clickPowerBaseCost, autoClickerBaseCost, upgradeCostGrowth, autoClickerCoinsPerSecond,
+                questRewardBase, ticketPrice, speedUpgradeBaseCost, rewardUpgradeBaseCost, millis);
+    }
+}
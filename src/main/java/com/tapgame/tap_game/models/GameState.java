@@ -1,5 +1,7 @@
 package com.tapgame.tap_game.models;
 
+import com.tapgame.tap_game.metrics.GameMetrics;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,8 +19,8 @@ import java.util.Map;
  * 
  * <p><strong>Игровая механика:</strong>
  * <ul>
- *   <li>Квесты дают монеты и могут быть выполнены только один раз</li>
- *   <li>Бустеры увеличивают эффективность квестов</li>
+ *   <li>Квесты дают монеты и повторяются после перезарядки</li>
+ *   <li>Бустер скорости сокращает перезарядку квестов, бустер награды - увеличивает награду</li>
  *   <li>Уровень персонажа зависит от суммы уровней бустеров</li>
  *   <li>Стоимость улучшений растет с каждым уровнем</li>
  * </ul>
@@ -29,6 +31,7 @@ import java.util.Map;
  *   <li>Стоимость билетика: 50 монет</li>
  *   <li>Базовая стоимость улучшения скорости: 25 монет</li>
  *   <li>Базовая стоимость улучшения награды: 30 монет</li>
+ *   <li>Перезарядка квеста: 1 час, деленный на уровень скорости</li>
  * </ul>
  * 
  * @author Алабуга
@@ -40,8 +43,8 @@ import java.util.Map;
 public class GameState {
     // === Игровые данные ===
     
-    /** Текущее количество монет у игрока */
-    private int coins;
+    /** Текущее количество монет у игрока (без переполнения, см. {@link LargeNumber}) */
+    private final LargeNumber coins = new LargeNumber();
     
     /** Текущий уровень персонажа */
     private int characterLevel;
@@ -52,28 +55,52 @@ public class GameState {
     /** Уровень бустера награды за квесты */
     private int rewardLevel;
     
-    /** Карта выполненных квестов (ключ - тип квеста, значение - выполнено ли) */
-    private Map<String, Boolean> completedQuests;
+    /**
+     * Время, когда квест снова станет доступен (ключ - тип квеста, значение - мс эпохи; 0 - доступен).
+     * Значение - ячейка {@code long[1]}: перезапись срока не упаковывает {@code Long}.
+     */
+    private Map<String, long[]> questAvailableAt;
     
     /** Количество купленных билетиков */
     private int ticketsBought;
     
+    /** Тип последнего выполненного квеста или {@code null} */
+    private String lastCompletedQuest;
+    
+    /** Общее количество выполнений квестов */
+    private int questCompletions;
+    
+    /** Рассылка изменений подписчикам */
+    private final ChangeNotifier changes = new ChangeNotifier();
+    
+    /** Активные усиления (действует {@link Stat#QUEST_REWARD}) */
+    private final ModifierStack modifiers = new ModifierStack();
+    
+    /** Награда за квест с учетом уровня и усилений; пересчитывается при их изменении */
+    private int questReward;
+    
     // === Константы игры ===
     
     /** Базовая награда за выполнение квеста (в монетах) */
-    private static final int QUEST_REWARD_BASE = 10;
+    static final int QUEST_REWARD_BASE = 10;
     
     /** Стоимость одного билетика (в монетах) */
-    private static final int TICKET_PRICE = 50;
+    static final int TICKET_PRICE = 50;
     
     /** Базовая стоимость улучшения скорости (в монетах) */
-    private static final int SPEED_UPGRADE_BASE_COST = 25;
+    static final int SPEED_UPGRADE_BASE_COST = 25;
     
     /** Базовая стоимость улучшения награды (в монетах) */
-    private static final int REWARD_UPGRADE_BASE_COST = 30;
+    static final int REWARD_UPGRADE_BASE_COST = 30;
+    
+    /** Перезарядка квеста при первом уровне скорости (в миллисекундах) */
+    static final long QUEST_COOLDOWN_MILLIS = 60 * 60 * 1000L;
     
     /** Базовый уровень персонажа */
     private static final int CHARACTER_LEVEL_BASE = 1;
+    
+    /** Параметры экономики (по умолчанию - константы выше) */
+    private final EconomyConfig economy;
 
     /**
      * Конструктор по умолчанию.
@@ -84,7 +111,7 @@ public class GameState {
      *   <li>Уровень персонажа: 1</li>
      *   <li>Уровень скорости: 1</li>
      *   <li>Уровень награды: 1</li>
-     *   <li>Все квесты: не выполнены</li>
+     *   <li>Все квесты: доступны</li>
      *   <li>Билетики: 0</li>
      * </ul>
      * 
@@ -92,45 +119,79 @@ public class GameState {
      * "telegram", "dzen", "portal"
      */
     public GameState() {
-        this.coins = 0;
+        this(EconomyConfig.DEFAULT);
+    }
+
+    /**
+     * Конструктор с заданными параметрами экономики.
+     * 
+     * <p>Используется при подборе баланса; обычная игра использует
+     * {@link EconomyConfig#DEFAULT}.
+     * 
+     * @param economy параметры экономики
+     */
+    public GameState(EconomyConfig economy) {
+        this.economy = economy;
+        this.coins.set(0);
         this.characterLevel = CHARACTER_LEVEL_BASE;
         this.speedLevel = 1;
         this.rewardLevel = 1;
-        this.completedQuests = new HashMap<>();
+        this.questReward = economy.questRewardBase();
+        this.questAvailableAt = new HashMap<>();
         this.ticketsBought = 0;
         
-        // Инициализируем квесты как невыполненные
-        completedQuests.put("telegram", false);
-        completedQuests.put("dzen", false);
-        completedQuests.put("portal", false);
+        // Инициализируем квесты как доступные
+        questAvailableAt.put("telegram", new long[1]);
+        questAvailableAt.put("dzen", new long[1]);
+        questAvailableAt.put("portal", new long[1]);
+    }
+
+    /**
+     * Выполнение квеста указанного типа в текущий момент.
+     * 
+     * @param questType тип квеста ("telegram", "dzen", "portal")
+     * @return {@code true} если квест был выполнен, {@code false} если он на перезарядке
+     * 
+     * @see #completeQuest(String, long)
+     */
+    public boolean completeQuest(String questType) {
+        return completeQuest(questType, System.currentTimeMillis());
     }
 
     /**
      * Выполнение квеста указанного типа.
      * 
-     * <p>Пытается выполнить квест, если он еще не был выполнен.
+     * <p>Пытается выполнить квест, если он не на перезарядке.
      * При успешном выполнении:
      * <ul>
-     *   <li>Отмечает квест как выполненный</li>
+     *   <li>Запускает перезарядку квеста ({@link #getQuestCooldownMillis()})</li>
      *   <li>Добавляет награду к количеству монет</li>
      *   <li>Возвращает {@code true}</li>
      * </ul>
      * 
-     * <p>Если квест уже выполнен, возвращает {@code false}.
+     * <p>Если квест на перезарядке, возвращает {@code false}. Об окончании перезарядки
+     * сообщает {@link com.tapgame.tap_game.engine.QuestCooldownScheduler}.
      * 
      * @param questType тип квеста ("telegram", "dzen", "portal")
-     * @return {@code true} если квест был выполнен, {@code false} если уже был выполнен
+     * @param nowMillis текущее время, мс эпохи
+     * @return {@code true} если квест был выполнен, {@code false} если он на перезарядке
      * 
      * @see #getQuestReward()
+     * @see #getQuestAvailableAt(String)
      */
-    public boolean completeQuest(String questType) {
-        if (completedQuests.getOrDefault(questType, false)) {
-            return false; // Квест уже выполнен
+    public boolean completeQuest(String questType, long nowMillis) {
+        expireBuffs(nowMillis);
+        if (nowMillis < getQuestAvailableAt(questType)) {
+            return false; // Квест на перезарядке
         }
         
-        completedQuests.put(questType, true);
+        questAvailableAt.computeIfAbsent(questType, type -> new long[1])[0] = nowMillis + getQuestCooldownMillis();
         int reward = getQuestReward();
-        coins += reward;
+        coins.add(reward);
+        lastCompletedQuest = questType;
+        questCompletions++;
+        GameMetrics.QUESTS_COMPLETED.increment();
+        changes.fire(StateChange.COINS | StateChange.QUEST);
         return true;
     }
 
@@ -152,9 +213,11 @@ public class GameState {
      * @see #TICKET_PRICE
      */
     public boolean buyTicket() {
-        if (coins >= TICKET_PRICE) {
-            coins -= TICKET_PRICE;
+        if (coins.compareTo(economy.ticketPrice()) >= 0) {
+            coins.subtract(economy.ticketPrice());
             ticketsBought++;
+            GameMetrics.TICKETS_BOUGHT.increment();
+            changes.fire(StateChange.COINS | StateChange.TICKETS);
             return true;
         }
         return false;
@@ -181,10 +244,12 @@ public class GameState {
      */
     public boolean upgradeSpeed() {
         int cost = getSpeedUpgradeCost();
-        if (coins >= cost) {
-            coins -= cost;
+        if (coins.compareTo(cost) >= 0) {
+            coins.subtract(cost);
             speedLevel++;
             updateCharacterLevel();
+            GameMetrics.SPEED_UPGRADES.increment();
+            changes.fire(StateChange.COINS | StateChange.LEVEL | StateChange.COST);
             return true;
         }
         return false;
@@ -211,10 +276,13 @@ public class GameState {
      */
     public boolean upgradeReward() {
         int cost = getRewardUpgradeCost();
-        if (coins >= cost) {
-            coins -= cost;
+        if (coins.compareTo(cost) >= 0) {
+            coins.subtract(cost);
             rewardLevel++;
             updateCharacterLevel();
+            refreshQuestReward();
+            GameMetrics.REWARD_UPGRADES.increment();
+            changes.fire(StateChange.COINS | StateChange.LEVEL | StateChange.COST | StateChange.RATE);
             return true;
         }
         return false;
@@ -239,14 +307,60 @@ public class GameState {
     /**
      * Получение текущей награды за выполнение квеста.
      * 
-     * <p>Награда рассчитывается как базовая награда, умноженная на уровень бустера награды.
+     * <p>Награда рассчитывается как базовая награда, умноженная на уровень бустера награды
+     * и на множитель активных усилений ({@link Stat#QUEST_REWARD}).
      * 
      * @return количество монет, получаемых за выполнение квеста
      * 
      * @see #QUEST_REWARD_BASE
      */
     public int getQuestReward() {
-        return QUEST_REWARD_BASE * rewardLevel;
+        return questReward;
+    }
+    
+    /**
+     * Активация временного усиления (или продление уже активного).
+     * 
+     * @param buff усиление
+     * @param nowMillis текущее время, мс
+     */
+    public void applyBuff(Buff buff, long nowMillis) {
+        if (modifiers.activate(buff, nowMillis) != 0) {
+            refreshQuestReward();
+            changes.fire(StateChange.RATE);
+        }
+    }
+    
+    /**
+     * Снятие закончившихся усилений; пока ни одно не закончилось, стоит одно сравнение.
+     * 
+     * @param nowMillis текущее время, мс
+     */
+    public void expireBuffs(long nowMillis) {
+        if (modifiers.expire(nowMillis) != 0) {
+            refreshQuestReward();
+            changes.fire(StateChange.RATE);
+        }
+    }
+    
+    /**
+     * Пересчет награды за квест: базовая награда, уровень и усиления.
+     */
+    private void refreshQuestReward() {
+        double reward = (double) economy.questRewardBase() * rewardLevel * modifiers.multiplier(Stat.QUEST_REWARD);
+        questReward = (int) Math.min(reward, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Получение перезарядки квеста при текущем уровне скорости.
+     * 
+     * <p>Базовая перезарядка делится на уровень бустера скорости. Новый уровень
+     * действует на квесты, выполненные после улучшения.
+     * 
+     * @return перезарядка в миллисекундах
+     */
+    public long getQuestCooldownMillis() {
+        return economy.questCooldownMillis() / speedLevel;
     }
 
     /**
@@ -259,7 +373,7 @@ public class GameState {
      * @see #SPEED_UPGRADE_BASE_COST
      */
     public int getSpeedUpgradeCost() {
-        return SPEED_UPGRADE_BASE_COST * speedLevel;
+        return economy.speedUpgradeBaseCost() * speedLevel;
     }
 
     /**
@@ -272,7 +386,7 @@ public class GameState {
      * @see #REWARD_UPGRADE_BASE_COST
      */
     public int getRewardUpgradeCost() {
-        return REWARD_UPGRADE_BASE_COST * rewardLevel;
+        return economy.rewardUpgradeBaseCost() * rewardLevel;
     }
 
     // === Геттеры ===
@@ -280,10 +394,20 @@ public class GameState {
     /**
      * Получение текущего количества монет.
      * 
-     * @return количество монет у игрока
+     * @return количество монет у игрока (не больше {@link Integer#MAX_VALUE})
      */
     public int getCoins() {
-        return coins;
+        return (int) Math.min(coins.longValue(), Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Запись полного количества монет, без ограничения {@code int}.
+     * 
+     * @param target число для результата
+     * @return {@code target}
+     */
+    public LargeNumber readCoins(LargeNumber target) {
+        return target.set(coins);
     }
 
     /**
@@ -314,13 +438,52 @@ public class GameState {
     }
 
     /**
-     * Проверка выполнения квеста.
+     * Проверка выполнения квеста в текущий момент.
      * 
      * @param questType тип квеста для проверки
-     * @return {@code true} если квест выполнен, {@code false} если нет
+     * @return {@code true} если квест выполнен и еще на перезарядке, {@code false} если доступен
+     * 
+     * @see #isQuestCompleted(String, long)
      */
     public boolean isQuestCompleted(String questType) {
-        return completedQuests.getOrDefault(questType, false);
+        return isQuestCompleted(questType, System.currentTimeMillis());
+    }
+
+    /**
+     * Проверка выполнения квеста.
+     * 
+     * <p>Использует те же часы, что и {@link #completeQuest(String, long)}.
+     * 
+     * @param questType тип квеста для проверки
+     * @param nowMillis текущее время, мс эпохи
+     * @return {@code true} если квест выполнен и еще на перезарядке, {@code false} если доступен
+     */
+    public boolean isQuestCompleted(String questType, long nowMillis) {
+        return nowMillis < getQuestAvailableAt(questType);
+    }
+
+    /**
+     * Время окончания перезарядки квеста.
+     * 
+     * @param questType тип квеста
+     * @return мс эпохи, с которых квест снова доступен (0, если квест не выполнялся)
+     */
+    public long getQuestAvailableAt(String questType) {
+        long[] availableAt = questAvailableAt.get(questType);
+        return availableAt != null ? availableAt[0] : 0;
+    }
+
+    /**
+     * Уведомление подписчиков о том, что перезарядка квеста закончилась.
+     * 
+     * <p>Доступность квеста определяется временем, поэтому метод ничего не меняет,
+     * а только рассылает {@link StateChange#QUEST}, чтобы интерфейс обновил кнопки.
+     * Вызывается по событию {@link com.tapgame.tap_game.engine.QuestCooldownScheduler}.
+     * 
+     * @param questType тип квеста
+     */
+    public void questCooldownExpired(String questType) {
+        changes.fire(StateChange.QUEST);
     }
 
     /**
@@ -331,7 +494,7 @@ public class GameState {
      * @see #TICKET_PRICE
      */
     public int getTicketPrice() {
-        return TICKET_PRICE;
+        return economy.ticketPrice();
     }
 
     /**
@@ -361,9 +524,76 @@ public class GameState {
      * <p>Этот метод предназначен для тестирования и отладки.
      * В продакшене не должен использоваться.
      * 
-     * @param amount количество монет для добавления
+     * @param amount количество монет для добавления (отрицательное списывает, но не ниже нуля)
      */
     public void addCoins(int amount) {
-        this.coins += amount;
+        if (amount >= 0) {
+            coins.add(amount);
+        } else {
+            coins.subtract(Math.min(-(long) amount, coins.longValue()));
+        }
+        changes.fire(StateChange.COINS);
+    }
+
+    /**
+     * Получение типа последнего выполненного квеста.
+     * 
+     * @return тип квеста или {@code null}, если квесты еще не выполнялись
+     */
+    public String getLastCompletedQuest() {
+        return lastCompletedQuest;
+    }
+
+    /**
+     * Получение общего количества выполнений квестов.
+     * 
+     * <p>Позволяет подписчикам отличить новое выполнение от уже обработанного.
+     * 
+     * @return количество выполнений
+     */
+    public int getQuestCompletions() {
+        return questCompletions;
+    }
+
+    // === Подписка на изменения ===
+
+    /**
+     * Подписка на изменения состояния.
+     * 
+     * <p>Слушатель получает маску флагов {@link StateChange} после каждой
+     * успешной операции.
+     * 
+     * @param listener слушатель
+     * @see StateChange
+     */
+    public void addChangeListener(StateChangeListener listener) {
+        changes.addListener(listener);
+    }
+
+    /**
+     * Отписка от изменений состояния.
+     * 
+     * @param listener слушатель
+     */
+    public void removeChangeListener(StateChangeListener listener) {
+        changes.removeListener(listener);
+    }
+
+    /**
+     * Выполнение нескольких операций как одной транзакции.
+     * 
+     * <p>Слушатели получат одно уведомление с объединенной маской изменений.
+     * 
+     * <pre>{@code
+     * gameState.batch(() -> {
+     *     gameState.completeQuest("telegram");
+     *     gameState.upgradeReward();
+     * });
+     * }</pre>
+     * 
+     * @param transaction операции над состоянием
+     */
+    public void batch(Runnable transaction) {
+        changes.batch(transaction);
     }
 }
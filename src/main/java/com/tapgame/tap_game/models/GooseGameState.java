@@ -1,5 +1,7 @@
 package com.tapgame.tap_game.models;
 
+import com.tapgame.tap_game.metrics.GameMetrics;
+
 /**
  * Класс, представляющий состояние игры "Гусь-Тапалка".
  *
@@ -16,6 +18,16 @@ package com.tapgame.tap_game.models;
  *   <li>Пассивный доход - автоматическое получение монет</li>
  * </ol>
  *
+ * <p>Монеты, доход и стоимость улучшений хранятся в {@link LargeNumber}, поэтому
+ * не переполняются на высоких уровнях и не выделяют память на каждом клике.
+ * Геттеры с типом {@code long} возвращают {@link Long#MAX_VALUE} для значений,
+ * которые в него не помещаются; полные значения читаются методами {@code read*}.
+ *
+ * <p>Временные усиления ({@link Buff}) складываются с уровнями улучшений в готовые
+ * значения дохода за клик и в секунду. Они пересчитываются только при начале и
+ * окончании усиления, поэтому клик остается одним сложением при любом числе усилений.
+ * Окончание усилений проверяет {@link #expireBuffs(long)}, вызываемый вне клика.
+ *
  * @version 1.0
  * @since 1.0
  */
@@ -25,13 +37,25 @@ public class GooseGameState {
     private long totalClicks;
     
     /** Текущее количество монет у игрока */
-    private long coins;
+    private final LargeNumber coins = new LargeNumber();
     
-    /** Количество монет, получаемых за один клик */
-    private long coinsPerClick;
+    /** Количество монет за один клик по уровню улучшения (без усилений) */
+    private final LargeNumber coinsPerClick = new LargeNumber();
     
-    /** Количество монет, получаемых автоматически каждую секунду */
-    private long coinsPerSecond;
+    /** Количество монет в секунду по уровню автокликера (без усилений) */
+    private final LargeNumber coinsPerSecond = new LargeNumber();
+
+    /** Монет за клик с учетом усилений */
+    private final LargeNumber effectiveCoinsPerClick = new LargeNumber();
+
+    /** Монет в секунду с учетом усилений */
+    private final LargeNumber effectiveCoinsPerSecond = new LargeNumber();
+
+    /** Активные усиления */
+    private final ModifierStack modifiers = new ModifierStack();
+
+    /** Рабочее число для стоимости и дохода (без выделения памяти) */
+    private final LargeNumber scratch = new LargeNumber();
 
     // Уровни улучшений
     /** Текущий уровень улучшения силы клика */
@@ -42,10 +66,22 @@ public class GooseGameState {
 
     // Стоимость улучшений
     /** Базовая стоимость улучшения силы клика */
-    private static final int CLICK_POWER_BASE_COST = 10;
+    static final int CLICK_POWER_BASE_COST = 10;
     
     /** Базовая стоимость улучшения автокликера */
-    private static final int AUTO_CLICKER_BASE_COST = 50;
+    static final int AUTO_CLICKER_BASE_COST = 50;
+
+    /** Множитель роста стоимости улучшений с каждым уровнем */
+    static final double UPGRADE_COST_GROWTH = 1.5;
+
+    /** Доход одного уровня автокликера в секунду */
+    static final int AUTO_CLICKER_COINS_PER_SECOND = 5;
+
+    /** Параметры экономики */
+    private final EconomyConfig economy;
+
+    /** Рассылка изменений подписчикам */
+    private final ChangeNotifier changes = new ChangeNotifier();
 
     /**
      * Создает новое состояние игры с начальными параметрами.
@@ -60,12 +96,26 @@ public class GooseGameState {
      * </ul>
      */
     public GooseGameState() {
+        this(EconomyConfig.DEFAULT);
+    }
+
+    /**
+     * Создает новое состояние игры с заданными параметрами экономики.
+     * 
+     * <p>Используется при подборе баланса; обычная игра использует
+     * {@link EconomyConfig#DEFAULT}.</p>
+     *
+     * @param economy параметры экономики
+     */
+    public GooseGameState(EconomyConfig economy) {
+        this.economy = economy;
         this.totalClicks = 0;
-        this.coins = 0;
-        this.coinsPerClick = 1;
-        this.coinsPerSecond = 0;
+        this.coins.set(0);
+        this.coinsPerClick.set(1);
+        this.coinsPerSecond.set(0);
         this.clickPowerLevel = 1;
         this.autoClickerLevel = 0;
+        refreshEffectiveRates();
     }
 
     /**
@@ -74,12 +124,38 @@ public class GooseGameState {
      * <p>Увеличивает счетчик кликов и добавляет монеты в зависимости
      * от текущей силы клика.</p>
      *
-     * @return количество заработанных монет за клик
+     * @return количество заработанных монет за клик (не больше {@link Long#MAX_VALUE})
      */
     public long tapGoose() {
         totalClicks++;
-        coins += coinsPerClick;
-        return coinsPerClick;
+        coins.add(effectiveCoinsPerClick);
+        GameMetrics.TAPS.mark();
+        changes.fire(StateChange.COINS | StateChange.CLICKS);
+        return effectiveCoinsPerClick.longValue();
+    }
+
+    /**
+     * Обработка нескольких кликов, накопленных клиентом, одним изменением.
+     *
+     * <p>Результат тот же, что у {@code count} вызовов {@link #tapGoose()}, но
+     * слушатели получают одно уведомление.
+     *
+     * @param count количество кликов
+     * @return монеты, заработанные всеми кликами (не больше {@link Long#MAX_VALUE})
+     */
+    public long tapGoose(int count) {
+        if (count == 1) {
+            return tapGoose();
+        }
+        if (count <= 0) {
+            return 0;
+        }
+        totalClicks += count;
+        LargeNumber earned = scratch.set(effectiveCoinsPerClick).multiply(count);
+        coins.add(earned);
+        GameMetrics.TAPS.mark(count);
+        changes.fire(StateChange.COINS | StateChange.CLICKS);
+        return earned.longValue();
     }
 
     /**
@@ -91,11 +167,14 @@ public class GooseGameState {
      * @return true, если улучшение куплено, false если недостаточно монет
      */
     public boolean upgradeClickPower() {
-        long cost = getClickPowerUpgradeCost();
-        if (coins >= cost) {
-            coins -= cost;
+        LargeNumber cost = readClickPowerUpgradeCost(scratch);
+        if (coins.compareTo(cost) >= 0) {
+            coins.subtract(cost);
             clickPowerLevel++;
-            coinsPerClick = (long) Math.pow(2, clickPowerLevel - 1);
+            coinsPerClick.setScaledPower(1, 2, clickPowerLevel - 1);
+            refreshEffectiveRates();
+            GameMetrics.CLICK_POWER_UPGRADES.increment();
+            changes.fire(StateChange.COINS | StateChange.LEVEL | StateChange.COST | StateChange.RATE);
             return true;
         }
         return false;
@@ -110,11 +189,14 @@ public class GooseGameState {
      * @return true, если улучшение куплено, false если недостаточно монет
      */
     public boolean upgradeAutoClicker() {
-        long cost = getAutoClickerUpgradeCost();
-        if (coins >= cost) {
-            coins -= cost;
+        LargeNumber cost = readAutoClickerUpgradeCost(scratch);
+        if (coins.compareTo(cost) >= 0) {
+            coins.subtract(cost);
             autoClickerLevel++;
-            coinsPerSecond = autoClickerLevel * 5L;
+            coinsPerSecond.set(autoClickerLevel).multiply(economy.autoClickerCoinsPerSecond());
+            refreshEffectiveRates();
+            GameMetrics.AUTO_CLICKER_UPGRADES.increment();
+            changes.fire(StateChange.COINS | StateChange.LEVEL | StateChange.COST | StateChange.RATE);
             return true;
         }
         return false;
@@ -123,19 +205,39 @@ public class GooseGameState {
     /**
      * Рассчитывает стоимость следующего уровня улучшения силы клика.
      * 
-     * @return стоимость улучшения в монетах
+     * @return стоимость улучшения в монетах (не больше {@link Long#MAX_VALUE})
      */
     public long getClickPowerUpgradeCost() {
-        return (long) (CLICK_POWER_BASE_COST * Math.pow(1.5, clickPowerLevel - 1));
+        return readClickPowerUpgradeCost(scratch).longValue();
+    }
+
+    /**
+     * Записывает стоимость следующего уровня улучшения силы клика.
+     * 
+     * @param target число для результата
+     * @return {@code target}
+     */
+    public LargeNumber readClickPowerUpgradeCost(LargeNumber target) {
+        return target.setScaledPower(economy.clickPowerBaseCost(), economy.upgradeCostGrowth(), clickPowerLevel - 1);
     }
 
     /**
      * Рассчитывает стоимость следующего уровня улучшения автокликера.
      * 
-     * @return стоимость улучшения в монетах
+     * @return стоимость улучшения в монетах (не больше {@link Long#MAX_VALUE})
      */
     public long getAutoClickerUpgradeCost() {
-        return (long) (AUTO_CLICKER_BASE_COST * Math.pow(1.5, autoClickerLevel));
+        return readAutoClickerUpgradeCost(scratch).longValue();
+    }
+
+    /**
+     * Записывает стоимость следующего уровня улучшения автокликера.
+     * 
+     * @param target число для результата
+     * @return {@code target}
+     */
+    public LargeNumber readAutoClickerUpgradeCost(LargeNumber target) {
+        return target.setScaledPower(economy.autoClickerBaseCost(), economy.upgradeCostGrowth(), autoClickerLevel);
     }
 
     // Геттеры для доступа к состоянию игры
@@ -143,28 +245,58 @@ public class GooseGameState {
     /**
      * Возвращает текущее количество монет.
      * 
-     * @return количество монет
+     * @return количество монет (не больше {@link Long#MAX_VALUE})
      */
     public long getCoins() {
-        return coins;
+        return coins.longValue();
+    }
+
+    /**
+     * Записывает текущее количество монет.
+     * 
+     * @param target число для результата
+     * @return {@code target}
+     */
+    public LargeNumber readCoins(LargeNumber target) {
+        return target.set(coins);
     }
 
     /**
-     * Возвращает текущее количество монет за клик.
+     * Возвращает текущее количество монет за клик с учетом усилений.
      * 
-     * @return монет за клик
+     * @return монет за клик (не больше {@link Long#MAX_VALUE})
      */
     public long getCoinsPerClick() {
-        return coinsPerClick;
+        return effectiveCoinsPerClick.longValue();
+    }
+
+    /**
+     * Записывает текущее количество монет за клик с учетом усилений.
+     * 
+     * @param target число для результата
+     * @return {@code target}
+     */
+    public LargeNumber readCoinsPerClick(LargeNumber target) {
+        return target.set(effectiveCoinsPerClick);
     }
 
     /**
-     * Возвращает текущее количество монет в секунду.
+     * Возвращает текущее количество монет в секунду с учетом усилений.
      * 
-     * @return монет в секунду
+     * @return монет в секунду (не больше {@link Long#MAX_VALUE})
      */
     public long getCoinsPerSecond() {
-        return coinsPerSecond;
+        return effectiveCoinsPerSecond.longValue();
+    }
+
+    /**
+     * Записывает текущее количество монет в секунду с учетом усилений.
+     * 
+     * @param target число для результата
+     * @return {@code target}
+     */
+    public LargeNumber readCoinsPerSecond(LargeNumber target) {
+        return target.set(effectiveCoinsPerSecond);
     }
 
     /**
@@ -200,9 +332,93 @@ public class GooseGameState {
      * @param deltaTime время в миллисекундах с прошлого обновления
      */
     public void addPassiveIncome(long deltaTime) {
-        if (coinsPerSecond > 0) {
-            double secondsPassed = deltaTime / 1000.0;
-            coins += (long) (coinsPerSecond * secondsPassed);
+        if (!effectiveCoinsPerSecond.isZero() && deltaTime > 0) {
+            // Доход = монет в секунду * миллисекунды / 1000, с округлением вниз
+            LargeNumber income = scratch.set(effectiveCoinsPerSecond).multiply(deltaTime).divide(1000);
+            if (!income.isZero()) {
+                coins.add(income);
+                changes.fire(StateChange.COINS);
+            }
+        }
+    }
+
+    // Усиления
+
+    /**
+     * Активация временного усиления (или продление уже активного).
+     * 
+     * @param buff усиление
+     * @param nowMillis текущее время, мс
+     */
+    public void applyBuff(Buff buff, long nowMillis) {
+        if (modifiers.activate(buff, nowMillis) != 0) {
+            refreshEffectiveRates();
+            changes.fire(StateChange.RATE);
         }
     }
+
+    /**
+     * Снятие закончившихся усилений.
+     * 
+     * <p>Пока ни одно усиление не закончилось, стоит одно сравнение. Вызывается
+     * циклом симуляции или перед командой игрока, а не из {@link #tapGoose()}.
+     * 
+     * @param nowMillis текущее время, мс
+     */
+    public void expireBuffs(long nowMillis) {
+        if (modifiers.expire(nowMillis) != 0) {
+            refreshEffectiveRates();
+            changes.fire(StateChange.RATE);
+        }
+    }
+
+    /**
+     * @return активные усиления (только для чтения)
+     */
+    public ModifierStack getModifiers() {
+        return modifiers;
+    }
+
+    /**
+     * Пересчет готовых значений дохода: уровень улучшения, умноженный на усиления.
+     */
+    private void refreshEffectiveRates() {
+        effectiveCoinsPerClick.set(coinsPerClick).multiply(modifiers.multiplier(Stat.TAP_INCOME));
+        effectiveCoinsPerSecond.set(coinsPerSecond).multiply(modifiers.multiplier(Stat.IDLE_INCOME));
+    }
+
+    // Подписка на изменения
+
+    /**
+     * Подписка на изменения состояния.
+     *
+     * <p>Слушатель получает маску флагов {@link StateChange} после каждой
+     * успешной операции.
+     *
+     * @param listener слушатель
+     * @see StateChange
+     */
+    public void addChangeListener(StateChangeListener listener) {
+        changes.addListener(listener);
+    }
+
+    /**
+     * Отписка от изменений состояния.
+     *
+     * @param listener слушатель
+     */
+    public void removeChangeListener(StateChangeListener listener) {
+        changes.removeListener(listener);
+    }
+
+    /**
+     * Выполнение нескольких операций как одной транзакции.
+     *
+     * <p>Слушатели получат одно уведомление с объединенной маской изменений.
+     *
+     * @param transaction операции над состоянием
+     */
+    public void batch(Runnable transaction) {
+        changes.batch(transaction);
+    }
 }
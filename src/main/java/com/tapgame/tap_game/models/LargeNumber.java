@@ -0,0 +1,537 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Изменяемое неотрицательное число для игровых балансов без ограничения сверху.
+ *
+ * <p>Кликеры быстро выходят за пределы {@code long}, а {@link java.math.BigInteger}
+ * выделял бы память на каждом клике. Число хранится в одном из двух видов:
+ * <ul>
+ *   <li><strong>Точный</strong> - значение меньше {@value #EXACT_LIMIT}: хранится в {@code long},
+ *       все операции точные (как обычная целочисленная арифметика)</li>
+ *   <li><strong>Большой</strong> - мантисса {@code double} в диапазоне [1, 10) и десятичный
+ *       порядок {@code long} не меньше 18: точность около 15 значащих цифр,
+ *       порядок практически не ограничен</li>
+ * </ul>
+ *
+ * <p>Все операции изменяют объект на месте и не выделяют памяти. Результат,
+ * вышедший за {@value #EXACT_LIMIT}, автоматически переходит в большой вид,
+ * а вернувшийся ниже (например, после покупки) - обратно в точный.
+ * Класс не потокобезопасен.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * LargeNumber coins = new LargeNumber();
+ * coins.add(coinsPerClick);
+ * if (coins.compareTo(cost) >= 0) {
+ *     coins.subtract(cost);
+ * }
+ * label.setText(coins.appendAbbreviated(new StringBuilder()).toString()); // "1,5 млн"
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LargeNumber implements Comparable<LargeNumber> {
+
+    /** Граница точного вида (10^18) */
+    public static final long EXACT_LIMIT = 1_000_000_000_000_000_000L;
+
+    /** Порядок границы точного вида */
+    private static final int EXACT_DIGITS = 18;
+
+    /** Разница порядков, при которой меньшее слагаемое не влияет на мантиссу */
+    private static final int MAX_ALIGN = 17;
+
+    private static final long[] LONG_POW10 = new long[EXACT_DIGITS + 1];
+    private static final double[] POW10 = new double[EXACT_DIGITS + 1];
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= EXACT_DIGITS; i++) {
+            LONG_POW10[i] = power;
+            POW10[i] = power;
+            power *= 10;
+        }
+    }
+
+    /** Сокращения разрядов: тысячи, миллионы, ... (по три порядка) */
+    private static final String[] SUFFIXES = {
+        "", " тыс.", " млн", " млрд", " трлн", " квдрлн", " квнтлн", " скстлн", " сптлн", " октлн", " нонлн", " дцлн"
+    };
+
+    /** Значение в точном виде (если {@link #exponent} равен нулю) */
+    private long exact;
+
+    /** Мантисса большого вида, [1, 10) */
+    private double mantissa;
+
+    /** Десятичный порядок большого вида; 0 означает точный вид */
+    private long exponent;
+
+    /**
+     * Создает ноль.
+     */
+    public LargeNumber() {
+    }
+
+    /**
+     * @param value начальное значение
+     * @throws IllegalArgumentException если значение отрицательно
+     */
+    public LargeNumber(long value) {
+        set(value);
+    }
+
+    // === Присваивание ===
+
+    /**
+     * @param value новое значение
+     * @return этот объект
+     * @throws IllegalArgumentException если значение отрицательно
+     */
+    public LargeNumber set(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Отрицательное значение: " + value);
+        }
+        if (value < EXACT_LIMIT) {
+            setExact(value);
+        } else {
+            setBig(value);
+        }
+        return this;
+    }
+
+    /**
+     * @param other значение для копирования
+     * @return этот объект
+     */
+    public LargeNumber set(LargeNumber other) {
+        exact = other.exact;
+        mantissa = other.mantissa;
+        exponent = other.exponent;
+        return this;
+    }
+
+    /**
+     * Присваивание {@code floor(base * growth^power)}.
+     *
+     * <p>Пока результат меньше {@value #EXACT_LIMIT}, вычисляется так же, как
+     * {@code (long) (base * Math.pow(growth, power))}; дальше - через логарифмы,
+     * без переполнения.
+     *
+     * @param base множитель (неотрицательный)
+     * @param growth основание степени (положительное)
+     * @param power показатель степени (неотрицательный)
+     * @return этот объект
+     */
+    public LargeNumber setScaledPower(long base, double growth, long power) {
+        double value = base * Math.pow(growth, power);
+        if (value < EXACT_LIMIT) {
+            return set((long) value);
+        }
+        if (base == 0) {
+            return set(0);
+        }
+        double log10 = Math.log10(base) + power * Math.log10(growth);
+        long order = (long) Math.floor(log10);
+        mantissa = Math.pow(10, log10 - order);
+        exponent = order;
+        exact = 0;
+        normalize();
+        return this;
+    }
+
+    // === Арифметика ===
+
+    /**
+     * @param value слагаемое (неотрицательное)
+     * @return этот объект
+     */
+    public LargeNumber add(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Отрицательное слагаемое: " + value);
+        }
+        if (exponent == 0 && value < EXACT_LIMIT) {
+            addExact(value);
+        } else {
+            addBig(mantissaOf(value), exponentOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * @param other слагаемое
+     * @return этот объект
+     */
+    public LargeNumber add(LargeNumber other) {
+        if (other.exponent == 0) {
+            return add(other.exact);
+        }
+        addBig(other.mantissa, other.exponent);
+        return this;
+    }
+
+    /**
+     * @param value вычитаемое (не больше текущего значения)
+     * @return этот объект
+     * @throws IllegalArgumentException если результат был бы отрицательным
+     */
+    public LargeNumber subtract(long value) {
+        if (value < 0 || compareTo(value) < 0) {
+            throw new IllegalArgumentException("Результат вычитания отрицателен");
+        }
+        if (exponent == 0) {
+            exact -= value;
+        } else {
+            subtractBig(mantissaOf(value), exponentOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * @param other вычитаемое (не больше текущего значения)
+     * @return этот объект
+     * @throws IllegalArgumentException если результат был бы отрицательным
+     */
+    public LargeNumber subtract(LargeNumber other) {
+        if (other.exponent == 0) {
+            return subtract(other.exact);
+        }
+        if (compareTo(other) < 0) {
+            throw new IllegalArgumentException("Результат вычитания отрицателен");
+        }
+        subtractBig(other.mantissa, other.exponent);
+        return this;
+    }
+
+    /**
+     * @param factor множитель (неотрицательный)
+     * @return этот объект
+     */
+    public LargeNumber multiply(long factor) {
+        if (factor < 0) {
+            throw new IllegalArgumentException("Отрицательный множитель: " + factor);
+        }
+        if (exponent == 0) {
+            long product = exact * factor;
+            if (Math.multiplyHigh(exact, factor) == 0 && product >= 0 && product < EXACT_LIMIT) {
+                exact = product;
+                return this;
+            }
+            if (exact == 0 || factor == 0) {
+                return set(0);
+            }
+            multiplyBig(mantissaOf(exact), exponentOf(exact), mantissaOf(factor), exponentOf(factor));
+        } else if (factor == 0) {
+            set(0);
+        } else {
+            multiplyBig(mantissa, exponent, mantissaOf(factor), exponentOf(factor));
+        }
+        return this;
+    }
+
+    /**
+     * @param other множитель
+     * @return этот объект
+     */
+    public LargeNumber multiply(LargeNumber other) {
+        if (other.exponent == 0) {
+            return multiply(other.exact);
+        }
+        if (isZero()) {
+            return this;
+        }
+        double m = exponent == 0 ? mantissaOf(exact) : mantissa;
+        long e = exponent == 0 ? exponentOf(exact) : exponent;
+        multiplyBig(m, e, other.mantissa, other.exponent);
+        return this;
+    }
+
+    /**
+     * Умножение на дробный множитель с округлением вниз.
+     *
+     * <p>Используется для множителей усилений (x1.5, x2); для точных значений
+     * больше 2^53 результат округляется до точности {@code double}.
+     *
+     * @param factor множитель (неотрицательный)
+     * @return этот объект
+     */
+    public LargeNumber multiply(double factor) {
+        if (!(factor >= 0)) {
+            throw new IllegalArgumentException("Отрицательный множитель: " + factor);
+        }
+        if (factor == 1.0) {
+            return this;
+        }
+        if (exponent == 0) {
+            double product = exact * factor;
+            if (product < EXACT_LIMIT) {
+                exact = (long) product;
+                return this;
+            }
+            if (exact == 0) {
+                return this;
+            }
+            multiplyBig(mantissaOf(exact), exponentOf(exact), factor, 0);
+        } else if (factor == 0) {
+            set(0);
+        } else {
+            multiplyBig(mantissa, exponent, factor, 0);
+        }
+        return this;
+    }
+
+    /**
+     * Деление с округлением вниз.
+     *
+     * @param divisor делитель (положительный)
+     * @return этот объект
+     */
+    public LargeNumber divide(long divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Делитель должен быть положительным: " + divisor);
+        }
+        if (exponent == 0) {
+            exact /= divisor;
+        } else {
+            mantissa /= mantissaOf(divisor);
+            exponent -= exponentOf(divisor);
+            normalize();
+        }
+        return this;
+    }
+
+    // === Сравнение и чтение ===
+
+    @Override
+    public int compareTo(LargeNumber other) {
+        if (exponent == 0 && other.exponent == 0) {
+            return Long.compare(exact, other.exact);
+        }
+        // Точный вид всегда меньше большого
+        if (exponent == 0) {
+            return -1;
+        }
+        if (other.exponent == 0) {
+            return 1;
+        }
+        if (exponent != other.exponent) {
+            return Long.compare(exponent, other.exponent);
+        }
+        return Double.compare(mantissa, other.mantissa);
+    }
+
+    /**
+     * @param value значение для сравнения
+     * @return отрицательное, ноль или положительное число, как {@link #compareTo(LargeNumber)}
+     */
+    public int compareTo(long value) {
+        if (exponent == 0) {
+            return Long.compare(exact, value);
+        }
+        // Большой вид больше любого точного; long от EXACT_LIMIT сравнивается в большом виде
+        if (value < EXACT_LIMIT) {
+            return 1;
+        }
+        long valueExponent = exponentOf(value);
+        if (exponent != valueExponent) {
+            return Long.compare(exponent, valueExponent);
+        }
+        return Double.compare(mantissa, mantissaOf(value));
+    }
+
+    /**
+     * @return {@code true}, если значение равно нулю
+     */
+    public boolean isZero() {
+        return exponent == 0 && exact == 0;
+    }
+
+    /**
+     * @return {@code true}, если значение хранится точно (меньше {@value #EXACT_LIMIT})
+     */
+    public boolean isExact() {
+        return exponent == 0;
+    }
+
+    /**
+     * @return значение или {@link Long#MAX_VALUE}, если оно не помещается в {@code long}
+     */
+    public long longValue() {
+        if (exponent == 0) {
+            return exact;
+        }
+        return exponent == EXACT_DIGITS && mantissa * POW10[EXACT_DIGITS] < Long.MAX_VALUE
+                ? (long) (mantissa * POW10[EXACT_DIGITS])
+                : Long.MAX_VALUE;
+    }
+
+    /**
+     * @return приближенное значение; {@link Double#POSITIVE_INFINITY} за пределами {@code double}
+     */
+    public double doubleValue() {
+        if (exponent == 0) {
+            return exact;
+        }
+        return exponent > 308 ? Double.POSITIVE_INFINITY : mantissa * Math.pow(10, exponent);
+    }
+
+    /**
+     * @return десятичный логарифм значения ({@link Double#NEGATIVE_INFINITY} для нуля)
+     */
+    public double log10() {
+        return exponent == 0 ? Math.log10(exact) : exponent + Math.log10(mantissa);
+    }
+
+    // === Форматирование ===
+
+    /**
+     * Сокращенная запись для интерфейса без промежуточных строк.
+     *
+     * <p>Значения меньше 1000 выводятся полностью, дальше - с двумя знаками
+     * после запятой и сокращением разряда: {@code 12,5 тыс.}, {@code 3,07 млрд}.
+     * За пределами известных сокращений используется экспоненциальная запись
+     * {@code 1,23e45}.
+     *
+     * @param target строка, в конец которой дописывается число
+     * @return {@code target}
+     */
+    public StringBuilder appendAbbreviated(StringBuilder target) {
+        if (exponent == 0 && exact < 1000) {
+            return target.append(exact);
+        }
+        double m = exponent == 0 ? mantissaOf(exact) : mantissa;
+        long e = exponent == 0 ? exponentOf(exact) : exponent;
+        int group = (int) Math.min(e / 3, Integer.MAX_VALUE);
+        if (group < SUFFIXES.length) {
+            appendDecimal(target, m * POW10[(int) (e - group * 3L)]);
+            return target.append(SUFFIXES[group]);
+        }
+        appendDecimal(target, m);
+        return target.append('e').append(e);
+    }
+
+    /**
+     * @return точное значение или сокращенная запись для больших чисел
+     */
+    @Override
+    public String toString() {
+        return exponent == 0 ? Long.toString(exact) : appendAbbreviated(new StringBuilder()).toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LargeNumber other && compareTo(other) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return exponent == 0 ? Long.hashCode(exact) : 31 * Long.hashCode(exponent) + Double.hashCode(mantissa);
+    }
+
+    // === Внутренние операции ===
+
+    private void setExact(long value) {
+        exact = value;
+        mantissa = 0;
+        exponent = 0;
+    }
+
+    private void setBig(long value) {
+        exact = 0;
+        mantissa = mantissaOf(value);
+        exponent = exponentOf(value);
+    }
+
+    private void addExact(long value) {
+        long sum = exact + value;
+        if (sum < EXACT_LIMIT) {
+            exact = sum;
+        } else {
+            setBig(sum);
+        }
+    }
+
+    private void addBig(double otherMantissa, long otherExponent) {
+        double m = exponent == 0 ? mantissaOf(exact) : mantissa;
+        long e = exponent == 0 ? exponentOf(exact) : exponent;
+        if (otherExponent > e) {
+            double swapM = m;
+            long swapE = e;
+            m = otherMantissa;
+            e = otherExponent;
+            otherMantissa = swapM;
+            otherExponent = swapE;
+        }
+        long shift = e - otherExponent;
+        if (shift <= MAX_ALIGN) {
+            m += otherMantissa / POW10[(int) shift];
+        }
+        exact = 0;
+        mantissa = m;
+        exponent = e;
+        normalize();
+    }
+
+    private void subtractBig(double otherMantissa, long otherExponent) {
+        long shift = exponent - otherExponent;
+        if (shift > MAX_ALIGN) {
+            return;
+        }
+        mantissa -= otherMantissa / POW10[(int) shift];
+        normalize();
+    }
+
+    private void multiplyBig(double m1, long e1, double m2, long e2) {
+        exact = 0;
+        mantissa = m1 * m2;
+        exponent = e1 + e2;
+        normalize();
+    }
+
+    /**
+     * Приведение мантиссы к [1, 10) и переход в точный вид при малом значении.
+     */
+    private void normalize() {
+        if (!(mantissa > 0)) {
+            setExact(0);
+            return;
+        }
+        while (mantissa >= 10) {
+            mantissa /= 10;
+            exponent++;
+        }
+        while (mantissa < 1) {
+            mantissa *= 10;
+            exponent--;
+        }
+        if (exponent < EXACT_DIGITS) {
+            setExact(exponent < 0 ? 0 : (long) Math.floor(mantissa * POW10[(int) exponent] + 1e-9));
+        }
+    }
+
+    private static long exponentOf(long value) {
+        int e = 0;
+        while (e < EXACT_DIGITS && value >= LONG_POW10[e + 1]) {
+            e++;
+        }
+        return e;
+    }
+
+    private static double mantissaOf(long value) {
+        return value / POW10[(int) exponentOf(value)];
+    }
+
+    private static void appendDecimal(StringBuilder target, double value) {
+        // Округление вниз до сотых, чтобы 999,999 не превращалось в 1000,00
+        long hundredths = (long) (value * 100 + 1e-9);
+        target.append(hundredths / 100);
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            target.append(',').append(fraction / 10);
+            if (fraction % 10 != 0) {
+                target.append(fraction % 10);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.tapgame.tap_game.models;
+
+import java.util.Arrays;
+
+/**
+ * Активные усиления игрока, свернутые в один множитель на характеристику.
+ *
+ * <p>Множители пересчитываются только при начале или окончании усиления,
+ * поэтому горячий путь (клик, начисление дохода) читает готовое число и не
+ * перебирает список усилений. Проверка окончания - одно сравнение с ближайшим
+ * сроком ({@link #expire(long)}), и выполняется вне клика: в цикле симуляции
+ * или перед командой игрока.
+ *
+ * <p>Повторная активация того же усиления продлевает его, а не складывает с собой.
+ * Разные усиления складываются по правилу {@link Buff}.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see Buff
+ */
+public final class ModifierStack {
+
+    private static final Buff[] BUFFS = Buff.values();
+    private static final Stat[] STATS = Stat.values();
+
+    /** Время окончания каждого усиления, мс; 0 - не активно */
+    private final long[] expiresAt = new long[BUFFS.length];
+
+    /** Итоговые множители по {@link Stat#ordinal()} */
+    private final double[] multipliers = new double[STATS.length];
+
+    /** Ближайшее окончание усиления, мс */
+    private long nextExpiryMillis = Long.MAX_VALUE;
+
+    /**
+     * Создает набор без активных усилений.
+     */
+    public ModifierStack() {
+        Arrays.fill(multipliers, 1.0);
+    }
+
+    /**
+     * Активация или продление усиления.
+     *
+     * @param buff усиление
+     * @param nowMillis текущее время, мс
+     * @return маска измененных характеристик ({@link Stat#mask()}); 0, если множители не изменились
+     */
+    public int activate(Buff buff, long nowMillis) {
+        int changed = expire(nowMillis);
+        boolean wasActive = expiresAt[buff.ordinal()] != 0;
+        expiresAt[buff.ordinal()] = nowMillis + buff.getDurationMillis();
+        nextExpiryMillis = Math.min(nextExpiryMillis, expiresAt[buff.ordinal()]);
+        if (wasActive) {
+            return changed;
+        }
+        recompute(buff.getStat());
+        return changed | buff.getStat().mask();
+    }
+
+    /**
+     * Снятие закончившихся усилений.
+     *
+     * @param nowMillis текущее время, мс
+     * @return маска измененных характеристик; 0, если ни одно усиление не закончилось
+     */
+    public int expire(long nowMillis) {
+        if (nowMillis < nextExpiryMillis) {
+            return 0;
+        }
+        int changed = 0;
+        long next = Long.MAX_VALUE;
+        for (int i = 0; i < BUFFS.length; i++) {
+            long expiry = expiresAt[i];
+            if (expiry == 0) {
+                continue;
+            }
+            if (expiry <= nowMillis) {
+                expiresAt[i] = 0;
+                changed |= BUFFS[i].getStat().mask();
+            } else {
+                next = Math.min(next, expiry);
+            }
+        }
+        nextExpiryMillis = next;
+        for (Stat stat : STATS) {
+            if ((changed & stat.mask()) != 0) {
+                recompute(stat);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param stat характеристика
+     * @return итоговый множитель активных усилений (1 - усилений нет)
+     */
+    public double multiplier(Stat stat) {
+        return multipliers[stat.ordinal()];
+    }
+
+    /**
+     * @param buff усиление
+     * @param nowMillis текущее время, мс
+     * @return оставшееся время действия, мс (0, если не активно)
+     */
+    public long remainingMillis(Buff buff, long nowMillis) {
+        return Math.max(0, expiresAt[buff.ordinal()] - nowMillis);
+    }
+
+    /**
+     * @return ближайшее окончание усиления, мс ({@link Long#MAX_VALUE}, если усилений нет)
+     */
+    public long getNextExpiryMillis() {
+        return nextExpiryMillis;
+    }
+
+    private void recompute(Stat stat) {
+        double bonus = 0;
+        double product = 1;
+        for (int i = 0; i < BUFFS.length; i++) {
+            Buff buff = BUFFS[i];
+            if (expiresAt[i] != 0 && buff.getStat() == stat) {
+                bonus += buff.getBonus();
+                product *= buff.getMultiplier();
+            }
+        }
+        multipliers[stat.ordinal()] = (1 + bonus) * product;
+    }
+}
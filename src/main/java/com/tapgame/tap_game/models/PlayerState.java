@@ -0,0 +1,83 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Полное игровое состояние одного игрока.
+ *
+ * <p>Объединяет состояние основной игры ({@link GameState}) и мини-игры
+ * "Гусь" ({@link GooseGameState}) под идентификатором пользователя Telegram.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramUser#getId()
+ */
+public class PlayerState {
+
+    /** ID пользователя Telegram */
+    private final long playerId;
+
+    /** Состояние основной игры */
+    private final GameState gameState;
+
+    /** Состояние мини-игры "Гусь" */
+    private final GooseGameState gooseGameState;
+
+    /** Момент, до которого начислен пассивный доход мини-игры, мс эпохи; 0 - еще не начислялся */
+    private long incomeCreditedUntilMillis;
+
+    /**
+     * Создает состояние нового игрока с начальными значениями.
+     *
+     * @param playerId ID пользователя Telegram
+     */
+    public PlayerState(long playerId) {
+        this(playerId, new GameState(), new GooseGameState());
+    }
+
+    /**
+     * Создает состояние игрока из готовых частей.
+     *
+     * @param playerId ID пользователя Telegram
+     * @param gameState состояние основной игры
+     * @param gooseGameState состояние мини-игры "Гусь"
+     */
+    public PlayerState(long playerId, GameState gameState, GooseGameState gooseGameState) {
+        this.playerId = playerId;
+        this.gameState = gameState;
+        this.gooseGameState = gooseGameState;
+    }
+
+    /**
+     * @return ID пользователя Telegram
+     */
+    public long getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return состояние основной игры
+     */
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * @return состояние мини-игры "Гусь"
+     */
+    public GooseGameState getGooseGameState() {
+        return gooseGameState;
+    }
+
+    /**
+     * @return момент, до которого начислен пассивный доход мини-игры (мс эпохи; 0 - еще не начислялся)
+     */
+    public long getIncomeCreditedUntilMillis() {
+        return incomeCreditedUntilMillis;
+    }
+
+    /**
+     * @param incomeCreditedUntilMillis момент, до которого начислен пассивный доход мини-игры, мс эпохи
+     */
+    public void setIncomeCreditedUntilMillis(long incomeCreditedUntilMillis) {
+        this.incomeCreditedUntilMillis = incomeCreditedUntilMillis;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Характеристики игрока, на которые действуют временные усиления ({@link Buff}).
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see ModifierStack
+ */
+public enum Stat {
+
+    /** Монеты за клик по гусю (поверх уровня силы клика) */
+    TAP_INCOME,
+
+    /** Монеты в секунду от автокликера (поверх уровня автокликера) */
+    IDLE_INCOME,
+
+    /** Награда за квест (поверх уровня бустера награды) */
+    QUEST_REWARD;
+
+    /**
+     * @return бит характеристики в маске изменений {@link ModifierStack}
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,63 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Флаги изменений игрового состояния.
+ *
+ * <p>Изменения передаются слушателям битовой маской: один вызов
+ * {@link StateChangeListener#onStateChanged(int)} сообщает обо всех полях,
+ * изменившихся в одной операции (или в одной пачке операций,
+ * см. {@link ChangeNotifier#batch(Runnable)}).
+ *
+ * <p><strong>Пример:</strong>
+ * <pre>{@code
+ * state.addChangeListener(changes -> {
+ *     if (StateChange.contains(changes, StateChange.COINS)) {
+ *         coinsLabel.set(state.getCoins());
+ *     }
+ * });
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see StateChangeListener
+ */
+public final class StateChange {
+
+    /** Изменилось количество монет */
+    public static final int COINS = 1;
+
+    /** Изменился уровень персонажа или уровень улучшения */
+    public static final int LEVEL = 1 << 1;
+
+    /** Квест выполнен или снова стал доступен */
+    public static final int QUEST = 1 << 2;
+
+    /** Изменилась стоимость улучшений */
+    public static final int COST = 1 << 3;
+
+    /** Изменился доход: монет за клик, в секунду или за квест */
+    public static final int RATE = 1 << 4;
+
+    /** Изменилось количество купленных билетиков */
+    public static final int TICKETS = 1 << 5;
+
+    /** Изменилось количество кликов */
+    public static final int CLICKS = 1 << 6;
+
+    /** Все флаги сразу (например, для первичной отрисовки) */
+    public static final int ALL = COINS | LEVEL | QUEST | COST | RATE | TICKETS | CLICKS;
+
+    private StateChange() {
+    }
+
+    /**
+     * Проверка наличия флага в маске.
+     *
+     * @param changes маска изменений
+     * @param flag проверяемый флаг (или несколько флагов)
+     * @return {@code true}, если изменился хотя бы один из флагов
+     */
+    public static boolean contains(int changes, int flag) {
+        return (changes & flag) != 0;
+    }
+}
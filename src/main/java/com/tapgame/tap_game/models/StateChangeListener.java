@@ -0,0 +1,23 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Слушатель изменений игрового состояния.
+ *
+ * <p>Вызывается в потоке, изменившем состояние, сразу после изменения
+ * (или в конце пачки изменений).
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see StateChange
+ * @see ChangeNotifier
+ */
+@FunctionalInterface
+public interface StateChangeListener {
+
+    /**
+     * Обработка изменений.
+     *
+     * @param changes маска флагов {@link StateChange}
+     */
+    void onStateChanged(int changes);
+}
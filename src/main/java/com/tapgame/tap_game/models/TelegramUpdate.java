@@ -0,0 +1,124 @@
+package com.tapgame.tap_game.models;
+
+/**
+ * Обновление Telegram Bot API в том объеме, который нужен игре.
+ * 
+ * <p>Из всего обновления сохраняются только ID, вид события (например,
+ * {@code message} или {@code callback_query}), отправитель, чат и текст.
+ * Объект переиспользуется парсером для каждого следующего обновления пачки,
+ * поэтому значения нельзя хранить после обработки - только копировать.
+ * 
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramUser
+ */
+public class TelegramUpdate {
+    
+    private long updateId;
+    private String kind;
+    private final TelegramUser from = new TelegramUser();
+    private boolean hasFrom;
+    private long chatId;
+    private boolean hasChat;
+    private String text;
+    
+    /**
+     * Сброс перед разбором следующего обновления.
+     */
+    public void reset() {
+        updateId = 0;
+        kind = null;
+        from.reset();
+        hasFrom = false;
+        chatId = 0;
+        hasChat = false;
+        text = null;
+    }
+    
+    /**
+     * @return ID обновления (для параметра {@code offset} следующего запроса)
+     */
+    public long getUpdateId() {
+        return updateId;
+    }
+    
+    public void setUpdateId(long updateId) {
+        this.updateId = updateId;
+    }
+    
+    /**
+     * @return вид события ({@code message}, {@code callback_query} и т.д.) или {@code null}
+     */
+    public String getKind() {
+        return kind;
+    }
+    
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+    
+    /**
+     * @return отправитель или {@code null}, если его нет в обновлении
+     */
+    public TelegramUser getFrom() {
+        return hasFrom ? from : null;
+    }
+    
+    /**
+     * Отправитель для заполнения парсером; после заполнения вызывается {@link #markFrom()}.
+     * 
+     * @return переиспользуемый объект отправителя
+     */
+    public TelegramUser fromForUpdate() {
+        return from;
+    }
+    
+    /**
+     * Отметка, что отправитель заполнен.
+     */
+    public void markFrom() {
+        this.hasFrom = true;
+    }
+    
+    /**
+     * @return есть ли в обновлении чат
+     */
+    public boolean hasChat() {
+        return hasChat;
+    }
+    
+    /**
+     * @return ID чата (действителен, если {@link #hasChat()})
+     */
+    public long getChatId() {
+        return chatId;
+    }
+    
+    public void setChatId(long chatId) {
+        this.chatId = chatId;
+        this.hasChat = true;
+    }
+    
+    /**
+     * @return текст сообщения или данные кнопки; {@code null}, если их нет
+     */
+    public String getText() {
+        return text;
+    }
+    
+    public void setText(String text) {
+        this.text = text;
+    }
+    
+    @Override
+    public String toString() {
+        return "TelegramUpdate{" +
+                "updateId=" + updateId +
+                ", kind='" + kind + '\'' +
+                ", from=" + getFrom() +
+                ", chatId=" + (hasChat ? chatId : "-") +
+                ", text='" + text + '\'' +
+                '}';
+    }
+}
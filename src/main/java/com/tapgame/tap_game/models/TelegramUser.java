@@ -120,6 +120,22 @@ public class TelegramUser {
         }
     }
     
+    /**
+     * Сброс всех полей к значениям конструктора по умолчанию.
+     * 
+     * <p>Позволяет переиспользовать один объект при разборе потока обновлений
+     * вместо создания нового пользователя на каждое обновление.
+     */
+    public void reset() {
+        this.id = null;
+        this.username = null;
+        this.firstName = null;
+        this.lastName = null;
+        this.languageCode = null;
+        this.isGameUser = false;
+        this.gameStatus = "guest";
+    }
+    
     // === Геттеры и сеттеры ===
     
     public Long getId() {
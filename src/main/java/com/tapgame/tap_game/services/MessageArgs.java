@@ -0,0 +1,70 @@
+package com.tapgame.tap_game.services;
+
+/**
+ * Переиспользуемые аргументы шаблона {@link MessageTemplate}.
+ *
+ * <p>Слоты хранят строку или число без упаковки: число дописывается в текст через
+ * {@link StringBuilder#append(long)}, поэтому подстановка не создает ни {@code Object[]},
+ * ни {@code Integer}. Не потокобезопасен.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MessageArgs {
+
+    /** Наибольшее количество параметров в шаблоне */
+    public static final int MAX_SLOTS = 8;
+
+    private final String[] texts = new String[MAX_SLOTS];
+    private final long[] numbers = new long[MAX_SLOTS];
+    private final boolean[] numeric = new boolean[MAX_SLOTS];
+
+    /**
+     * Очистка всех слотов.
+     *
+     * @return {@code this}
+     */
+    public MessageArgs clear() {
+        for (int i = 0; i < MAX_SLOTS; i++) {
+            texts[i] = null;
+            numeric[i] = false;
+        }
+        return this;
+    }
+
+    /**
+     * @param slot номер параметра
+     * @param text значение
+     * @return {@code this}
+     */
+    public MessageArgs set(int slot, String text) {
+        texts[slot] = text;
+        numeric[slot] = false;
+        return this;
+    }
+
+    /**
+     * @param slot номер параметра
+     * @param number значение
+     * @return {@code this}
+     */
+    public MessageArgs set(int slot, long number) {
+        numbers[slot] = number;
+        numeric[slot] = true;
+        return this;
+    }
+
+    /**
+     * Дописывание значения слота.
+     *
+     * @param out текст сообщения
+     * @param slot номер параметра
+     */
+    void appendTo(StringBuilder out, int slot) {
+        if (numeric[slot]) {
+            out.append(numbers[slot]);
+        } else {
+            out.append(texts[slot]);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.tapgame.tap_game.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Заранее разобранный шаблон сообщения.
+ *
+ * <p>Текст вида {@code "Награда: {reward} монет"} разбирается один раз в чередование
+ * литералов и номеров слотов {@link MessageArgs}. Отрисовка - только дописывание
+ * готовых кусков в переданный {@link StringBuilder}: без разбора формата, как у
+ * {@code String.format}, и без промежуточных строк.
+ *
+ * <p>Синтаксис: {@code {имя}} - параметр; удвоенная фигурная скобка - литеральная скобка.
+ * Шаблон неизменяем и потокобезопасен.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see NotificationTemplates
+ */
+public final class MessageTemplate {
+
+    private final String name;
+
+    /** Литералы: на один больше, чем слотов (первый и последний могут быть пустыми) */
+    private final String[] literals;
+
+    /** Номер слота перед каждым литералом, начиная со второго */
+    private final int[] slots;
+
+    /** Длина всех литералов: начальная емкость буфера */
+    private final int literalLength;
+
+    private MessageTemplate(String name, String[] literals, int[] slots) {
+        this.name = name;
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Разбор шаблона.
+     *
+     * @param name имя шаблона (для сообщений об ошибках)
+     * @param text текст шаблона
+     * @param parameters имена параметров по номерам слотов
+     * @return разобранный шаблон
+     * @throws IllegalArgumentException при неизвестном параметре или незакрытой скобке
+     */
+    public static MessageTemplate compile(String name, String text, String... parameters) {
+        if (parameters.length > MessageArgs.MAX_SLOTS) {
+            throw new IllegalArgumentException("Шаблон " + name + ": больше " + MessageArgs.MAX_SLOTS + " параметров");
+        }
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '{' && i + 1 < text.length() && text.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+            } else if (c == '}' && i + 1 < text.length() && text.charAt(i + 1) == '}') {
+                literal.append('}');
+                i += 2;
+            } else if (c == '{') {
+                int end = text.indexOf('}', i);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Шаблон " + name + ": незакрытая скобка в позиции " + i);
+                }
+                String parameter = text.substring(i + 1, end);
+                int slot = Arrays.asList(parameters).indexOf(parameter);
+                if (slot < 0) {
+                    throw new IllegalArgumentException("Шаблон " + name + ": неизвестный параметр {" + parameter + "}");
+                }
+                literals.add(literal.toString());
+                literal.setLength(0);
+                slots.add(slot);
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(name, literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Отрисовка шаблона в конец буфера.
+     *
+     * @param out буфер сообщения
+     * @param args значения параметров
+     * @return {@code out}
+     */
+    public StringBuilder appendTo(StringBuilder out, MessageArgs args) {
+        out.ensureCapacity(out.length() + literalLength + 16 * slots.length);
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            args.appendTo(out, slots[i]);
+            out.append(literals[i + 1]);
+        }
+        return out;
+    }
+
+    /**
+     * @return имя шаблона
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "MessageTemplate{" + name + '}';
+    }
+}
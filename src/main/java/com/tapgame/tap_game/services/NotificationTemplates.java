@@ -0,0 +1,195 @@
+package com.tapgame.tap_game.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Локализованные шаблоны уведомлений Telegram.
+ *
+ * <p>Шаблоны читаются из {@code messages/telegram_<язык>.properties} (UTF-8) и разбираются
+ * в {@link MessageTemplate} один раз при создании. Язык выбирается по
+ * {@link com.tapgame.tap_game.models.TelegramUser#getLanguageCode()}:
+ * <ol>
+ *   <li>точное совпадение ({@code en})</li>
+ *   <li>основной язык тега ({@code en-US} → {@code en})</li>
+ *   <li>{@link #DEFAULT_LANGUAGE}</li>
+ * </ol>
+ * Недостающий в языке шаблон берется из языка по умолчанию. Выбор для каждого кода
+ * языка запоминается, поэтому на отправку приходится один поиск в хеш-таблице.
+ *
+ * <p>Отрисовка идет в буфер и аргументы текущего потока ({@link #args()}): на сообщение
+ * создается только итоговая строка.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * String text = templates.render(NotificationType.QUEST_COMPLETED, user.getLanguageCode(),
+ *         templates.args().set(0, questName).set(1, reward));
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see MessageTemplate
+ */
+public final class NotificationTemplates {
+
+    /** Язык по умолчанию: в нем должны быть все шаблоны */
+    public static final String DEFAULT_LANGUAGE = "ru";
+
+    /** Языки, для которых есть файлы шаблонов */
+    private static final String[] LANGUAGES = {"ru", "en"};
+
+    private static final String RESOURCE = "/messages/telegram_%s.properties";
+
+    /** Наибольшее число запоминаемых кодов языка (коды приходят от клиентов) */
+    private static final int MAX_RESOLVED = 256;
+
+    private static final NotificationType[] TYPES = NotificationType.values();
+
+    /** Шаблоны по языкам: индекс - {@link NotificationType#ordinal()} */
+    private final Map<String, MessageTemplate[]> byLanguage;
+    private final MessageTemplate[] defaults;
+    private final Map<String, MessageTemplate[]> resolved = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<StringBuilder> buffer = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private final ThreadLocal<MessageArgs> args = ThreadLocal.withInitial(MessageArgs::new);
+
+    private NotificationTemplates(Map<String, MessageTemplate[]> byLanguage) {
+        this.byLanguage = byLanguage;
+        this.defaults = byLanguage.get(DEFAULT_LANGUAGE);
+    }
+
+    /**
+     * Загрузка шаблонов из ресурсов приложения.
+     *
+     * @return шаблоны всех языков
+     * @throws IllegalStateException если файла языка по умолчанию нет или в нем не хватает шаблона
+     */
+    public static NotificationTemplates load() {
+        Map<String, Properties> bundles = new HashMap<>();
+        for (String language : LANGUAGES) {
+            try (InputStream in = NotificationTemplates.class.getResourceAsStream(String.format(RESOURCE, language))) {
+                if (in == null) {
+                    continue;
+                }
+                Properties properties = new Properties();
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+                bundles.put(language, properties);
+            } catch (IOException e) {
+                throw new IllegalStateException("Не удалось загрузить шаблоны языка " + language + ": " + e.getMessage(), e);
+            }
+        }
+        return fromProperties(bundles);
+    }
+
+    /**
+     * Разбор шаблонов из готовых наборов (например, в тестах).
+     *
+     * @param bundles тексты шаблонов по кодам языка; обязателен {@link #DEFAULT_LANGUAGE}
+     * @return шаблоны всех языков
+     * @throws IllegalStateException если в языке по умолчанию не хватает шаблона
+     * @throws IllegalArgumentException если шаблон содержит неизвестный параметр
+     */
+    public static NotificationTemplates fromProperties(Map<String, Properties> bundles) {
+        Properties defaultTexts = bundles.get(DEFAULT_LANGUAGE);
+        if (defaultTexts == null) {
+            throw new IllegalStateException("Нет шаблонов языка по умолчанию: " + DEFAULT_LANGUAGE);
+        }
+        Map<String, MessageTemplate[]> byLanguage = new HashMap<>();
+        MessageTemplate[] defaults = compile(DEFAULT_LANGUAGE, defaultTexts, null);
+        byLanguage.put(DEFAULT_LANGUAGE, defaults);
+        bundles.forEach((language, texts) -> {
+            if (!language.equals(DEFAULT_LANGUAGE)) {
+                byLanguage.put(language, compile(language, texts, defaults));
+            }
+        });
+        return new NotificationTemplates(byLanguage);
+    }
+
+    /**
+     * Шаблон уведомления для языка пользователя.
+     *
+     * @param type вид уведомления
+     * @param languageCode код языка IETF ({@code ru}, {@code en-US}) или {@code null}
+     * @return шаблон выбранного языка
+     */
+    public MessageTemplate get(NotificationType type, String languageCode) {
+        return templatesFor(languageCode)[type.ordinal()];
+    }
+
+    /**
+     * Аргументы текущего потока, очищенные для нового сообщения.
+     *
+     * @return аргументы для {@link #render(NotificationType, String, MessageArgs)}
+     */
+    public MessageArgs args() {
+        return args.get().clear();
+    }
+
+    /**
+     * Отрисовка уведомления в буфере текущего потока.
+     *
+     * @param type вид уведомления
+     * @param languageCode код языка пользователя или {@code null}
+     * @param args значения параметров (см. {@link NotificationType})
+     * @return текст сообщения
+     */
+    public String render(NotificationType type, String languageCode, MessageArgs args) {
+        StringBuilder out = buffer.get();
+        out.setLength(0);
+        return get(type, languageCode).appendTo(out, args).toString();
+    }
+
+    private MessageTemplate[] templatesFor(String languageCode) {
+        if (languageCode == null) {
+            return defaults;
+        }
+        MessageTemplate[] templates = resolved.get(languageCode);
+        if (templates == null) {
+            templates = resolve(languageCode);
+            if (resolved.size() < MAX_RESOLVED) {
+                resolved.put(languageCode, templates);
+            }
+        }
+        return templates;
+    }
+
+    private MessageTemplate[] resolve(String languageCode) {
+        String code = languageCode.toLowerCase(Locale.ROOT);
+        MessageTemplate[] templates = byLanguage.get(code);
+        if (templates == null) {
+            int dash = code.indexOf('-');
+            if (dash > 0) {
+                templates = byLanguage.get(code.substring(0, dash));
+            }
+        }
+        return templates != null ? templates : defaults;
+    }
+
+    /**
+     * @param fallback шаблоны языка по умолчанию или {@code null} для него самого
+     */
+    private static MessageTemplate[] compile(String language, Properties texts, MessageTemplate[] fallback) {
+        MessageTemplate[] templates = new MessageTemplate[TYPES.length];
+        for (NotificationType type : TYPES) {
+            String text = texts.getProperty(type.getKey());
+            if (text != null) {
+                templates[type.ordinal()] = MessageTemplate.compile(language + ":" + type.getKey(), text, type.getParameters());
+            } else if (fallback != null) {
+                templates[type.ordinal()] = fallback[type.ordinal()];
+            } else {
+                throw new IllegalStateException("Нет шаблона " + type.getKey() + " в языке по умолчанию");
+            }
+        }
+        return templates;
+    }
+}
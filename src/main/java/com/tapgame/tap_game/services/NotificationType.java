@@ -0,0 +1,48 @@
+package com.tapgame.tap_game.services;
+
+/**
+ * Виды уведомлений Telegram и параметры их шаблонов.
+ *
+ * <p>Ключ - имя шаблона в файлах {@code messages/telegram_<язык>.properties};
+ * параметры перечислены в порядке слотов {@link MessageArgs}.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see NotificationTemplates
+ */
+public enum NotificationType {
+
+    /** Квест выполнен: название квеста, награда */
+    QUEST_COMPLETED("quest.completed", "quest", "reward"),
+
+    /** Перезарядка квеста закончилась: название квеста */
+    QUEST_AVAILABLE("quest.available", "quest"),
+
+    /** Новый уровень персонажа: уровень */
+    LEVEL_UP("level.up", "level"),
+
+    /** Выигрыш приза: название приза */
+    PRIZE_WON("prize.won", "prize");
+
+    private final String key;
+    private final String[] parameters;
+
+    NotificationType(String key, String... parameters) {
+        this.key = key;
+        this.parameters = parameters;
+    }
+
+    /**
+     * @return ключ шаблона в файле сообщений
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return имена параметров шаблона по номерам слотов
+     */
+    public String[] getParameters() {
+        return parameters.clone();
+    }
+}
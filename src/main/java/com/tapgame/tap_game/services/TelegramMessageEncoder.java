@@ -0,0 +1,147 @@
+package com.tapgame.tap_game.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Кодирование тела запроса {@code sendMessage} в UTF-8 без промежуточных строк.
+ *
+ * <p>JSON пишется посимвольно прямо в переиспользуемый буфер байтов: нет
+ * {@code String.format}, цепочки {@code replace} для экранирования и
+ * {@code getBytes} при создании тела запроса. После того как буфер вырос до
+ * размера самого длинного сообщения, кодирование не выделяет память.
+ *
+ * <p>Не потокобезопасен: один кодировщик на поток
+ * (см. {@link TelegramService#encodeMessage(String, String)}). Буфер действителен
+ * до следующего вызова {@link #encodeSendMessage(String, String, String)}.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * TelegramMessageEncoder encoder = new TelegramMessageEncoder();
+ * encoder.encodeSendMessage("123", "Привет, <b>гусь</b>! 🦢", "HTML");
+ * RequestBody body = RequestBody.create(encoder.getBuffer(), JSON, 0, encoder.getLength());
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramService#sendMessage(String, String)
+ */
+public final class TelegramMessageEncoder {
+
+    /** Начальный размер буфера: хватает для обычного уведомления */
+    private static final int INITIAL_CAPACITY = 512;
+
+    /** Наибольшая длина одного символа в JSON: экранированный управляющий символ */
+    private static final int MAX_BYTES_PER_CHAR = 6;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int length;
+
+    /**
+     * Кодирование тела {@code sendMessage}:
+     * {@code {"chat_id":"...","text":"...","parse_mode":"..."}}.
+     *
+     * @param chatId ID чата
+     * @param text текст сообщения
+     * @param parseMode режим разметки ({@code "HTML"}) или {@code null}
+     * @return {@code this}
+     */
+    public TelegramMessageEncoder encodeSendMessage(String chatId, String text, String parseMode) {
+        length = 0;
+        int parseModeLength = parseMode != null ? parseMode.length() : 0;
+        ensureCapacity(64 + MAX_BYTES_PER_CHAR * (chatId.length() + text.length() + parseModeLength));
+        writeAscii("{\"chat_id\":\"");
+        writeEscaped(chatId);
+        writeAscii("\",\"text\":\"");
+        writeEscaped(text);
+        if (parseMode != null) {
+            writeAscii("\",\"parse_mode\":\"");
+            writeEscaped(parseMode);
+        }
+        writeAscii("\"}");
+        return this;
+    }
+
+    /**
+     * @return буфер с закодированным телом (действительны первые {@link #getLength()} байт)
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * @return длина закодированного тела в байтах
+     */
+    public int getLength() {
+        return length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (buffer.length < capacity) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+
+    /**
+     * Запись ASCII-строки без экранирования (только для констант).
+     */
+    private void writeAscii(String ascii) {
+        for (int i = 0; i < ascii.length(); i++) {
+            buffer[length++] = (byte) ascii.charAt(i);
+        }
+    }
+
+    /**
+     * Запись строки в UTF-8 с экранированием по правилам JSON.
+     */
+    private void writeEscaped(String text) {
+        byte[] out = buffer;
+        int pos = length;
+        int n = text.length();
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    out[pos++] = '\\';
+                }
+                out[pos++] = (byte) c;
+            } else if (c < 0x20) {
+                out[pos++] = '\\';
+                switch (c) {
+                    case '\n' -> out[pos++] = 'n';
+                    case '\r' -> out[pos++] = 'r';
+                    case '\t' -> out[pos++] = 't';
+                    case '\b' -> out[pos++] = 'b';
+                    case '\f' -> out[pos++] = 'f';
+                    default -> {
+                        out[pos++] = 'u';
+                        out[pos++] = '0';
+                        out[pos++] = '0';
+                        out[pos++] = HEX[c >>> 4];
+                        out[pos++] = HEX[c & 0xF];
+                    }
+                }
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | (c >>> 6));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // Символы вне BMP (эмодзи) - 4 байта на суррогатную пару
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out[pos++] = (byte) (0xF0 | (codePoint >>> 18));
+                out[pos++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+                out[pos++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Одиночная половина пары не кодируется в UTF-8
+                out[pos++] = '?';
+            } else {
+                out[pos++] = (byte) (0xE0 | (c >>> 12));
+                out[pos++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+                out[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = pos;
+    }
+}
@@ -0,0 +1,90 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.StateChange;
+import com.tapgame.tap_game.models.StateChangeListener;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Отправка уведомлений в Telegram по событиям игрового состояния.
+ * 
+ * <p>Подписывается на {@link GameState} и реагирует только на нужные изменения:
+ * <ul>
+ *   <li>{@link StateChange#QUEST} - уведомление о выполнении квеста</li>
+ *   <li>{@link StateChange#LEVEL} - уведомление о повышении уровня персонажа</li>
+ * </ul>
+ * 
+ * <p>Остальные изменения (например, каждое начисление монет) игнорируются
+ * одной проверкой маски. Сами запросы к Telegram API выполняются через
+ * переданный {@link Executor}, чтобы не блокировать поток, изменивший состояние.
+ * 
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * TelegramNotifier notifier = new TelegramNotifier(telegramService, gameState, chatId, executor);
+ * gameState.addChangeListener(notifier);
+ * }</pre>
+ * 
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramService
+ * @see StateChange
+ */
+public class TelegramNotifier implements StateChangeListener {
+    
+    /** Названия квестов для уведомлений */
+    private static final Map<String, String> QUEST_NAMES = Map.of(
+        "telegram", "Подписка на Telegram канал",
+        "dzen", "Подписка на Яндекс.Дзен",
+        "portal", "Участие в корпоративном портале"
+    );
+    
+    private final TelegramService telegramService;
+    private final GameState gameState;
+    private final String chatId;
+    private final Executor executor;
+    
+    /** Количество выполнений квестов, о которых уже отправлены уведомления */
+    private int notifiedQuestCompletions;
+    
+    /** Уровень персонажа, о котором уже отправлено уведомление */
+    private int notifiedLevel;
+    
+    /**
+     * Конструктор уведомителя.
+     * 
+     * @param telegramService сервис отправки сообщений
+     * @param gameState состояние игры игрока
+     * @param chatId ID чата игрока
+     * @param executor исполнитель для отправки сообщений
+     */
+    public TelegramNotifier(TelegramService telegramService, GameState gameState, String chatId, Executor executor) {
+        this.telegramService = telegramService;
+        this.gameState = gameState;
+        this.chatId = chatId;
+        this.executor = executor;
+        this.notifiedQuestCompletions = gameState.getQuestCompletions();
+        this.notifiedLevel = gameState.getCharacterLevel();
+    }
+    
+    @Override
+    public void onStateChanged(int changes) {
+        if (StateChange.contains(changes, StateChange.QUEST)
+                && gameState.getQuestCompletions() > notifiedQuestCompletions) {
+            notifiedQuestCompletions = gameState.getQuestCompletions();
+            String questType = gameState.getLastCompletedQuest();
+            String questName = QUEST_NAMES.getOrDefault(questType, questType);
+            int reward = gameState.getQuestReward();
+            executor.execute(() -> telegramService.sendQuestCompletedNotification(chatId, questName, reward));
+        }
+        
+        if (StateChange.contains(changes, StateChange.LEVEL)
+                && gameState.getCharacterLevel() > notifiedLevel) {
+            int level = gameState.getCharacterLevel();
+            notifiedLevel = level;
+            executor.execute(() -> telegramService.sendLevelUpNotification(chatId, level));
+        }
+    }
+}
@@ -0,0 +1,718 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.collections.ConcurrentLongObjectMap;
+import com.tapgame.tap_game.metrics.GameMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Надежная очередь исходящих сообщений Telegram на локальном диске.
+ *
+ * <p>Сообщение сначала дописывается в журнал, и только после {@code fsync} уходит
+ * отправителю. После успешной отправки в журнал дописывается подтверждение. Если процесс
+ * упадет, при следующем запуске неподтвержденные сообщения будут отправлены снова
+ * с теми же идентификаторами.
+ *
+ * <p><strong>Устройство:</strong>
+ * <ul>
+ *   <li>Журнал - последовательность файлов-сегментов {@code outbox-<номер>.log}; запись
+ *       идет только в конец последнего. Каждая запись - длина, CRC32 и тело (сообщение
+ *       или подтверждение); оборванная при падении запись в конце отбрасывается</li>
+ *   <li>{@link #enqueue(String, String)} только кодирует запись в буфер в памяти и
+ *       возвращается за микросекунды. Один поток записи забирает весь накопленный буфер,
+ *       пишет его и выполняет один {@code fsync} на пачку (групповая фиксация): чем
+ *       медленнее диск, тем больше пачка</li>
+ *   <li>Сегмент удаляется, когда в нем и во всех более старых сегментах не осталось
+ *       неподтвержденных сообщений. Если самый старый сегмент держат несколько
+ *       «застрявших» сообщений, а закрытых сегментов больше допустимого, они переписываются
+ *       в текущий сегмент (с теми же идентификаторами), после чего старый сегмент удаляется</li>
+ *   <li>Восстановление идемпотентно: сообщение с одним идентификатором может встретиться
+ *       в журнале несколько раз (после переписывания), но в очередь попадает один раз,
+ *       а подтвержденное - не попадает вовсе</li>
+ * </ul>
+ *
+ * <p>Повторяется только отправка с исходом {@link SendResult#NOT_SENT}. Сообщение,
+ * которое Telegram мог уже доставить ({@link SendResult#UNCERTAIN}) или отклонил
+ * навсегда ({@link SendResult#REJECTED}), подтверждается без повтора, чтобы пользователь
+ * не получил его дважды и очередь не тратила попытки впустую.
+ *
+ * <p>Гарантия - «хотя бы один раз»: сообщение, принятое Telegram, но не успевшее получить
+ * подтверждение в журнале до падения, будет отправлено повторно. Bot API не принимает
+ * ключ идемпотентности, поэтому закрыть это окно на стороне Telegram нельзя; оно
+ * ограничено временем между ответом сервера и следующим {@code fsync}.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * TelegramOutbox outbox = new TelegramOutbox(Path.of("data/outbox"),
+ *         (id, chatId, text) -> sendMessage(chatId, text) ? SendResult.SENT : SendResult.NOT_SENT, 4);
+ * outbox.enqueue(chatId, "🎉 <b>Поздравляем!</b>");
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramService
+ */
+public final class TelegramOutbox implements AutoCloseable {
+
+    /**
+     * Исход одной отправки.
+     */
+    public enum SendResult {
+        /** Сообщение доставлено */
+        SENT,
+        /** Сообщение точно не доставлено, повтор может пройти (429, ошибка соединения) */
+        NOT_SENT,
+        /** Сообщение отклонено навсегда (бот заблокирован, чат не найден); повтор не поможет */
+        REJECTED,
+        /** Неизвестно, доставлено ли сообщение (5xx, таймаут ответа); повтор может его задвоить */
+        UNCERTAIN
+    }
+
+    /**
+     * Отправка одного сообщения.
+     */
+    @FunctionalInterface
+    public interface Sender {
+        /**
+         * @param id идентификатор сообщения в очереди (одинаков при повторных отправках)
+         * @param chatId ID чата
+         * @param text текст сообщения
+         * @return исход отправки; повторяется только {@link SendResult#NOT_SENT}
+         */
+        SendResult send(long id, String chatId, String text);
+    }
+
+    /** Размер сегмента, после которого начинается следующий */
+    static final long DEFAULT_SEGMENT_BYTES = 8L << 20;
+
+    /** Закрытых сегментов, после которых застрявшие сообщения переписываются */
+    static final int DEFAULT_MAX_SEALED_SEGMENTS = 4;
+
+    /** Попыток отправки, после которых сообщение отбрасывается */
+    static final int MAX_ATTEMPTS = 5;
+
+    /** Пауза перед первой повторной попыткой; дальше удваивается */
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    /** Пауза перед повтором записи после ошибки диска */
+    private static final long IO_ERROR_PAUSE_MILLIS = 100;
+
+    private static final byte MESSAGE = 1;
+    private static final byte ACK = 2;
+
+    /** Исход в подтверждении */
+    private static final byte SENT = 0;
+    private static final byte DROPPED = 1;
+    private static final byte REJECTED = 2;
+    private static final byte UNCERTAIN = 3;
+
+    /** Длина и CRC32 перед телом записи */
+    private static final int RECORD_HEADER = 8;
+
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Сообщение, ожидающее подтверждения. Поля {@link #segment} и {@link #done}
+     * меняются под {@link #lock}.
+     */
+    private static final class Entry {
+        final long id;
+        final String chatId;
+        final String text;
+        /** Сегмент с последней копией записи; {@code null}, пока запись не на диске */
+        Segment segment;
+        boolean done;
+        /** Меняется только потоком, выполняющим отправку */
+        int attempts;
+
+        Entry(long id, String chatId, String text) {
+            this.id = id;
+            this.chatId = chatId;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Файл журнала.
+     */
+    private static final class Segment {
+        final long number;
+        final Path path;
+        FileChannel channel;
+        long size;
+        /** Неподтвержденные сообщения, последняя копия которых лежит здесь */
+        int pending;
+        /** Застрявшие сообщения уже переписаны в новый сегмент */
+        boolean relocated;
+
+        Segment(long number, Path path) {
+            this.number = number;
+            this.path = path;
+        }
+    }
+
+    private final Path directory;
+    private final Sender sender;
+    private final long segmentBytes;
+    private final int maxSealedSegments;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchReady = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final CRC32 crc = new CRC32();
+
+    // === Под lock ===
+    private final ConcurrentLongObjectMap<Entry> pending = new ConcurrentLongObjectMap<>(1024);
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final List<Segment> segments = new ArrayList<>();
+    private ByteBuffer batch = ByteBuffer.allocate(64 * 1024);
+    private List<Entry> batchEntries = new ArrayList<>();
+    private long nextId = 1;
+    private long appendedBytes;
+    private long durableBytes;
+    private boolean closed;
+
+    /** Пачка передана потоку записи и еще не зафиксирована */
+    private boolean writePending;
+
+    // === Только поток записи ===
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1024).flip();
+    private List<Entry> writingEntries = new ArrayList<>();
+
+    private final Thread writer;
+    private final ScheduledThreadPoolExecutor senders;
+
+    /**
+     * Открытие очереди: восстановление журнала и отправка неподтвержденных сообщений.
+     *
+     * @param directory каталог журнала (создается при необходимости)
+     * @param sender отправка сообщений
+     * @param senderThreads количество потоков отправки
+     * @throws IOException если журнал не удается прочитать или создать
+     */
+    public TelegramOutbox(Path directory, Sender sender, int senderThreads) throws IOException {
+        this(directory, sender, senderThreads, DEFAULT_SEGMENT_BYTES, DEFAULT_MAX_SEALED_SEGMENTS);
+    }
+
+    TelegramOutbox(Path directory, Sender sender, int senderThreads, long segmentBytes, int maxSealedSegments)
+            throws IOException {
+        this.directory = directory;
+        this.sender = sender;
+        this.segmentBytes = segmentBytes;
+        this.maxSealedSegments = maxSealedSegments;
+
+        Files.createDirectories(directory);
+        List<Entry> replayed = recover();
+        segments.add(openSegment(segments.isEmpty() ? 1 : segments.get(segments.size() - 1).number + 1));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ScheduledThreadPoolExecutor(senderThreads, task -> {
+            Thread thread = new Thread(task, "telegram-outbox-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        senders.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.writer = new Thread(this::writeLoop, "telegram-outbox-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        if (!replayed.isEmpty()) {
+            System.out.println("📬 [Outbox] Восстановлено неотправленных сообщений: " + replayed.size());
+        }
+        for (Entry entry : replayed) {
+            dispatch(entry);
+        }
+    }
+
+    // === Публичный интерфейс ===
+
+    /**
+     * Постановка сообщения в очередь.
+     *
+     * <p>Возвращается сразу после записи в буфер; на диск сообщение попадает со
+     * следующей пачкой (обычно в пределах одного {@code fsync}). Дождаться записи
+     * можно через {@link #flush()}.
+     *
+     * @param chatId ID чата
+     * @param text текст сообщения
+     * @return идентификатор сообщения в очереди
+     * @throws IllegalStateException если очередь закрыта
+     */
+    public long enqueue(String chatId, String text) {
+        byte[] chat = chatId.getBytes(StandardCharsets.UTF_8);
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Очередь сообщений закрыта");
+            }
+            long id = nextId++;
+            Entry entry = new Entry(id, chatId, text);
+            pending.put(id, entry);
+            pendingCount.incrementAndGet();
+            appendMessage(id, chat, body);
+            batchEntries.add(entry);
+            GameMetrics.TELEGRAM_OUTBOX_ENQUEUED.increment();
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ожидание записи на диск всего, что поставлено в очередь до вызова.
+     *
+     * @throws InterruptedException если ожидание прервано
+     */
+    public void flush() throws InterruptedException {
+        lock.lock();
+        try {
+            long target = appendedBytes;
+            while (durableBytes < target && writer.isAlive()) {
+                durable.await(IO_ERROR_PAUSE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return сообщения, которые еще не отправлены (или не подтверждены)
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return количество файлов журнала
+     */
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Остановка отправки и запись оставшегося буфера.
+     *
+     * <p>Текущие отправки ждут до 5 секунд; неподтвержденные сообщения останутся
+     * в журнале до следующего открытия.
+     */
+    @Override
+    public void close() {
+        senders.shutdown();
+        try {
+            senders.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            closed = true;
+            batchReady.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                closeQuietly(segment);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // === Запись ===
+
+    private void writeLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                while (!writePending && batch.position() == 0 && !closed) {
+                    batchReady.awaitUninterruptibly();
+                }
+                if (!writePending) {
+                    if (batch.position() == 0) {
+                        return; // закрыта и все записано
+                    }
+                    swapBatch();
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                writeBatch();
+                compact();
+            } catch (IOException e) {
+                // Пачка остается в буфере записи и будет дописана со следующей попытки
+                System.err.println("❌ [Outbox] Ошибка записи журнала: " + e.getMessage());
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(IO_ERROR_PAUSE_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Обмен буферов: накопленное уходит потоку записи, новые записи идут в пустой буфер.
+     */
+    private void swapBatch() {
+        ByteBuffer full = batch;
+        batch = writing;
+        batch.clear();
+        writing = full;
+        writing.flip();
+        List<Entry> entries = batchEntries;
+        batchEntries = writingEntries;
+        writingEntries = entries;
+        writePending = true;
+    }
+
+    private void writeBatch() throws IOException {
+        Segment active = segments.get(segments.size() - 1);
+        // Новый сегмент начинается только с целой пачки: повтор после ошибки дописывает тот же файл
+        if (writing.position() == 0 && active.size > 0 && active.size + writing.remaining() > segmentBytes) {
+            Segment next = openSegment(active.number + 1);
+            active.channel.force(false);
+            lock.lock();
+            try {
+                segments.add(next);
+            } finally {
+                lock.unlock();
+            }
+            active = next;
+        }
+        long startNanos = System.nanoTime();
+        while (writing.hasRemaining()) {
+            active.size += active.channel.write(writing);
+        }
+        active.channel.force(false);
+        GameMetrics.TELEGRAM_OUTBOX_FSYNC.recordSince(startNanos);
+
+        List<Entry> written = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Entry entry : writingEntries) {
+                if (entry.segment == null) {
+                    written.add(entry);
+                } else if (!entry.done) {
+                    // Переписанная копия: сообщение теперь держит новый сегмент
+                    entry.segment.pending--;
+                } else {
+                    continue;
+                }
+                entry.segment = active;
+                active.pending++;
+            }
+            writingEntries.clear();
+            writePending = false;
+            durableBytes += writing.limit();
+            durable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Entry entry : written) {
+            dispatch(entry);
+        }
+    }
+
+    /**
+     * Удаление старых сегментов без неподтвержденных сообщений и переписывание
+     * застрявших сообщений из самого старого сегмента.
+     */
+    private void compact() throws IOException {
+        List<Segment> obsolete = new ArrayList<>();
+        lock.lock();
+        try {
+            while (segments.size() > 1) {
+                Segment oldest = segments.get(0);
+                if (oldest.pending == 0) {
+                    segments.remove(0);
+                    obsolete.add(oldest);
+                    continue;
+                }
+                if (!oldest.relocated && segments.size() - 1 > maxSealedSegments) {
+                    relocate(oldest);
+                }
+                break;
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : obsolete) {
+            closeQuietly(segment);
+            Files.deleteIfExists(segment.path);
+        }
+    }
+
+    /**
+     * Дописывание копий неподтвержденных сообщений сегмента в буфер. Вызывается под lock.
+     */
+    private void relocate(Segment segment) {
+        segment.relocated = true;
+        pending.forEach((id, entry) -> {
+            if (entry.segment == segment && !entry.done) {
+                appendMessage(entry.id, entry.chatId.getBytes(StandardCharsets.UTF_8),
+                        entry.text.getBytes(StandardCharsets.UTF_8));
+                batchEntries.add(entry);
+            }
+        });
+    }
+
+    // === Отправка ===
+
+    private void dispatch(Entry entry) {
+        try {
+            senders.execute(() -> deliver(entry));
+        } catch (RejectedExecutionException e) {
+            // Очередь закрывается: сообщение останется в журнале
+        }
+    }
+
+    private void deliver(Entry entry) {
+        SendResult result;
+        try {
+            result = sender.send(entry.id, entry.chatId, entry.text);
+        } catch (RuntimeException e) {
+            // Неизвестно, успел ли отправитель передать сообщение: повтор может его задвоить
+            System.err.println("❌ [Outbox] Ошибка отправки сообщения " + entry.id + ": " + e.getMessage());
+            result = SendResult.UNCERTAIN;
+        }
+        switch (result) {
+            case SENT -> acknowledge(entry, SENT);
+            case REJECTED -> {
+                GameMetrics.TELEGRAM_OUTBOX_DROPPED.increment();
+                System.err.println("❌ [Outbox] Сообщение " + entry.id + " отклонено Telegram и не будет повторено");
+                acknowledge(entry, REJECTED);
+            }
+            case UNCERTAIN -> {
+                System.err.println("⚠️ [Outbox] Сообщение " + entry.id + " могло быть доставлено и не будет повторено");
+                acknowledge(entry, UNCERTAIN);
+            }
+            case NOT_SENT -> retry(entry);
+        }
+    }
+
+    private void retry(Entry entry) {
+        entry.attempts++;
+        if (entry.attempts >= MAX_ATTEMPTS) {
+            GameMetrics.TELEGRAM_OUTBOX_DROPPED.increment();
+            System.err.println("❌ [Outbox] Сообщение " + entry.id + " отброшено после " + entry.attempts + " попыток");
+            acknowledge(entry, DROPPED);
+            return;
+        }
+        try {
+            senders.schedule(() -> deliver(entry), RETRY_DELAY_MILLIS << (entry.attempts - 1), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Очередь закрывается: сообщение останется в журнале
+        }
+    }
+
+    private void acknowledge(Entry entry, byte outcome) {
+        lock.lock();
+        try {
+            if (entry.done) {
+                return;
+            }
+            entry.done = true;
+            entry.segment.pending--;
+            pending.remove(entry.id);
+            pendingCount.decrementAndGet();
+            if (!closed) {
+                appendAck(entry.id, outcome);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // === Формат записей ===
+
+    /** Вызывается под lock */
+    private void appendMessage(long id, byte[] chat, byte[] body) {
+        int length = 1 + 8 + 2 + chat.length + 4 + body.length;
+        int start = beginRecord(length);
+        batch.put(MESSAGE).putLong(id)
+                .putShort((short) chat.length).put(chat)
+                .putInt(body.length).put(body);
+        endRecord(start, length);
+    }
+
+    /** Вызывается под lock */
+    private void appendAck(long id, byte outcome) {
+        int length = 1 + 8 + 1;
+        int start = beginRecord(length);
+        batch.put(ACK).putLong(id).put(outcome);
+        endRecord(start, length);
+    }
+
+    private int beginRecord(int length) {
+        if (batch.remaining() < RECORD_HEADER + length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(batch.capacity() * 2, batch.position() + RECORD_HEADER + length));
+            batch.flip();
+            larger.put(batch);
+            batch = larger;
+        }
+        if (batch.position() == 0) {
+            batchReady.signal();
+        }
+        int start = batch.position();
+        batch.position(start + RECORD_HEADER);
+        return start;
+    }
+
+    private void endRecord(int start, int length) {
+        crc.reset();
+        crc.update(batch.array(), start + RECORD_HEADER, length);
+        batch.putInt(start, length).putInt(start + 4, (int) crc.getValue());
+        appendedBytes += RECORD_HEADER + length;
+    }
+
+    // === Восстановление ===
+
+    /**
+     * Чтение всех сегментов по порядку.
+     *
+     * @return неподтвержденные сообщения в порядке постановки в очередь
+     */
+    private List<Entry> recover() throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : files) {
+                if (segmentNumber(path) >= 0) {
+                    paths.add(path);
+                }
+            }
+        }
+        paths.sort(Comparator.comparingLong(TelegramOutbox::segmentNumber));
+
+        Set<Long> acknowledged = new HashSet<>();
+        long maxId = 0;
+        for (Path path : paths) {
+            Segment segment = new Segment(segmentNumber(path), path);
+            segments.add(segment);
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+            while (data.remaining() >= RECORD_HEADER) {
+                int start = data.position();
+                int length = data.getInt();
+                int checksum = data.getInt();
+                if (length <= 0 || length > data.remaining()) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data.array(), start + RECORD_HEADER, length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                byte type = data.get();
+                long id = data.getLong();
+                maxId = Math.max(maxId, id);
+                if (type == MESSAGE) {
+                    byte[] chat = new byte[data.getShort()];
+                    data.get(chat);
+                    byte[] body = new byte[data.getInt()];
+                    data.get(body);
+                    if (!acknowledged.contains(id)) {
+                        Entry entry = pending.get(id);
+                        if (entry == null) {
+                            entry = new Entry(id, new String(chat, StandardCharsets.UTF_8), new String(body, StandardCharsets.UTF_8));
+                            pending.put(id, entry);
+                            pendingCount.incrementAndGet();
+                        } else {
+                            entry.segment.pending--;
+                        }
+                        entry.segment = segment;
+                        segment.pending++;
+                    }
+                } else {
+                    acknowledged.add(id);
+                    Entry entry = pending.remove(id);
+                    if (entry != null) {
+                        entry.done = true;
+                        entry.segment.pending--;
+                        pendingCount.decrementAndGet();
+                    }
+                }
+                data.position(start + RECORD_HEADER + length);
+            }
+            if (data.hasRemaining()) {
+                System.err.println("⚠️ [Outbox] Отброшен оборванный хвост " + path.getFileName() + ": " + data.remaining() + " байт");
+            }
+        }
+        nextId = maxId + 1;
+
+        List<Entry> replayed = new ArrayList<>(pendingCount.get());
+        pending.forEach((id, entry) -> replayed.add(entry));
+        replayed.sort(Comparator.comparingLong(entry -> entry.id));
+        // Сегменты только читаются: запись всегда идет в новый
+        for (Segment segment : segments) {
+            segment.size = Files.size(segment.path);
+        }
+        return replayed;
+    }
+
+    private Segment openSegment(long number) throws IOException {
+        Path path = directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        Segment segment = new Segment(number, path);
+        segment.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segment.size = segment.channel.size();
+        // Запись о новом файле в каталоге тоже должна пережить падение
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Не все файловые системы позволяют открыть каталог
+        }
+        return segment;
+    }
+
+    /**
+     * @return номер сегмента или {@code -1}, если файл не похож на сегмент
+     */
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        if (segment.channel != null) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                System.err.println("⚠️ [Outbox] Не удалось закрыть " + segment.path.getFileName() + ": " + e.getMessage());
+            }
+        }
+    }
+}
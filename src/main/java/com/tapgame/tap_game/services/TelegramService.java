@@ -2,11 +2,19 @@ package com.tapgame.tap_game.services;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapgame.tap_game.metrics.GameMetrics;
+import com.tapgame.tap_game.metrics.MetricsRegistry;
+import com.tapgame.tap_game.models.TelegramUser;
 import okhttp3.*;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Сервис для работы с Telegram Bot API.
@@ -16,15 +24,23 @@ import java.util.concurrent.TimeUnit;
  *   <li>Отправка сообщений пользователям</li>
  *   <li>Получение информации о боте</li>
  *   <li>Проверка подписок на каналы</li>
- *   <li>Отправка уведомлений о событиях игры</li>
+ *   <li>Отправка уведомлений о событиях игры на языке пользователя
+ *       ({@link NotificationTemplates})</li>
  * </ul>
  * 
  * <p><strong>Особенности:</strong>
  * <ul>
  *   <li>Асинхронные HTTP запросы с OkHttp</li>
- *   <li>JSON обработка с Jackson</li>
- *   <li>Конфигурация через properties файл</li>
- *   <li>Обработка ошибок и повторные попытки</li>
+ *   <li>JSON обработка с Jackson; потоковый разбор {@code getUpdates};
+ *       тело {@code sendMessage} кодируется без выделения памяти ({@link TelegramMessageEncoder})</li>
+ *   <li>Конфигурация через properties файл; любой ключ {@code telegram.*} можно
+ *       переопределить системным свойством, например
+ *       {@code -Dtelegram.api.base.url=http://127.0.0.1:8081/bot} для локального сервера</li>
+ *   <li>Обработка ошибок и повторные попытки: 429 - после {@code retry_after},
+ *       5xx и сетевые ошибки - с удвоением паузы</li>
+ *   <li>Метрики задержек и ошибок в JMX ({@link GameMetrics})</li>
+ *   <li>Уведомления переживают перезапуск, если задан {@code telegram.outbox.dir}:
+ *       они ставятся в дисковую очередь ({@link TelegramOutbox}) и отправляются из нее</li>
  * </ul>
  * 
  * @author Алабуга
@@ -39,12 +55,53 @@ public class TelegramService {
     private static final int TIMEOUT_SECONDS = 30;
     private static final int MAX_RETRIES = 3;
     
+    /** Пауза перед первой повторной попыткой после 5xx или сетевой ошибки */
+    private static final long RETRY_BACKOFF_MILLIS = 200;
+    
+    /** Наибольшее время ожидания long polling на стороне Telegram */
+    private static final int MAX_POLL_TIMEOUT_SECONDS = 50;
+    
+    /** Наибольшее ожидание по {@code retry_after}, после которого попытки прекращаются */
+    private static final long MAX_RETRY_AFTER_SECONDS = TIMEOUT_SECONDS;
+    
+    /** Потоков отправки из дисковой очереди уведомлений */
+    private static final int OUTBOX_SENDERS = 4;
+    
+    /** Свободных соединений в пуле: уведомления отправляются из нескольких потоков */
+    private static final int MAX_IDLE_CONNECTIONS = 32;
+    
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    
+    /** Кодировщик тел {@code sendMessage}; отправка идет из нескольких потоков */
+    private static final ThreadLocal<TelegramMessageEncoder> MESSAGE_ENCODER =
+            ThreadLocal.withInitial(TelegramMessageEncoder::new);
+    
+    /** Количество запросов к Telegram API, выполняемых прямо сейчас */
+    private static final AtomicInteger IN_FLIGHT_REQUESTS = new AtomicInteger();
+    
+    static {
+        MetricsRegistry.getDefault().gauge("telegram.requests.inFlight", IN_FLIGHT_REQUESTS::get);
+    }
+    
     private final OkHttpClient httpClient;
+    
+    /** Клиент long polling: общий пул соединений, таймаут чтения с запасом на ожидание обновлений */
+    private final OkHttpClient pollingClient;
+    
     private final ObjectMapper objectMapper;
     private final Properties config;
     private final String botToken;
     private final String baseUrl;
     
+    /** Разобранные шаблоны уведомлений всех языков */
+    private final NotificationTemplates templates;
+    
+    /** Дисковая очередь уведомлений; {@code null}, если не настроена */
+    private final TelegramOutbox outbox;
+    
+    /** Потоковый парсер {@code getUpdates}; опрос ведется одним потоком */
+    private final TelegramUpdateParser updateParser;
+    
     /**
      * Конструктор сервиса Telegram.
      * 
@@ -53,35 +110,81 @@ public class TelegramService {
      * @throws RuntimeException если не удается загрузить конфигурацию
      */
     public TelegramService() {
+        this(loadConfiguration());
+    }
+    
+    /**
+     * Конструктор сервиса с готовой конфигурацией (например, для локального сервера Bot API).
+     * 
+     * @param config настройки с ключами {@code telegram.properties}
+     */
+    public TelegramService(Properties config) {
         this.httpClient = new OkHttpClient.Builder()
                 .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
                 .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
                 .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, 5, TimeUnit.MINUTES))
+                .build();
+        this.pollingClient = httpClient.newBuilder()
+                .readTimeout(MAX_POLL_TIMEOUT_SECONDS + TIMEOUT_SECONDS, TimeUnit.SECONDS)
                 .build();
         
         this.objectMapper = new ObjectMapper();
-        this.config = loadConfiguration();
+        this.updateParser = new TelegramUpdateParser(objectMapper.getFactory());
+        this.templates = NotificationTemplates.load();
+        this.config = config;
         this.botToken = config.getProperty("telegram.bot.token");
         this.baseUrl = config.getProperty("telegram.api.base.url") + botToken;
         
         if (botToken == null || botToken.equals("YOUR_BOT_TOKEN_HERE")) {
             System.err.println("⚠️ Telegram Bot Token не настроен! Проверьте telegram.properties");
         }
+        
+        // Последним: очередь сразу начинает досылать сообщения, оставшиеся с прошлого запуска
+        this.outbox = openOutbox(config.getProperty("telegram.outbox.dir", ""));
+    }
+    
+    /**
+     * Открытие дисковой очереди уведомлений.
+     * 
+     * @param directory каталог журнала; пустая строка - очередь не нужна
+     * @return очередь или {@code null}, если она не настроена или недоступна
+     */
+    private TelegramOutbox openOutbox(String directory) {
+        if (directory.isBlank()) {
+            return null;
+        }
+        try {
+            TelegramOutbox opened = new TelegramOutbox(Path.of(directory),
+                    (id, chatId, message) -> send(chatId, message), OUTBOX_SENDERS);
+            Runtime.getRuntime().addShutdownHook(new Thread(opened::close, "telegram-outbox-shutdown"));
+            return opened;
+        } catch (IOException e) {
+            System.err.println("❌ [Telegram] Очередь уведомлений недоступна, отправка напрямую: " + e.getMessage());
+            return null;
+        }
     }
     
     /**
      * Загрузка конфигурации из properties файла.
      * 
+     * <p>Системные свойства {@code telegram.*} заменяют значения из файла.
+     * 
      * @return объект Properties с настройками
      * @throws RuntimeException если файл не найден
      */
-    private Properties loadConfiguration() {
+    private static Properties loadConfiguration() {
         Properties props = new Properties();
         try {
-            props.load(getClass().getResourceAsStream(CONFIG_FILE));
+            props.load(TelegramService.class.getResourceAsStream(CONFIG_FILE));
         } catch (IOException e) {
             throw new RuntimeException("Не удалось загрузить конфигурацию Telegram: " + e.getMessage(), e);
         }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("telegram.")) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
         return props;
     }
     
@@ -95,92 +198,181 @@ public class TelegramService {
      * @return {@code true} если сообщение отправлено успешно, {@code false} в противном случае
      */
     public boolean sendMessage(String chatId, String message) {
+        return send(chatId, message) == TelegramOutbox.SendResult.SENT;
+    }
+    
+    /**
+     * Отправка сообщения с исходом, по которому {@link TelegramOutbox} решает, повторять ли ее.
+     * 
+     * <p>Исходы:
+     * <ul>
+     *   <li>{@code NOT_SENT} - 429 после всех попыток или ошибка соединения: запрос точно
+     *       не выполнен</li>
+     *   <li>{@code UNCERTAIN} - 5xx или сетевая ошибка после отправки запроса: сообщение
+     *       могло быть доставлено</li>
+     *   <li>{@code REJECTED} - остальные 4xx (бот заблокирован, чат не найден), токен не
+     *       настроен или запрос не удалось собрать</li>
+     * </ul>
+     * 
+     * @param chatId ID чата пользователя
+     * @param message текст сообщения
+     * @return исход отправки
+     */
+    TelegramOutbox.SendResult send(String chatId, String message) {
         if (botToken == null || botToken.equals("YOUR_BOT_TOKEN_HERE")) {
+            GameMetrics.TELEGRAM_SEND_FAILURES.increment();
             System.out.println("📱 [Telegram] Сообщение (не отправлено - токен не настроен): " + message);
-            return false;
+            return TelegramOutbox.SendResult.REJECTED;
         }
         
+        long startNanos = System.nanoTime();
+        IN_FLIGHT_REQUESTS.incrementAndGet();
         try {
             String url = baseUrl + config.getProperty("telegram.api.send.message.url");
             
-            String jsonBody = String.format(
-                "{\"chat_id\":\"%s\",\"text\":\"%s\",\"parse_mode\":\"HTML\"}",
-                chatId, escapeJson(message)
-            );
-            
-            RequestBody body = RequestBody.create(
-                jsonBody, MediaType.get("application/json; charset=utf-8")
-            );
+            // Буфер кодировщика потока читается OkHttp синхронно, внутри execute()
+            TelegramMessageEncoder encoder = encodeMessage(chatId, message);
+            RequestBody body = RequestBody.create(encoder.getBuffer(), JSON, 0, encoder.getLength());
             
             Request request = new Request.Builder()
                     .url(url)
                     .post(body)
                     .build();
             
-            try (Response response = httpClient.newCall(request).execute()) {
+            // Сообщение могло быть доставлено до сбоя: повтор только там, где его точно не было
+            try (Response response = executeWithRetry(request, false)) {
                 if (response.isSuccessful()) {
+                    GameMetrics.TELEGRAM_MESSAGES_SENT.increment();
                     System.out.println("📱 [Telegram] Сообщение отправлено: " + message);
-                    return true;
-                } else {
-                    System.err.println("❌ [Telegram] Ошибка отправки: " + response.code() + " " + response.message());
-                    return false;
+                    return TelegramOutbox.SendResult.SENT;
+                }
+                GameMetrics.TELEGRAM_SEND_FAILURES.increment();
+                System.err.println("❌ [Telegram] Ошибка отправки: " + response.code() + " " + response.message());
+                int code = response.code();
+                if (code == 429) {
+                    return TelegramOutbox.SendResult.NOT_SENT;
                 }
+                return code >= 500 ? TelegramOutbox.SendResult.UNCERTAIN : TelegramOutbox.SendResult.REJECTED;
             }
             
+        } catch (IOException e) {
+            GameMetrics.TELEGRAM_SEND_FAILURES.increment();
+            System.err.println("❌ [Telegram] Ошибка при отправке сообщения: " + e.getMessage());
+            return isNotSent(e) ? TelegramOutbox.SendResult.NOT_SENT : TelegramOutbox.SendResult.UNCERTAIN;
         } catch (Exception e) {
+            GameMetrics.TELEGRAM_SEND_FAILURES.increment();
             System.err.println("❌ [Telegram] Ошибка при отправке сообщения: " + e.getMessage());
-            return false;
+            return TelegramOutbox.SendResult.REJECTED;
+        } finally {
+            IN_FLIGHT_REQUESTS.decrementAndGet();
+            GameMetrics.TELEGRAM_REQUEST_LATENCY.recordSince(startNanos);
         }
     }
     
     /**
-     * Отправка уведомления о выполнении квеста.
+     * Отправка уведомления о выполнении квеста (на языке по умолчанию).
      * 
      * @param chatId ID чата пользователя
      * @param questName название квеста
      * @param reward награда за квест
      */
     public void sendQuestCompletedNotification(String chatId, String questName, int reward) {
-        String message = String.format(
-            "🎯 <b>Квест выполнен!</b>\n\n" +
-            "📋 Задание: %s\n" +
-            "💰 Награда: %d монет\n\n" +
-            "Продолжайте играть! 🚀",
-            questName, reward
-        );
-        sendMessage(chatId, message);
+        deliver(chatId, templates.render(NotificationType.QUEST_COMPLETED, null,
+                templates.args().set(0, questName).set(1, reward)));
+    }
+    
+    /**
+     * Отправка уведомления о выполнении квеста на языке пользователя.
+     * 
+     * <p>Сообщение уходит в личный чат: его ID совпадает с ID пользователя.
+     * 
+     * @param user пользователь
+     * @param questName название квеста
+     * @param reward награда за квест
+     */
+    public void sendQuestCompletedNotification(TelegramUser user, String questName, int reward) {
+        deliver(Long.toString(user.getId()), templates.render(NotificationType.QUEST_COMPLETED, user.getLanguageCode(),
+                templates.args().set(0, questName).set(1, reward)));
+    }
+    
+    /**
+     * Отправка уведомления об окончании перезарядки квеста (на языке по умолчанию).
+     * 
+     * @param chatId ID чата пользователя
+     * @param questName название квеста
+     */
+    public void sendQuestAvailableNotification(String chatId, String questName) {
+        deliver(chatId, templates.render(NotificationType.QUEST_AVAILABLE, null,
+                templates.args().set(0, questName)));
+    }
+    
+    /**
+     * Отправка уведомления об окончании перезарядки квеста на языке пользователя.
+     * 
+     * @param user пользователь
+     * @param questName название квеста
+     */
+    public void sendQuestAvailableNotification(TelegramUser user, String questName) {
+        deliver(Long.toString(user.getId()), templates.render(NotificationType.QUEST_AVAILABLE, user.getLanguageCode(),
+                templates.args().set(0, questName)));
     }
     
     /**
-     * Отправка уведомления о повышении уровня.
+     * Отправка уведомления о повышении уровня (на языке по умолчанию).
      * 
      * @param chatId ID чата пользователя
      * @param newLevel новый уровень персонажа
      */
     public void sendLevelUpNotification(String chatId, int newLevel) {
-        String message = String.format(
-            "🎉 <b>Поздравляем!</b>\n\n" +
-            "⚡ Ваш персонаж достиг <b>%d уровня</b>!\n\n" +
-            "Теперь вы можете получать больше наград! 🚀",
-            newLevel
-        );
-        sendMessage(chatId, message);
+        deliver(chatId, templates.render(NotificationType.LEVEL_UP, null,
+                templates.args().set(0, newLevel)));
+    }
+    
+    /**
+     * Отправка уведомления о повышении уровня на языке пользователя.
+     * 
+     * @param user пользователь
+     * @param newLevel новый уровень персонажа
+     */
+    public void sendLevelUpNotification(TelegramUser user, int newLevel) {
+        deliver(Long.toString(user.getId()), templates.render(NotificationType.LEVEL_UP, user.getLanguageCode(),
+                templates.args().set(0, newLevel)));
     }
     
     /**
-     * Отправка уведомления о выигрыше приза.
+     * Отправка уведомления о выигрыше приза (на языке по умолчанию).
      * 
      * @param chatId ID чата пользователя
      * @param prizeName название приза
      */
     public void sendPrizeWonNotification(String chatId, String prizeName) {
-        String message = String.format(
-            "🎁 <b>Поздравляем с выигрышем!</b>\n\n" +
-            "🏆 Вы выиграли: <b>%s</b>\n\n" +
-            "Свяжитесь с администратором для получения приза! 📞",
-            prizeName
-        );
-        sendMessage(chatId, message);
+        deliver(chatId, templates.render(NotificationType.PRIZE_WON, null,
+                templates.args().set(0, prizeName)));
+    }
+    
+    /**
+     * Отправка уведомления о выигрыше приза на языке пользователя.
+     * 
+     * @param user пользователь
+     * @param prizeName название приза
+     */
+    public void sendPrizeWonNotification(TelegramUser user, String prizeName) {
+        deliver(Long.toString(user.getId()), templates.render(NotificationType.PRIZE_WON, user.getLanguageCode(),
+                templates.args().set(0, prizeName)));
+    }
+    
+    /**
+     * Отправка уведомления: через дисковую очередь, если она есть, иначе сразу.
+     * 
+     * @param chatId ID чата пользователя
+     * @param message текст сообщения
+     */
+    private void deliver(String chatId, String message) {
+        if (outbox != null) {
+            outbox.enqueue(chatId, message);
+        } else {
+            sendMessage(chatId, message);
+        }
     }
     
     /**
@@ -194,13 +386,45 @@ public class TelegramService {
      * @return {@code true} если пользователь подписан, {@code false} в противном случае
      */
     public boolean checkChannelSubscription(String userId, String channelUsername) {
-        // Заглушка для демонстрации
-        // В реальной реализации здесь должен быть API вызов
-        System.out.println("📱 [Telegram] Проверка подписки пользователя " + userId + " на канал " + channelUsername);
+        if (botToken == null || botToken.equals("YOUR_BOT_TOKEN_HERE")) {
+            // Без токена проверить подписку нельзя: для демонстрации считаем, что подписка есть
+            System.out.println("📱 [Telegram] Проверка подписки пользователя " + userId + " на канал " + channelUsername);
+            return true;
+        }
         
-        // Для демонстрации всегда возвращаем true
-        // В реальном приложении здесь должен быть реальный API вызов
-        return true;
+        long startNanos = System.nanoTime();
+        IN_FLIGHT_REQUESTS.incrementAndGet();
+        try {
+            HttpUrl url = HttpUrl.get(baseUrl + config.getProperty("telegram.api.get.chat.member.url", "/getChatMember"))
+                    .newBuilder()
+                    .addQueryParameter("chat_id", channelUsername)
+                    .addQueryParameter("user_id", userId)
+                    .build();
+            
+            Request request = new Request.Builder()
+                    .url(url)
+                    .get()
+                    .build();
+            
+            try (Response response = executeWithRetry(request, true)) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    System.err.println("❌ [Telegram] Ошибка проверки подписки: " + response.code() + " " + response.message());
+                    return false;
+                }
+                JsonNode member = objectMapper.readTree(response.body().byteStream()).path("result");
+                return switch (member.path("status").asText("")) {
+                    case "creator", "administrator", "member" -> true;
+                    case "restricted" -> member.path("is_member").asBoolean(false);
+                    default -> false;
+                };
+            }
+        } catch (Exception e) {
+            System.err.println("❌ [Telegram] Ошибка проверки подписки: " + e.getMessage());
+            return false;
+        } finally {
+            IN_FLIGHT_REQUESTS.decrementAndGet();
+            GameMetrics.TELEGRAM_REQUEST_LATENCY.recordSince(startNanos);
+        }
     }
     
     /**
@@ -213,6 +437,8 @@ public class TelegramService {
             return null;
         }
         
+        long startNanos = System.nanoTime();
+        IN_FLIGHT_REQUESTS.incrementAndGet();
         try {
             String url = baseUrl + config.getProperty("telegram.api.get.me.url");
             
@@ -221,30 +447,173 @@ public class TelegramService {
                     .get()
                     .build();
             
-            try (Response response = httpClient.newCall(request).execute()) {
+            try (Response response = executeWithRetry(request, true)) {
                 if (response.isSuccessful() && response.body() != null) {
                     return response.body().string();
                 }
             }
         } catch (Exception e) {
             System.err.println("❌ [Telegram] Ошибка получения информации о боте: " + e.getMessage());
+        } finally {
+            IN_FLIGHT_REQUESTS.decrementAndGet();
+            GameMetrics.TELEGRAM_REQUEST_LATENCY.recordSince(startNanos);
         }
         
         return null;
     }
     
     /**
-     * Экранирование специальных символов для JSON.
+     * Получение новых обновлений (long polling).
+     * 
+     * <p>Ответ разбирается потоково ({@link TelegramUpdateParser}): обработчик получает
+     * каждое обновление по мере чтения тела ответа, без построения дерева JSON.
+     * Метод рассчитан на один поток опроса.
+     * 
+     * <p>Если обработчик или чтение ответа завершились ошибкой посреди пачки, возвращается
+     * {@code offset} сразу после последнего успешно обработанного обновления: обработанные
+     * не придут повторно, а остальные будут получены следующим запросом.
+     * 
+     * @param offset ID первого ожидаемого обновления (предыдущий результат)
+     * @param timeoutSeconds время ожидания новых обновлений на стороне Telegram
+     *        (не больше {@value #MAX_POLL_TIMEOUT_SECONDS} с)
+     * @param handler обработчик обновлений
+     * @return {@code offset} для следующего запроса
+     */
+    public long getUpdates(long offset, int timeoutSeconds, TelegramUpdateHandler handler) {
+        if (botToken == null || botToken.equals("YOUR_BOT_TOKEN_HERE")) {
+            return offset;
+        }
+        
+        long startNanos = System.nanoTime();
+        IN_FLIGHT_REQUESTS.incrementAndGet();
+        // ID последнего обновления, которое обработчик принял без ошибки
+        long[] lastHandled = {offset - 1};
+        try {
+            int pollSeconds = Math.max(0, Math.min(timeoutSeconds, MAX_POLL_TIMEOUT_SECONDS));
+            String url = baseUrl + config.getProperty("telegram.api.get.updates.url")
+                    + "?offset=" + offset + "&timeout=" + pollSeconds;
+            
+            Request request = new Request.Builder()
+                    .url(url)
+                    .get()
+                    .build();
+            
+            try (Response response = pollingClient.newCall(request).execute()) {
+                if (!response.isSuccessful() || response.body() == null) {
+                    System.err.println("❌ [Telegram] Ошибка получения обновлений: " + response.code() + " " + response.message());
+                    return offset;
+                }
+                updateParser.parse(response.body().byteStream(), update -> {
+                    handler.onUpdate(update);
+                    lastHandled[0] = Math.max(lastHandled[0], update.getUpdateId());
+                });
+                return lastHandled[0] + 1;
+            }
+        } catch (Exception e) {
+            System.err.println("❌ [Telegram] Ошибка получения обновлений: " + e.getMessage());
+            return lastHandled[0] + 1;
+        } finally {
+            IN_FLIGHT_REQUESTS.decrementAndGet();
+            GameMetrics.TELEGRAM_REQUEST_LATENCY.recordSince(startNanos);
+        }
+    }
+    
+    /**
+     * Выполнение запроса с повторными попытками.
+     * 
+     * <p>Ответ 429 повторяется всегда (после {@code retry_after} из ответа): Telegram его
+     * не выполнил. Для запросов только на чтение повторяются также ответы 5xx и любые
+     * сетевые ошибки (с удвоением паузы). Неидемпотентный запрос ({@code sendMessage})
+     * после 5xx или таймаута чтения мог быть уже выполнен, поэтому он повторяется только
+     * при ошибке соединения, когда запрос точно не ушел; остальное решает вызывающий
+     * (например, {@link TelegramOutbox}). Всего не больше {@link #MAX_RETRIES} попыток.
+     * 
+     * @param request запрос
+     * @param idempotent {@code true}, если повтор выполненного запроса ничего не меняет
+     * @return ответ последней попытки (закрывает вызывающий)
+     * @throws IOException если последняя попытка завершилась сетевой ошибкой или ожидание прервано
+     */
+    private Response executeWithRetry(Request request, boolean idempotent) throws IOException {
+        long backoffMillis = RETRY_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            Response response;
+            try {
+                response = httpClient.newCall(request).execute();
+            } catch (IOException e) {
+                if (attempt >= MAX_RETRIES || e instanceof InterruptedIOException
+                        || !(idempotent || isNotSent(e))) {
+                    throw e;
+                }
+                GameMetrics.TELEGRAM_RETRIES.increment();
+                sleep(backoffMillis);
+                backoffMillis *= 2;
+                continue;
+            }
+            
+            int code = response.code();
+            if (attempt >= MAX_RETRIES || (code != 429 && (code < 500 || !idempotent))) {
+                return response;
+            }
+            long delayMillis = code == 429 ? retryAfterMillis(response) : backoffMillis;
+            if (delayMillis < 0) {
+                return response; // Ждать дольше разумного - отдаем 429 вызывающему
+            }
+            response.close();
+            GameMetrics.TELEGRAM_RETRIES.increment();
+            sleep(delayMillis);
+            backoffMillis *= 2;
+        }
+    }
+    
+    /**
+     * Ошибка до отправки запроса: соединение не установлено.
      * 
-     * @param text исходный текст
-     * @return экранированный текст
+     * <p>Таймаут соединения не отличить от таймаута чтения по типу
+     * ({@link java.net.SocketTimeoutException}), поэтому он сюда не входит.
+     */
+    private static boolean isNotSent(IOException e) {
+        return e instanceof ConnectException || e instanceof UnknownHostException;
+    }
+    
+    /**
+     * Пауза из ответа 429 ({@code parameters.retry_after}, в секундах).
+     * 
+     * @return пауза в миллисекундах; -1, если она больше {@link #MAX_RETRY_AFTER_SECONDS}
+     */
+    private long retryAfterMillis(Response response) {
+        long seconds = 1;
+        try {
+            if (response.body() != null) {
+                seconds = objectMapper.readTree(response.body().byteStream())
+                        .path("parameters").path("retry_after").asLong(1);
+            }
+        } catch (IOException e) {
+            // Тело без JSON: ждем минимальную паузу Telegram
+        }
+        return seconds > MAX_RETRY_AFTER_SECONDS ? -1 : TimeUnit.SECONDS.toMillis(Math.max(0, seconds));
+    }
+    
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ожидание повторной попытки прервано");
+        }
+    }
+    
+    /**
+     * Кодирование тела {@code sendMessage} кодировщиком текущего потока.
+     * 
+     * <p>После прогрева не выделяет память; результат действителен до следующего
+     * вызова в этом же потоке.
+     * 
+     * @param chatId ID чата пользователя
+     * @param message текст сообщения (HTML-разметка)
+     * @return кодировщик с готовым телом запроса
      */
-    private String escapeJson(String text) {
-        return text.replace("\\", "\\\\")
-                  .replace("\"", "\\\"")
-                  .replace("\n", "\\n")
-                  .replace("\r", "\\r")
-                  .replace("\t", "\\t");
+    static TelegramMessageEncoder encodeMessage(String chatId, String message) {
+        return MESSAGE_ENCODER.get().encodeSendMessage(chatId, message, "HTML");
     }
     
     /**
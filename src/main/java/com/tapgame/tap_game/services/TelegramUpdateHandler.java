@@ -0,0 +1,24 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.models.TelegramUpdate;
+
+/**
+ * Обработчик обновлений Telegram, получаемых через {@code getUpdates}.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramUpdateParser
+ */
+@FunctionalInterface
+public interface TelegramUpdateHandler {
+
+    /**
+     * Обработка одного обновления.
+     *
+     * <p>Объект {@code update} и его отправитель переиспользуются для следующего
+     * обновления и действительны только во время вызова.
+     *
+     * @param update обновление
+     */
+    void onUpdate(TelegramUpdate update);
+}
@@ -0,0 +1,262 @@
+package com.tapgame.tap_game.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.tapgame.tap_game.models.TelegramUpdate;
+import com.tapgame.tap_game.models.TelegramUser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Потоковый разбор ответа {@code getUpdates} без построения дерева JSON.
+ *
+ * <p>Ответ читается токенами Jackson: из каждого обновления берутся только ID,
+ * отправитель ({@code from}), чат и текст, все остальные поля пропускаются целиком
+ * через {@link JsonParser#skipChildren()}.
+ *
+ * <p><strong>Экономия памяти:</strong>
+ * <ul>
+ *   <li>Нет {@code JsonNode} на каждое поле ответа</li>
+ *   <li>Один объект {@link TelegramUpdate} (и его {@link TelegramUser}) на всю пачку:
+ *       обработчик получает его для каждого обновления по очереди</li>
+ *   <li>Повторяющиеся значения {@code language_code} не создают новых строк:
+ *       они берутся из пула по символам буфера парсера</li>
+ * </ul>
+ *
+ * <p>Не потокобезопасен: один парсер на поток опроса.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * TelegramUpdateParser parser = new TelegramUpdateParser(objectMapper.getFactory());
+ * long lastId = parser.parse(body.byteStream(), update -> registry.getOrCreate(update.getFrom().getId()));
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see TelegramService#getUpdates(long, int, TelegramUpdateHandler)
+ */
+public class TelegramUpdateParser {
+
+    /** Максимальное количество различных кодов языка в пуле */
+    private static final int LANGUAGE_POOL_SIZE = 256;
+
+    /** Максимальная длина кода языка, который кладется в пул */
+    private static final int MAX_LANGUAGE_CODE_LENGTH = 16;
+
+    private final JsonFactory factory;
+    private final TelegramUpdate update = new TelegramUpdate();
+
+    /** Пул кодов языка (открытая адресация по хешу символов) */
+    private final String[] languageCodes = new String[LANGUAGE_POOL_SIZE];
+    private int languageCodeCount;
+
+    /**
+     * @param factory фабрика парсеров Jackson (например, {@code objectMapper.getFactory()})
+     */
+    public TelegramUpdateParser(JsonFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Разбор ответа {@code getUpdates}.
+     *
+     * @param in тело ответа
+     * @param handler обработчик каждого обновления
+     * @return наибольший ID обновления или {@code -1}, если обновлений нет
+     * @throws IOException при ошибке чтения или некорректном JSON
+     * @throws IllegalStateException если Telegram вернул {@code "ok": false}
+     */
+    public long parse(InputStream in, TelegramUpdateHandler handler) throws IOException {
+        try (JsonParser parser = factory.createParser(in)) {
+            return parse(parser, handler);
+        }
+    }
+
+    /**
+     * Разбор ответа {@code getUpdates} из массива байтов.
+     *
+     * @param json тело ответа
+     * @param handler обработчик каждого обновления
+     * @return наибольший ID обновления или {@code -1}, если обновлений нет
+     * @throws IOException при некорректном JSON
+     */
+    public long parse(byte[] json, TelegramUpdateHandler handler) throws IOException {
+        try (JsonParser parser = factory.createParser(json)) {
+            return parse(parser, handler);
+        }
+    }
+
+    private long parse(JsonParser parser, TelegramUpdateHandler handler) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Ожидался объект ответа getUpdates");
+        }
+        boolean ok = true;
+        String description = null;
+        long lastUpdateId = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "ok" -> ok = value == JsonToken.VALUE_TRUE;
+                case "description" -> description = parser.getText();
+                case "result" -> {
+                    if (value != JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readUpdate(parser);
+                        lastUpdateId = Math.max(lastUpdateId, update.getUpdateId());
+                        handler.onUpdate(update);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (!ok) {
+            throw new IllegalStateException("Telegram API вернул ошибку: " + description);
+        }
+        return lastUpdateId;
+    }
+
+    /**
+     * Разбор одного обновления; парсер стоит на его {@code START_OBJECT}.
+     */
+    private void readUpdate(JsonParser parser) throws IOException {
+        update.reset();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("update_id".equals(field)) {
+                update.setUpdateId(parser.getLongValue());
+            } else if (value == JsonToken.START_OBJECT && update.getKind() == null) {
+                // message, edited_message, callback_query, my_chat_member, ...
+                update.setKind(field);
+                readEvent(parser, true);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Разбор события обновления (или вложенного сообщения кнопки).
+     *
+     * @param topLevel {@code true} для самого события, {@code false} для вложенного сообщения
+     */
+    private void readEvent(JsonParser parser, boolean topLevel) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "from" -> {
+                    // У вложенного сообщения кнопки отправитель - сам бот
+                    if (topLevel && value == JsonToken.START_OBJECT) {
+                        readUser(parser, update.fromForUpdate());
+                        update.markFrom();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "chat" -> readChat(parser, value);
+                case "text", "data" -> {
+                    if (topLevel && value == JsonToken.VALUE_STRING) {
+                        update.setText(parser.getText());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "message" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        readEvent(parser, false);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private void readChat(JsonParser parser, JsonToken value) throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(field) && token == JsonToken.VALUE_NUMBER_INT && !update.hasChat()) {
+                update.setChatId(parser.getLongValue());
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private void readUser(JsonParser parser, TelegramUser user) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> user.setId(parser.getLongValue());
+                case "username" -> user.setUsername(parser.getText());
+                case "first_name" -> user.setFirstName(parser.getText());
+                case "last_name" -> user.setLastName(parser.getText());
+                case "language_code" -> user.setLanguageCode(languageCode(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Код языка из пула; новая строка создается только для еще не встречавшегося кода.
+     */
+    private String languageCode(JsonParser parser) throws IOException {
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (length > MAX_LANGUAGE_CODE_LENGTH) {
+            return parser.getText();
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[offset + i];
+        }
+        int mask = LANGUAGE_POOL_SIZE - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        for (int probes = 0; probes < LANGUAGE_POOL_SIZE; probes++) {
+            String pooled = languageCodes[index];
+            if (pooled == null) {
+                String code = new String(chars, offset, length);
+                if (languageCodeCount < LANGUAGE_POOL_SIZE / 2) {
+                    languageCodes[index] = code;
+                    languageCodeCount++;
+                }
+                return code;
+            }
+            if (sameChars(pooled, chars, offset, length)) {
+                return pooled;
+            }
+            index = (index + 1) & mask;
+        }
+        return new String(chars, offset, length);
+    }
+
+    private static boolean sameChars(String pooled, char[] chars, int offset, int length) {
+        if (pooled.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (pooled.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tapgame.tap_game.session;
+
+/**
+ * Приблизительный счетчик частоты обращений (Count-Min Sketch с 4-битными счетчиками).
+ *
+ * <p>Каждый ключ учитывается в четырех счетчиках; оценка частоты - минимум из них.
+ * Счетчики насыщаются на 15. После {@code 10 * maximumSize} обращений все счетчики
+ * делятся пополам, поэтому давняя популярность постепенно забывается.
+ *
+ * <p>Не потокобезопасен: используется под блокировкой политики кеша.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class FrequencySketch {
+
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /** По 16 счетчиков в каждом элементе */
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param maximumSize ожидаемое количество ключей в кеше
+     */
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(maximumSize, 16) - 1) << 1;
+        table = new long[size];
+        tableMask = size - 1;
+        sampleSize = 10 * Math.max(maximumSize, 16);
+    }
+
+    /**
+     * @param key ключ
+     * @return оценка количества обращений (0..15)
+     */
+    int frequency(long key) {
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < 4; row++) {
+            long hash = rehash(key, row);
+            int counter = (int) ((table[index(hash)] >>> offset(hash)) & 0xF);
+            frequency = Math.min(frequency, counter);
+        }
+        return frequency;
+    }
+
+    /**
+     * Учет обращения к ключу.
+     *
+     * @param key ключ
+     */
+    void increment(long key) {
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            long hash = rehash(key, row);
+            int index = index(hash);
+            int offset = offset(hash);
+            if (((table[index] >>> offset) & 0xF) != MAX_FREQUENCY) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Старение: все счетчики делятся пополам.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = sampleSize / 2;
+    }
+
+    private int index(long hash) {
+        return (int) (hash >>> 32) & tableMask;
+    }
+
+    private static int offset(long hash) {
+        return ((int) hash & 0xF) << 2;
+    }
+
+    private static long rehash(long key, int row) {
+        long h = (key + SEEDS[row]) * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 29;
+        h *= 0xbf58476d1ce4e5b9L;
+        return h ^ (h >>> 32);
+    }
+}
@@ -0,0 +1,508 @@
+package com.tapgame.tap_game.session;
+
+import com.tapgame.tap_game.collections.ConcurrentLongObjectMap;
+import com.tapgame.tap_game.metrics.GameMetrics;
+import com.tapgame.tap_game.models.PlayerState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Кеш сессий игроков: активные игроки в памяти, остальные - в {@link PlayerStore}.
+ *
+ * <p>Большинство зарегистрированных игроков большую часть времени не играют, поэтому
+ * в памяти держатся только недавно и часто активные. Объем резидентных состояний
+ * ограничен бюджетом памяти в байтах; вес игрока оценивается функцией-весом
+ * (по умолчанию {@link #ESTIMATED_PLAYER_BYTES}).
+ *
+ * <p><strong>Политика вытеснения W-TinyLFU:</strong>
+ * <ul>
+ *   <li>Новые игроки попадают в окно LRU (1% бюджета)</li>
+ *   <li>Вытесненный из окна игрок становится кандидатом в основную область
+ *       (сегментированный LRU: испытательный сегмент и защищенный, 80%)</li>
+ *   <li>При переполнении кандидат сравнивается с самым старым игроком испытательного
+ *       сегмента по частоте обращений ({@link FrequencySketch}); вытесняется более редкий</li>
+ *   <li>Повторное обращение переводит игрока из испытательного сегмента в защищенный</li>
+ * </ul>
+ * Поэтому однократный проход по множеству игроков (рассылка, выгрузка рейтинга)
+ * не вымывает постоянных игроков.
+ *
+ * <p><strong>Загрузка:</strong> при промахе игрок загружается из хранилища один раз,
+ * даже если его запросили несколько потоков одновременно; остальные ждут ту же загрузку.
+ * Вытесняемые игроки сохраняются в хранилище до удаления из кеша. Пока идет сохранение,
+ * запись остается в таблице с пометкой: запросивший игрока поток ждет конца сохранения
+ * и загружает игрока заново, а не получает состояние, которое уже записано.
+ *
+ * <p><strong>Изменение состояния</strong> идет через {@link #withPlayer(long, Function)}:
+ * на время действия игрок закреплен, и вытеснение, выбравшее его, оставляет игрока в
+ * кеше (бюджет может быть ненадолго превышен). Без закрепления изменение сразу после
+ * {@link #get(long)} могло попасть в уже сохраненное и вытесненное состояние и
+ * потеряться. Вытеснение не ждет закрепления, поэтому действие может обращаться к другим
+ * игрокам кеша.
+ *
+ * <p>Попадание не берет блокировок на пути чтения: перестановка в списках политики
+ * выполняется, только если ее блокировка свободна, иначе обращение не учитывается.
+ * Состояние, полученное из кеша, не стоит хранить между операциями: холодный игрок
+ * может быть вытеснен и затем загружен заново другим объектом.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * PlayerSessionCache sessions = new PlayerSessionCache(store, 512L << 20);
+ * long coins = sessions.withPlayer(user.getId(), player -> player.getGooseGameState().tapGoose());
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see PlayerStore
+ */
+public class PlayerSessionCache implements AutoCloseable {
+
+    /**
+     * Оценка памяти одного игрока в байтах: {@link PlayerState}, {@code GameState}
+     * с таблицей квестов, {@code GooseGameState} с числами и узел кеша
+     * (64-битная JVM со сжатыми указателями).
+     */
+    public static final long ESTIMATED_PLAYER_BYTES = 1_200;
+
+    /** Доля окна в бюджете, % */
+    private static final int WINDOW_PERCENT = 1;
+
+    /** Доля защищенного сегмента в основной области, % */
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    /**
+     * Запись кеша; одновременно узел одного из списков политики.
+     */
+    private static final class Node {
+        final long playerId;
+        final CompletableFuture<PlayerState> loading = new CompletableFuture<>();
+        volatile PlayerState state;
+
+        /** Сохранение при вытеснении или {@code null}, пока игрок в кеше */
+        volatile CompletableFuture<Void> evicting;
+
+        /** Действия {@link #withPlayer}, идущие сейчас; закрепленный игрок не вытесняется */
+        final AtomicInteger pins = new AtomicInteger();
+
+        // Поля ниже изменяются только под блокировкой политики
+        Node prev;
+        Node next;
+        int segment = -1;
+        long weight;
+
+        Node(long playerId) {
+            this.playerId = playerId;
+        }
+
+        PlayerState await() {
+            PlayerState loaded = state;
+            if (loaded != null) {
+                return loaded;
+            }
+            try {
+                return loading.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        /**
+         * Ожидание конца вытеснения.
+         *
+         * @return {@code true}, если запись вытеснена и игрока нужно искать заново
+         */
+        boolean awaitEviction() {
+            CompletableFuture<Void> saving = evicting;
+            if (saving == null) {
+                return false;
+            }
+            saving.join();
+            return true;
+        }
+    }
+
+    /**
+     * Двусвязный список LRU: голова - самый новый, хвост - самый старый.
+     */
+    private static final class AccessOrder {
+        Node head;
+        Node tail;
+        long weight;
+
+        void addFirst(Node node) {
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            } else {
+                tail = node;
+            }
+            head = node;
+            weight += node.weight;
+        }
+
+        void remove(Node node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToFront(Node node) {
+            if (head != node) {
+                remove(node);
+                addFirst(node);
+            }
+        }
+    }
+
+    private final PlayerStore store;
+    private final ToLongFunction<PlayerState> weigher;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final ConcurrentLongObjectMap<Node> nodes;
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrder[] segments = {new AccessOrder(), new AccessOrder(), new AccessOrder()};
+
+    /**
+     * Создает кеш с оценкой веса игрока по умолчанию.
+     *
+     * @param store постоянное хранилище
+     * @param maximumBytes бюджет памяти на резидентных игроков
+     */
+    public PlayerSessionCache(PlayerStore store, long maximumBytes) {
+        this(store, maximumBytes, player -> ESTIMATED_PLAYER_BYTES);
+    }
+
+    /**
+     * Создает кеш.
+     *
+     * @param store постоянное хранилище
+     * @param maximumBytes бюджет памяти на резидентных игроков
+     * @param weigher оценка памяти игрока в байтах (вызывается один раз при загрузке)
+     * @throws IllegalArgumentException если бюджет меньше одного игрока
+     */
+    public PlayerSessionCache(PlayerStore store, long maximumBytes, ToLongFunction<PlayerState> weigher) {
+        if (maximumBytes < ESTIMATED_PLAYER_BYTES) {
+            throw new IllegalArgumentException("Бюджет памяти меньше одного игрока: " + maximumBytes);
+        }
+        this.store = store;
+        this.weigher = weigher;
+        this.maximumWeight = maximumBytes;
+        this.windowMaximum = Math.max(ESTIMATED_PLAYER_BYTES, maximumBytes * WINDOW_PERCENT / 100);
+        this.protectedMaximum = (maximumBytes - windowMaximum) * PROTECTED_PERCENT / 100;
+        int expectedPlayers = (int) Math.min(maximumBytes / ESTIMATED_PLAYER_BYTES, 1 << 28);
+        this.nodes = new ConcurrentLongObjectMap<>(expectedPlayers);
+        this.sketch = new FrequencySketch(expectedPlayers);
+    }
+
+    /**
+     * Состояние игрока для чтения: из памяти или из хранилища.
+     *
+     * <p>Игрок, которого нет и в хранилище, создается с начальным состоянием. Изменять
+     * полученное состояние нужно через {@link #withPlayer(long, Function)}: сюда игрока
+     * могут вытеснить сразу после возврата.
+     *
+     * @param playerId ID пользователя Telegram
+     * @return состояние игрока
+     */
+    public PlayerState get(long playerId) {
+        return find(playerId).state;
+    }
+
+    /**
+     * Действие над состоянием игрока, закрепленного в кеше.
+     *
+     * <p>Пока действие идет, игрок не вытесняется, поэтому его изменения попадут в
+     * следующее сохранение. Если вытеснение уже сохраняет игрока, действие ждет конца
+     * сохранения и выполняется над заново загруженным состоянием.
+     *
+     * @param playerId ID пользователя Telegram
+     * @param action действие; вызывается один раз
+     * @param <T> тип результата
+     * @return результат действия
+     */
+    public <T> T withPlayer(long playerId, Function<? super PlayerState, ? extends T> action) {
+        while (true) {
+            Node node = find(playerId);
+            node.pins.incrementAndGet();
+            try {
+                // Проверка после закрепления: вытеснение, начатое раньше, будет замечено,
+                // а начатое позже увидит закрепление и оставит игрока
+                if (!node.awaitEviction()) {
+                    return action.apply(node.state);
+                }
+            } finally {
+                node.pins.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Запись загруженного игрока, не вытесняемого в момент проверки.
+     */
+    private Node find(long playerId) {
+        while (true) {
+            Node node = nodes.get(playerId);
+            if (node == null) {
+                Node created = new Node(playerId);
+                node = nodes.computeIfAbsent(playerId, id -> created);
+                if (node == created) {
+                    load(created);
+                    return created;
+                }
+                // Игрока уже загружает другой поток
+            }
+            node.await();
+            // Проверка после чтения состояния: вытеснение, начатое раньше, будет замечено
+            if (node.awaitEviction()) {
+                continue;
+            }
+            GameMetrics.SESSION_HITS.increment();
+            recordHit(node);
+            return node;
+        }
+    }
+
+    /**
+     * Загрузка игрока в созданную этим потоком запись.
+     */
+    private void load(Node created) {
+        long playerId = created.playerId;
+        GameMetrics.SESSION_MISSES.increment();
+        PlayerState state;
+        try {
+            state = store.load(playerId);
+            if (state == null) {
+                state = new PlayerState(playerId);
+            }
+        } catch (RuntimeException e) {
+            nodes.remove(playerId);
+            created.loading.completeExceptionally(e);
+            throw e;
+        }
+        created.weight = weigher.applyAsLong(state);
+        created.state = state;
+        created.loading.complete(state);
+        admit(created);
+    }
+
+    /**
+     * Состояние игрока, только если он уже в памяти.
+     *
+     * @param playerId ID пользователя Telegram
+     * @return состояние или {@code null}
+     */
+    public PlayerState getIfPresent(long playerId) {
+        Node node = nodes.get(playerId);
+        return node != null && node.evicting == null ? node.state : null;
+    }
+
+    /**
+     * @return количество игроков в памяти
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return оценка памяти резидентных игроков в байтах
+     */
+    public long getResidentBytes() {
+        policyLock.lock();
+        try {
+            return segments[WINDOW].weight + segments[PROBATION].weight + segments[PROTECTED].weight;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * @return бюджет памяти в байтах
+     */
+    public long getMaximumBytes() {
+        return maximumWeight;
+    }
+
+    /**
+     * Сохранение всех резидентных игроков без вытеснения.
+     */
+    public void flush() {
+        nodes.forEach((playerId, node) -> {
+            PlayerState state = node.state;
+            if (state != null) {
+                store.save(state);
+            }
+        });
+    }
+
+    /**
+     * Сохранение всех игроков перед остановкой.
+     */
+    @Override
+    public void close() {
+        flush();
+    }
+
+    // === Политика ===
+
+    /**
+     * Учет попадания. Пропускается, если политика занята другим потоком.
+     */
+    private void recordHit(Node node) {
+        if (!policyLock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(node.playerId);
+            switch (node.segment) {
+                case WINDOW, PROTECTED -> segments[node.segment].moveToFront(node);
+                case PROBATION -> {
+                    segments[PROBATION].remove(node);
+                    node.segment = PROTECTED;
+                    segments[PROTECTED].addFirst(node);
+                    demoteProtected();
+                }
+                default -> {
+                    // Еще не допущен в политику или уже вытеснен
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Добавление загруженного игрока и вытеснение лишних.
+     */
+    private void admit(Node node) {
+        List<Node> evicted;
+        policyLock.lock();
+        try {
+            sketch.increment(node.playerId);
+            node.segment = WINDOW;
+            segments[WINDOW].addFirst(node);
+            while (segments[WINDOW].weight > windowMaximum && segments[WINDOW].tail != node) {
+                Node candidate = segments[WINDOW].tail;
+                segments[WINDOW].remove(candidate);
+                candidate.segment = PROBATION;
+                segments[PROBATION].addFirst(candidate);
+            }
+            evicted = evictOverflow(node);
+        } finally {
+            policyLock.unlock();
+        }
+        for (Node victim : evicted) {
+            // Пометка до сохранения: новые запросы ждут его конца, а не изменяют сохраняемое состояние.
+            // Запись удаляется до пробуждения ждущих, поэтому они загружают игрока заново
+            CompletableFuture<Void> saving = new CompletableFuture<>();
+            victim.evicting = saving;
+            // Проверка после пометки: закрепивший раньше будет замечен, закрепивший позже увидит пометку
+            if (victim.pins.get() > 0) {
+                victim.evicting = null;
+                saving.complete(null);
+                restore(victim);
+                continue;
+            }
+            try {
+                store.save(victim.state);
+            } catch (RuntimeException e) {
+                System.err.println("❌ [Sessions] Не удалось сохранить игрока " + victim.playerId + ": " + e.getMessage());
+            } finally {
+                nodes.remove(victim.playerId);
+                saving.complete(null);
+            }
+            GameMetrics.SESSION_EVICTIONS.increment();
+        }
+    }
+
+    /**
+     * Возврат закрепленного игрока, выбранного для вытеснения, в защищенный сегмент:
+     * им сейчас пользуются.
+     */
+    private void restore(Node node) {
+        policyLock.lock();
+        try {
+            node.segment = PROTECTED;
+            segments[PROTECTED].addFirst(node);
+            demoteProtected();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Выбор вытесняемых, пока вес больше бюджета. Вызывается под блокировкой политики.
+     *
+     * @param admitted только что допущенный игрок; не вытесняется, даже если тяжелее бюджета
+     */
+    private List<Node> evictOverflow(Node admitted) {
+        List<Node> evicted = null;
+        AccessOrder probation = segments[PROBATION];
+        while (probation.weight + segments[WINDOW].weight + segments[PROTECTED].weight > maximumWeight) {
+            Node victim;
+            if (probation.head == null) {
+                // Испытательный сегмент пуст: вытесняем самого старого из оставшихся
+                victim = segments[PROTECTED].tail != null ? segments[PROTECTED].tail : segments[WINDOW].tail;
+                if (victim == admitted) {
+                    // В кеше остался только новый игрок: его загрузку только что оплатили
+                    break;
+                }
+            } else if (probation.head == probation.tail) {
+                victim = probation.tail;
+            } else {
+                // Новый кандидат против самого старого игрока испытательного сегмента
+                Node candidate = probation.head;
+                Node oldest = probation.tail;
+                victim = sketch.frequency(candidate.playerId) > sketch.frequency(oldest.playerId) ? oldest : candidate;
+            }
+            segments[victim.segment].remove(victim);
+            victim.segment = -1;
+            if (evicted == null) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(victim);
+        }
+        return evicted != null ? evicted : List.of();
+    }
+
+    /**
+     * Перевод лишних игроков защищенного сегмента в испытательный.
+     */
+    private void demoteProtected() {
+        AccessOrder protectedOrder = segments[PROTECTED];
+        while (protectedOrder.weight > protectedMaximum && protectedOrder.tail != null) {
+            Node demoted = protectedOrder.tail;
+            protectedOrder.remove(demoted);
+            demoted.segment = PROBATION;
+            segments[PROBATION].addFirst(demoted);
+        }
+    }
+}
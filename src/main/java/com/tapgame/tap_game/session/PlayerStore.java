@@ -0,0 +1,31 @@
+package com.tapgame.tap_game.session;
+
+import com.tapgame.tap_game.models.PlayerState;
+
+/**
+ * Постоянное хранилище состояний игроков.
+ *
+ * <p>Используется {@link PlayerSessionCache} для загрузки игроков, которых нет в памяти,
+ * и для сохранения вытесняемых. Вызовы могут идти из разных потоков, но для одного
+ * игрока - не параллельно.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public interface PlayerStore {
+
+    /**
+     * Загрузка состояния игрока.
+     *
+     * @param playerId ID пользователя Telegram
+     * @return сохраненное состояние или {@code null}, если игрок еще не играл
+     */
+    PlayerState load(long playerId);
+
+    /**
+     * Сохранение состояния игрока.
+     *
+     * @param player состояние игрока
+     */
+    void save(PlayerState player);
+}
@@ -0,0 +1,183 @@
+package com.tapgame.tap_game.ui;
+
+import com.tapgame.tap_game.models.LargeNumber;
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+import javafx.scene.control.OverrunStyle;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Пул всплывающих надписей "+N монет" над гусем.
+ *
+ * <p>Все метки создаются один раз при создании пула и добавляются на панель
+ * скрытыми. Показ всплывающей надписи только переиспользует свободную метку,
+ * а анимацию всех активных надписей ведет один общий {@link AnimationTimer},
+ * который останавливается, как только последняя надпись исчезла.
+ *
+ * <p><strong>Поведение при частых кликах:</strong>
+ * <ul>
+ *   <li>Клики, пришедшие в течение {@link #MERGE_WINDOW_NANOS} после появления
+ *       последней надписи, суммируются в нее вместо создания новой</li>
+ *   <li>Одновременно видно не больше {@link #POOL_SIZE} надписей; если все заняты,
+ *       переиспользуется самая старая</li>
+ * </ul>
+ *
+ * <p>Поэтому количество узлов сцены и стоимость кадра не зависят от частоты кликов.
+ * Методы пула должны вызываться из JavaFX Application Thread.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class CoinPopupPool {
+
+    /** Максимальное число одновременно видимых надписей */
+    private static final int POOL_SIZE = 12;
+
+    /** Время жизни одной надписи */
+    private static final long LIFETIME_NANOS = 1_000_000_000L;
+
+    /** Окно, в течение которого новые клики добавляются к последней надписи */
+    private static final long MERGE_WINDOW_NANOS = 120_000_000L;
+
+    /** На сколько пикселей надпись поднимается за время жизни */
+    private static final double RISE_DISTANCE = 40;
+
+    /**
+     * Размер метки: с запасом вмещает самую длинную сокращенную сумму ("+999,99 квдрлн").
+     * Неуправляемые узлы родитель не растягивает, поэтому размер задается один раз
+     * при создании, и смена текста не требует ни CSS, ни раскладки на каждом клике.
+     */
+    private static final double LABEL_WIDTH = 200;
+    private static final double LABEL_HEIGHT = 24;
+
+    private final Label[] labels = new Label[POOL_SIZE];
+    private final long[] startTimes = new long[POOL_SIZE];
+    private final LargeNumber[] amounts = new LargeNumber[POOL_SIZE];
+
+    /** Буфер для текста надписи */
+    private final StringBuilder text = new StringBuilder();
+    private final boolean[] active = new boolean[POOL_SIZE];
+
+    /** Количество активных надписей */
+    private int activeCount;
+
+    /** Индекс последней показанной надписи или -1 */
+    private int newest = -1;
+
+    private boolean running;
+
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            step(now);
+        }
+    };
+
+    /**
+     * Создает пул и добавляет его метки на панель.
+     *
+     * @param parent панель, поверх содержимого которой показываются надписи
+     */
+    public CoinPopupPool(Pane parent) {
+        Font font = Font.font(null, FontWeight.BOLD, 16);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Label label = new Label();
+            label.setTextFill(Color.GOLD);
+            label.setFont(font);
+            label.setManaged(false);
+            label.setMouseTransparent(true);
+            label.setVisible(false);
+            label.setTextOverrun(OverrunStyle.CLIP);
+            label.resize(LABEL_WIDTH, LABEL_HEIGHT);
+            labels[i] = label;
+            amounts[i] = new LargeNumber();
+        }
+        parent.getChildren().addAll(labels);
+    }
+
+    /**
+     * Показывает надпись с количеством заработанных монет.
+     *
+     * @param amount количество монет
+     * @param x координата X в системе координат панели
+     * @param y координата Y в системе координат панели
+     */
+    public void show(LargeNumber amount, double x, double y) {
+        long now = System.nanoTime();
+
+        if (newest >= 0 && active[newest] && now - startTimes[newest] < MERGE_WINDOW_NANOS) {
+            amounts[newest].add(amount);
+            setAmount(labels[newest], amounts[newest]);
+            return;
+        }
+
+        int slot = acquireSlot();
+        Label label = labels[slot];
+        amounts[slot].set(amount);
+        startTimes[slot] = now;
+        setAmount(label, amounts[slot]);
+        label.relocate(x, y);
+        label.setTranslateY(0);
+        label.setOpacity(1);
+        label.setVisible(true);
+        newest = slot;
+
+        if (!running) {
+            running = true;
+            pulse.start();
+        }
+    }
+
+    /**
+     * Выбор свободной метки или самой старой из активных.
+     */
+    private int acquireSlot() {
+        int oldest = 0;
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (!active[i]) {
+                active[i] = true;
+                activeCount++;
+                return i;
+            }
+            if (startTimes[i] < startTimes[oldest]) {
+                oldest = i;
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Шаг анимации всех активных надписей.
+     *
+     * @param now время текущего кадра в наносекундах
+     */
+    private void step(long now) {
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (!active[i]) {
+                continue;
+            }
+            double progress = Math.max(0, (now - startTimes[i]) / (double) LIFETIME_NANOS);
+            Label label = labels[i];
+            if (progress >= 1) {
+                label.setVisible(false);
+                active[i] = false;
+                activeCount--;
+            } else {
+                label.setTranslateY(-RISE_DISTANCE * progress);
+                label.setOpacity(1 - progress);
+            }
+        }
+        if (activeCount == 0) {
+            running = false;
+            pulse.stop();
+        }
+    }
+
+    private void setAmount(Label label, LargeNumber amount) {
+        text.setLength(0);
+        label.setText(amount.appendAbbreviated(text.append('+')).toString());
+    }
+}
@@ -0,0 +1,128 @@
+package com.tapgame.tap_game.ui;
+
+import com.tapgame.tap_game.models.LargeNumber;
+import javafx.scene.control.Labeled;
+
+import java.text.NumberFormat;
+
+/**
+ * Числовая надпись с отложенным обновлением.
+ *
+ * <p>{@link #set(long)} только запоминает новое значение и помечает надпись
+ * "грязной", если значение отличается от показанного. Форматирование и
+ * {@link Labeled#setText(String)} выполняются в {@link #flush()}, который
+ * контроллер вызывает раз в кадр. Неизменившиеся надписи не трогаются вовсе.
+ *
+ * <p>Текст собирается как {@code prefix + число + suffix}. Числа начиная
+ * с миллиарда выводятся сокращенно ({@link LargeNumber#appendAbbreviated(StringBuilder)}),
+ * меньшие - полностью, через форматтер.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see FrameScheduler
+ */
+public class DirtyLabel {
+
+    private final Labeled target;
+    private final String prefix;
+    private final String suffix;
+    private final NumberFormat format;
+
+    /** Граница сокращенной записи */
+    private static final long ABBREVIATE_FROM = 1_000_000_000L;
+
+    /** Значение, которое сейчас показано */
+    private final LargeNumber shown = new LargeNumber();
+
+    /** Значение, которое будет показано при следующем flush */
+    private final LargeNumber pending = new LargeNumber();
+
+    /** Буфер для текста надписи */
+    private final StringBuilder text = new StringBuilder();
+
+    /** Показано ли уже хоть одно значение */
+    private boolean initialized;
+
+    private boolean dirty;
+
+    /**
+     * @param target элемент, текст которого обновляется; {@code null} допустим (надпись отключена)
+     * @param prefix текст перед числом
+     * @param suffix текст после числа
+     * @param format форматтер числа или {@code null} для {@link Long#toString(long)}
+     */
+    public DirtyLabel(Labeled target, String prefix, String suffix, NumberFormat format) {
+        this.target = target;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.format = format;
+    }
+
+    /**
+     * Запоминает новое значение.
+     *
+     * @param value новое значение
+     * @return {@code true}, если значение отличается от показанного и надпись нужно перерисовать
+     */
+    public boolean set(long value) {
+        pending.set(value);
+        dirty = !initialized || pending.compareTo(shown) != 0;
+        return dirty;
+    }
+
+    /**
+     * Запоминает новое значение (копирует его).
+     *
+     * @param value новое значение
+     * @return {@code true}, если значение отличается от показанного и надпись нужно перерисовать
+     */
+    public boolean set(LargeNumber value) {
+        pending.set(value);
+        dirty = !initialized || pending.compareTo(shown) != 0;
+        return dirty;
+    }
+
+    /**
+     * @return {@code true}, если есть не показанное значение
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Показывает запомненное значение, если оно изменилось.
+     */
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        shown.set(pending);
+        initialized = true;
+        if (target != null) {
+            target.setText(format(pending));
+        }
+    }
+
+    /**
+     * Текст надписи для значения: {@code prefix + число + suffix}.
+     *
+     * @param value значение
+     * @return текст надписи
+     */
+    String format(LargeNumber value) {
+        text.setLength(0);
+        text.append(prefix);
+        if (value.compareTo(ABBREVIATE_FROM) < 0) {
+            long exact = value.longValue();
+            if (format != null) {
+                text.append(format.format(exact));
+            } else {
+                text.append(exact);
+            }
+        } else {
+            value.appendAbbreviated(text);
+        }
+        return text.append(suffix).toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Планировщик отрисовки "не чаще одного раза за кадр".
+ *
+ * <p>Контроллер вызывает {@link #requestFrame()} после каждого изменения
+ * состояния, сколько бы их ни было за кадр. Обработчик кадра вызывается
+ * один раз на ближайшем импульсе (pulse) JavaFX, после чего таймер
+ * останавливается. Пока отрисовка никому не нужна, таймер не работает
+ * и не заставляет JavaFX генерировать кадры.
+ *
+ * <p>Все методы должны вызываться из JavaFX Application Thread.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class FrameScheduler {
+
+    private final LongConsumer frameHandler;
+
+    private boolean requested;
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            // Сбрасываем флаг до вызова обработчика, чтобы он мог запросить следующий кадр
+            requested = false;
+            stop();
+            frameHandler.accept(now);
+        }
+    };
+
+    /**
+     * @param frameHandler обработчик кадра; получает время импульса в наносекундах
+     */
+    public FrameScheduler(LongConsumer frameHandler) {
+        this.frameHandler = frameHandler;
+    }
+
+    /**
+     * Запрашивает вызов обработчика на ближайшем кадре.
+     * Повторные запросы до этого кадра ничего не делают.
+     */
+    public void requestFrame() {
+        if (!requested) {
+            requested = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * @return {@code true}, если кадр запрошен и еще не отрисован
+     */
+    public boolean isFrameRequested() {
+        return requested;
+    }
+}
@@ -0,0 +1,101 @@
+package com.tapgame.tap_game.ui;
+
+import com.tapgame.tap_game.models.StateChange;
+import com.tapgame.tap_game.models.StateChangeListener;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyLongProperty;
+import javafx.beans.property.ReadOnlyLongWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Мост между событиями игрового состояния и свойствами JavaFX.
+ *
+ * <p>Каждое свойство привязано к маске флагов {@link StateChange} и
+ * пересчитывается только когда пришло изменение из этой маски. Свойства
+ * можно использовать в обычных привязках JavaFX:
+ * <pre>{@code
+ * FxStateBridge bridge = new FxStateBridge();
+ * gameState.addChangeListener(bridge);
+ * buyTicketButton.disableProperty().bind(
+ *         bridge.booleanProperty(StateChange.COINS, () -> gameState.getCoins() < gameState.getTicketPrice()));
+ * }</pre>
+ *
+ * <p>Если состояние изменяется не в JavaFX Application Thread, изменения
+ * накапливаются и применяются одним {@link Platform#runLater(Runnable)}.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public class FxStateBridge implements StateChangeListener {
+
+    private final List<Binding> bindings = new ArrayList<>();
+
+    /** Изменения, ожидающие применения в потоке JavaFX */
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+
+    /**
+     * Создание числового свойства.
+     *
+     * @param changeMask флаги изменений, при которых значение пересчитывается
+     * @param getter источник значения
+     * @return свойство только для чтения
+     */
+    public ReadOnlyLongProperty longProperty(int changeMask, LongSupplier getter) {
+        ReadOnlyLongWrapper property = new ReadOnlyLongWrapper(getter.getAsLong());
+        bindings.add(new Binding(changeMask, () -> property.set(getter.getAsLong())));
+        return property.getReadOnlyProperty();
+    }
+
+    /**
+     * Создание логического свойства.
+     *
+     * @param changeMask флаги изменений, при которых значение пересчитывается
+     * @param getter источник значения
+     * @return свойство только для чтения
+     */
+    public ReadOnlyBooleanProperty booleanProperty(int changeMask, BooleanSupplier getter) {
+        ReadOnlyBooleanWrapper property = new ReadOnlyBooleanWrapper(getter.getAsBoolean());
+        bindings.add(new Binding(changeMask, () -> property.set(getter.getAsBoolean())));
+        return property.getReadOnlyProperty();
+    }
+
+    @Override
+    public void onStateChanged(int changes) {
+        if (Platform.isFxApplicationThread()) {
+            apply(changes | pendingChanges.getAndSet(0));
+        } else if (pendingChanges.getAndAccumulate(changes, (a, b) -> a | b) == 0) {
+            Platform.runLater(() -> apply(pendingChanges.getAndSet(0)));
+        }
+    }
+
+    private void apply(int changes) {
+        if (changes == 0) {
+            return;
+        }
+        for (Binding binding : bindings) {
+            if (StateChange.contains(changes, binding.changeMask)) {
+                binding.update.run();
+            }
+        }
+    }
+
+    /**
+     * Свойство и условие его пересчета.
+     */
+    private static final class Binding {
+        final int changeMask;
+        final Runnable update;
+
+        Binding(int changeMask, Runnable update) {
+            this.changeMask = changeMask;
+            this.update = update;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Общий кэш изображений приложения.
+ *
+ * <p>Каждое изображение декодируется один раз для каждого запрошенного размера:
+ * <ul>
+ *   <li>Декодирование идет в фоновом потоке JavaFX ({@code backgroundLoading}),
+ *       поэтому не задерживает показ первого кадра</li>
+ *   <li>Изображение сразу масштабируется до целевого размера, и в памяти
+ *       хранится только уменьшенная копия, а не полноразмерная картинка</li>
+ *   <li>Все экраны получают один и тот же экземпляр {@link Image}</li>
+ * </ul>
+ *
+ * <p>Загрузку полезно начать заранее через {@link #preload(String, double, double)},
+ * например в {@code Application.init()}, до загрузки FXML.
+ *
+ * <p><strong>Пример:</strong>
+ * <pre>{@code
+ * imageView.setImage(ImageAssets.get(ImageAssets.GOOSE, 200, 200));
+ * }</pre>
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see SpriteAtlas
+ */
+public final class ImageAssets {
+
+    /** Изображение гуся */
+    public static final String GOOSE = "/images/goose.png";
+
+    /** Размер, в котором гусь показывается на экране */
+    public static final double GOOSE_SIZE = 200;
+
+    private static final Map<String, Image> CACHE = new ConcurrentHashMap<>();
+
+    private ImageAssets() {
+    }
+
+    /**
+     * Получение изображения нужного размера.
+     *
+     * <p>Пропорции сохраняются: изображение вписывается в прямоугольник
+     * {@code width x height}. Возвращаемое изображение может быть еще
+     * не загружено — {@link javafx.scene.image.ImageView} покажет его по готовности.
+     *
+     * @param path путь к ресурсу в classpath (например, {@code /images/goose.png})
+     * @param width целевая ширина в пикселях
+     * @param height целевая высота в пикселях
+     * @return общий экземпляр изображения
+     * @throws IllegalArgumentException если ресурс не найден
+     */
+    public static Image get(String path, double width, double height) {
+        return CACHE.computeIfAbsent(path + '@' + width + 'x' + height, key -> load(path, width, height));
+    }
+
+    /**
+     * Запуск фоновой загрузки изображения без ожидания результата.
+     *
+     * @param path путь к ресурсу в classpath
+     * @param width целевая ширина в пикселях
+     * @param height целевая высота в пикселях
+     */
+    public static void preload(String path, double width, double height) {
+        get(path, width, height);
+    }
+
+    /**
+     * Получение атласа спрайтов, нарезанного сеткой.
+     *
+     * @param path путь к ресурсу с листом спрайтов
+     * @param width целевая ширина всего листа в пикселях
+     * @param height целевая высота всего листа в пикселях
+     * @param columns количество кадров по горизонтали
+     * @param rows количество кадров по вертикали
+     * @return атлас поверх общего экземпляра изображения
+     */
+    public static SpriteAtlas atlas(String path, double width, double height, int columns, int rows) {
+        return new SpriteAtlas(get(path, width, height), columns, rows);
+    }
+
+    private static Image load(String path, double width, double height) {
+        URL url = ImageAssets.class.getResource(path);
+        if (url == null) {
+            throw new IllegalArgumentException("Изображение не найдено: " + path);
+        }
+        Image image = new Image(url.toExternalForm(), width, height, true, true, true);
+        image.exceptionProperty().addListener((obs, oldError, error) -> {
+            if (error != null) {
+                System.err.println("Не удалось загрузить изображение " + path + ": " + error.getMessage());
+            }
+        });
+        return image;
+    }
+}
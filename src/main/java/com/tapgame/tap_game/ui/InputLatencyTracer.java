@@ -0,0 +1,203 @@
+package com.tapgame.tap_game.ui;
+
+import com.tapgame.tap_game.metrics.GameMetrics;
+import com.tapgame.tap_game.metrics.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Трассировка задержки "клик → пиксели" мини-игры "Гусь".
+ *
+ * <p>Каждый клик получает метки времени на всех этапах своего пути:
+ * <ol>
+ *   <li>Событие ввода JavaFX (отпускание кнопки мыши или клавиши на гусе)</li>
+ *   <li>Обработчик нажатия гуся, который передает клик в симуляцию</li>
+ *   <li>Публикация снимка, в котором клик уже применен {@code tapGoose}</li>
+ *   <li>Обновление надписей в {@code renderFrame}</li>
+ *   <li>Ближайший импульс JavaFX после обновления (post-layout pulse): дальше кадр
+ *       только синхронизируется с потоком отрисовки</li>
+ * </ol>
+ * Клик узнается в снимке по счетчику кликов: симуляция применяет клики по порядку.
+ *
+ * <p>Задержки этапов пишутся в гистограммы скользящего окна ({@value #WINDOW_SECONDS} с),
+ * полная задержка и интервал между кадрами - еще и в {@link GameMetrics} для JMX.
+ * По окончании окна формируется сводка для отладочного оверлея и журнала.
+ *
+ * <p>Все методы принимают время явно (по {@link System#nanoTime()}) и вызываются из
+ * JavaFX Application Thread; запись метки не выделяет памяти.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see LatencyOverlay
+ */
+public final class InputLatencyTracer {
+
+    /** Кликов в пути одновременно; более старые перестают отслеживаться */
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    /** Длина скользящего окна статистики */
+    static final int WINDOW_SECONDS = 5;
+    private static final long WINDOW_NANOS = WINDOW_SECONDS * 1_000_000_000L;
+
+    /** Пауза между импульсами, после которой интервал не считается временем кадра */
+    private static final long IDLE_GAP_NANOS = 250_000_000L;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long[] inputNanos = new long[CAPACITY];
+    private final long[] handlerNanos = new long[CAPACITY];
+    private final long[] renderNanos = new long[CAPACITY];
+
+    /** Кликов в симуляции до начала трассировки */
+    private final long baseClicks;
+
+    // Номера кликов: traced >= rendered >= completed
+    private long traced;
+    private long rendered;
+    private long completed;
+
+    /** Время последнего события ввода, еще не дошедшего до обработчика; 0 - нет */
+    private long pendingInputNanos;
+
+    private long lastPulseNanos;
+    private long windowStartNanos;
+
+    private final LatencyHistogram inputToHandler = new LatencyHistogram();
+    private final LatencyHistogram handlerToApplied = new LatencyHistogram();
+    private final LatencyHistogram appliedToRender = new LatencyHistogram();
+    private final LatencyHistogram renderToPulse = new LatencyHistogram();
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+
+    /** Сводка последнего окна или {@code null} */
+    private String summary;
+    private long summaryTaps;
+
+    /**
+     * @param baseClicks количество кликов в снимке на момент начала трассировки
+     */
+    public InputLatencyTracer(long baseClicks) {
+        this.baseClicks = baseClicks;
+    }
+
+    /**
+     * Событие ввода, которое приведет к нажатию гуся.
+     *
+     * @param nanos время события
+     */
+    public void onInputEvent(long nanos) {
+        pendingInputNanos = nanos;
+    }
+
+    /**
+     * Обработчик нажатия гуся передает клик в симуляцию.
+     *
+     * @param nanos время обработчика
+     */
+    public void onTap(long nanos) {
+        if (traced - completed == CAPACITY) {
+            // Слишком много кликов в пути: самый старый больше не отслеживаем
+            completed++;
+            rendered = Math.max(rendered, completed);
+        }
+        int index = (int) traced & MASK;
+        inputNanos[index] = pendingInputNanos != 0 ? pendingInputNanos : nanos;
+        handlerNanos[index] = nanos;
+        pendingInputNanos = 0;
+        traced++;
+    }
+
+    /**
+     * Надписи обновлены по снимку.
+     *
+     * @param totalClicks количество кликов в выведенном снимке
+     * @param publishedNanos время публикации снимка
+     * @param nanos время обновления надписей
+     */
+    public void onRender(long totalClicks, long publishedNanos, long nanos) {
+        long applied = Math.min(totalClicks - baseClicks, traced);
+        for (long tap = rendered; tap < applied; tap++) {
+            int index = (int) tap & MASK;
+            handlerToApplied.record(publishedNanos - handlerNanos[index]);
+            appliedToRender.record(nanos - publishedNanos);
+            renderNanos[index] = nanos;
+        }
+        rendered = Math.max(rendered, applied);
+    }
+
+    /**
+     * Импульс JavaFX после раскладки сцены.
+     *
+     * @param nanos время импульса
+     */
+    public void onPulse(long nanos) {
+        if (lastPulseNanos != 0 && nanos - lastPulseNanos < IDLE_GAP_NANOS) {
+            frameTime.record(nanos - lastPulseNanos);
+            GameMetrics.FRAME_TIME.record(nanos - lastPulseNanos);
+        }
+        lastPulseNanos = nanos;
+
+        for (long tap = completed; tap < rendered; tap++) {
+            int index = (int) tap & MASK;
+            long latency = nanos - inputNanos[index];
+            inputToHandler.record(handlerNanos[index] - inputNanos[index]);
+            renderToPulse.record(nanos - renderNanos[index]);
+            total.record(latency);
+            GameMetrics.INPUT_LATENCY.record(latency);
+        }
+        completed = rendered;
+
+        if (windowStartNanos == 0) {
+            windowStartNanos = nanos;
+        } else if (nanos - windowStartNanos >= WINDOW_NANOS) {
+            closeWindow(nanos);
+        }
+    }
+
+    /**
+     * @return сводка последнего завершенного окна или {@code null}, если окон еще не было
+     */
+    public String getSummary() {
+        return summary;
+    }
+
+    /**
+     * @return количество кликов, попавших в последнее завершенное окно
+     */
+    public long getSummaryTaps() {
+        return summaryTaps;
+    }
+
+    private void closeWindow(long nanos) {
+        StringBuilder text = new StringBuilder(320);
+        append(text, "клик → кадр", total);
+        append(text, "  ввод → обработчик", inputToHandler);
+        append(text, "  обработчик → tapGoose", handlerToApplied);
+        append(text, "  tapGoose → надписи", appliedToRender);
+        append(text, "  надписи → импульс", renderToPulse);
+        append(text, "кадр", frameTime);
+        summary = text.toString();
+        summaryTaps = total.getCount();
+
+        inputToHandler.reset();
+        handlerToApplied.reset();
+        appliedToRender.reset();
+        renderToPulse.reset();
+        total.reset();
+        frameTime.reset();
+        windowStartNanos = nanos;
+    }
+
+    private static void append(StringBuilder text, String stage, LatencyHistogram histogram) {
+        if (text.length() > 0) {
+            text.append('\n');
+        }
+        text.append(String.format(Locale.ROOT, "%-24s p50 %6.2f  p99 %6.2f  max %6.2f мс  (n=%d)",
+                stage,
+                histogram.percentile(0.50) / NANOS_PER_MILLI,
+                histogram.percentile(0.99) / NANOS_PER_MILLI,
+                histogram.getMaxNanos() / NANOS_PER_MILLI,
+                histogram.getCount()));
+    }
+}
@@ -0,0 +1,106 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.text.Font;
+
+/**
+ * Отладочный оверлей задержки ввода и времени кадра (переключается клавишей F3).
+ *
+ * <p>Подключает {@link InputLatencyTracer} к JavaFX:
+ * <ul>
+ *   <li>фильтры событий ввода на узле гуся ({@link #traceInput(Node)})</li>
+ *   <li>{@link Scene#addPostLayoutPulseListener(Runnable)} - метка импульса после
+ *       обновления надписей</li>
+ * </ul>
+ * Сводка каждого окна с кликами пишется в журнал, даже если оверлей скрыт;
+ * текст оверлея меняется только при смене окна, а не на каждом кадре.
+ *
+ * <p>Все методы должны вызываться из JavaFX Application Thread.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LatencyOverlay {
+
+    private final InputLatencyTracer tracer;
+    private final Label label = new Label("Сбор статистики задержек...");
+
+    /** Сводка, которая уже выведена и записана в журнал */
+    private String shownSummary;
+
+    /**
+     * Создает скрытый оверлей в левом верхнем углу панели.
+     *
+     * @param parent панель, поверх которой выводится оверлей
+     * @param tracer трассировка кликов
+     */
+    public LatencyOverlay(Pane parent, InputLatencyTracer tracer) {
+        this.tracer = tracer;
+        label.setFont(Font.font("Monospaced", 11));
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.75); -fx-text-fill: #7CFC00; -fx-padding: 6;");
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        label.relocate(8, 8);
+        parent.getChildren().add(label);
+
+        if (parent.getScene() != null) {
+            attach(parent.getScene());
+        } else {
+            parent.sceneProperty().addListener((obs, oldScene, scene) -> {
+                if (scene != null) {
+                    attach(scene);
+                }
+            });
+        }
+    }
+
+    /**
+     * Отметка событий ввода на узле (отпускание мыши или клавиши вызывает нажатие кнопки).
+     *
+     * @param node узел, по которому кликают
+     */
+    public void traceInput(Node node) {
+        node.addEventFilter(MouseEvent.MOUSE_RELEASED, event -> tracer.onInputEvent(System.nanoTime()));
+        node.addEventFilter(KeyEvent.KEY_RELEASED, event -> tracer.onInputEvent(System.nanoTime()));
+    }
+
+    /**
+     * Показ или скрытие оверлея.
+     */
+    public void toggle() {
+        label.setVisible(!label.isVisible());
+        if (label.isVisible()) {
+            label.toFront();
+        }
+    }
+
+    private void attach(Scene scene) {
+        scene.addPostLayoutPulseListener(this::onPulse);
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, event -> {
+            if (event.getCode() == KeyCode.F3) {
+                toggle();
+                event.consume();
+            }
+        });
+    }
+
+    private void onPulse() {
+        tracer.onPulse(System.nanoTime());
+        String summary = tracer.getSummary();
+        if (summary == null || summary == shownSummary) {
+            return;
+        }
+        shownSummary = summary;
+        label.setText(summary);
+        if (tracer.getSummaryTaps() > 0) {
+            System.out.println("⏱️ [Latency] Клики за " + InputLatencyTracer.WINDOW_SECONDS + " с: "
+                    + tracer.getSummaryTaps() + "\n" + summary);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.tapgame.tap_game.ui;
+
+/**
+ * Состояние частиц {@link ParticleLayer} без отрисовки.
+ *
+ * <p>Частицы хранятся в плоских массивах примитивов (структура массивов), поэтому на
+ * частицу не создается ни одного объекта. Мертвые частицы удаляются перестановкой
+ * последней частицы на их место, так что живые всегда лежат в индексах
+ * {@code [0, count)}. При переполнении новые частицы отбрасываются.
+ *
+ * <p>Не зависит от JavaFX. Не потокобезопасно: используется из одного потока.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class ParticleField {
+
+    /** Ускорение свободного падения, пикселей/с² */
+    static final float GRAVITY = 900f;
+
+    // Состояние частиц; читается слоем при отрисовке
+    final float[] x;
+    final float[] y;
+    final float[] vx;
+    final float[] vy;
+    final float[] age;
+    final float[] lifetime;
+    final float[] size;
+    final byte[] color;
+
+    /** Количество живых частиц */
+    private int count;
+
+    /**
+     * @param capacity максимальное количество одновременно живущих частиц
+     */
+    ParticleField(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        age = new float[capacity];
+        lifetime = new float[capacity];
+        size = new float[capacity];
+        color = new byte[capacity];
+    }
+
+    /**
+     * Добавление одной частицы.
+     *
+     * @return {@code false}, если места нет и частица отброшена
+     */
+    boolean emit(float px, float py, float speedX, float speedY, float life, float particleSize, byte shade) {
+        if (count == x.length) {
+            return false;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = speedX;
+        vy[i] = speedY;
+        age[i] = 0;
+        lifetime[i] = life;
+        size[i] = particleSize;
+        color[i] = shade;
+        return true;
+    }
+
+    /**
+     * Шаг симуляции: старение, удаление отживших, гравитация и движение.
+     *
+     * @param dt шаг в секундах
+     */
+    void advance(float dt) {
+        int i = 0;
+        while (i < count) {
+            float particleAge = age[i] + dt;
+            if (particleAge >= lifetime[i]) {
+                removeAt(i);
+                continue;
+            }
+            age[i] = particleAge;
+            vy[i] += GRAVITY * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+    }
+
+    /**
+     * @return количество живых частиц
+     */
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * @return максимальное количество частиц
+     */
+    int getCapacity() {
+        return x.length;
+    }
+
+    /**
+     * Удаление частицы перестановкой последней на ее место.
+     */
+    private void removeAt(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        age[i] = age[last];
+        lifetime[i] = lifetime[last];
+        size[i] = size[last];
+        color[i] = color[last];
+    }
+}
@@ -0,0 +1,229 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.SplittableRandom;
+
+/**
+ * Слой эффектов частиц поверх игрового экрана.
+ *
+ * <p>Все частицы рисуются на одном {@link Canvas}, а не отдельными узлами сцены.
+ * Состояние частиц хранится в плоских массивах примитивов {@link ParticleField}
+ * (координаты, скорости, возраст, время жизни, размер, цвет), поэтому на частицу
+ * не создается ни одного объекта.
+ *
+ * <p>За один импульс JavaFX все частицы сдвигаются и рисуются один раз:
+ * <ul>
+ *   <li>Очищается только прямоугольник, занятый частицами на прошлом кадре</li>
+ *   <li>Частицы рисуются прямоугольниками (самый дешевый примитив при программном рендеринге)</li>
+ *   <li>Заливка и прозрачность переключаются по группам цвета и уровня прозрачности,
+ *       а не для каждой частицы</li>
+ * </ul>
+ *
+ * <p>Когда частиц не осталось, таймер останавливается. При переполнении
+ * новые частицы отбрасываются. Методы должны вызываться из JavaFX Application Thread.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see ParticleField
+ */
+public class ParticleLayer {
+
+    /** Максимальное количество одновременно живущих частиц */
+    private static final int CAPACITY = 8192;
+
+    /** Максимальный шаг симуляции, чтобы после паузы частицы не "телепортировались" */
+    private static final float MAX_STEP_SECONDS = 0.05f;
+
+    /** Количество уровней прозрачности, по которым группируется отрисовка */
+    private static final int ALPHA_LEVELS = 4;
+
+    /** Палитра частиц */
+    private static final Color[] PALETTE = {
+            Color.GOLD,
+            Color.ORANGE,
+            Color.LIGHTYELLOW,
+            Color.web("#4CAF50"),
+            Color.web("#2196F3")
+    };
+
+    /** Индекс цвета монеты в палитре */
+    private static final byte COIN = 0;
+
+    /** Индекс цвета улучшения в палитре */
+    private static final byte UPGRADE = 3;
+
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext graphics = canvas.getGraphicsContext2D();
+    private final SplittableRandom random = new SplittableRandom();
+
+    private final ParticleField field = new ParticleField(CAPACITY);
+
+    /** Группа отрисовки частицы на текущем кадре: цвет * ALPHA_LEVELS + уровень прозрачности */
+    private final byte[] drawGroup = new byte[CAPACITY];
+
+    // Прямоугольник, занятый частицами на прошлом кадре (для частичной очистки)
+    private double dirtyMinX;
+    private double dirtyMinY;
+    private double dirtyMaxX;
+    private double dirtyMaxY;
+    private boolean hasDirtyArea;
+
+    private long lastFrameNanos = -1;
+    private boolean running;
+
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            step(now);
+        }
+    };
+
+    /**
+     * Создает слой и добавляет его холст поверх содержимого панели.
+     *
+     * @param parent панель, размер которой повторяет холст
+     */
+    public ParticleLayer(Pane parent) {
+        canvas.setManaged(false);
+        canvas.setMouseTransparent(true);
+        canvas.widthProperty().bind(parent.widthProperty());
+        canvas.heightProperty().bind(parent.heightProperty());
+        parent.getChildren().add(canvas);
+    }
+
+    /**
+     * Россыпь монет, вылетающих вверх и падающих вниз.
+     *
+     * @param centerX координата X центра в системе координат панели
+     * @param centerY координата Y центра в системе координат панели
+     * @param particles количество частиц
+     */
+    public void emitCoinShower(double centerX, double centerY, int particles) {
+        for (int i = 0; i < particles; i++) {
+            float speedX = (float) (random.nextDouble() * 240 - 120);
+            float speedY = (float) (-260 - random.nextDouble() * 220);
+            byte shade = (byte) (COIN + random.nextInt(3));
+            field.emit((float) centerX, (float) centerY, speedX, speedY, 0.8f + (float) random.nextDouble() * 0.4f, 4 + random.nextInt(3), shade);
+        }
+        ensureRunning();
+    }
+
+    /**
+     * Радиальный взрыв частиц при покупке улучшения.
+     *
+     * @param centerX координата X центра в системе координат панели
+     * @param centerY координата Y центра в системе координат панели
+     * @param particles количество частиц
+     */
+    public void emitUpgradeBurst(double centerX, double centerY, int particles) {
+        for (int i = 0; i < particles; i++) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            double speed = 150 + random.nextDouble() * 250;
+            byte shade = (byte) (random.nextInt(4) == 0 ? COIN : UPGRADE + random.nextInt(2));
+            field.emit((float) centerX, (float) centerY, (float) (Math.cos(angle) * speed), (float) (Math.sin(angle) * speed) - 150,
+                    0.6f + (float) random.nextDouble() * 0.5f, 3 + random.nextInt(3), shade);
+        }
+        ensureRunning();
+    }
+
+    /**
+     * @return количество живых частиц
+     */
+    public int getParticleCount() {
+        return field.getCount();
+    }
+
+    private void ensureRunning() {
+        if (!running) {
+            running = true;
+            lastFrameNanos = -1;
+            pulse.start();
+        }
+    }
+
+    /**
+     * Шаг симуляции и отрисовка одного кадра.
+     *
+     * @param now время импульса в наносекундах
+     */
+    private void step(long now) {
+        float dt = lastFrameNanos < 0 ? 0 : Math.min(MAX_STEP_SECONDS, (now - lastFrameNanos) / 1e9f);
+        lastFrameNanos = now;
+
+        field.advance(dt);
+        draw();
+
+        if (field.getCount() == 0) {
+            running = false;
+            pulse.stop();
+        }
+    }
+
+    /**
+     * Отрисовка всех частиц.
+     */
+    private void draw() {
+        if (hasDirtyArea) {
+            graphics.clearRect(dirtyMinX, dirtyMinY, dirtyMaxX - dirtyMinX, dirtyMaxY - dirtyMinY);
+            hasDirtyArea = false;
+        }
+        int count = field.getCount();
+        if (count == 0) {
+            return;
+        }
+        float[] x = field.x;
+        float[] y = field.y;
+        float[] size = field.size;
+        byte[] color = field.color;
+
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i] + size[i]);
+            maxY = Math.max(maxY, y[i] + size[i]);
+            drawGroup[i] = (byte) (color[i] * ALPHA_LEVELS + alphaLevel(i));
+        }
+        // Запас в пиксель на сглаживание краев
+        dirtyMinX = minX - 1;
+        dirtyMinY = minY - 1;
+        dirtyMaxX = maxX + 1;
+        dirtyMaxY = maxY + 1;
+        hasDirtyArea = true;
+
+        for (int shade = 0; shade < PALETTE.length; shade++) {
+            graphics.setFill(PALETTE[shade]);
+            for (int level = 0; level < ALPHA_LEVELS; level++) {
+                byte group = (byte) (shade * ALPHA_LEVELS + level);
+                boolean alphaSet = false;
+                for (int i = 0; i < count; i++) {
+                    if (drawGroup[i] != group) {
+                        continue;
+                    }
+                    if (!alphaSet) {
+                        graphics.setGlobalAlpha((level + 1) / (double) ALPHA_LEVELS);
+                        alphaSet = true;
+                    }
+                    graphics.fillRect(x[i], y[i], size[i], size[i]);
+                }
+            }
+        }
+        graphics.setGlobalAlpha(1);
+    }
+
+    /**
+     * Уровень прозрачности частицы: чем старше частица, тем она прозрачнее.
+     */
+    private int alphaLevel(int i) {
+        float remaining = 1 - field.age[i] / field.lifetime[i];
+        return Math.min(ALPHA_LEVELS - 1, (int) (remaining * ALPHA_LEVELS));
+    }
+}
@@ -0,0 +1,104 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * Атлас спрайтов: один лист с кадрами анимации, нарезанный сеткой.
+ *
+ * <p>Все кадры делят одно декодированное изображение; кадр выбирается
+ * через {@link ImageView#setViewport(Rectangle2D)}, без копирования пикселей.
+ * Прямоугольники кадров вычисляются один раз, когда лист загружен.
+ *
+ * <p>Кадры нумеруются слева направо, сверху вниз.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see ImageAssets#atlas(String, double, double, int, int)
+ */
+public class SpriteAtlas {
+
+    private final Image sheet;
+    private final int columns;
+    private final int rows;
+
+    /** Прямоугольники кадров; {@code null}, пока лист не загружен */
+    private Rectangle2D[] frames;
+
+    /**
+     * @param sheet лист спрайтов
+     * @param columns количество кадров по горизонтали
+     * @param rows количество кадров по вертикали
+     */
+    public SpriteAtlas(Image sheet, int columns, int rows) {
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException("Сетка атласа должна быть положительной: " + columns + "x" + rows);
+        }
+        this.sheet = sheet;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * @return лист спрайтов
+     */
+    public Image getSheet() {
+        return sheet;
+    }
+
+    /**
+     * @return количество кадров в атласе
+     */
+    public int getFrameCount() {
+        return columns * rows;
+    }
+
+    /**
+     * Показ кадра в {@link ImageView}.
+     *
+     * <p>Пока лист не загружен, устанавливается только изображение;
+     * нужный кадр будет выбран при следующем вызове.
+     *
+     * @param view элемент, в котором показывается кадр
+     * @param frame номер кадра
+     */
+    public void show(ImageView view, int frame) {
+        if (view.getImage() != sheet) {
+            view.setImage(sheet);
+        }
+        Rectangle2D viewport = viewport(frame);
+        if (viewport != null) {
+            view.setViewport(viewport);
+        }
+    }
+
+    /**
+     * Прямоугольник кадра в пикселях декодированного листа.
+     *
+     * @param frame номер кадра
+     * @return прямоугольник кадра или {@code null}, если лист еще не загружен
+     */
+    public Rectangle2D viewport(int frame) {
+        if (frames == null) {
+            if (sheet.getProgress() < 1 || sheet.isError()) {
+                return null;
+            }
+            frames = sliceFrames();
+        }
+        return frames[Math.floorMod(frame, frames.length)];
+    }
+
+    private Rectangle2D[] sliceFrames() {
+        double frameWidth = sheet.getWidth() / columns;
+        double frameHeight = sheet.getHeight() / rows;
+        Rectangle2D[] result = new Rectangle2D[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                result[row * columns + column] =
+                        new Rectangle2D(column * frameWidth, row * frameHeight, frameWidth, frameHeight);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Отслеживание сворачивания и закрытия окна, в котором находится узел.
+ *
+ * <p>Узел из FXML еще не принадлежит сцене в момент {@code initialize()},
+ * поэтому подписка откладывается до появления сцены и окна.</p>
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class WindowVisibility {
+
+    private WindowVisibility() {
+    }
+
+    /**
+     * Подписка на сворачивание окна узла.
+     *
+     * @param node узел сцены
+     * @param onIconified получает {@code true}, когда окно свернуто, и {@code false}, когда развернуто;
+     *                    вызывается сразу с текущим состоянием, как только окно станет известно
+     */
+    public static void onIconified(Node node, Consumer<Boolean> onIconified) {
+        withWindow(node, window -> {
+            if (window instanceof Stage stage) {
+                stage.iconifiedProperty().addListener((obs, wasIconified, iconified) -> onIconified.accept(iconified));
+                onIconified.accept(stage.isIconified());
+            }
+        });
+    }
+
+    /**
+     * Подписка на закрытие окна узла (например, чтобы остановить фоновые потоки контроллера).
+     *
+     * @param node узел сцены
+     * @param onHidden вызывается в потоке JavaFX, когда окно скрыто
+     */
+    public static void onHidden(Node node, Runnable onHidden) {
+        withWindow(node, window -> window.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> onHidden.run()));
+    }
+
+    private static void withWindow(Node node, Consumer<Window> action) {
+        if (node.getScene() != null) {
+            attachToScene(node.getScene(), action);
+        } else {
+            node.sceneProperty().addListener((obs, oldScene, scene) -> {
+                if (scene != null) {
+                    attachToScene(scene, action);
+                }
+            });
+        }
+    }
+
+    private static void attachToScene(Scene scene, Consumer<Window> action) {
+        if (scene.getWindow() != null) {
+            action.accept(scene.getWindow());
+        } else {
+            scene.windowProperty().addListener((obs, oldWindow, window) -> {
+                if (window != null) {
+                    action.accept(window);
+                }
+            });
+        }
+    }
+}
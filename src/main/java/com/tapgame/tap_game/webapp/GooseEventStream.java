@@ -0,0 +1,514 @@
+package com.tapgame.tap_game.webapp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.tapgame.tap_game.engine.CommandPipeline;
+import com.tapgame.tap_game.engine.CommandType;
+import com.tapgame.tap_game.engine.GooseSnapshot;
+import com.tapgame.tap_game.engine.GooseStateBoard;
+import com.tapgame.tap_game.metrics.GameMetrics;
+import com.tapgame.tap_game.metrics.MetricsRegistry;
+import com.tapgame.tap_game.models.LargeNumber;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Поток изменений состояния игроков Mini App (Server-Sent Events).
+ *
+ * <p>Клиент открывает {@code GET /api/stream} и получает события:
+ * <ul>
+ *   <li>{@code event: state} - первое событие, все поля: {@code coins},
+ *       {@code coinsPerClick}, {@code coinsPerSecond}, {@code clickPowerUpgradeCost},
+ *       {@code autoClickerUpgradeCost}, {@code clickPowerLevel}, {@code autoClickerLevel},
+ *       {@code rank}</li>
+ *   <li>{@code event: delta} - только изменившиеся с прошлого события поля</li>
+ * </ul>
+ * Пассивный доход на сервере не начисляется тиками, поэтому между событиями клиент
+ * сам прибавляет {@code coinsPerSecond}, а событие приходит только при настоящем изменении.
+ *
+ * <p><strong>Дешевые простаивающие соединения:</strong>
+ * <ul>
+ *   <li>Обработчик запроса отправляет заголовки и возвращается, не закрывая ответ:
+ *       соединение не держит ни поток HTTP-сервера, ни свой поток</li>
+ *   <li>Все соединения обслуживает один поток рассылки. Раз в {@value #TICK_MILLIS} мс он
+ *       читает снимок игрока с {@link GooseStateBoard} и ставит событие в очередь
+ *       соединения, только если снимок или место изменились</li>
+ *   <li>Изменения объединяются: событие уходит не чаще {@code rate} раз в секунду,
+ *       сколько бы команд игрок ни выполнил между ними</li>
+ *   <li>Молчащему соединению раз в {@value #HEARTBEAT_MILLIS} мс уходит комментарий;
+ *       ошибка записи закрывает соединение</li>
+ * </ul>
+ *
+ * <p><strong>Клиенты, которые не читают:</strong> HTTP-сервер JDK пишет в сокет только
+ * блокирующе, поэтому поток рассылки сам в сокеты не пишет. У каждого соединения своя
+ * очередь не больше {@value #MAX_PENDING_BYTES} байт, ее отправляют
+ * {@value #WRITER_THREADS} потока записи. Соединение закрывается, если очередь
+ * переполнена или одна запись идет дольше {@value #WRITE_TIMEOUT_MILLIS} мс: поток
+ * рассылки прерывает поток записи, а прерывание закрывает канал сокета. Так клиент,
+ * заполнивший буфер сокета, занимает поток записи не дольше этого времени и не
+ * задерживает события остальных. Соединение живет не дольше
+ * {@value #MAX_CONNECTION_MILLIS} мс: браузерный {@code EventSource} переподключается сам.
+ *
+ * @version 1.0
+ * @since 1.0
+ * @see MiniAppServer
+ */
+final class GooseEventStream implements AutoCloseable {
+
+    /** Период потока рассылки; он же наименьший интервал между событиями */
+    static final long TICK_MILLIS = 50;
+
+    /** Частота событий по умолчанию (в секунду) */
+    static final int DEFAULT_RATE = 4;
+
+    /** Наибольшая частота событий (в секунду) */
+    static final int MAX_RATE = (int) (1000 / TICK_MILLIS);
+
+    /** Период пересчета рейтинга */
+    static final long RANK_REFRESH_MILLIS = 1000;
+
+    /** Интервал комментариев, поддерживающих молчащее соединение */
+    static final long HEARTBEAT_MILLIS = 15_000;
+
+    /** Наибольшее время жизни соединения */
+    static final long MAX_CONNECTION_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /** Наибольший объем событий, ждущих отправки в одно соединение */
+    static final int MAX_PENDING_BYTES = 4096;
+
+    /** Наибольшее время одной записи в сокет; дольше пишется только клиенту, который не читает */
+    static final long WRITE_TIMEOUT_MILLIS = 1000;
+
+    /** Потоков записи в сокеты */
+    static final int WRITER_THREADS = 4;
+
+    /** Задержка переподключения {@code EventSource} */
+    private static final int RETRY_MILLIS = 3000;
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    /** Открытые соединения всех потоков рассылки */
+    private static final AtomicInteger OPEN_CONNECTIONS = new AtomicInteger();
+
+    /** Буфер потока записи, в который переносится очередь соединения */
+    private static final ThreadLocal<byte[]> WRITE_BUFFER = ThreadLocal.withInitial(() -> new byte[MAX_PENDING_BYTES]);
+
+    static {
+        MetricsRegistry.getDefault().gauge("webapp.stream.connections", OPEN_CONNECTIONS::get);
+    }
+
+    /**
+     * Открытое соединение. Поля состояния событий использует только поток рассылки,
+     * очередь записи защищена монитором соединения.
+     */
+    private static final class Connection {
+
+        final HttpExchange exchange;
+        final OutputStream out;
+        final long playerId;
+        final long intervalNanos;
+        final long openedNanos;
+
+        long nextEventNanos;
+        long lastWriteNanos;
+        long version = -1;
+        boolean started;
+
+        final LargeNumber coins = new LargeNumber();
+        final LargeNumber coinsPerClick = new LargeNumber();
+        final LargeNumber coinsPerSecond = new LargeNumber();
+        final LargeNumber clickPowerUpgradeCost = new LargeNumber();
+        final LargeNumber autoClickerUpgradeCost = new LargeNumber();
+        int clickPowerLevel;
+        int autoClickerLevel;
+        int rank;
+
+        // Очередь записи (под монитором соединения)
+        final byte[] pending = new byte[MAX_PENDING_BYTES];
+        int pendingLength;
+        boolean scheduled;
+        boolean closeRequested;
+        /** Поток, который сейчас пишет в сокет, или {@code null} */
+        Thread writer;
+        long writeStartedNanos;
+
+        /** Ответ закрыт, соединение можно убрать из рассылки */
+        volatile boolean closed;
+
+        Connection(HttpExchange exchange, long playerId, int rate) {
+            this.exchange = exchange;
+            this.out = exchange.getResponseBody();
+            this.playerId = playerId;
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+            this.openedNanos = System.nanoTime();
+            this.lastWriteNanos = openedNanos;
+        }
+    }
+
+    private final GooseStateBoard board;
+    private final CommandPipeline pipeline;
+    private final Thread thread;
+    private final ExecutorService writers;
+
+    /** Новые соединения от потоков HTTP-сервера */
+    private final Queue<Connection> opened = new ConcurrentLinkedQueue<>();
+
+    /** Соединения потока рассылки */
+    private final List<Connection> connections = new ArrayList<>();
+    private volatile int connectionCount;
+    private volatile boolean running = true;
+
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final GooseSnapshot snapshot = new GooseSnapshot();
+    private final StringBuilder event = new StringBuilder(256);
+
+    /**
+     * @param pipeline конвейер команд, состояния игроков берутся с его {@link GooseStateBoard}
+     */
+    GooseEventStream(CommandPipeline pipeline) {
+        this.pipeline = pipeline;
+        this.board = pipeline.getStateBoard();
+        this.thread = new Thread(this::run, "mini-app-events");
+        thread.setDaemon(true);
+        AtomicInteger writerNumber = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(WRITER_THREADS, task -> {
+            Thread writer = new Thread(task, "mini-app-writer-" + writerNumber.incrementAndGet());
+            writer.setDaemon(true);
+            return writer;
+        });
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Открытие потока для проверенного игрока. Вызывается потоком HTTP-сервера;
+     * ответ остается открытым и переходит к потоку рассылки.
+     *
+     * @param exchange запрос {@code GET /api/stream}
+     * @param playerId ID игрока
+     * @param rate наибольшая частота событий в секунду
+     * @return {@code false}, если рассылка остановлена и ответ не отправлен
+     * @throws IOException при ошибке отправки заголовков
+     */
+    boolean open(HttpExchange exchange, long playerId, int rate) throws IOException {
+        if (!running) {
+            return false;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        // Обратные прокси не должны копить события в своем буфере
+        exchange.getResponseHeaders().set("X-Accel-Buffering", "no");
+        exchange.sendResponseHeaders(200, 0);
+        opened.add(new Connection(exchange, playerId, rate));
+        LockSupport.unpark(thread);
+        return true;
+    }
+
+    /**
+     * @return количество открытых соединений
+     */
+    int getConnectionCount() {
+        return connectionCount;
+    }
+
+    private void run() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+        long rankRefreshNanos = TimeUnit.MILLISECONDS.toNanos(RANK_REFRESH_MILLIS);
+        long nextRankRefresh = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            accept();
+            if (now - nextRankRefresh >= 0) {
+                leaderboard.refresh(board);
+                nextRankRefresh = now + rankRefreshNanos;
+            }
+            for (int i = connections.size() - 1; i >= 0; i--) {
+                Connection connection = connections.get(i);
+                if (connection.closed) {
+                    // Порядок соединений не важен: последнее занимает место закрытого
+                    Connection last = connections.remove(connections.size() - 1);
+                    if (last != connection) {
+                        connections.set(i, last);
+                    }
+                    release(connection);
+                } else if (!push(connection, now)) {
+                    requestClose(connection);
+                }
+            }
+            connectionCount = connections.size();
+            LockSupport.parkNanos(tickNanos);
+        }
+        accept();
+        connections.forEach(this::requestClose);
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+        }
+        connections.forEach(this::release);
+        connections.clear();
+        connectionCount = 0;
+    }
+
+    private void accept() {
+        Connection connection;
+        while ((connection = opened.poll()) != null) {
+            board.watch(connection.playerId);
+            connections.add(connection);
+            OPEN_CONNECTIONS.incrementAndGet();
+            GameMetrics.WEBAPP_STREAM_OPENED.increment();
+            try {
+                pipeline.submit(CommandType.SYNC, connection.playerId);
+            } catch (IllegalStateException e) {
+                // Конвейер остановлен: соединение закроется при остановке сервера
+            }
+        }
+    }
+
+    /**
+     * @return {@code false}, если соединение пора закрыть
+     */
+    private boolean push(Connection connection, long now) {
+        if (isStalled(connection, now)) {
+            GameMetrics.WEBAPP_STREAM_DROPPED.increment();
+            return false;
+        }
+        if (now - connection.openedNanos >= TimeUnit.MILLISECONDS.toNanos(MAX_CONNECTION_MILLIS)) {
+            return false;
+        }
+        if (now - connection.nextEventNanos >= 0 && board.read(connection.playerId, snapshot)) {
+            int rank = leaderboard.rankOf(snapshot.getCoins().log10());
+            if (snapshot.getVersion() != connection.version || rank != connection.rank) {
+                connection.version = snapshot.getVersion();
+                connection.nextEventNanos = now + connection.intervalNanos;
+                return enqueue(connection, formatEvent(connection, rank), now);
+            }
+        }
+        if (now - connection.lastWriteNanos >= TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_MILLIS)) {
+            return enqueue(connection, HEARTBEAT, now);
+        }
+        return true;
+    }
+
+    /**
+     * Постановка события в очередь записи соединения.
+     *
+     * @return {@code false}, если очередь переполнена или соединение уже закрывается
+     */
+    private boolean enqueue(Connection connection, byte[] bytes, long now) {
+        synchronized (connection) {
+            if (connection.closeRequested) {
+                return false;
+            }
+            if (connection.pendingLength + bytes.length > MAX_PENDING_BYTES) {
+                GameMetrics.WEBAPP_STREAM_DROPPED.increment();
+                return false;
+            }
+            System.arraycopy(bytes, 0, connection.pending, connection.pendingLength, bytes.length);
+            connection.pendingLength += bytes.length;
+            schedule(connection);
+        }
+        connection.lastWriteNanos = now;
+        return true;
+    }
+
+    /**
+     * Проверка зависшей записи. Зависший поток записи прерывается: прерывание закрывает
+     * канал сокета, и запись завершается ошибкой.
+     *
+     * @return {@code true}, если запись идет дольше {@value #WRITE_TIMEOUT_MILLIS} мс
+     */
+    private static boolean isStalled(Connection connection, long now) {
+        synchronized (connection) {
+            if (connection.writer == null
+                    || now - connection.writeStartedNanos < TimeUnit.MILLISECONDS.toNanos(WRITE_TIMEOUT_MILLIS)) {
+                return false;
+            }
+            connection.writer.interrupt();
+            return true;
+        }
+    }
+
+    /**
+     * Закрытие соединения потоком записи после уже поставленной в очередь записи.
+     */
+    private void requestClose(Connection connection) {
+        synchronized (connection) {
+            if (!connection.closeRequested) {
+                connection.closeRequested = true;
+                schedule(connection);
+            }
+        }
+    }
+
+    /**
+     * Передача соединения потоку записи, если оно еще не передано. Вызывается под
+     * монитором соединения.
+     */
+    private void schedule(Connection connection) {
+        if (connection.scheduled) {
+            return;
+        }
+        connection.scheduled = true;
+        try {
+            writers.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // Рассылка остановлена, потоки записи закрыли все, что успели
+            connection.closed = true;
+        }
+    }
+
+    /**
+     * Отправка очереди соединения потоком записи, пока она не опустеет; затем, если
+     * запрошено, закрытие ответа. Ошибка записи закрывает соединение.
+     */
+    private static void drain(Connection connection) {
+        byte[] chunk = WRITE_BUFFER.get();
+        while (true) {
+            int length;
+            boolean close;
+            synchronized (connection) {
+                length = connection.pendingLength;
+                close = connection.closeRequested;
+                if (length == 0 && !close) {
+                    connection.scheduled = false;
+                    return;
+                }
+                System.arraycopy(connection.pending, 0, chunk, 0, length);
+                connection.pendingLength = 0;
+                connection.writer = Thread.currentThread();
+                connection.writeStartedNanos = System.nanoTime();
+            }
+            boolean failed = false;
+            try {
+                if (close) {
+                    connection.exchange.close();
+                } else {
+                    connection.out.write(chunk, 0, length);
+                    connection.out.flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+            } finally {
+                synchronized (connection) {
+                    connection.writer = null;
+                    if (failed) {
+                        connection.closeRequested = true;
+                    }
+                }
+                // Прерывание от проверки зависшей записи могло прийти, когда запись уже
+                // закончилась; следующему соединению оно не должно достаться
+                Thread.interrupted();
+            }
+            if (close) {
+                connection.closed = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Событие с полями, изменившимися с прошлого события соединения (первое - со всеми).
+     */
+    private byte[] formatEvent(Connection connection, int rank) {
+        boolean full = !connection.started;
+        event.setLength(0);
+        if (full) {
+            event.append("retry: ").append(RETRY_MILLIS).append('\n');
+        }
+        event.append(full ? "event: state\ndata: {" : "event: delta\ndata: {");
+        appendIfChanged("coins", snapshot.getCoins(), connection.coins, full);
+        appendIfChanged("coinsPerClick", snapshot.getCoinsPerClick(), connection.coinsPerClick, full);
+        appendIfChanged("coinsPerSecond", snapshot.getCoinsPerSecond(), connection.coinsPerSecond, full);
+        appendIfChanged("clickPowerUpgradeCost", snapshot.getClickPowerUpgradeCost(),
+                connection.clickPowerUpgradeCost, full);
+        appendIfChanged("autoClickerUpgradeCost", snapshot.getAutoClickerUpgradeCost(),
+                connection.autoClickerUpgradeCost, full);
+        if (full || snapshot.getClickPowerLevel() != connection.clickPowerLevel) {
+            appendName("clickPowerLevel").append(snapshot.getClickPowerLevel());
+            connection.clickPowerLevel = snapshot.getClickPowerLevel();
+        }
+        if (full || snapshot.getAutoClickerLevel() != connection.autoClickerLevel) {
+            appendName("autoClickerLevel").append(snapshot.getAutoClickerLevel());
+            connection.autoClickerLevel = snapshot.getAutoClickerLevel();
+        }
+        if (full || rank != connection.rank) {
+            appendName("rank").append(rank);
+            connection.rank = rank;
+        }
+        event.append("}\n\n");
+        connection.started = true;
+        GameMetrics.WEBAPP_STREAM_EVENTS.increment();
+        return event.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendIfChanged(String name, LargeNumber value, LargeNumber sent, boolean full) {
+        if (full || !value.equals(sent)) {
+            appendNumber(appendName(name), value);
+            sent.set(value);
+        }
+    }
+
+    private StringBuilder appendName(String name) {
+        if (event.charAt(event.length() - 1) != '{') {
+            event.append(',');
+        }
+        return event.append('"').append(name).append("\":");
+    }
+
+    /**
+     * Точные значения - целым числом, большие - числом {@code double}, а за пределами
+     * {@code double} - строкой с сокращенной записью.
+     */
+    private static void appendNumber(StringBuilder json, LargeNumber value) {
+        if (value.isExact()) {
+            json.append(value.longValue());
+            return;
+        }
+        double approximate = value.doubleValue();
+        if (Double.isFinite(approximate)) {
+            json.append(approximate);
+        } else {
+            value.appendAbbreviated(json.append('"')).append('"');
+        }
+    }
+
+    /**
+     * Снятие учета закрытого соединения потоком рассылки.
+     */
+    private void release(Connection connection) {
+        OPEN_CONNECTIONS.decrementAndGet();
+        board.unwatch(connection.playerId);
+    }
+
+    /**
+     * Остановка рассылки и закрытие всех соединений; зависшие записи прерываются через
+     * {@value #WRITE_TIMEOUT_MILLIS} мс.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(1) + WRITE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.tapgame.tap_game.webapp;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tapgame.tap_game.metrics.GameMetrics;
+import com.tapgame.tap_game.models.TelegramUser;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Проверка {@code initData} Telegram Mini App.
+ *
+ * <p>Алгоритм Telegram: строка проверки - все поля, кроме {@code hash}, отсортированные
+ * по имени и записанные как {@code имя=значение} через перевод строки; подпись -
+ * {@code HMAC-SHA256(секретный ключ, строка проверки)}, где секретный ключ -
+ * {@code HMAC-SHA256("WebAppData", токен бота)}.
+ *
+ * <p><strong>Производительность:</strong>
+ * <ul>
+ *   <li>Секретный ключ вычисляется один раз в конструкторе; у каждого потока свой
+ *       {@link Mac}, уже инициализированный этим ключом</li>
+ *   <li>Проверенные сессии запоминаются по значению {@code hash} до истечения
+ *       {@code auth_date}. Повторный запрос той же сессии - это поиск поля
+ *       {@code hash} в строке и одно обращение к хеш-таблице, без разбора и HMAC</li>
+ * </ul>
+ *
+ * <p>Попадание в кеш доверяет только ранее проверенным данным: из запроса берется
+ * лишь {@code hash}, а пользователь и время - из сохраненной сессии. Подделать
+ * остальные поля, сохранив {@code hash}, поэтому бесполезно.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * InitDataVerifier verifier = new InitDataVerifier(botToken, InitDataVerifier.DEFAULT_MAX_AGE_SECONDS);
+ * WebAppSession session = verifier.verify(initData, System.currentTimeMillis());
+ * if (session == null) {
+ *     // 401
+ * }
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see WebAppSession
+ */
+public class InitDataVerifier {
+
+    /** Допустимый возраст {@code initData} по умолчанию: сутки */
+    public static final long DEFAULT_MAX_AGE_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    /** Допустимое опережение {@code auth_date} (расхождение часов) */
+    private static final long CLOCK_SKEW_SECONDS = 60;
+
+    /** Наибольшее количество запомненных сессий */
+    private static final int MAX_SESSIONS = 100_000;
+
+    private static final String HMAC = "HmacSHA256";
+    private static final String HASH_FIELD = "hash";
+
+    private final SecretKeySpec secretKey;
+    private final ThreadLocal<Mac> mac;
+    private final long maxAgeSeconds;
+    private final ObjectReader userReader = new ObjectMapper()
+            .readerFor(TelegramUser.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private final Map<String, WebAppSession> sessions = new ConcurrentHashMap<>();
+
+    /** Выполненные проверки подписи (для тестов и диагностики) */
+    private final AtomicLong signatureChecks = new AtomicLong();
+
+    /**
+     * @param botToken токен бота
+     * @param maxAgeSeconds допустимый возраст {@code initData}
+     * @throws IllegalArgumentException если токен пуст
+     */
+    public InitDataVerifier(String botToken, long maxAgeSeconds) {
+        if (botToken == null || botToken.isEmpty()) {
+            throw new IllegalArgumentException("Токен бота не задан");
+        }
+        this.secretKey = new SecretKeySpec(hmac(new SecretKeySpec("WebAppData".getBytes(StandardCharsets.UTF_8), HMAC),
+                botToken.getBytes(StandardCharsets.UTF_8)), HMAC);
+        this.mac = ThreadLocal.withInitial(() -> newMac(secretKey));
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    /**
+     * Проверка {@code initData}.
+     *
+     * @param initData строка {@code Telegram.WebApp.initData} (формат query string)
+     * @param nowMillis текущее время
+     * @return сессия или {@code null}, если подпись неверна, данные устарели или неполны
+     */
+    public WebAppSession verify(String initData, long nowMillis) {
+        if (initData == null || initData.isEmpty()) {
+            return reject();
+        }
+        String hash = field(initData, HASH_FIELD);
+        if (hash == null) {
+            return reject();
+        }
+        WebAppSession cached = sessions.get(hash);
+        if (cached != null) {
+            if (cached.isValidAt(nowMillis)) {
+                GameMetrics.WEBAPP_AUTH_CACHE_HITS.increment();
+                return cached;
+            }
+            sessions.remove(hash, cached);
+            return reject();
+        }
+
+        WebAppSession session = verifySignature(initData, hash, nowMillis);
+        if (session == null) {
+            return reject();
+        }
+        GameMetrics.WEBAPP_AUTH_VERIFIED.increment();
+        remember(hash, session, nowMillis);
+        return session;
+    }
+
+    /**
+     * @return количество вычисленных подписей с момента создания
+     */
+    public long getSignatureChecks() {
+        return signatureChecks.get();
+    }
+
+    /**
+     * @return количество запомненных сессий
+     */
+    public int getCachedSessions() {
+        return sessions.size();
+    }
+
+    private WebAppSession verifySignature(String initData, String hash, long nowMillis) {
+        Map<String, String> fields = new TreeMap<>();
+        for (String pair : initData.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq <= 0) {
+                return null;
+            }
+            String name = decode(pair.substring(0, eq));
+            if (name == null || fields.put(name, decode(pair.substring(eq + 1))) != null) {
+                return null; // повторяющееся поле
+            }
+        }
+        fields.remove(HASH_FIELD);
+        if (fields.containsValue(null)) {
+            return null;
+        }
+
+        StringBuilder checkString = new StringBuilder(initData.length());
+        fields.forEach((name, value) -> {
+            if (checkString.length() > 0) {
+                checkString.append('\n');
+            }
+            checkString.append(name).append('=').append(value);
+        });
+        byte[] expected;
+        byte[] actual;
+        try {
+            actual = HexFormat.of().parseHex(hash);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        signatureChecks.incrementAndGet();
+        expected = mac.get().doFinal(checkString.toString().getBytes(StandardCharsets.UTF_8));
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+
+        long authDate;
+        try {
+            authDate = Long.parseLong(fields.getOrDefault("auth_date", ""));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(nowMillis);
+        if (authDate > nowSeconds + CLOCK_SKEW_SECONDS || nowSeconds - authDate > maxAgeSeconds) {
+            return null;
+        }
+
+        String userJson = fields.get("user");
+        if (userJson == null) {
+            return null;
+        }
+        TelegramUser user;
+        try {
+            user = userReader.readValue(userJson);
+        } catch (IOException e) {
+            return null;
+        }
+        if (user.getId() == null) {
+            return null;
+        }
+        return new WebAppSession(user, authDate, TimeUnit.SECONDS.toMillis(authDate + maxAgeSeconds));
+    }
+
+    /**
+     * Запоминание сессии. Если кеш заполнен, сначала удаляются истекшие; если
+     * места все равно нет, сессия просто не запоминается.
+     */
+    private void remember(String hash, WebAppSession session, long nowMillis) {
+        if (sessions.size() >= MAX_SESSIONS) {
+            sessions.values().removeIf(existing -> !existing.isValidAt(nowMillis));
+            if (sessions.size() >= MAX_SESSIONS) {
+                return;
+            }
+        }
+        sessions.put(hash, session);
+    }
+
+    private static WebAppSession reject() {
+        GameMetrics.WEBAPP_AUTH_REJECTED.increment();
+        return null;
+    }
+
+    /**
+     * Значение поля без разбора всей строки (значение {@code hash} не кодируется).
+     */
+    private static String field(String query, String name) {
+        int from = 0;
+        while (from < query.length()) {
+            int end = query.indexOf('&', from);
+            if (end < 0) {
+                end = query.length();
+            }
+            if (end - from > name.length() && query.charAt(from + name.length()) == '='
+                    && query.startsWith(name, from)) {
+                return query.substring(from + name.length() + 1, end);
+            }
+            from = end + 1;
+        }
+        return null;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 недоступен: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        return newMac(key).doFinal(data);
+    }
+}
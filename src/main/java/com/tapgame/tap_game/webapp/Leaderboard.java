@@ -0,0 +1,74 @@
+package com.tapgame.tap_game.webapp;
+
+import com.tapgame.tap_game.engine.GooseStateBoard;
+
+import java.util.Arrays;
+
+/**
+ * Рейтинг игроков по монетам для потока изменений.
+ *
+ * <p>Раз в {@link GooseEventStream#RANK_REFRESH_MILLIS} очки всех игроков
+ * {@link GooseStateBoard} копируются в массив и сортируются; место игрока - это
+ * единица плюс количество очков строго больше его собственных, то есть двоичный
+ * поиск без обхода. Игроки с равными очками делят место.
+ *
+ * <p>Не потокобезопасен: принадлежит потоку рассылки.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+final class Leaderboard {
+
+    private double[] scores = new double[0];
+    private double[] buffer = new double[64];
+    private int size;
+    private int filling;
+
+    /**
+     * Пересчет рейтинга по текущим очкам. Два массива чередуются, поэтому в
+     * установившемся режиме пересчет не выделяет памяти.
+     *
+     * @param board доска состояний игроков
+     */
+    void refresh(GooseStateBoard board) {
+        filling = 0;
+        board.forEachScore(this::add);
+        Arrays.sort(buffer, 0, filling);
+        double[] previous = scores;
+        scores = buffer;
+        size = filling;
+        buffer = previous;
+    }
+
+    private void add(double score) {
+        if (filling == buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(64, filling * 2));
+        }
+        buffer[filling++] = score;
+    }
+
+    /**
+     * @param score очки игрока
+     * @return место в рейтинге, начиная с 1
+     */
+    int rankOf(double score) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (scores[middle] <= score) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return size - low + 1;
+    }
+
+    /**
+     * @return количество игроков в рейтинге
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,319 @@
+package com.tapgame.tap_game.webapp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tapgame.tap_game.engine.CommandPipeline;
+import com.tapgame.tap_game.engine.CommandType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP API мини-игры "Гусь" для Telegram Mini App.
+ *
+ * <p>Каждый запрос несет {@code Telegram.WebApp.initData} в заголовке
+ * {@code Authorization: tma <initData>}. После проверки ({@link InitDataVerifier})
+ * команда публикуется в {@link CommandPipeline} от имени пользователя сессии и
+ * применяется к его {@link com.tapgame.tap_game.models.GooseGameState} потоком шарда.
+ * Ответ не ждет применения: клиент получает номер команды, а новое состояние -
+ * из потока изменений.
+ *
+ * <p><strong>Методы</strong> (все {@code POST}, ответ {@code 202} с
+ * {@code {"accepted":N,"sequence":S}}):
+ * <ul>
+ *   <li>{@code /api/tap?count=N} - N кликов по гусю одной командой (клиент копит клики
+ *       между запросами; не больше {@value #MAX_TAPS_PER_REQUEST})</li>
+ *   <li>{@code /api/upgrade/click-power} - улучшение силы клика</li>
+ *   <li>{@code /api/upgrade/auto-clicker} - улучшение автокликера</li>
+ * </ul>
+ * Ошибки: {@code 401} - неверная или устаревшая {@code initData}, {@code 400} - неверные
+ * параметры, {@code 404}/{@code 405} - неизвестный путь или метод, {@code 503} - конвейер
+ * остановлен.
+ *
+ * <p><strong>Поток изменений:</strong> {@code GET /api/stream?rate=N} - Server-Sent Events
+ * с состоянием игрока и его изменениями не чаще N раз в секунду (по умолчанию
+ * {@value GooseEventStream#DEFAULT_RATE}, не больше {@value GooseEventStream#MAX_RATE}), см.
+ * {@link GooseEventStream}. Браузерный {@code EventSource} не умеет задавать заголовки, поэтому
+ * здесь {@code initData} можно передать и параметром {@code initData}.
+ *
+ * <p><strong>Задержка ответа:</strong> ответ уходит двумя записями (заголовки и тело);
+ * без {@code TCP_NODELAY} вторая ждет подтверждения первой, что на каждом клике дает
+ * десятки миллисекунд. Встроенный HTTP-сервер JDK читает флаг
+ * {@code -Dsun.net.httpserver.nodelay=true} один раз, при создании первого сервера в JVM,
+ * поэтому его задают при запуске ({@link com.tapgame.tap_game.TapGameApplication#main(String[])}
+ * делает это сам), а не здесь.
+ *
+ * <p><strong>Пример использования:</strong>
+ * <pre>{@code
+ * MiniAppServer server = new MiniAppServer(new InetSocketAddress(8080), verifier, pipeline, 8);
+ * server.start();
+ * }</pre>
+ *
+ * @author Алабуга
+ * @version 1.0
+ * @since 1.0
+ * @see InitDataVerifier
+ */
+public class MiniAppServer implements AutoCloseable {
+
+    /** Наибольшее количество кликов в одном запросе */
+    public static final int MAX_TAPS_PER_REQUEST = 100;
+
+    private static final String AUTH_SCHEME = "tma ";
+    private static final String API = "/api/";
+    private static final String STREAM = "/api/stream";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final InitDataVerifier verifier;
+    private final CommandPipeline pipeline;
+    private final GooseEventStream stream;
+
+    /**
+     * @param address адрес и порт (порт 0 - любой свободный)
+     * @param verifier проверка {@code initData}
+     * @param pipeline конвейер команд игроков
+     * @param threads потоков обработки запросов
+     * @throws IOException если порт не удалось открыть
+     */
+    public MiniAppServer(InetSocketAddress address, InitDataVerifier verifier, CommandPipeline pipeline, int threads)
+            throws IOException {
+        this.verifier = verifier;
+        this.pipeline = pipeline;
+        this.stream = new GooseEventStream(pipeline);
+        this.server = HttpServer.create(address, 1024);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "mini-app-http-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(API, this::handle);
+    }
+
+    /**
+     * Запуск приема запросов.
+     */
+    public void start() {
+        stream.start();
+        server.start();
+        System.out.println("🌐 [MiniApp] API запущен на порту " + getPort());
+    }
+
+    /**
+     * @return фактический порт сервера
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return количество открытых потоков изменений
+     */
+    public int getStreamCount() {
+        return stream.getConnectionCount();
+    }
+
+    /**
+     * Проверка заголовка {@code Authorization} запроса.
+     *
+     * @param exchange запрос
+     * @return сессия или {@code null}, если ответ {@code 401} уже отправлен
+     * @throws IOException при ошибке отправки ответа
+     */
+    WebAppSession authenticate(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        String initData = null;
+        if (authorization != null && authorization.regionMatches(true, 0, AUTH_SCHEME, 0, AUTH_SCHEME.length())) {
+            initData = authorization.substring(AUTH_SCHEME.length());
+        }
+        return authenticate(exchange, initData);
+    }
+
+    /**
+     * Проверка {@code initData}, полученной любым способом.
+     *
+     * @param exchange запрос
+     * @param initData строка {@code initData} или {@code null}
+     * @return сессия или {@code null}, если ответ {@code 401} уже отправлен
+     * @throws IOException при ошибке отправки ответа
+     */
+    WebAppSession authenticate(HttpExchange exchange, String initData) throws IOException {
+        WebAppSession session = initData != null ? verifier.verify(initData, System.currentTimeMillis()) : null;
+        if (session == null) {
+            respond(exchange, 401, "{\"error\":\"unauthorized\"}");
+        }
+        return session;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (STREAM.equals(exchange.getRequestURI().getPath()) && "GET".equals(exchange.getRequestMethod())) {
+            handleStream(exchange);
+            return;
+        }
+        try (exchange) {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            if ("OPTIONS".equals(exchange.getRequestMethod())) {
+                // Предварительный запрос браузера: initData приходит в нестандартном заголовке
+                exchange.getResponseHeaders().set("Access-Control-Allow-Methods", "GET, POST");
+                exchange.getResponseHeaders().set("Access-Control-Allow-Headers", "Authorization");
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+            CommandType type = commandFor(exchange.getRequestURI().getPath());
+            if (type == null) {
+                respond(exchange, 404, "{\"error\":\"not found\"}");
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":\"method not allowed\"}");
+                return;
+            }
+            WebAppSession session = authenticate(exchange);
+            if (session == null) {
+                return;
+            }
+            int count = 1;
+            if (type == CommandType.TAP) {
+                count = parseCount(exchange.getRequestURI().getRawQuery());
+                if (count <= 0) {
+                    respond(exchange, 400, "{\"error\":\"count must be 1.." + MAX_TAPS_PER_REQUEST + "\"}");
+                    return;
+                }
+            }
+            long sequence;
+            try {
+                // Клики запроса - одна команда: они применяются целиком или не применяются
+                sequence = type == CommandType.TAP
+                        ? pipeline.submitTaps(session.getUserId(), count)
+                        : pipeline.submit(type, session.getUserId());
+            } catch (IllegalStateException e) {
+                respond(exchange, 503, "{\"error\":\"unavailable\"}");
+                return;
+            }
+            respond(exchange, 202, "{\"accepted\":" + count + ",\"sequence\":" + sequence + "}");
+        } catch (RuntimeException e) {
+            System.err.println("❌ [MiniApp] Ошибка обработки " + exchange.getRequestURI() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Открытие потока изменений. При успехе ответ не закрывается: его дальше ведет
+     * {@link GooseEventStream}, а поток сервера сразу освобождается.
+     */
+    private void handleStream(HttpExchange exchange) throws IOException {
+        boolean opened = false;
+        try {
+            exchange.getResponseHeaders().set("Access-Control-Allow-Origin", "*");
+            String query = exchange.getRequestURI().getRawQuery();
+            String initData = queryParameter(query, "initData");
+            WebAppSession session = exchange.getRequestHeaders().containsKey("Authorization") || initData == null
+                    ? authenticate(exchange)
+                    : authenticate(exchange, decode(initData));
+            if (session == null) {
+                return;
+            }
+            int rate = parseInt(queryParameter(query, "rate"), GooseEventStream.DEFAULT_RATE);
+            if (rate < 1 || rate > GooseEventStream.MAX_RATE) {
+                respond(exchange, 400, "{\"error\":\"rate must be 1.." + GooseEventStream.MAX_RATE + "\"}");
+                return;
+            }
+            opened = stream.open(exchange, session.getUserId(), rate);
+            if (!opened) {
+                respond(exchange, 503, "{\"error\":\"unavailable\"}");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("❌ [MiniApp] Ошибка открытия потока " + exchange.getRequestURI() + ": " + e.getMessage());
+        } finally {
+            if (!opened) {
+                exchange.close();
+            }
+        }
+    }
+
+    private static CommandType commandFor(String path) {
+        return switch (path) {
+            case "/api/tap" -> CommandType.TAP;
+            case "/api/upgrade/click-power" -> CommandType.UPGRADE_CLICK_POWER;
+            case "/api/upgrade/auto-clicker" -> CommandType.UPGRADE_AUTO_CLICKER;
+            default -> null;
+        };
+    }
+
+    /**
+     * @return количество кликов или {@code -1}, если параметр неверен
+     */
+    private static int parseCount(String query) {
+        int count = parseInt(queryParameter(query, "count"), 1);
+        return count >= 1 && count <= MAX_TAPS_PER_REQUEST ? count : -1;
+    }
+
+    /**
+     * @return значение или {@code -1}, если оно не число
+     */
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return необработанное значение параметра или {@code null}
+     */
+    private static String queryParameter(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.length() > name.length() && pair.charAt(name.length()) == '=' && pair.startsWith(name)) {
+                return pair.substring(name.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Остановка: новые соединения не принимаются, текущие запросы получают до секунды.
+     */
+    @Override
+    public void close() {
+        stream.close();
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.tapgame.tap_game.webapp;
+
+import com.tapgame.tap_game.models.TelegramUser;
+
+/**
+ * Проверенная сессия Telegram Mini App.
+ *
+ * <p>Создается {@link InitDataVerifier} после проверки подписи {@code initData} и
+ * действует до {@link #getExpiresAtMillis()} ({@code auth_date} плюс допустимый возраст).
+ * Неизменяема.
+ *
+ * @version 1.0
+ * @since 1.0
+ */
+public final class WebAppSession {
+
+    private final TelegramUser user;
+    private final long authDateSeconds;
+    private final long expiresAtMillis;
+
+    /**
+     * @param user пользователь из поля {@code user}
+     * @param authDateSeconds время авторизации (Unix, секунды)
+     * @param expiresAtMillis время окончания действия (Unix, миллисекунды)
+     */
+    public WebAppSession(TelegramUser user, long authDateSeconds, long expiresAtMillis) {
+        this.user = user;
+        this.authDateSeconds = authDateSeconds;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * @return ID пользователя Telegram (он же ID игрока)
+     */
+    public long getUserId() {
+        return user.getId();
+    }
+
+    /**
+     * @return пользователь Telegram
+     */
+    public TelegramUser getUser() {
+        return user;
+    }
+
+    /**
+     * @return время авторизации (Unix, секунды)
+     */
+    public long getAuthDateSeconds() {
+        return authDateSeconds;
+    }
+
+    /**
+     * @return время окончания действия (Unix, миллисекунды)
+     */
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    /**
+     * @param nowMillis текущее время
+     * @return {@code true}, если сессия еще действует
+     */
+    public boolean isValidAt(long nowMillis) {
+        return nowMillis < expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "WebAppSession{userId=" + user.getId() + ", authDate=" + authDateSeconds + '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.tapgame.tap_game;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Измерение памяти, выделяемой текущим потоком, для тестов горячих путей.
+ *
+ * <p>Использует счетчик выделенных байтов потока из
+ * {@link com.sun.management.ThreadMXBean}: он точен до байта и не требует
+ * агента или профилировщика. Операция сначала прогревается (загрузка классов,
+ * рост буферов), затем выполняется {@code operations} раз подряд.
+ *
+ * <p>К бюджету добавляется небольшой общий допуск ({@value #SLACK_BYTES} байт) на
+ * разовые выделения внутри JDK; выделение даже 16 байт на операцию на тысячах
+ * операций его многократно превышает.
+ */
+public final class AllocationMeter {
+
+	/** Допуск на разовые выделения за все измерение, байт */
+	static final long SLACK_BYTES = 4096;
+
+	private static final int WARMUP_OPERATIONS = 10_000;
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private AllocationMeter() {
+	}
+
+	/**
+	 * Байты, выделенные текущим потоком за {@code operations} выполнений операции.
+	 *
+	 * @param operations количество измеряемых выполнений
+	 * @param operation операция
+	 * @return выделенные байты (без учета прогрева)
+	 */
+	public static long allocatedBytes(int operations, Runnable operation) {
+		assumeTrue(THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled(),
+				"JVM не считает выделения памяти по потокам");
+		for (int i = 0; i < WARMUP_OPERATIONS; i++) {
+			operation.run();
+		}
+		long before = THREADS.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < operations; i++) {
+			operation.run();
+		}
+		return THREADS.getCurrentThreadAllocatedBytes() - before;
+	}
+
+	/**
+	 * Проверка, что операция укладывается в бюджет выделений.
+	 *
+	 * @param name название операции для сообщения об ошибке
+	 * @param budgetBytesPerOperation допустимые байты на одно выполнение
+	 * @param operations количество измеряемых выполнений
+	 * @param operation операция
+	 */
+	public static void assertAllocatesAtMost(String name, long budgetBytesPerOperation, int operations, Runnable operation) {
+		long bytes = allocatedBytes(operations, operation);
+		long budget = budgetBytesPerOperation * operations + SLACK_BYTES;
+		assertTrue(bytes <= budget, () -> String.format("%s: %d байт за %d операций (%.1f байт/операцию), бюджет %d байт/операцию",
+				name, bytes, operations, (double) bytes / operations, budgetBytesPerOperation));
+	}
+}
@@ -2,6 +2,10 @@ package com.tapgame.tap_game;
 
 import org.junit.jupiter.api.Test;
 import com.tapgame.tap_game.models.GameState;
+import com.tapgame.tap_game.models.StateChange;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,6 +19,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * <ul>
  *   <li>Инициализация игрового состояния</li>
  *   <li>Выполнение квестов и получение наград</li>
+ *   <li>Перезарядка квестов и ее сокращение бустером скорости</li>
  *   <li>Покупка билетиков</li>
  *   <li>Улучшение характеристик персонажа</li>
  *   <li>Проверка граничных условий</li>
@@ -80,6 +85,13 @@ class TapGameApplicationTests {
 		// Попытка выполнить уже выполненный квест
 		result = gameState.completeQuest("telegram");
 		assertFalse(result);
+
+		// Заданное время: проверка и выполнение идут по одним часам
+		assertTrue(gameState.completeQuest("dzen", 1_000));
+		long availableAt = gameState.getQuestAvailableAt("dzen");
+		assertTrue(gameState.isQuestCompleted("dzen", availableAt - 1));
+		assertFalse(gameState.isQuestCompleted("dzen", availableAt));
+		assertTrue(gameState.completeQuest("dzen", availableAt));
 	}
 
 	/**
@@ -150,4 +162,64 @@ class TapGameApplicationTests {
 		assertEquals(initialSpeedLevel + 1, gameState.getSpeedLevel());
 		assertEquals(2, gameState.getCharacterLevel());
 	}
+
+	/**
+	 * Тест событий изменения состояния.
+	 * 
+	 * <p>Проверяет следующую логику:
+	 * <ul>
+	 *   <li>Каждая успешная операция присылает одно событие с нужными флагами</li>
+	 *   <li>Неудачная операция событий не присылает</li>
+	 *   <li>Операции внутри пачки присылают одно объединенное событие</li>
+	 * </ul>
+	 */
+	@Test
+	void stateChangeEvents() {
+		GameState gameState = new GameState();
+		List<Integer> events = new ArrayList<>();
+		gameState.addChangeListener(events::add);
+		
+		gameState.completeQuest("telegram");
+		assertEquals(List.of(StateChange.COINS | StateChange.QUEST), events);
+		
+		// Недостаточно монет - событий нет
+		events.clear();
+		assertFalse(gameState.buyTicket());
+		assertTrue(events.isEmpty());
+		
+		// Пачка операций - одно событие
+		gameState.addCoins(20);
+		events.clear();
+		gameState.batch(() -> {
+			gameState.completeQuest("dzen");
+			gameState.upgradeSpeed();
+		});
+		assertEquals(List.of(StateChange.COINS | StateChange.QUEST | StateChange.LEVEL | StateChange.COST), events);
+	}
+
+	/**
+	 * Тест перезарядки квестов.
+	 * 
+	 * <p>Квест недоступен до конца перезарядки и снова дает награду после нее;
+	 * второй уровень скорости вдвое сокращает перезарядку.
+	 */
+	@Test
+	void questCooldownShortenedBySpeed() {
+		GameState gameState = new GameState();
+		long hour = 60 * 60 * 1000L;
+		long start = 1_000_000L;
+		
+		assertTrue(gameState.completeQuest("telegram", start));
+		assertEquals(start + hour, gameState.getQuestAvailableAt("telegram"));
+		assertFalse(gameState.completeQuest("telegram", start + hour - 1));
+		assertTrue(gameState.completeQuest("telegram", start + hour));
+		assertEquals(20, gameState.getCoins());
+		
+		gameState.addCoins(5);
+		assertTrue(gameState.upgradeSpeed());
+		assertEquals(hour / 2, gameState.getQuestCooldownMillis());
+		long now = start + 2 * hour;
+		assertTrue(gameState.completeQuest("telegram", now));
+		assertTrue(gameState.completeQuest("telegram", now + hour / 2));
+	}
 }
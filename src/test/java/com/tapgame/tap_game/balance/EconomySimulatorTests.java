@@ -0,0 +1,39 @@
+package com.tapgame.tap_game.balance;
+
+import com.tapgame.tap_game.models.EconomyConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты симулятора экономики {@link EconomySimulator}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Результат не зависит от количества потоков</li>
+ *   <li>Игрок-стратег с автокликером получает пассивный доход</li>
+ * </ul>
+ */
+class EconomySimulatorTests {
+
+	/**
+	 * Одно зерно дает одинаковый отчет в одном потоке и в общем пуле.
+	 */
+	@Test
+	void reportDoesNotDependOnParallelism() {
+		EconomySimulator simulator = new EconomySimulator(EconomyConfig.DEFAULT, PlayerStrategy.IDLER, 300, 12, 7);
+
+		ForkJoinPool single = new ForkJoinPool(1);
+		try {
+			EconomyReport sequential = simulator.run(single);
+			EconomyReport parallel = simulator.run(ForkJoinPool.commonPool());
+			assertEquals(sequential.format(), parallel.format());
+			assertEquals(1.0, sequential.getReachedFraction(Milestone.FIRST_AUTO_CLICKER));
+			assertTrue(sequential.getCoinsByHour()[11] > 0, "Пассивный доход должен начисляться");
+		} finally {
+			single.shutdown();
+		}
+	}
+}
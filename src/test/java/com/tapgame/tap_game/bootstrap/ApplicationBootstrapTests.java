@@ -0,0 +1,111 @@
+package com.tapgame.tap_game.bootstrap;
+
+import com.tapgame.tap_game.config.TelegramBotConfig;
+import com.tapgame.tap_game.engine.CommandPipeline;
+import com.tapgame.tap_game.engine.CommandType;
+import com.tapgame.tap_game.services.TelegramService;
+import com.tapgame.tap_game.webapp.MiniAppServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты фонового запуска {@link ApplicationBootstrap} и шкалы {@link StartupTimeline}.
+ *
+ * <p>Этап {@code fxml} требует запущенного JavaFX и здесь не проверяется.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Контекст Spring поднимается без создания ленивых бинов; клиент Telegram в
+ *       контексте - тот же экземпляр, что построен параллельным этапом</li>
+ *   <li>Без токена бота не создаются ни сессия, ни API Mini App с его конвейером</li>
+ *   <li>Этапы идут одновременно, ошибка одного не мешает другим</li>
+ *   <li>Каждый этап попадает в отчет</li>
+ *   <li>API Mini App поднимается бином на заданном порту и закрывается с контекстом
+ *       вместе с конвейером команд</li>
+ * </ul>
+ */
+class ApplicationBootstrapTests {
+
+	/**
+	 * Контекст с ленивыми бинами и общим клиентом Telegram.
+	 */
+	@Test
+	void startsServicesWithLazyBeans() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		try (ApplicationBootstrap bootstrap = new ApplicationBootstrap(timeline)) {
+			AnnotationConfigApplicationContext context = bootstrap.startServices().get(30, TimeUnit.SECONDS);
+			assertFalse(context.getBeanFactory().containsSingleton("telegramBotsApi"));
+			assertFalse(context.getBeanFactory().containsSingleton("initDataVerifier"));
+
+			assertNull(bootstrap.getBotSession().get(30, TimeUnit.SECONDS)); // токен не задан
+			assertNull(bootstrap.getMiniApp().get(30, TimeUnit.SECONDS));
+			assertFalse(context.getBeanFactory().containsSingleton("miniAppServer"));
+			assertFalse(context.getBeanFactory().containsSingleton("commandPipeline"));
+			assertSame(bootstrap.getTelegramClient().get(), context.getBean(TelegramService.class));
+			bootstrap.whenReady().get(30, TimeUnit.SECONDS);
+
+			String report = timeline.report();
+			assertTrue(report.contains("spring"), report);
+			assertTrue(report.contains("telegram-client"), report);
+			assertTrue(timeline.getMillis("spring") > 0);
+			assertEquals(-1, timeline.getMillis("bot-session"));
+			assertEquals(-1, timeline.getMillis("mini-app"));
+		}
+	}
+
+	/**
+	 * Два этапа, каждый из которых ждет другого, завершаются только при параллельном запуске.
+	 */
+	@Test
+	void runsPhasesConcurrently() throws Exception {
+		StartupTimeline timeline = new StartupTimeline();
+		try (ApplicationBootstrap bootstrap = new ApplicationBootstrap(timeline)) {
+			CountDownLatch bothRunning = new CountDownLatch(2);
+			CompletableFuture<Boolean> first = bootstrap.run("first", () -> {
+				bothRunning.countDown();
+				return bothRunning.await(10, TimeUnit.SECONDS);
+			});
+			CompletableFuture<Boolean> second = bootstrap.run("second", () -> {
+				bothRunning.countDown();
+				return bothRunning.await(10, TimeUnit.SECONDS);
+			});
+			CompletableFuture<Object> broken = bootstrap.run("broken", () -> {
+				throw new IOException("нет файла");
+			});
+
+			assertTrue(first.get(10, TimeUnit.SECONDS));
+			assertTrue(second.get(10, TimeUnit.SECONDS));
+			ExecutionException error = assertThrows(ExecutionException.class, () -> broken.get(10, TimeUnit.SECONDS));
+			assertInstanceOf(IOException.class, error.getCause());
+			assertTrue(timeline.getMillis("broken") >= 0);
+		}
+	}
+
+	/**
+	 * Порт из системного свойства; после закрытия контекста конвейер не принимает команды.
+	 */
+	@Test
+	void startsMiniAppBeanOnConfiguredPort() {
+		System.setProperty("miniapp.port", "0");
+		try {
+			AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(TelegramBotConfig.class);
+			MiniAppServer server = context.getBean(MiniAppServer.class);
+			CommandPipeline pipeline = context.getBean(CommandPipeline.class);
+			assertTrue(server.getPort() > 0);
+			pipeline.submit(CommandType.TAP, 1);
+
+			context.close();
+			assertThrows(IllegalStateException.class, () -> pipeline.submit(CommandType.TAP, 1));
+		} finally {
+			System.clearProperty("miniapp.port");
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package com.tapgame.tap_game.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты таблицы {@link ConcurrentLongObjectMap}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Вставка, замена, удаление и повторная вставка ключа</li>
+ *   <li>Рост таблицы без потери записей</li>
+ *   <li>Параллельные писатели и читатели во время расширения</li>
+ *   <li>Очистка от надгробий переносится порциями, без остановки на первой записи</li>
+ * </ul>
+ */
+class ConcurrentLongObjectMapTests {
+
+	/**
+	 * Базовые операции одного потока.
+	 */
+	@Test
+	void putGetRemove() {
+		ConcurrentLongObjectMap<String> map = new ConcurrentLongObjectMap<>();
+		assertNull(map.put(42L, "a"));
+		assertEquals("a", map.put(42L, "b"));
+		assertEquals("b", map.get(42L));
+		assertNull(map.get(43L));
+		assertEquals(1, map.size());
+
+		assertEquals("b", map.remove(42L));
+		assertNull(map.remove(42L));
+		assertNull(map.get(42L));
+		assertEquals(0, map.size());
+
+		assertEquals("c", map.computeIfAbsent(42L, key -> "c"));
+		assertEquals("c", map.computeIfAbsent(42L, key -> "d"));
+		assertEquals(1, map.size());
+		assertThrows(NullPointerException.class, () -> map.put(1L, null));
+	}
+
+	/**
+	 * Рост с 16 ячеек до сотен тысяч, включая отрицательные и нулевой ключи.
+	 */
+	@Test
+	void growsWithoutLosingEntries() {
+		ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+		int count = 200_000;
+		for (long key = -count / 2; key < count / 2; key++) {
+			map.put(key * 7_919L, key);
+		}
+		for (long key = -count / 2; key < count / 2; key += 2) {
+			map.remove(key * 7_919L);
+		}
+		assertEquals(count / 2, map.size());
+		for (long key = -count / 2; key < count / 2; key++) {
+			Long value = map.get(key * 7_919L);
+			if ((key & 1) == 0) {
+				assertNull(value);
+			} else {
+				assertEquals(key, value);
+			}
+		}
+		AtomicInteger visited = new AtomicInteger();
+		map.forEach((key, value) -> {
+			assertEquals(value * 7_919L, key);
+			visited.incrementAndGet();
+		});
+		assertEquals(count / 2, visited.get());
+	}
+
+	/**
+	 * Очистка от надгробий идет в таблицу того же размера и переносится порциями:
+	 * запись, начавшая ее, не переносит всю таблицу сама.
+	 */
+	@Test
+	void tombstoneCleanupMigratesIncrementally() {
+		ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>(10_000);
+		long key = 0;
+		while (!map.isResizing()) {
+			assertTrue(key < 1_000_000, "Очистка от надгробий не началась");
+			map.remove(key - 1);
+			map.put(key, key);
+			key++;
+		}
+		assertEquals(1, map.size());
+
+		int writes = 0;
+		while (map.isResizing()) {
+			map.put(-++writes, 0L);
+		}
+		assertTrue(writes > 1, "Перенос закончился за одну запись");
+		assertEquals(writes + 1, map.size());
+		assertEquals(key - 1, map.get(key - 1));
+		for (long removed = 0; removed < key - 1; removed++) {
+			assertNull(map.get(removed));
+		}
+	}
+
+	/**
+	 * Писатели вставляют непересекающиеся диапазоны ключей, пока таблица растет;
+	 * читатели все это время проверяют, что однажды вставленный ключ не пропадает.
+	 */
+	@Test
+	void concurrentWritersAndReadersDuringResize() throws InterruptedException {
+		int writers = 4;
+		int perWriter = 50_000;
+		ConcurrentLongObjectMap<Long> map = new ConcurrentLongObjectMap<>();
+		AtomicInteger[] progress = new AtomicInteger[writers];
+		AtomicBoolean lost = new AtomicBoolean();
+		AtomicBoolean done = new AtomicBoolean();
+		CountDownLatch startGate = new CountDownLatch(1);
+
+		Thread[] threads = new Thread[writers + 2];
+		for (int w = 0; w < writers; w++) {
+			int writer = w;
+			progress[w] = new AtomicInteger();
+			threads[w] = new Thread(() -> {
+				await(startGate);
+				for (int i = 0; i < perWriter; i++) {
+					long key = (long) i * writers + writer;
+					map.computeIfAbsent(key, k -> k);
+					progress[writer].set(i + 1);
+				}
+			});
+		}
+		for (int r = writers; r < threads.length; r++) {
+			threads[r] = new Thread(() -> {
+				await(startGate);
+				while (!done.get()) {
+					for (int w = 0; w < writers; w++) {
+						int inserted = progress[w].get();
+						for (int i = Math.max(0, inserted - 64); i < inserted; i++) {
+							long key = (long) i * writers + w;
+							Long value = map.get(key);
+							if (value == null || value != key) {
+								lost.set(true);
+							}
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		startGate.countDown();
+		for (int w = 0; w < writers; w++) {
+			threads[w].join();
+		}
+		done.set(true);
+		for (int r = writers; r < threads.length; r++) {
+			threads[r].join();
+		}
+
+		assertFalse(lost.get());
+		assertEquals(writers * perWriter, map.size());
+		for (long key = 0; key < (long) writers * perWriter; key++) {
+			assertEquals(key, map.get(key));
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
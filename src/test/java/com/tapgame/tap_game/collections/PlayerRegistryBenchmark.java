@@ -0,0 +1,92 @@
+package com.tapgame.tap_game.collections;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сравнение {@link ConcurrentLongObjectMap} и {@code ConcurrentHashMap<Long, Object>}
+ * по занимаемой памяти и скорости поиска.
+ *
+ * <p>Не является тестом: запускается вручную, например
+ * {@code java -Xmx4g -cp target/classes:target/test-classes com.tapgame.tap_game.collections.PlayerRegistryBenchmark}.
+ * По умолчанию 10 млн записей; все записи ссылаются на одно значение, поэтому
+ * замеряется только сама таблица. Ключи похожи на Telegram ID.
+ */
+public class PlayerRegistryBenchmark {
+
+	private static final Object PLAYER = new Object();
+
+	public static void main(String[] args) {
+		int entries = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+		int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000;
+
+		long[] ids = new long[entries];
+		SplittableRandom random = new SplittableRandom(7);
+		for (int i = 0; i < entries; i++) {
+			ids[i] = 100_000_000L + random.nextLong(7_000_000_000L);
+		}
+		int[] order = new int[1 << 20];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = random.nextInt(entries);
+		}
+		System.out.printf("Записей: %,d, поисков: %,d%n", entries, lookups);
+
+		long baseline = usedMemory();
+		long start = System.nanoTime();
+		ConcurrentLongObjectMap<Object> primitive = new ConcurrentLongObjectMap<>();
+		for (long id : ids) {
+			primitive.put(id, PLAYER);
+		}
+		long fillNanos = System.nanoTime() - start;
+		long footprint = usedMemory() - baseline;
+		report("ConcurrentLongObjectMap", primitive.size(), fillNanos, footprint);
+		for (int run = 0; run < 3; run++) {
+			start = System.nanoTime();
+			int found = 0;
+			for (int i = 0; i < lookups; i++) {
+				if (primitive.get(ids[order[i & (order.length - 1)]]) != null) {
+					found++;
+				}
+			}
+			reportLookups(found, lookups, System.nanoTime() - start);
+		}
+		primitive = null;
+
+		baseline = usedMemory();
+		start = System.nanoTime();
+		ConcurrentHashMap<Long, Object> boxed = new ConcurrentHashMap<>();
+		for (long id : ids) {
+			boxed.put(id, PLAYER);
+		}
+		fillNanos = System.nanoTime() - start;
+		footprint = usedMemory() - baseline;
+		report("ConcurrentHashMap", boxed.size(), fillNanos, footprint);
+		for (int run = 0; run < 3; run++) {
+			start = System.nanoTime();
+			int found = 0;
+			for (int i = 0; i < lookups; i++) {
+				if (boxed.get(ids[order[i & (order.length - 1)]]) != null) {
+					found++;
+				}
+			}
+			reportLookups(found, lookups, System.nanoTime() - start);
+		}
+	}
+
+	private static void report(String name, int size, long fillNanos, long footprint) {
+		System.out.printf("%s: %,d записей, заполнение %.0f мс, память %,d МБ (%.1f байт на запись)%n",
+				name, size, fillNanos / 1e6, footprint >> 20, (double) footprint / size);
+	}
+
+	private static void reportLookups(int found, int lookups, long nanos) {
+		System.out.printf("  поиск: %.1f нс на ключ (найдено %,d)%n", (double) nanos / lookups, found);
+	}
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+}
@@ -0,0 +1,187 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.Buff;
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.PlayerState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты конвейера команд {@link CommandPipeline}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Все команды от нескольких производителей обрабатываются ровно один раз</li>
+ *   <li>Команды одного игрока применяются в порядке публикации</li>
+ *   <li>Обработчик получает признак конца пачки</li>
+ *   <li>Ошибка применения команды завершает ее неуспехом, шард продолжает работу</li>
+ *   <li>Доход автокликера начисляется при следующей команде игрока, в том числе {@link CommandType#SYNC}</li>
+ *   <li>Время действия усиления, закончившегося без команд игрока, начисляется по повышенной ставке</li>
+ * </ul>
+ */
+class CommandPipelineTests {
+
+	private static final int PRODUCERS = 4;
+	private static final int TAPS_PER_PRODUCER = 20_000;
+	private static final int PLAYERS = 64;
+
+	/**
+	 * Параллельные клики от нескольких потоков.
+	 *
+	 * <p>У каждого игрока монеты после клика должны расти строго на единицу:
+	 * это означает, что команды игрока не потерялись и не переупорядочились.
+	 */
+	@Test
+	void concurrentTapsAreAppliedInOrder() throws InterruptedException {
+		AtomicLong processed = new AtomicLong();
+		AtomicBoolean sawEndOfBatch = new AtomicBoolean();
+		AtomicBoolean outOfOrder = new AtomicBoolean();
+		Map<Long, Long> lastCoins = new ConcurrentHashMap<>();
+
+		CommandPipeline pipeline = new CommandPipeline(4, 256, (command, sequence, endOfBatch) -> {
+			processed.incrementAndGet();
+			if (endOfBatch) {
+				sawEndOfBatch.set(true);
+			}
+			long previous = lastCoins.getOrDefault(command.getPlayerId(), 0L);
+			if (command.getCoinsAfter() != previous + 1) {
+				outOfOrder.set(true);
+			}
+			lastCoins.put(command.getPlayerId(), command.getCoinsAfter());
+		});
+		pipeline.start();
+
+		Thread[] producers = new Thread[PRODUCERS];
+		for (int p = 0; p < PRODUCERS; p++) {
+			producers[p] = new Thread(() -> {
+				for (int i = 0; i < TAPS_PER_PRODUCER; i++) {
+					pipeline.submit(CommandType.TAP, i % PLAYERS);
+				}
+			});
+			producers[p].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		pipeline.close();
+
+		assertEquals((long) PRODUCERS * TAPS_PER_PRODUCER, processed.get());
+		assertEquals(PLAYERS, pipeline.getPlayerCount());
+		assertTrue(sawEndOfBatch.get());
+		assertFalse(outOfOrder.get());
+		long totalCoins = lastCoins.values().stream().mapToLong(Long::longValue).sum();
+		assertEquals((long) PRODUCERS * TAPS_PER_PRODUCER, totalCoins);
+	}
+
+	/**
+	 * Команды после остановки конвейера отклоняются.
+	 */
+	@Test
+	void submitAfterCloseIsRejected() {
+		CommandPipeline pipeline = new CommandPipeline(1, 16, (command, sequence, endOfBatch) -> { });
+		pipeline.start();
+		pipeline.close();
+		assertThrows(IllegalStateException.class, () -> pipeline.submit(CommandType.TAP, 1));
+	}
+
+	/**
+	 * Усиление {@code null} ломает применение команды, но не поток шарда.
+	 */
+	@Test
+	void failingCommandDoesNotStopShard() {
+		List<String> results = new CopyOnWriteArrayList<>();
+		CommandPipeline pipeline = new CommandPipeline(1, 16, (command, sequence, endOfBatch) ->
+				results.add(command.getType() + ":" + command.isSuccess() + ":" + command.getCoinsAfter()));
+		pipeline.start();
+		pipeline.submit(CommandType.TAP, 1);
+		pipeline.submitBuff(1, null);
+		pipeline.submit(CommandType.TAP, 1);
+		pipeline.close();
+
+		assertEquals(List.of("TAP:true:1", "ACTIVATE_BUFF:false:0", "TAP:true:2"), results);
+	}
+
+	/**
+	 * Купленный автокликер приносит монеты без кликов: доход за прошедшие целые
+	 * секунды начисляется при следующей команде.
+	 */
+	@Test
+	void passiveIncomeIsCreditedOnNextCommand() throws InterruptedException {
+		Map<CommandType, Long> coinsAfter = new ConcurrentHashMap<>();
+		AtomicBoolean upgraded = new AtomicBoolean();
+		CommandPipeline pipeline = new CommandPipeline(1, 256, (command, sequence, endOfBatch) -> {
+			coinsAfter.put(command.getType(), command.getCoinsAfter());
+			if (command.getType() == CommandType.UPGRADE_AUTO_CLICKER) {
+				upgraded.set(command.isSuccess());
+			}
+		});
+		pipeline.start();
+		try {
+			for (int i = 0; i < 50; i++) {
+				pipeline.submit(CommandType.TAP, 1);
+			}
+			pipeline.submit(CommandType.UPGRADE_AUTO_CLICKER, 1);
+			Thread.sleep(2_200);
+			pipeline.submit(CommandType.SYNC, 1);
+		} finally {
+			pipeline.close();
+		}
+
+		assertTrue(upgraded.get(), "Автокликер не куплен");
+		long perSecond = pipeline.getPlayers().get(1).getGooseGameState().getCoinsPerSecond();
+		long credited = coinsAfter.get(CommandType.SYNC) - coinsAfter.get(CommandType.UPGRADE_AUTO_CLICKER);
+		assertTrue(perSecond > 0);
+		assertTrue(credited >= 2 * perSecond && credited % perSecond == 0, "Начислено: " + credited);
+	}
+
+	/**
+	 * Усиление включено 70 секунд назад и закончилось 10 секунд назад без единой команды:
+	 * следующая команда начисляет 60 секунд усиленного дохода и 10 секунд обычного.
+	 */
+	@Test
+	void idleBoostIsCreditedWhenNextCommandComesAfterExpiry() {
+		AtomicLong coinsAfter = new AtomicLong();
+		CommandPipeline pipeline = new CommandPipeline(1, 16, (command, sequence, endOfBatch) ->
+				coinsAfter.set(command.getCoinsAfter()));
+		long boostStart = System.currentTimeMillis() - Buff.IDLE_BOOST.getDurationMillis() - 10_000;
+		// До запуска шарда состояние игрока можно готовить из потока теста
+		PlayerState player = pipeline.getPlayers().getOrCreate(1);
+		GooseGameState goose = player.getGooseGameState();
+		buyAutoClicker(goose);
+		long coinsBefore = goose.getCoins();
+		long basePerSecond = goose.getCoinsPerSecond();
+		goose.applyBuff(Buff.IDLE_BOOST, boostStart);
+		player.setIncomeCreditedUntilMillis(boostStart);
+
+		GooseGameState reference = new GooseGameState();
+		buyAutoClicker(reference);
+		long referenceBefore = reference.getCoins();
+		reference.applyBuff(Buff.IDLE_BOOST, boostStart);
+		reference.addPassiveIncome(Buff.IDLE_BOOST.getDurationMillis());
+		long boosted = reference.getCoins() - referenceBefore;
+		assertTrue(boosted > basePerSecond * Buff.IDLE_BOOST.getDurationMillis() / 1000);
+
+		pipeline.start();
+		pipeline.submit(CommandType.SYNC, 1);
+		pipeline.close();
+
+		long credited = coinsAfter.get() - coinsBefore;
+		assertTrue(credited >= boosted + 10 * basePerSecond && credited <= boosted + 11 * basePerSecond,
+				"Начислено: " + credited + ", из них за усиление должно быть " + boosted);
+	}
+
+	private static void buyAutoClicker(GooseGameState goose) {
+		while (goose.getCoins() < goose.getAutoClickerUpgradeCost()) {
+			goose.tapGoose();
+		}
+		assertTrue(goose.upgradeAutoClicker());
+	}
+}
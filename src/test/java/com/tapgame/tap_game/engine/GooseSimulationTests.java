@@ -0,0 +1,177 @@
+package com.tapgame.tap_game.engine;
+
+import com.tapgame.tap_game.models.EconomyConfig;
+import com.tapgame.tap_game.models.GooseGameState;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты потока симуляции {@link GooseSimulation}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Клики из другого потока применяются и попадают в снимок</li>
+ *   <li>Снимок всегда согласован: монеты равны числу кликов при силе клика 1</li>
+ *   <li>Без дохода и ввода поток ничего не публикует; клик будит его сразу</li>
+ *   <li>Без дохода и во время паузы поток спит без таймаута, а не просыпается периодически</li>
+ *   <li>Пассивный доход начисляется целыми секундами, одной публикацией на шаг</li>
+ *   <li>Во время паузы доход не начисляется, при возобновлении пауза догоняется сразу</li>
+ * </ul>
+ */
+class GooseSimulationTests {
+
+	private static final int TAPS = 10_000;
+
+	/**
+	 * Клики публикуются в снимок; читатель не видит «разорванных» снимков.
+	 */
+	@Test
+	void tapsArePublishedAsConsistentSnapshots() throws InterruptedException {
+		try (GooseSimulation simulation = new GooseSimulation(new GooseGameState(), () -> { })) {
+			simulation.start();
+			Thread tapper = new Thread(() -> {
+				for (int i = 0; i < TAPS; i++) {
+					simulation.tap();
+				}
+			});
+			tapper.start();
+
+			GooseSnapshot snapshot = new GooseSnapshot();
+			long lastVersion = -1;
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			do {
+				simulation.readSnapshot(snapshot);
+				assertEquals(snapshot.getTotalClicks(), snapshot.getCoins().longValue(), "Снимок не согласован");
+				assertTrue(snapshot.getVersion() >= lastVersion, "Версия снимка уменьшилась");
+				lastVersion = snapshot.getVersion();
+			} while (snapshot.getTotalClicks() < TAPS && System.nanoTime() < deadline);
+			tapper.join();
+
+			assertEquals(TAPS, snapshot.getTotalClicks());
+		}
+	}
+
+	/**
+	 * Простой без дохода не публикует снимков, клик публикуется без ожидания шага.
+	 */
+	@Test
+	void idleSimulationPublishesOnlyOnInput() throws InterruptedException {
+		AtomicInteger publications = new AtomicInteger();
+		try (GooseSimulation simulation = new GooseSimulation(new GooseGameState(), publications::incrementAndGet)) {
+			simulation.start();
+			Thread.sleep(300);
+			assertEquals(0, publications.get());
+
+			long tappedAt = System.nanoTime();
+			simulation.tap();
+			awaitTrue(() -> publications.get() == 1);
+			assertTrue(System.nanoTime() - tappedAt < TimeUnit.MILLISECONDS.toNanos(500), "Клик ждал шага симуляции");
+		}
+	}
+
+	/**
+	 * Доход автокликера начисляется раз в секунду, а не на каждом кадре.
+	 */
+	@Test
+	void passiveIncomeIsCreditedInWholeSeconds() throws InterruptedException {
+		AtomicInteger publications = new AtomicInteger();
+		GooseGameState state = new GooseGameState(EconomyConfig.DEFAULT.withAutoClickerBaseCost(1));
+		try (GooseSimulation simulation = new GooseSimulation(state, publications::incrementAndGet)) {
+			simulation.start();
+			simulation.tap();
+			simulation.upgradeAutoClicker();
+			GooseSnapshot snapshot = new GooseSnapshot();
+			awaitTrue(() -> {
+				simulation.readSnapshot(snapshot);
+				return snapshot.getAutoClickerLevel() == 1;
+			});
+			long perSecond = snapshot.getCoinsPerSecond().longValue();
+			assertTrue(perSecond > 0);
+			int afterUpgrade = publications.get();
+
+			Thread.sleep(2_500);
+			simulation.readSnapshot(snapshot);
+			long coins = snapshot.getCoins().longValue();
+			assertEquals(0, coins % perSecond, "Начислена доля секунды: " + coins);
+			assertTrue(coins >= 2 * perSecond, "Монет: " + coins);
+			assertTrue(publications.get() - afterUpgrade <= 3, "Публикаций: " + (publications.get() - afterUpgrade));
+		}
+	}
+
+	/**
+	 * Пауза останавливает начисление; при возобновлении доход за паузу приходит сразу.
+	 */
+	@Test
+	void suspendedSimulationCatchesUpOnResume() throws InterruptedException {
+		GooseGameState state = new GooseGameState(EconomyConfig.DEFAULT.withAutoClickerBaseCost(1));
+		try (GooseSimulation simulation = new GooseSimulation(state, () -> { })) {
+			simulation.start();
+			simulation.tap();
+			simulation.upgradeAutoClicker();
+			GooseSnapshot snapshot = new GooseSnapshot();
+			awaitTrue(() -> {
+				simulation.readSnapshot(snapshot);
+				return snapshot.getAutoClickerLevel() == 1;
+			});
+			simulation.setSuspended(true);
+			Thread.sleep(50); // шаг, начатый до паузы, успевает опубликоваться
+			simulation.readSnapshot(snapshot);
+			long suspendedCoins = snapshot.getCoins().longValue();
+
+			Thread.sleep(1_500);
+			simulation.readSnapshot(snapshot);
+			assertEquals(suspendedCoins, snapshot.getCoins().longValue());
+
+			long resumedAt = System.nanoTime();
+			simulation.setSuspended(false);
+			awaitTrue(() -> {
+				simulation.readSnapshot(snapshot);
+				return snapshot.getCoins().longValue() > suspendedCoins;
+			});
+			assertTrue(System.nanoTime() - resumedAt < TimeUnit.MILLISECONDS.toNanos(500), "Доход за паузу ждал шага");
+		}
+	}
+
+	/**
+	 * Простой и пауза - сон без таймаута; остановка будит такой поток.
+	 */
+	@Test
+	void idleSimulationParksWithoutTimeout() throws InterruptedException {
+		GooseGameState state = new GooseGameState(EconomyConfig.DEFAULT.withAutoClickerBaseCost(1));
+		GooseSimulation simulation = new GooseSimulation(state, () -> { });
+		simulation.start();
+		Thread thread = simulationThread();
+		awaitTrue(() -> thread.getState() == Thread.State.WAITING);
+
+		simulation.tap();
+		simulation.upgradeAutoClicker();
+		// С доходом поток ждет следующего шага
+		awaitTrue(() -> thread.getState() == Thread.State.TIMED_WAITING);
+
+		simulation.setSuspended(true);
+		awaitTrue(() -> thread.getState() == Thread.State.WAITING);
+
+		simulation.close();
+		assertFalse(thread.isAlive());
+	}
+
+	private static Thread simulationThread() {
+		return Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().equals("goose-simulation") && thread.isAlive())
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Условие не выполнено за 10 секунд");
+			Thread.sleep(5);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.tapgame.tap_game.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты колеса таймеров {@link TimingWheel}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Таймер срабатывает на первом тике не раньше срока, в том числе после
+ *       перекладывания с верхних уровней и за пределами всех уровней</li>
+ *   <li>Отмененный таймер не срабатывает</li>
+ *   <li>Таймер с прошедшим сроком срабатывает на следующем тике</li>
+ * </ul>
+ */
+class TimingWheelTests {
+
+	/**
+	 * Случайные сроки от секунды до года при тике в секунду и двух уровнях (~68 минут):
+	 * каждый таймер срабатывает ровно в тик своего срока.
+	 */
+	@Test
+	void firesEachTimerAtItsTick() {
+		long start = 1_700_000_000_000L;
+		TimingWheel<Long> wheel = new TimingWheel<>(1000, 2, start);
+		SplittableRandom random = new SplittableRandom(5);
+		int count = 20_000;
+		for (int i = 0; i < count; i++) {
+			long deadline = start + 1 + random.nextLong(365L * 24 * 3600 * 1000);
+			wheel.schedule(i, deadline, deadline);
+		}
+		assertEquals(count, wheel.size());
+
+		int[] fired = new int[1];
+		long[] now = {start};
+		// Шаг по 7 с: таймер должен сработать в тот шаг, который впервые перешел его срок
+		while (wheel.size() > 0) {
+			long previous = now[0];
+			now[0] += 7_000;
+			wheel.advance(now[0], (id, deadline) -> {
+				long deadlineTick = (deadline + 999) / 1000;
+				assertTrue(deadlineTick <= now[0] / 1000, "раньше срока: " + id);
+				assertTrue(deadlineTick > previous / 1000, "позже срока: " + id);
+				fired[0]++;
+			});
+		}
+		assertEquals(count, fired[0]);
+	}
+
+	/**
+	 * Отмена и таймер в прошлом.
+	 */
+	@Test
+	void cancelAndPastDeadline() {
+		TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+		TimingWheel.Timeout<String> cancelled = wheel.schedule(1, "a", 500);
+		wheel.schedule(2, "b", 500);
+		assertTrue(wheel.cancel(cancelled));
+		assertFalse(wheel.cancel(cancelled));
+
+		List<String> fired = new ArrayList<>();
+		assertEquals(0, wheel.advance(490, (id, payload) -> fired.add(payload)));
+		assertEquals(1, wheel.advance(500, (id, payload) -> fired.add(payload)));
+		assertEquals(List.of("b"), fired);
+
+		wheel.schedule(3, "past", 100);
+		assertEquals(1, wheel.advance(510, (id, payload) -> fired.add(payload)));
+		assertEquals(List.of("b", "past"), fired);
+		assertEquals(0, wheel.size());
+	}
+}
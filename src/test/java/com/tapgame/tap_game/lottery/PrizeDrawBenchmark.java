@@ -0,0 +1,41 @@
+package com.tapgame.tap_game.lottery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Замер скорости розыгрыша по большому количеству билетов.
+ *
+ * <p>Не является тестом: запускается вручную, например
+ * {@code java -cp target/classes:target/test-classes com.tapgame.tap_game.lottery.PrizeDrawBenchmark}.
+ * По умолчанию 5 млн игроков, у каждого от 1 до 19 билетов (около 50 млн билетов).
+ */
+public class PrizeDrawBenchmark {
+
+	public static void main(String[] args) {
+		int players = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+		int prizes = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+		SplittableRandom random = new SplittableRandom(1);
+		long[] ids = new long[players];
+		long[] tickets = new long[players];
+		for (int i = 0; i < players; i++) {
+			ids[i] = 1_000_000_000L + i;
+			tickets[i] = 1 + random.nextInt(19);
+		}
+		List<String> prizeNames = new ArrayList<>(prizes);
+		for (int i = 0; i < prizes; i++) {
+			prizeNames.add("Приз " + (i + 1));
+		}
+
+		PrizeDraw draw = new PrizeDraw(ids, tickets);
+		System.out.printf("Игроков: %,d, билетов: %,d, призов: %,d%n", players, draw.getTotalTickets(), prizes);
+		for (int run = 0; run < 5; run++) {
+			long start = System.nanoTime();
+			List<PrizeWinner> winners = draw.draw(prizeNames, run);
+			long elapsed = System.nanoTime() - start;
+			System.out.printf("Розыгрыш %d: %,d победителей за %.1f мс%n", run, winners.size(), elapsed / 1e6);
+		}
+	}
+}
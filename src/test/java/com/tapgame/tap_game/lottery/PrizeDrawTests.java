@@ -0,0 +1,69 @@
+package com.tapgame.tap_game.lottery;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты розыгрыша призов {@link PrizeDraw}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Одинаковое зерно дает одинаковых победителей</li>
+ *   <li>Игрок выигрывает не больше одного приза, игроки без билетов не выигрывают</li>
+ *   <li>Частота выигрыша пропорциональна количеству билетов</li>
+ * </ul>
+ */
+class PrizeDrawTests {
+
+	private static final List<String> PRIZES = List.of("Худи", "Кружка", "Стикеры", "Блокнот", "Ручка");
+
+	/**
+	 * Повторяемость розыгрыша и розыгрыш без возвращения.
+	 */
+	@Test
+	void drawIsReproducibleAndWithoutReplacement() {
+		long[] ids = {101, 102, 103, 104, 105, 106, 107};
+		long[] tickets = {5, 0, 1, 10, 3, 0, 2};
+		PrizeDraw draw = new PrizeDraw(ids, tickets);
+
+		List<PrizeWinner> first = draw.draw(PRIZES, 42);
+		List<PrizeWinner> second = draw.draw(PRIZES, 42);
+		assertEquals(first.toString(), second.toString(), "Розыгрыш с одним зерном должен повторяться");
+
+		assertEquals(PRIZES.size(), first.size());
+		Set<Long> winnerIds = new HashSet<>();
+		for (PrizeWinner winner : first) {
+			assertTrue(winnerIds.add(winner.getPlayerId()), "Игрок выиграл дважды");
+			assertNotEquals(102L, winner.getPlayerId());
+			assertNotEquals(106L, winner.getPlayerId());
+		}
+
+		// Призов больше, чем игроков с билетами
+		List<PrizeWinner> all = draw.draw(List.of("1", "2", "3", "4", "5", "6", "7"), 7);
+		assertEquals(5, all.size());
+	}
+
+	/**
+	 * Частота выигрыша первого приза пропорциональна доле билетов.
+	 */
+	@Test
+	void winProbabilityIsProportionalToTickets() {
+		long[] ids = {1, 2, 3};
+		long[] tickets = {1, 2, 7};
+		PrizeDraw draw = new PrizeDraw(ids, tickets);
+
+		int rounds = 20_000;
+		int[] wins = new int[4];
+		for (int seed = 0; seed < rounds; seed++) {
+			wins[(int) draw.draw(List.of("Приз"), seed).get(0).getPlayerId()]++;
+		}
+		assertEquals(0.1, wins[1] / (double) rounds, 0.02);
+		assertEquals(0.2, wins[2] / (double) rounds, 0.02);
+		assertEquals(0.7, wins[3] / (double) rounds, 0.02);
+	}
+}
@@ -0,0 +1,130 @@
+package com.tapgame.tap_game.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты метрик {@link MetricsRegistry}, {@link LatencyHistogram}, {@link Counter} и {@link Meter}.
+ *
+ * <p>JMX проверяется на отдельном {@link MBeanServer}, чтобы не зависеть от метрик,
+ * уже зарегистрированных другими тестами в платформенном сервере.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Границы корзин гистограммы: значения до 16 точные, дальше - по 8 подкорзин
+ *       на степень двойки, каждое значение попадает в свою корзину</li>
+ *   <li>Перцентили с погрешностью не больше ширины корзины и не больше максимума</li>
+ *   <li>Метрика создается один раз по имени и публикуется как MXBean</li>
+ *   <li>Повторная регистрация имени с другим типом отклоняется</li>
+ * </ul>
+ */
+class MetricsRegistryTests {
+
+	/**
+	 * Каждое значение лежит между нижней границей своей корзины и нижней границей следующей.
+	 */
+	@Test
+	void bucketBoundariesCoverEveryValue() {
+		for (long value = 0; value < 8; value++) {
+			assertEquals(value, LatencyHistogram.bucketIndex(value));
+			assertEquals(value, LatencyHistogram.bucketLowerBound((int) value));
+		}
+		// 8..15 - еще по одному значению на корзину, с 16 корзина шире
+		assertEquals(8, LatencyHistogram.bucketIndex(8));
+		assertEquals(9, LatencyHistogram.bucketIndex(9));
+		assertEquals(15, LatencyHistogram.bucketIndex(15));
+		assertEquals(16, LatencyHistogram.bucketIndex(16));
+		assertEquals(16, LatencyHistogram.bucketIndex(17));
+		assertEquals(17, LatencyHistogram.bucketIndex(18));
+		assertEquals(18, LatencyHistogram.bucketLowerBound(17));
+
+		long[] samples = {7, 8, 100, 1_000, 65_535, 65_536, 1_000_000_007L, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+		for (long value : samples) {
+			int index = LatencyHistogram.bucketIndex(value);
+			long lower = LatencyHistogram.bucketLowerBound(index);
+			assertTrue(lower <= value, value + " < " + lower);
+			if (value < Long.MAX_VALUE / 2) {
+				assertTrue(value < LatencyHistogram.bucketLowerBound(index + 1), "Значение " + value);
+				// Относительная ширина корзины - не больше 1/8
+				assertTrue(value - lower <= lower / 8, "Значение " + value);
+			}
+		}
+	}
+
+	/**
+	 * Перцентили равномерного ряда 1..1000 мкс.
+	 */
+	@Test
+	void percentilesWithinBucketError() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.percentile(0.5));
+		for (int micros = 1; micros <= 1000; micros++) {
+			histogram.record(micros * 1_000L);
+		}
+		histogram.record(-5); // считается нулем
+
+		assertEquals(1001, histogram.getCount());
+		assertEquals(1_000_000, histogram.getMaxNanos());
+		assertPercentile(500_000, histogram.percentile(0.50));
+		assertPercentile(900_000, histogram.percentile(0.90));
+		assertPercentile(990_000, histogram.percentile(0.99));
+		assertEquals(0, histogram.percentile(0));
+		assertTrue(histogram.percentile(1.0) <= histogram.getMaxNanos());
+		assertEquals(500.0, histogram.getMeanMicros(), 1.0);
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.percentile(0.99));
+	}
+
+	/**
+	 * Метрики публикуются в JMX и берутся по имени повторно.
+	 */
+	@Test
+	void registersMetricsAsMXBeans() throws Exception {
+		MBeanServer server = MBeanServerFactory.newMBeanServer();
+		MetricsRegistry registry = new MetricsRegistry(server);
+
+		Counter counter = registry.counter("test.counter");
+		assertSame(counter, registry.counter("test.counter"));
+		counter.increment();
+		counter.add(4);
+		Meter meter = registry.meter("test.meter");
+		meter.mark(3);
+		LatencyHistogram histogram = registry.histogram("test.histogram");
+		histogram.record(2_000);
+		registry.gauge("test.gauge", () -> 42);
+
+		assertEquals(5L, server.getAttribute(name("Counter", "test.counter"), "Count"));
+		assertEquals(3L, server.getAttribute(name("Meter", "test.meter"), "Count"));
+		assertEquals(1L, server.getAttribute(name("Histogram", "test.histogram"), "Count"));
+		assertEquals(2.0, (double) server.getAttribute(name("Histogram", "test.histogram"), "MaxMicros"));
+		assertEquals(42L, server.getAttribute(name("Gauge", "test.gauge"), "Value"));
+
+		assertThrows(IllegalArgumentException.class, () -> registry.meter("test.counter"));
+	}
+
+	/**
+	 * Реестр без MBean-сервера считает, но ничего не публикует.
+	 */
+	@Test
+	void worksWithoutMBeanServer() {
+		MetricsRegistry registry = new MetricsRegistry(null);
+		registry.counter("test.local").increment();
+		assertEquals(1, registry.counter("test.local").getCount());
+	}
+
+	private static ObjectName name(String type, String name) throws Exception {
+		return new ObjectName(MetricsRegistry.JMX_DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+	}
+
+	private static void assertPercentile(long expected, long actual) {
+		assertTrue(actual <= expected && actual >= expected - expected / 8,
+				"Ожидалось около " + expected + ", получено " + actual);
+	}
+}
@@ -0,0 +1,101 @@
+package com.tapgame.tap_game.models;
+
+import org.junit.jupiter.api.Test;
+
+import static com.tapgame.tap_game.AllocationMeter.assertAllocatesAtMost;
+
+/**
+ * Регрессионные тесты выделения памяти на горячих путях состояния игры.
+ *
+ * <p>Клик, пассивный доход, стоимости улучшений и изменения {@link GameState}
+ * выполняются на каждое действие игрока и не должны выделять память: бюджет
+ * каждой операции - 0 байт (см. {@link com.tapgame.tap_game.AllocationMeter}).
+ * Новое выделение на любом из этих путей ломает сборку.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>{@link GooseGameState#tapGoose()} без усилений и под усилениями</li>
+ *   <li>{@link GooseGameState#addPassiveIncome(long)}</li>
+ *   <li>Стоимости улучшений и чтение чисел в переиспользуемый {@link LargeNumber}</li>
+ *   <li>Покупка улучшений мини-игры, активация и окончание усилений</li>
+ *   <li>Квесты, билетики и улучшения {@link GameState}</li>
+ * </ul>
+ */
+class HotPathAllocationTests {
+
+	private static final int OPERATIONS = 100_000;
+
+	/**
+	 * Клик, пассивный доход и чтение чисел мини-игры.
+	 */
+	@Test
+	void gooseHotPathsDoNotAllocate() {
+		GooseGameState state = new GooseGameState();
+		while (state.getCoins() < state.getAutoClickerUpgradeCost()) {
+			state.tapGoose();
+		}
+		state.upgradeAutoClicker();
+		LargeNumber target = new LargeNumber();
+
+		assertAllocatesAtMost("tapGoose", 0, OPERATIONS, state::tapGoose);
+		assertAllocatesAtMost("addPassiveIncome", 0, OPERATIONS, () -> state.addPassiveIncome(16));
+		assertAllocatesAtMost("getClickPowerUpgradeCost", 0, OPERATIONS, state::getClickPowerUpgradeCost);
+		assertAllocatesAtMost("getAutoClickerUpgradeCost", 0, OPERATIONS, state::getAutoClickerUpgradeCost);
+		assertAllocatesAtMost("readCoins", 0, OPERATIONS, () -> state.readCoins(target));
+		assertAllocatesAtMost("readCoinsPerSecond", 0, OPERATIONS, () -> state.readCoinsPerSecond(target));
+
+		state.applyBuff(Buff.DOUBLE_TAPS, System.currentTimeMillis());
+		assertAllocatesAtMost("tapGoose под усилением", 0, OPERATIONS, state::tapGoose);
+	}
+
+	/**
+	 * Покупка улучшений мини-игры и смена усилений (пересчет множителей).
+	 */
+	@Test
+	void gooseUpgradesAndBuffsDoNotAllocate() {
+		GooseGameState state = new GooseGameState();
+		assertAllocatesAtMost("upgradeClickPower", 0, OPERATIONS, () -> {
+			state.tapGoose();
+			state.upgradeClickPower();
+		});
+		assertAllocatesAtMost("upgradeAutoClicker", 0, OPERATIONS, () -> {
+			state.tapGoose();
+			state.upgradeAutoClicker();
+		});
+		long[] now = {0};
+		assertAllocatesAtMost("applyBuff/expireBuffs", 0, OPERATIONS, () -> {
+			now[0] += Buff.FRENZY.getDurationMillis();
+			state.applyBuff(Buff.FRENZY, now[0]);
+			state.expireBuffs(now[0] + Buff.FRENZY.getDurationMillis());
+		});
+	}
+
+	/**
+	 * Квесты, билетики и улучшения основной игры.
+	 */
+	@Test
+	void gameStateMutatorsDoNotAllocate() {
+		GameState state = new GameState();
+		LargeNumber target = new LargeNumber();
+		long[] now = {1_700_000_000_000L};
+
+		assertAllocatesAtMost("completeQuest", 0, OPERATIONS, () -> {
+			now[0] += state.getQuestCooldownMillis();
+			state.completeQuest("telegram", now[0]);
+		});
+		assertAllocatesAtMost("isQuestCompleted", 0, OPERATIONS, () -> state.isQuestCompleted("dzen"));
+		assertAllocatesAtMost("buyTicket", 0, OPERATIONS, () -> {
+			state.addCoins(state.getTicketPrice());
+			state.buyTicket();
+		});
+		assertAllocatesAtMost("upgradeSpeed", 0, 1_000, () -> {
+			state.addCoins(state.getSpeedUpgradeCost());
+			state.upgradeSpeed();
+		});
+		assertAllocatesAtMost("upgradeReward", 0, 1_000, () -> {
+			state.addCoins(state.getRewardUpgradeCost());
+			state.upgradeReward();
+		});
+		assertAllocatesAtMost("readCoins", 0, OPERATIONS, () -> state.readCoins(target));
+	}
+}
@@ -0,0 +1,104 @@
+package com.tapgame.tap_game.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты числа {@link LargeNumber} и игровых состояний на больших значениях.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Точная арифметика ниже границы и переход в большой вид и обратно</li>
+ *   <li>Сравнение и сокращенная запись</li>
+ *   <li>Сравнение большого вида с {@code long} от {@link LargeNumber#EXACT_LIMIT} до
+ *       {@link Long#MAX_VALUE}; вычитание большего такого {@code long} - ошибка</li>
+ *   <li>Сила клика "Гуся" не переполняется после 64 уровня</li>
+ * </ul>
+ */
+class LargeNumberTests {
+
+	/**
+	 * Точные значения остаются точными; переход через границу обратим.
+	 */
+	@Test
+	void exactRangeAndTransitions() {
+		LargeNumber number = new LargeNumber(LargeNumber.EXACT_LIMIT - 1);
+		assertTrue(number.isExact());
+
+		number.add(1);
+		assertFalse(number.isExact());
+		assertEquals(LargeNumber.EXACT_LIMIT, number.longValue());
+
+		// Большой вид хранит ~15 значащих цифр, поэтому возвращаемся в точный вид на круглом значении
+		number.subtract(LargeNumber.EXACT_LIMIT / 2);
+		assertTrue(number.isExact());
+		assertEquals(LargeNumber.EXACT_LIMIT / 2, number.longValue());
+		number.subtract(LargeNumber.EXACT_LIMIT / 2 - 123);
+		assertEquals(123, number.longValue());
+
+		number.multiply(1_000_000_000_000L).multiply(1_000_000_000_000L);
+		assertEquals(Long.MAX_VALUE, number.longValue());
+		assertEquals(26.09, number.log10(), 0.01);
+		assertTrue(number.compareTo(Long.MAX_VALUE) > 0);
+		assertThrows(IllegalArgumentException.class, () -> new LargeNumber(5).subtract(6));
+	}
+
+	/**
+	 * Граница 1e18: большой вид сравнивается с такими {@code long} по значению, а не
+	 * считается больше любого из них.
+	 */
+	@Test
+	void comparesBigFormWithLongsAboveExactLimit() {
+		LargeNumber number = new LargeNumber(1_500_000_000_000_000_000L);
+		assertFalse(number.isExact());
+		assertTrue(number.compareTo(9_000_000_000_000_000_000L) < 0);
+		assertTrue(number.compareTo(LargeNumber.EXACT_LIMIT) > 0);
+		assertTrue(number.compareTo(LargeNumber.EXACT_LIMIT - 1) > 0);
+		assertEquals(0, number.compareTo(1_500_000_000_000_000_000L));
+		assertTrue(number.compareTo(Long.MAX_VALUE) < 0);
+		assertEquals(0, new LargeNumber(LargeNumber.EXACT_LIMIT).compareTo(LargeNumber.EXACT_LIMIT));
+		assertTrue(new LargeNumber(Long.MAX_VALUE).compareTo(9_000_000_000_000_000_000L) > 0);
+
+		assertThrows(IllegalArgumentException.class, () -> number.subtract(9_000_000_000_000_000_000L));
+		assertEquals(1_500_000_000_000_000_000L, number.longValue(), "Неудачное вычитание не меняет число");
+		number.subtract(LargeNumber.EXACT_LIMIT);
+		assertEquals(500_000_000_000_000_000L, number.longValue());
+	}
+
+	/**
+	 * Сокращенная запись для интерфейса.
+	 */
+	@Test
+	void abbreviatedFormatting() {
+		assertEquals("999", format(new LargeNumber(999)));
+		assertEquals("1,5 тыс.", format(new LargeNumber(1500)));
+		assertEquals("3,07 млрд", format(new LargeNumber(3_079_000_000L)));
+		assertEquals("999,99 млн", format(new LargeNumber(999_999_999L)));
+		assertEquals("1,23e45", format(new LargeNumber().setScaledPower(123, 10, 43)));
+	}
+
+	/**
+	 * Сила клика продолжает расти после 64 уровня, монеты не становятся отрицательными.
+	 */
+	@Test
+	void gooseClickPowerDoesNotOverflow() {
+		GooseGameState state = new GooseGameState();
+		LargeNumber coinsPerClick = new LargeNumber();
+		while (state.getClickPowerLevel() <= 64) {
+			state.tapGoose();
+			while (state.getClickPowerLevel() <= 80 && state.upgradeClickPower()) {
+				// Покупаем доступные улучшения
+			}
+		}
+		assertTrue(state.getClickPowerLevel() > 64, "Уровень: " + state.getClickPowerLevel());
+		assertFalse(state.readCoinsPerClick(coinsPerClick).isExact());
+		assertEquals(state.getClickPowerLevel() - 1, coinsPerClick.log10() / Math.log10(2), 0.001);
+		assertEquals(Long.MAX_VALUE, state.getCoinsPerClick());
+		assertTrue(state.getCoins() >= 0);
+	}
+
+	private static String format(LargeNumber number) {
+		return number.appendAbbreviated(new StringBuilder()).toString();
+	}
+}
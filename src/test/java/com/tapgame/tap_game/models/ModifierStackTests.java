@@ -0,0 +1,107 @@
+package com.tapgame.tap_game.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты временных усилений {@link ModifierStack} и их применения к состояниям игры.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Множители разных усилений одной характеристики перемножаются, надбавки складываются</li>
+ *   <li>Повторная активация продлевает усиление, а не складывает его с собой</li>
+ *   <li>По окончании усиления множитель возвращается к базовому</li>
+ *   <li>Клик и пассивный доход мини-игры начисляют доход с учетом усилений</li>
+ *   <li>Награда за квест удваивается под {@link Buff#QUEST_BOOST}</li>
+ * </ul>
+ */
+class ModifierStackTests {
+
+	private static final long NOW = 1_700_000_000_000L;
+
+	/**
+	 * Сложение усилений, продление и окончание.
+	 */
+	@Test
+	void stacksExtendsAndExpires() {
+		ModifierStack stack = new ModifierStack();
+		assertEquals(1.0, stack.multiplier(Stat.TAP_INCOME));
+		assertEquals(Long.MAX_VALUE, stack.getNextExpiryMillis());
+
+		assertEquals(Stat.TAP_INCOME.mask(), stack.activate(Buff.DOUBLE_TAPS, NOW));
+		stack.activate(Buff.FRENZY, NOW);
+		stack.activate(Buff.IDLE_BOOST, NOW);
+		assertEquals(6.0, stack.multiplier(Stat.TAP_INCOME));
+		assertEquals(1.5, stack.multiplier(Stat.IDLE_INCOME));
+		assertEquals(NOW + Buff.FRENZY.getDurationMillis(), stack.getNextExpiryMillis());
+
+		// Повторная активация продлевает и не меняет множитель
+		assertEquals(0, stack.activate(Buff.DOUBLE_TAPS, NOW + 5_000));
+		assertEquals(6.0, stack.multiplier(Stat.TAP_INCOME));
+		assertEquals(Buff.DOUBLE_TAPS.getDurationMillis(), stack.remainingMillis(Buff.DOUBLE_TAPS, NOW + 5_000));
+
+		// До ближайшего срока ничего не меняется
+		assertEquals(0, stack.expire(NOW + Buff.FRENZY.getDurationMillis() - 1));
+		assertEquals(Stat.TAP_INCOME.mask(), stack.expire(NOW + Buff.FRENZY.getDurationMillis()));
+		assertEquals(2.0, stack.multiplier(Stat.TAP_INCOME));
+
+		// IDLE_BOOST заканчивается через 60 с, DOUBLE_TAPS продлен до 65 с
+		stack.expire(NOW + 60_000);
+		assertEquals(1.0, stack.multiplier(Stat.IDLE_INCOME));
+		assertEquals(2.0, stack.multiplier(Stat.TAP_INCOME));
+		stack.expire(NOW + 65_000);
+		assertEquals(1.0, stack.multiplier(Stat.TAP_INCOME));
+		assertEquals(Long.MAX_VALUE, stack.getNextExpiryMillis());
+	}
+
+	/**
+	 * Клик и пассивный доход мини-игры под усилениями.
+	 */
+	@Test
+	void gooseIncomeUsesEffectiveRates() {
+		GooseGameState state = new GooseGameState();
+		state.applyBuff(Buff.DOUBLE_TAPS, NOW);
+		state.applyBuff(Buff.FRENZY, NOW);
+		assertEquals(6, state.getCoinsPerClick());
+		assertEquals(6, state.tapGoose());
+		assertEquals(6, state.getCoins());
+
+		state.expireBuffs(NOW + Buff.FRENZY.getDurationMillis());
+		assertEquals(2, state.tapGoose());
+		state.expireBuffs(NOW + Buff.DOUBLE_TAPS.getDurationMillis());
+		assertEquals(1, state.tapGoose());
+		assertEquals(9, state.getCoins());
+
+		// Автокликер под IDLE_BOOST приносит в полтора раза больше
+		while (state.getCoins() < state.getAutoClickerUpgradeCost()) {
+			state.tapGoose();
+		}
+		assertTrue(state.upgradeAutoClicker());
+		long base = state.getCoinsPerSecond();
+		assertTrue(base > 0);
+		state.applyBuff(Buff.IDLE_BOOST, NOW);
+		assertEquals((long) (base * 1.5), state.getCoinsPerSecond());
+		long before = state.getCoins();
+		state.addPassiveIncome(1000);
+		assertEquals((long) (base * 1.5), state.getCoins() - before);
+	}
+
+	/**
+	 * Награда за квест под {@link Buff#QUEST_BOOST} и после его окончания.
+	 */
+	@Test
+	void questRewardBoost() {
+		GameState state = new GameState();
+		int base = state.getQuestReward();
+		state.applyBuff(Buff.QUEST_BOOST, NOW);
+		assertEquals(base * 2, state.getQuestReward());
+		assertTrue(state.completeQuest("telegram", NOW));
+		assertEquals(base * 2, state.getCoins());
+
+		// Перезарядка закончилась позже усиления: награда снова базовая
+		long later = NOW + Math.max(state.getQuestCooldownMillis(), Buff.QUEST_BOOST.getDurationMillis());
+		assertTrue(state.completeQuest("telegram", later));
+		assertEquals(base * 3, state.getCoins());
+	}
+}
@@ -0,0 +1,363 @@
+package com.tapgame.tap_game.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Локальный поддельный сервер Telegram Bot API на {@link HttpServer} из JDK.
+ *
+ * <p>Отвечает на {@code getMe}, {@code sendMessage}, {@code getUpdates} и
+ * {@code getChatMember} в формате настоящего API, поэтому {@link TelegramService}
+ * работает с ним без изменений через {@code telegram.api.base.url} ({@link #serviceConfig()}).
+ *
+ * <p><strong>Внесение сбоев</strong> (можно менять во время работы):
+ * <ul>
+ *   <li>{@link #setLatency(long, long)} - задержка ответа: база плюс случайный разброс</li>
+ *   <li>{@link #setErrorRate(double)} - доля ответов 500</li>
+ *   <li>{@link #setRateLimitRate(double, int)} - доля ответов 429 с {@code retry_after}</li>
+ *   <li>{@link #failNext(int)}, {@link #rateLimitNext(int)} - ровно N следующих сбоев</li>
+ * </ul>
+ *
+ * <p>Используется тестами и нагрузочным {@link TelegramThroughputBenchmark}.
+ */
+public final class FakeTelegramApi implements AutoCloseable {
+
+	/** Токен, который сервер ожидает в пути запроса */
+	public static final String TOKEN = "123456:FAKE";
+
+	/** Наибольшее ожидание {@code getUpdates}, чтобы тесты не висели */
+	private static final long MAX_POLL_MILLIS = 2_000;
+
+	static {
+		// Без TCP_NODELAY заголовки и тело ответа уходят двумя пакетами, и отложенное
+		// подтверждение добавляет ~40 мс к каждому запросу
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+	}
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final HttpServer server;
+	private final ExecutorService executor;
+
+	private volatile long latencyMillis;
+	private volatile long latencyJitterMillis;
+	private volatile double errorRate;
+	private volatile double rateLimitRate;
+	private volatile int retryAfterSeconds = 1;
+	private final AtomicInteger failNext = new AtomicInteger();
+	private final AtomicInteger rateLimitNext = new AtomicInteger();
+
+	private final AtomicLong messageIds = new AtomicLong();
+	private final AtomicLong messagesAccepted = new AtomicLong();
+	private final AtomicLong errorsInjected = new AtomicLong();
+	private final AtomicLong rateLimitsInjected = new AtomicLong();
+	private final Map<String, AtomicLong> requestsByMethod = new ConcurrentHashMap<>();
+	private volatile String lastMessageText;
+
+	/** Очередь обновлений для {@code getUpdates}: JSON объектов без {@code update_id} */
+	private final List<String> updates = new ArrayList<>();
+	private final Map<Long, String> chatMemberStatus = new ConcurrentHashMap<>();
+
+	private FakeTelegramApi(int threads) throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 256);
+		executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "fake-telegram-api");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server.setExecutor(executor);
+		server.createContext("/bot", this::handle);
+		server.start();
+	}
+
+	/**
+	 * Запуск сервера на свободном порту.
+	 *
+	 * @param threads потоков обработки (задержка ответа занимает поток)
+	 * @return запущенный сервер
+	 * @throws IOException если порт не удалось открыть
+	 */
+	public static FakeTelegramApi start(int threads) throws IOException {
+		return new FakeTelegramApi(threads);
+	}
+
+	/**
+	 * @return адрес для {@code telegram.api.base.url} (без токена)
+	 */
+	public String getBaseUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/bot";
+	}
+
+	/**
+	 * Конфигурация {@link TelegramService}, направленная на этот сервер.
+	 *
+	 * @return настройки с токеном {@link #TOKEN} и адресом сервера
+	 */
+	public Properties serviceConfig() {
+		Properties config = new Properties();
+		config.setProperty("telegram.bot.token", TOKEN);
+		config.setProperty("telegram.api.base.url", getBaseUrl());
+		config.setProperty("telegram.api.get.me.url", "/getMe");
+		config.setProperty("telegram.api.send.message.url", "/sendMessage");
+		config.setProperty("telegram.api.get.updates.url", "/getUpdates");
+		config.setProperty("telegram.api.get.chat.member.url", "/getChatMember");
+		return config;
+	}
+
+	/**
+	 * @param baseMillis задержка каждого ответа
+	 * @param jitterMillis случайная добавка от 0 до этого значения
+	 */
+	public void setLatency(long baseMillis, long jitterMillis) {
+		this.latencyMillis = baseMillis;
+		this.latencyJitterMillis = jitterMillis;
+	}
+
+	/**
+	 * @param rate доля ответов 500 (от 0 до 1)
+	 */
+	public void setErrorRate(double rate) {
+		this.errorRate = rate;
+	}
+
+	/**
+	 * @param rate доля ответов 429 (от 0 до 1)
+	 * @param retryAfterSeconds значение {@code retry_after} в ответе
+	 */
+	public void setRateLimitRate(double rate, int retryAfterSeconds) {
+		this.rateLimitRate = rate;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	/**
+	 * @param count сколько следующих запросов получат ответ 500
+	 */
+	public void failNext(int count) {
+		failNext.set(count);
+	}
+
+	/**
+	 * @param count сколько следующих запросов получат ответ 429
+	 */
+	public void rateLimitNext(int count) {
+		rateLimitNext.set(count);
+	}
+
+	/**
+	 * Добавление обновления в очередь {@code getUpdates}.
+	 *
+	 * @param eventJson поля обновления без {@code update_id}, например {@code "message":{...}}
+	 */
+	public void enqueueUpdate(String eventJson) {
+		synchronized (updates) {
+			updates.add(eventJson);
+			updates.notifyAll();
+		}
+	}
+
+	/**
+	 * @param userId ID пользователя
+	 * @param status статус участника канала ({@code member}, {@code left}, ...)
+	 */
+	public void setChatMemberStatus(long userId, String status) {
+		chatMemberStatus.put(userId, status);
+	}
+
+	/**
+	 * @return принятые сообщения {@code sendMessage}
+	 */
+	public long getMessagesAccepted() {
+		return messagesAccepted.get();
+	}
+
+	/**
+	 * @return отданные ответы 500 и 429
+	 */
+	public long getFaultsInjected() {
+		return errorsInjected.get() + rateLimitsInjected.get();
+	}
+
+	/**
+	 * @param method метод API
+	 * @return количество запросов метода, включая ответы со сбоем
+	 */
+	public long getRequestCount(String method) {
+		AtomicLong count = requestsByMethod.get(method);
+		return count != null ? count.get() : 0;
+	}
+
+	/**
+	 * @return текст последнего принятого сообщения
+	 */
+	public String getLastMessageText() {
+		return lastMessageText;
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try (exchange) {
+			String path = exchange.getRequestURI().getPath();
+			int slash = path.lastIndexOf('/');
+			if (!path.startsWith("/bot" + TOKEN + "/")) {
+				respond(exchange, 401, "{\"ok\":false,\"error_code\":401,\"description\":\"Unauthorized\"}");
+				return;
+			}
+			String method = path.substring(slash + 1);
+			requestsByMethod.computeIfAbsent(method, m -> new AtomicLong()).incrementAndGet();
+			byte[] body = exchange.getRequestBody().readAllBytes();
+
+			delay();
+			if (injectFault(exchange)) {
+				return;
+			}
+			switch (method) {
+				case "getMe" -> respond(exchange, 200, "{\"ok\":true,\"result\":{\"id\":123456,\"is_bot\":true,"
+						+ "\"first_name\":\"Fake Goose\",\"username\":\"fake_goose_bot\"}}");
+				case "sendMessage" -> sendMessage(exchange, body);
+				case "getUpdates" -> getUpdates(exchange);
+				case "getChatMember" -> getChatMember(exchange);
+				default -> respond(exchange, 404, "{\"ok\":false,\"error_code\":404,\"description\":\"Not Found\"}");
+			}
+		}
+	}
+
+	private void sendMessage(HttpExchange exchange, byte[] body) throws IOException {
+		JsonNode request = mapper.readTree(body);
+		String chatId = request.path("chat_id").asText("");
+		String text = request.path("text").asText("");
+		if (chatId.isEmpty() || text.isEmpty()) {
+			respond(exchange, 400, "{\"ok\":false,\"error_code\":400,\"description\":\"Bad Request: message text is empty\"}");
+			return;
+		}
+		lastMessageText = text;
+		messagesAccepted.incrementAndGet();
+		respond(exchange, 200, "{\"ok\":true,\"result\":{\"message_id\":" + messageIds.incrementAndGet()
+				+ ",\"chat\":{\"id\":" + mapper.writeValueAsString(chatId) + ",\"type\":\"private\"},\"date\":"
+				+ System.currentTimeMillis() / 1000 + "}}");
+	}
+
+	private void getUpdates(HttpExchange exchange) throws IOException {
+		Map<String, String> query = query(exchange.getRequestURI());
+		long offset = Long.parseLong(query.getOrDefault("offset", "0"));
+		long timeoutMillis = Math.min(TimeUnit.SECONDS.toMillis(Long.parseLong(query.getOrDefault("timeout", "0"))),
+				MAX_POLL_MILLIS);
+		StringBuilder json = new StringBuilder("{\"ok\":true,\"result\":[");
+		synchronized (updates) {
+			long deadline = System.currentTimeMillis() + timeoutMillis;
+			// Обновления нумеруются с 1 по порядку добавления
+			while (updates.size() < offset && System.currentTimeMillis() < deadline) {
+				try {
+					updates.wait(Math.max(1, deadline - System.currentTimeMillis()));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			for (long id = Math.max(1, offset); id <= updates.size(); id++) {
+				if (json.charAt(json.length() - 1) != '[') {
+					json.append(',');
+				}
+				json.append("{\"update_id\":").append(id).append(',').append(updates.get((int) id - 1)).append('}');
+			}
+		}
+		respond(exchange, 200, json.append("]}").toString());
+	}
+
+	private void getChatMember(HttpExchange exchange) throws IOException {
+		Map<String, String> query = query(exchange.getRequestURI());
+		long userId = Long.parseLong(query.getOrDefault("user_id", "0"));
+		String status = chatMemberStatus.getOrDefault(userId, "left");
+		respond(exchange, 200, "{\"ok\":true,\"result\":{\"user\":{\"id\":" + userId + ",\"is_bot\":false,"
+				+ "\"first_name\":\"Player\"},\"status\":\"" + status + "\"}}");
+	}
+
+	private void delay() {
+		long millis = latencyMillis;
+		long jitter = latencyJitterMillis;
+		if (jitter > 0) {
+			millis += ThreadLocalRandom.current().nextLong(jitter + 1);
+		}
+		if (millis > 0) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private boolean injectFault(HttpExchange exchange) throws IOException {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		if (takeOne(rateLimitNext) || random.nextDouble() < rateLimitRate) {
+			rateLimitsInjected.incrementAndGet();
+			respond(exchange, 429, "{\"ok\":false,\"error_code\":429,\"description\":\"Too Many Requests: retry after "
+					+ retryAfterSeconds + "\",\"parameters\":{\"retry_after\":" + retryAfterSeconds + "}}");
+			return true;
+		}
+		if (takeOne(failNext) || random.nextDouble() < errorRate) {
+			errorsInjected.incrementAndGet();
+			respond(exchange, 500, "{\"ok\":false,\"error_code\":500,\"description\":\"Internal Server Error\"}");
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean takeOne(AtomicInteger counter) {
+		int current;
+		while ((current = counter.get()) > 0) {
+			if (counter.compareAndSet(current, current - 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Map<String, String> query(URI uri) {
+		Map<String, String> params = new HashMap<>();
+		String raw = uri.getQuery();
+		if (raw == null) {
+			return params;
+		}
+		for (String pair : raw.split("&")) {
+			int eq = pair.indexOf('=');
+			if (eq > 0) {
+				params.put(pair.substring(0, eq), pair.substring(eq + 1));
+			}
+		}
+		return params;
+	}
+
+	private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.tapgame.tap_game.services;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Сравнение отрисовки уведомлений: {@code String.format} против {@link NotificationTemplates}.
+ *
+ * <p>Не является тестом: запускается вручную, например
+ * {@code java -cp target/classes:target/test-classes:<зависимости> com.tapgame.tap_game.services.NotificationTemplateBenchmark}.
+ * Аргумент (необязателен): число сообщений в рассылке (по умолчанию 1 000 000).
+ *
+ * <p>Рассылка имитирует уведомление о квесте всем игрокам: у каждого свое имя квеста,
+ * награда и код языка (смесь {@code ru}, {@code en}, {@code en-US}, {@code uk} и
+ * отсутствующего кода). Для каждого способа печатаются наносекунды и выделенные байты
+ * на сообщение (по счетчику выделений потока); замер повторяется после прогрева.
+ */
+public class NotificationTemplateBenchmark {
+
+	private static final String FORMAT =
+			"🎯 <b>Квест выполнен!</b>\n\n" +
+			"📋 Задание: %s\n" +
+			"💰 Награда: %d монет\n\n" +
+			"Продолжайте играть! 🚀";
+
+	private static final String[] LANGUAGES = {"ru", "en", "en-US", "uk", null, "ru", "ru"};
+	private static final String[] QUESTS = {"Подписка на канал", "Daily check-in", "Пригласи друга", "Тапни 1000 раз"};
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/** Не дает JIT выбросить результат */
+	private static long sink;
+
+	public static void main(String[] args) {
+		int messages = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		NotificationTemplates templates = NotificationTemplates.load();
+
+		System.out.printf("%d сообщений на замер%n", messages);
+		System.out.printf("%-16s %12s %12s%n", "способ", "нс/сообщ.", "байт/сообщ.");
+		for (int round = 0; round < 3; round++) {
+			String label = round == 0 ? " (прогрев)" : "";
+			measure("format" + label, messages, i -> String.format(FORMAT, QUESTS[i & 3], 10 + (i & 255)));
+			measure("шаблон" + label, messages, i -> templates.render(NotificationType.QUEST_COMPLETED,
+					LANGUAGES[i % LANGUAGES.length], templates.args().set(0, QUESTS[i & 3]).set(1, 10 + (i & 255))));
+		}
+		System.out.println(sink == 0 ? "" : "готово");
+	}
+
+	private static void measure(String name, int messages, Renderer renderer) {
+		long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		long length = 0;
+		for (int i = 0; i < messages; i++) {
+			length += renderer.render(i).length();
+		}
+		long nanos = System.nanoTime() - start;
+		long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+		sink += length;
+		System.out.printf("%-16s %12.1f %12.1f%n", name, (double) nanos / messages, (double) bytes / messages);
+	}
+
+	@FunctionalInterface
+	private interface Renderer {
+		String render(int i);
+	}
+}
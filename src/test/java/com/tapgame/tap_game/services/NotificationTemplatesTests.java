@@ -0,0 +1,116 @@
+package com.tapgame.tap_game.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Properties;
+
+import static com.tapgame.tap_game.AllocationMeter.assertAllocatesAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты шаблонов уведомлений {@link NotificationTemplates} и {@link MessageTemplate}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Русские шаблоны дают тот же текст, что и прежний {@code String.format}</li>
+ *   <li>Выбор языка: точный код, основной язык тега, язык по умолчанию для неизвестного
+ *       кода и {@code null}</li>
+ *   <li>Недостающий в языке шаблон берется из языка по умолчанию</li>
+ *   <li>Неизвестный параметр и незакрытая скобка отклоняются при разборе; удвоенные скобки
+ *       остаются литералом</li>
+ *   <li>Отрисовка выделяет память только под итоговую строку</li>
+ * </ul>
+ */
+class NotificationTemplatesTests {
+
+	private final NotificationTemplates templates = NotificationTemplates.load();
+
+	/**
+	 * Текст совпадает с тем, что формировал {@code String.format} до перехода на шаблоны.
+	 */
+	@Test
+	void russianTemplatesMatchFormerMessages() {
+		String expected = String.format(
+				"🎯 <b>Квест выполнен!</b>\n\n" +
+				"📋 Задание: %s\n" +
+				"💰 Награда: %d монет\n\n" +
+				"Продолжайте играть! 🚀",
+				"Подписка на канал", 20);
+		assertEquals(expected, templates.render(NotificationType.QUEST_COMPLETED, "ru",
+				templates.args().set(0, "Подписка на канал").set(1, 20)));
+
+		expected = String.format(
+				"🎉 <b>Поздравляем!</b>\n\n" +
+				"⚡ Ваш персонаж достиг <b>%d уровня</b>!\n\n" +
+				"Теперь вы можете получать больше наград! 🚀",
+				7);
+		assertEquals(expected, templates.render(NotificationType.LEVEL_UP, null, templates.args().set(0, 7)));
+	}
+
+	/**
+	 * Язык выбирается по коду пользователя с откатом к русскому.
+	 */
+	@Test
+	void selectsLanguageWithFallback() {
+		String english = render("en");
+		assertTrue(english.startsWith("🎁 <b>Congratulations on your win!</b>"), english);
+		assertEquals(english, render("en-US"));
+		assertEquals(english, render("EN-gb"));
+
+		String russian = render(NotificationTemplates.DEFAULT_LANGUAGE);
+		assertTrue(russian.contains("Вы выиграли: <b>Футболка</b>"), russian);
+		assertEquals(russian, render("de"));
+		assertEquals(russian, render(null));
+		assertEquals(russian, render(""));
+	}
+
+	/**
+	 * Шаблон, которого нет в языке, берется из языка по умолчанию.
+	 */
+	@Test
+	void missingKeyFallsBackToDefaultLanguage() {
+		Properties ru = new Properties();
+		ru.setProperty("quest.completed", "Готово: {quest}, +{reward}");
+		ru.setProperty("quest.available", "Снова: {quest}");
+		ru.setProperty("level.up", "Уровень {level}");
+		ru.setProperty("prize.won", "Приз {prize}");
+		Properties en = new Properties();
+		en.setProperty("level.up", "Level {level}");
+
+		NotificationTemplates custom = NotificationTemplates.fromProperties(Map.of("ru", ru, "en", en));
+		assertEquals("Level 3", custom.render(NotificationType.LEVEL_UP, "en", custom.args().set(0, 3)));
+		assertEquals("Приз Кружка", custom.render(NotificationType.PRIZE_WON, "en", custom.args().set(0, "Кружка")));
+
+		ru.remove("prize.won");
+		assertThrows(IllegalStateException.class, () -> NotificationTemplates.fromProperties(Map.of("ru", ru)));
+	}
+
+	/**
+	 * Ошибки в тексте шаблона обнаруживаются при разборе, а не при отправке.
+	 */
+	@Test
+	void compileValidatesSyntax() {
+		assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("t", "Уровень {lvl}", "level"));
+		assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("t", "Уровень {level", "level"));
+
+		MessageTemplate template = MessageTemplate.compile("t", "{{{level}}} {level}{{", "level");
+		assertEquals("{5} 5{", template.appendTo(new StringBuilder(), new MessageArgs().set(0, 5)).toString());
+	}
+
+	/**
+	 * На сообщение выделяется только итоговая строка: ни {@code Object[]}, ни
+	 * {@code Integer}, ни промежуточных буферов. Строка здесь - около 150 символов
+	 * (кодировка UTF-16 из-за эмодзи), то есть примерно 330 байт вместе с массивом.
+	 */
+	@Test
+	void renderAllocatesOnlyResult() {
+		assertAllocatesAtMost("render", 400, 20_000,
+				() -> templates.render(NotificationType.QUEST_COMPLETED, "en-US",
+						templates.args().set(0, "Daily check-in").set(1, 150)));
+	}
+
+	private String render(String languageCode) {
+		return templates.render(NotificationType.PRIZE_WON, languageCode, templates.args().set(0, "Футболка"));
+	}
+}
@@ -0,0 +1,75 @@
+package com.tapgame.tap_game.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.tapgame.tap_game.AllocationMeter.assertAllocatesAtMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты кодировщика тела {@code sendMessage} {@link TelegramMessageEncoder}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Результат - корректный JSON в UTF-8 с теми же полями, что и раньше:
+ *       кириллица, эмодзи, кавычки, переводы строк и управляющие символы</li>
+ *   <li>Буфер растет под длинное сообщение</li>
+ *   <li>Кодирование через {@link TelegramService} укладывается в бюджет 0 байт на сообщение</li>
+ * </ul>
+ */
+class TelegramMessageEncoderTests {
+
+	private static final String MESSAGE = "🎉 <b>Квест выполнен!</b>\n\n"
+			+ "✅ Квест: \"telegram\"\n💰 Награда: 20 монет\t\\ \u0001";
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	/**
+	 * Кодирование разбирается Jackson обратно в исходные строки.
+	 */
+	@Test
+	void encodesValidUtf8Json() throws Exception {
+		TelegramMessageEncoder encoder = new TelegramMessageEncoder();
+		encoder.encodeSendMessage("-100123", MESSAGE, "HTML");
+		JsonNode json = parse(encoder);
+		assertEquals("-100123", json.get("chat_id").asText());
+		assertEquals(MESSAGE, json.get("text").asText());
+		assertEquals("HTML", json.get("parse_mode").asText());
+		assertEquals(3, json.size());
+
+		// Без режима разметки поле не пишется
+		encoder.encodeSendMessage("1", "ok", null);
+		assertEquals("{\"chat_id\":\"1\",\"text\":\"ok\"}",
+				new String(encoder.getBuffer(), 0, encoder.getLength(), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Сообщение длиннее начального буфера.
+	 */
+	@Test
+	void growsForLongMessage() throws Exception {
+		char[] chars = new char[4096];
+		Arrays.fill(chars, 'ж');
+		String text = new String(chars);
+		TelegramMessageEncoder encoder = new TelegramMessageEncoder();
+		encoder.encodeSendMessage("42", text, "HTML");
+		assertEquals(text, parse(encoder).get("text").asText());
+	}
+
+	/**
+	 * Кодирование уведомления без выделения памяти.
+	 */
+	@Test
+	void encodingMessageDoesNotAllocate() {
+		assertAllocatesAtMost("TelegramService.encodeMessage", 0, 100_000,
+				() -> TelegramService.encodeMessage("123456789", MESSAGE));
+	}
+
+	private JsonNode parse(TelegramMessageEncoder encoder) throws Exception {
+		return mapper.readTree(encoder.getBuffer(), 0, encoder.getLength());
+	}
+}
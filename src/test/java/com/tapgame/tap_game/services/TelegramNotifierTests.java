@@ -0,0 +1,82 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.models.GameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты уведомлений {@link TelegramNotifier} по событиям {@link GameState}.
+ *
+ * <p>Сообщения уходят в локальный {@link FakeTelegramApi}; исполнитель выполняет
+ * отправку сразу в потоке, изменившем состояние.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Выполнение квеста отправляет одно уведомление с названием квеста</li>
+ *   <li>Повышение уровня отправляет уведомление о новом уровне</li>
+ *   <li>Начисление монет и квест на перезарядке уведомлений не вызывают</li>
+ *   <li>После отписки уведомления не отправляются</li>
+ * </ul>
+ */
+class TelegramNotifierTests {
+
+	private FakeTelegramApi api;
+	private GameState gameState;
+	private TelegramNotifier notifier;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		api = FakeTelegramApi.start(2);
+		gameState = new GameState();
+		notifier = new TelegramNotifier(new TelegramService(api.serviceConfig()), gameState, "42", Runnable::run);
+		gameState.addChangeListener(notifier);
+	}
+
+	@AfterEach
+	void tearDown() {
+		api.close();
+	}
+
+	/**
+	 * Квест уведомляет один раз; перезарядка и монеты - нет.
+	 */
+	@Test
+	void notifiesOnQuestCompletion() {
+		gameState.addCoins(10);
+		assertEquals(0, api.getMessagesAccepted());
+
+		assertTrue(gameState.completeQuest("telegram", 1_000));
+		assertEquals(1, api.getMessagesAccepted());
+		assertTrue(api.getLastMessageText().contains("Подписка на Telegram канал"), api.getLastMessageText());
+
+		assertFalse(gameState.completeQuest("telegram", 1_001));
+		assertEquals(1, api.getMessagesAccepted());
+	}
+
+	/**
+	 * Покупка улучшения поднимает уровень персонажа и отправляет уведомление.
+	 */
+	@Test
+	void notifiesOnLevelUp() {
+		int level = gameState.getCharacterLevel();
+		gameState.addCoins(gameState.getSpeedUpgradeCost());
+		assertTrue(gameState.upgradeSpeed());
+
+		assertEquals(level + 1, gameState.getCharacterLevel());
+		assertEquals(1, api.getMessagesAccepted());
+		assertTrue(api.getLastMessageText().contains(String.valueOf(level + 1)), api.getLastMessageText());
+	}
+
+	/**
+	 * Отписанный уведомитель молчит.
+	 */
+	@Test
+	void stopsAfterRemoval() {
+		gameState.removeChangeListener(notifier);
+		assertTrue(gameState.completeQuest("dzen", 1_000));
+		assertEquals(0, api.getMessagesAccepted());
+	}
+}
@@ -0,0 +1,235 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.services.TelegramOutbox.SendResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты дисковой очереди сообщений {@link TelegramOutbox}.
+ *
+ * <p>Падение процесса имитируется копированием каталога журнала: копия - это ровно то,
+ * что осталось бы на диске, если бы процесс завершился в этот момент.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Каждое сообщение отправляется один раз; после штатного закрытия и повторного
+ *       открытия ничего не досылается</li>
+ *   <li>После «падения» досылаются только неподтвержденные сообщения, с теми же
+ *       идентификаторами и текстом; оборванная запись в конце журнала отбрасывается</li>
+ *   <li>Сегменты с подтвержденными сообщениями удаляются, а застрявшее сообщение
+ *       переписывается в новый сегмент и не мешает удалению старых</li>
+ *   <li>Повторяется только отправка, которая точно не прошла; отклоненное и, возможно,
+ *       доставленное сообщение подтверждается без повтора и не досылается после перезапуска</li>
+ *   <li>Постановка в очередь занимает микросекунды</li>
+ * </ul>
+ */
+class TelegramOutboxTests {
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * Все сообщения доставлены по одному разу, журнал после перезапуска пуст.
+	 */
+	@Test
+	void deliversEachMessageOnce() throws Exception {
+		Map<Long, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+		try (TelegramOutbox outbox = new TelegramOutbox(directory, (id, chatId, text) -> {
+			deliveries.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+			return SendResult.SENT;
+		}, 4)) {
+			for (int i = 0; i < 1000; i++) {
+				outbox.enqueue("chat-" + i, "Сообщение " + i);
+			}
+			awaitTrue(() -> outbox.getPendingCount() == 0);
+		}
+		assertEquals(1000, deliveries.size());
+		deliveries.values().forEach(count -> assertEquals(1, count.get()));
+
+		AtomicInteger replayed = new AtomicInteger();
+		try (TelegramOutbox reopened = new TelegramOutbox(directory, (id, chatId, text) -> {
+			replayed.incrementAndGet();
+			return SendResult.SENT;
+		}, 1)) {
+			assertEquals(0, reopened.getPendingCount());
+			assertEquals(1001, reopened.enqueue("chat", "после перезапуска"));
+			awaitTrue(() -> reopened.getPendingCount() == 0);
+		}
+		assertEquals(1, replayed.get());
+	}
+
+	/**
+	 * После падения досылаются ровно неподтвержденные сообщения.
+	 */
+	@Test
+	void replaysUnacknowledgedMessagesAfterCrash() throws Exception {
+		Path crashed = directory.resolve("crashed");
+		// Четные сообщения не проходят: повтор через секунду, к моменту «падения» их не было
+		try (TelegramOutbox outbox = new TelegramOutbox(directory.resolve("live"), (id, chatId, text) ->
+				id % 2 != 0 ? SendResult.SENT : SendResult.NOT_SENT, 2)) {
+			for (int i = 1; i <= 100; i++) {
+				outbox.enqueue(Integer.toString(i), "Сообщение " + i);
+			}
+			awaitTrue(() -> outbox.getPendingCount() == 50);
+			outbox.flush();
+			copyDirectory(directory.resolve("live"), crashed);
+		}
+
+		// Оборванная последняя запись: длина есть, тела нет
+		Path last = lastSegment(crashed);
+		Files.write(last, new byte[] {0, 0, 1, 0, 7, 7}, StandardOpenOption.APPEND);
+
+		Map<Long, String> replayed = new ConcurrentHashMap<>();
+		try (TelegramOutbox recovered = new TelegramOutbox(crashed, (id, chatId, text) -> {
+			assertNull(replayed.put(id, chatId + ":" + text));
+			return SendResult.SENT;
+		}, 2)) {
+			awaitTrue(() -> recovered.getPendingCount() == 0);
+			assertEquals(101, recovered.enqueue("101", "новое"));
+			awaitTrue(() -> recovered.getPendingCount() == 0);
+		}
+		assertEquals(51, replayed.size());
+		for (long id = 2; id <= 100; id += 2) {
+			assertEquals(id + ":Сообщение " + id, replayed.get(id));
+		}
+	}
+
+	/**
+	 * Одно застрявшее сообщение не удерживает старые сегменты.
+	 */
+	@Test
+	void compactsSegmentsAroundStuckMessage() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger stuckDeliveries = new AtomicInteger();
+		String text = "x".repeat(200);
+		try (TelegramOutbox outbox = new TelegramOutbox(directory, (id, chatId, message) -> {
+			if (id == 1) {
+				await(release);
+				stuckDeliveries.incrementAndGet();
+			}
+			return SendResult.SENT;
+		}, 2, 4096, 2)) {
+			for (int i = 0; i < 2000; i++) {
+				outbox.enqueue("chat", text);
+				if (i % 50 == 0) {
+					outbox.flush();
+				}
+			}
+			awaitTrue(() -> outbox.getPendingCount() == 1);
+			// Пустая пачка подтверждений запускает уборку еще раз
+			outbox.enqueue("chat", "последнее");
+			awaitTrue(() -> outbox.getPendingCount() == 1 && outbox.getSegmentCount() <= 4);
+			assertEquals(outbox.getSegmentCount(), segmentFiles(directory).size());
+
+			release.countDown();
+			awaitTrue(() -> outbox.getPendingCount() == 0);
+		}
+		assertEquals(1, stuckDeliveries.get());
+	}
+
+	/**
+	 * Сообщение 1 сначала не отправлено и уходит со второй попытки; сообщения 2 и 3
+	 * (отклонено, исход неизвестен) отправляются ровно один раз.
+	 */
+	@Test
+	void retriesOnlyMessagesThatWereCertainlyNotSent() throws Exception {
+		Map<Long, AtomicInteger> attempts = new ConcurrentHashMap<>();
+		try (TelegramOutbox outbox = new TelegramOutbox(directory, (id, chatId, text) -> {
+			int attempt = attempts.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet();
+			if (id == 1) {
+				return attempt == 1 ? SendResult.NOT_SENT : SendResult.SENT;
+			}
+			return id == 2 ? SendResult.REJECTED : SendResult.UNCERTAIN;
+		}, 2)) {
+			outbox.enqueue("1", "повтор");
+			outbox.enqueue("2", "бот заблокирован");
+			outbox.enqueue("3", "таймаут ответа");
+			awaitTrue(() -> outbox.getPendingCount() == 0);
+		}
+		assertEquals(2, attempts.get(1L).get());
+		assertEquals(1, attempts.get(2L).get());
+		assertEquals(1, attempts.get(3L).get());
+
+		try (TelegramOutbox reopened = new TelegramOutbox(directory, (id, chatId, text) -> {
+			fail("Подтвержденное сообщение отправлено повторно: " + id);
+			return SendResult.SENT;
+		}, 1)) {
+			assertEquals(0, reopened.getPendingCount());
+		}
+	}
+
+	/**
+	 * Среднее время {@link TelegramOutbox#enqueue} - единицы микросекунд: поток
+	 * вызывающего не ждет ни диска, ни отправки.
+	 */
+	@Test
+	void enqueueTakesMicroseconds() throws Exception {
+		try (TelegramOutbox outbox = new TelegramOutbox(directory, (id, chatId, text) -> SendResult.SENT, 2)) {
+			String text = "🎯 <b>Квест выполнен!</b>\n\n📋 Задание: Подписка на канал\n💰 Награда: 20 монет";
+			for (int i = 0; i < 20_000; i++) {
+				outbox.enqueue("123456789", text);
+			}
+			int operations = 100_000;
+			long start = System.nanoTime();
+			for (int i = 0; i < operations; i++) {
+				outbox.enqueue("123456789", text);
+			}
+			double micros = (System.nanoTime() - start) / 1000.0 / operations;
+			assertTrue(micros < 20, "enqueue: " + micros + " мкс");
+			awaitTrue(() -> outbox.getPendingCount() == 0);
+		}
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Условие не выполнено за 20 секунд");
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static List<Path> segmentFiles(Path directory) throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "outbox-*.log")) {
+			stream.forEach(files::add);
+		}
+		files.sort(null);
+		return files;
+	}
+
+	private static Path lastSegment(Path directory) throws IOException {
+		List<Path> files = segmentFiles(directory);
+		return files.get(files.size() - 1);
+	}
+
+	private static void copyDirectory(Path from, Path to) throws IOException {
+		Files.createDirectories(to);
+		for (Path file : segmentFiles(from)) {
+			Files.copy(file, to.resolve(file.getFileName()));
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.metrics.GameMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты {@link TelegramService} против локального {@link FakeTelegramApi}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Сервис направляется на другой сервер через {@code telegram.api.base.url}</li>
+ *   <li>Отправка сообщения доходит до сервера в том же виде</li>
+ *   <li>Ответы 429 повторяются, но не больше трех попыток; 500 повторяется только для
+ *       запросов на чтение - сообщение не отправляется дважды</li>
+ *   <li>Исход отправки для дисковой очереди: 429 - не отправлено, 5xx - неизвестно,
+ *       остальные 4xx - отклонено</li>
+ *   <li>{@code getUpdates} и {@code getChatMember} разбираются из ответа сервера</li>
+ *   <li>Ошибка обработчика посреди пачки не приводит к повтору уже обработанных обновлений</li>
+ * </ul>
+ */
+class TelegramServiceTests {
+
+	private FakeTelegramApi api;
+	private TelegramService service;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		api = FakeTelegramApi.start(4);
+		service = new TelegramService(api.serviceConfig());
+	}
+
+	@AfterEach
+	void tearDown() {
+		api.close();
+	}
+
+	/**
+	 * Сообщение и информация о боте.
+	 */
+	@Test
+	void sendsMessageToConfiguredServer() {
+		assertTrue(service.sendMessage("42", "Квест \"telegram\" выполнен! 🦢"));
+		assertEquals(1, api.getMessagesAccepted());
+		assertEquals("Квест \"telegram\" выполнен! 🦢", api.getLastMessageText());
+		assertTrue(service.getBotInfo().contains("fake_goose_bot"));
+		assertTrue(service.isApiAvailable());
+	}
+
+	/**
+	 * 429 с {@code retry_after: 0} повторяется; три сбоя подряд - ошибка. 500 на
+	 * {@code sendMessage} не повторяется (сообщение могло уйти), на {@code getMe} - повторяется.
+	 */
+	@Test
+	void retriesRateLimitAndServerErrors() {
+		long retriesBefore = GameMetrics.TELEGRAM_RETRIES.getCount();
+		api.setRateLimitRate(0, 0);
+		api.rateLimitNext(1);
+		assertTrue(service.sendMessage("42", "первое"));
+		api.failNext(1);
+		assertFalse(service.sendMessage("42", "второе"));
+		assertEquals(1, api.getMessagesAccepted());
+		assertEquals(3, api.getRequestCount("sendMessage"));
+		assertEquals(retriesBefore + 1, GameMetrics.TELEGRAM_RETRIES.getCount());
+
+		api.failNext(1);
+		assertTrue(service.getBotInfo().contains("fake_goose_bot"));
+		assertEquals(2, api.getRequestCount("getMe"));
+		assertEquals(retriesBefore + 2, GameMetrics.TELEGRAM_RETRIES.getCount());
+
+		api.rateLimitNext(3);
+		assertFalse(service.sendMessage("42", "третье"));
+		assertEquals(6, api.getRequestCount("sendMessage"));
+		assertEquals(1, api.getMessagesAccepted());
+	}
+
+	/**
+	 * Повторять в очереди можно только сообщение, которое Telegram точно не принял.
+	 */
+	@Test
+	void classifiesSendOutcomes() {
+		api.setRateLimitRate(0, 0);
+		assertEquals(TelegramOutbox.SendResult.SENT, service.send("42", "доставлено"));
+		api.rateLimitNext(3);
+		assertEquals(TelegramOutbox.SendResult.NOT_SENT, service.send("42", "лимит"));
+		api.failNext(1);
+		assertEquals(TelegramOutbox.SendResult.UNCERTAIN, service.send("42", "сбой сервера"));
+
+		Properties wrongToken = api.serviceConfig();
+		wrongToken.setProperty("telegram.bot.token", "1:WRONG");
+		assertEquals(TelegramOutbox.SendResult.REJECTED, new TelegramService(wrongToken).send("42", "чужой токен"));
+		assertEquals(1, api.getMessagesAccepted());
+	}
+
+	/**
+	 * Опрос обновлений и проверка подписки.
+	 */
+	@Test
+	void readsUpdatesAndChatMembers() {
+		api.enqueueUpdate("\"message\":{\"message_id\":1,\"from\":{\"id\":7,\"first_name\":\"Гусь\"},"
+				+ "\"chat\":{\"id\":7,\"type\":\"private\"},\"text\":\"/start\"}");
+		api.enqueueUpdate("\"message\":{\"message_id\":2,\"from\":{\"id\":8,\"first_name\":\"Утка\"},"
+				+ "\"chat\":{\"id\":8,\"type\":\"private\"},\"text\":\"/tap\"}");
+		List<String> texts = new ArrayList<>();
+		long offset = service.getUpdates(0, 0, update -> texts.add(update.getFrom().getId() + ":" + update.getText()));
+		assertEquals(List.of("7:/start", "8:/tap"), texts);
+		assertEquals(3, offset);
+		assertEquals(offset, service.getUpdates(offset, 0, update -> fail("повтор обновления")));
+
+		api.setChatMemberStatus(7, "member");
+		assertTrue(service.checkChannelSubscription("7", "@alabuga_channel"));
+		assertFalse(service.checkChannelSubscription("8", "@alabuga_channel"));
+	}
+
+	/**
+	 * Обработчик падает на втором обновлении: первое не приходит повторно, второе - приходит.
+	 */
+	@Test
+	void resumesAfterLastHandledUpdate() {
+		for (int id = 1; id <= 3; id++) {
+			api.enqueueUpdate("\"message\":{\"message_id\":" + id + ",\"from\":{\"id\":7,\"first_name\":\"Гусь\"},"
+					+ "\"chat\":{\"id\":7,\"type\":\"private\"},\"text\":\"/tap" + id + "\"}");
+		}
+		List<String> texts = new ArrayList<>();
+		long offset = service.getUpdates(0, 0, update -> {
+			if (update.getText().equals("/tap2")) {
+				throw new IllegalStateException("сбой обработчика");
+			}
+			texts.add(update.getText());
+		});
+		assertEquals(List.of("/tap1"), texts);
+		assertEquals(2, offset);
+
+		offset = service.getUpdates(offset, 0, update -> texts.add(update.getText()));
+		assertEquals(List.of("/tap1", "/tap2", "/tap3"), texts);
+		assertEquals(4, offset);
+	}
+}
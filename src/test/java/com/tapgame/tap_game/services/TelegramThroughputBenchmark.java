@@ -0,0 +1,104 @@
+package com.tapgame.tap_game.services;
+
+import com.tapgame.tap_game.metrics.GameMetrics;
+import com.tapgame.tap_game.metrics.LatencyHistogram;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Пропускная способность уведомлений {@link TelegramService} против {@link FakeTelegramApi}.
+ *
+ * <p>Не является тестом: запускается вручную, например
+ * {@code java -cp target/classes:target/test-classes:<зависимости> com.tapgame.tap_game.services.TelegramThroughputBenchmark}.
+ * Аргументы (все необязательны): задержка сервера в мс (по умолчанию 20), доля ответов 500
+ * (0.01), доля ответов 429 (0.005), секунд на ступень (5).
+ *
+ * <p>Нагрузка растет ступенями по числу отправляющих потоков (1, 2, 4 ... 64); каждый поток
+ * по кругу вызывает методы уведомлений. Для ступени печатаются устойчивые сообщения в секунду
+ * (принятые сервером), доля неудачных отправок и перцентили задержки одного уведомления
+ * вместе с повторными попытками. Журнал сервиса на время замера отключается: иначе
+ * измерялась бы скорость консоли.
+ */
+public class TelegramThroughputBenchmark {
+
+	private static final int[] SENDERS = {1, 2, 4, 8, 16, 32, 64};
+
+	public static void main(String[] args) throws Exception {
+		long latencyMillis = args.length > 0 ? Long.parseLong(args[0]) : 20;
+		double errorRate = args.length > 1 ? Double.parseDouble(args[1]) : 0.01;
+		double rateLimitRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.005;
+		long stepSeconds = args.length > 3 ? Long.parseLong(args[3]) : 5;
+
+		PrintStream console = System.out;
+		console.printf("Сервер: задержка %d±%d мс, 500: %.1f%%, 429: %.1f%% (retry_after 0), %d с на ступень%n",
+				latencyMillis, latencyMillis / 4, errorRate * 100, rateLimitRate * 100, stepSeconds);
+		console.printf("%8s %12s %10s %10s %10s %10s %10s%n",
+				"потоков", "сообщ./с", "ошибок", "p50, мс", "p99, мс", "p999, мс", "max, мс");
+
+		try (FakeTelegramApi api = FakeTelegramApi.start(SENDERS[SENDERS.length - 1] * 2)) {
+			api.setLatency(latencyMillis, latencyMillis / 4);
+			api.setErrorRate(errorRate);
+			api.setRateLimitRate(rateLimitRate, 0);
+			TelegramService service = new TelegramService(api.serviceConfig());
+
+			System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+			System.setErr(new PrintStream(OutputStream.nullOutputStream()));
+			try {
+				// Прогрев: соединения, JIT
+				runStep(service, 4, TimeUnit.SECONDS.toNanos(1), new LatencyHistogram(), new AtomicLong());
+				for (int senders : SENDERS) {
+					LatencyHistogram latency = new LatencyHistogram();
+					AtomicLong failures = new AtomicLong();
+					long acceptedBefore = api.getMessagesAccepted();
+					long start = System.nanoTime();
+					runStep(service, senders, TimeUnit.SECONDS.toNanos(stepSeconds), latency, failures);
+					double seconds = (System.nanoTime() - start) / 1e9;
+					double rate = (api.getMessagesAccepted() - acceptedBefore) / seconds;
+					console.printf("%8d %12.1f %9.2f%% %10.2f %10.2f %10.2f %10.2f%n",
+							senders, rate, 100.0 * failures.get() / Math.max(1, latency.getCount()),
+							latency.percentile(0.50) / 1e6, latency.percentile(0.99) / 1e6,
+							latency.percentile(0.999) / 1e6, latency.getMaxNanos() / 1e6);
+				}
+			} finally {
+				System.setOut(console);
+				System.setErr(console);
+			}
+		}
+	}
+
+	/**
+	 * Одна ступень нагрузки: {@code senders} потоков отправляют уведомления до истечения времени.
+	 */
+	private static void runStep(TelegramService service, int senders, long durationNanos,
+								LatencyHistogram latency, AtomicLong failures) throws InterruptedException {
+		long deadline = System.nanoTime() + durationNanos;
+		CountDownLatch done = new CountDownLatch(senders);
+		long failuresBefore = GameMetrics.TELEGRAM_SEND_FAILURES.getCount();
+		for (int s = 0; s < senders; s++) {
+			String chatId = Long.toString(100_000 + s);
+			Thread thread = new Thread(() -> {
+				try {
+					for (int i = 0; System.nanoTime() < deadline; i++) {
+						long start = System.nanoTime();
+						switch (i & 3) {
+							case 0 -> service.sendMessage(chatId, "🦢 Гусь ждет тебя!");
+							case 1 -> service.sendQuestCompletedNotification(chatId, "telegram", 20);
+							case 2 -> service.sendLevelUpNotification(chatId, i);
+							default -> service.sendPrizeWonNotification(chatId, "Стикерпак");
+						}
+						latency.recordSince(start);
+					}
+				} finally {
+					done.countDown();
+				}
+			}, "sender-" + s);
+			thread.start();
+		}
+		done.await();
+		failures.addAndGet(GameMetrics.TELEGRAM_SEND_FAILURES.getCount() - failuresBefore);
+	}
+}
@@ -0,0 +1,99 @@
+package com.tapgame.tap_game.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tapgame.tap_game.models.TelegramUser;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Сравнение потокового разбора {@code getUpdates} с разбором через дерево {@link JsonNode}.
+ *
+ * <p>Не является тестом: запускается вручную, например
+ * {@code java -cp target/classes:target/test-classes:<зависимости> com.tapgame.tap_game.services.TelegramUpdateParserBenchmark}.
+ * По умолчанию пачки по 100 обновлений (максимум Bot API), 20 000 пачек на прогон.
+ * Печатает время и выделенную память на одно обновление.
+ */
+public class TelegramUpdateParserBenchmark {
+
+	private static final String[] LANGUAGES = {"ru", "en", "uk", "kk", "tt", "de"};
+
+	public static void main(String[] args) throws Exception {
+		int updatesPerBatch = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int batches = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+		byte[][] responses = new byte[64][];
+		SplittableRandom random = new SplittableRandom(3);
+		for (int i = 0; i < responses.length; i++) {
+			responses[i] = buildResponse(random, i * updatesPerBatch, updatesPerBatch);
+		}
+		System.out.printf("Пачек: %,d по %d обновлений, %,d байт на пачку%n",
+				batches, updatesPerBatch, responses[0].length);
+
+		ObjectMapper mapper = new ObjectMapper();
+		TelegramUpdateParser parser = new TelegramUpdateParser(mapper.getFactory());
+		long[] checksum = new long[1];
+
+		for (int run = 0; run < 3; run++) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			for (int b = 0; b < batches; b++) {
+				JsonNode root = mapper.readTree(responses[b & (responses.length - 1)]);
+				for (JsonNode update : root.get("result")) {
+					JsonNode from = update.path("message").path("from");
+					TelegramUser user = new TelegramUser(from.get("id").asLong(),
+							from.path("username").asText(null), from.path("first_name").asText(null));
+					user.setLastName(from.path("last_name").asText(null));
+					user.setLanguageCode(from.path("language_code").asText(null));
+					checksum[0] += user.getId() + update.path("message").path("chat").path("id").asLong();
+				}
+			}
+			report("Дерево JsonNode", start, bytes, (long) batches * updatesPerBatch);
+
+			bytes = allocatedBytes();
+			start = System.nanoTime();
+			for (int b = 0; b < batches; b++) {
+				parser.parse(responses[b & (responses.length - 1)],
+						update -> checksum[0] += update.getFrom().getId() + update.getChatId());
+			}
+			report("Потоковый парсер", start, bytes, (long) batches * updatesPerBatch);
+		}
+		System.out.println("Контрольная сумма: " + checksum[0]);
+	}
+
+	private static byte[] buildResponse(SplittableRandom random, int firstId, int count) {
+		StringBuilder json = new StringBuilder("{\"ok\":true,\"result\":[");
+		for (int i = 0; i < count; i++) {
+			long userId = 100_000_000L + random.nextLong(7_000_000_000L);
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append("{\"update_id\":").append(firstId + i)
+					.append(",\"message\":{\"message_id\":").append(random.nextInt(1_000_000))
+					.append(",\"from\":{\"id\":").append(userId)
+					.append(",\"is_bot\":false,\"first_name\":\"Игрок\",\"last_name\":\"Алабуги\",\"username\":\"player")
+					.append(userId).append("\",\"language_code\":\"")
+					.append(LANGUAGES[random.nextInt(LANGUAGES.length)]).append("\",\"is_premium\":true}")
+					.append(",\"chat\":{\"id\":").append(userId)
+					.append(",\"first_name\":\"Игрок\",\"last_name\":\"Алабуги\",\"username\":\"player")
+					.append(userId).append("\",\"type\":\"private\"},\"date\":1700000000")
+					.append(",\"entities\":[{\"offset\":0,\"length\":6,\"type\":\"bot_command\"}]")
+					.append(",\"text\":\"/start\"}}");
+		}
+		return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void report(String name, long startNanos, long startBytes, long updates) {
+		long nanos = System.nanoTime() - startNanos;
+		long bytes = allocatedBytes() - startBytes;
+		System.out.printf("%-18s %7.0f нс, %6.0f байт на обновление%n",
+				name, (double) nanos / updates, (double) bytes / updates);
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
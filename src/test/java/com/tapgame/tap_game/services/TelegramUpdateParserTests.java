@@ -0,0 +1,95 @@
+package com.tapgame.tap_game.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.tapgame.tap_game.models.TelegramUser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты потокового парсера {@link TelegramUpdateParser}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Сообщение и нажатие кнопки: отправитель, чат, текст</li>
+ *   <li>Неизвестные и вложенные поля пропускаются</li>
+ *   <li>Объект пользователя переиспользуется, код языка берется из пула</li>
+ *   <li>Ответ с ошибкой</li>
+ * </ul>
+ */
+class TelegramUpdateParserTests {
+
+	private static final String RESPONSE = """
+			{"ok":true,"result":[
+			  {"update_id":100,"message":{"message_id":1,
+			    "from":{"id":111,"is_bot":false,"first_name":"Иван","last_name":"Петров","username":"ivan","language_code":"ru"},
+			    "chat":{"id":111,"type":"private","first_name":"Иван"},
+			    "date":1700000000,"entities":[{"offset":0,"length":6,"type":"bot_command"}],"text":"/start"}},
+			  {"update_id":101,"callback_query":{"id":"42",
+			    "message":{"message_id":2,"from":{"id":999,"is_bot":true,"first_name":"Bot"},
+			      "chat":{"id":222,"type":"private"},"text":"Выберите квест",
+			      "reply_markup":{"inline_keyboard":[[{"text":"Квест","callback_data":"quest"}]]}},
+			    "from":{"id":222,"is_bot":false,"first_name":"Анна","language_code":"ru"},
+			    "chat_instance":"1","data":"quest_dzen"}},
+			  {"update_id":102,"my_chat_member":{"chat":{"id":-100500,"type":"channel"},
+			    "from":{"id":333,"first_name":"Олег","language_code":"en"},"date":1700000001}}
+			]}
+			""";
+
+	/**
+	 * Разбор пачки из трех разных видов обновлений.
+	 */
+	@Test
+	void parsesMessagesAndCallbacks() throws IOException {
+		TelegramUpdateParser parser = new TelegramUpdateParser(new JsonFactory());
+		List<String> seen = new ArrayList<>();
+		List<TelegramUser> users = new ArrayList<>();
+		List<String> languages = new ArrayList<>();
+
+		long lastId = parser.parse(RESPONSE.getBytes(StandardCharsets.UTF_8), update -> {
+			TelegramUser from = update.getFrom();
+			seen.add(update.getUpdateId() + " " + update.getKind() + " " + from.getId() + " "
+					+ update.getChatId() + " " + update.getText());
+			users.add(from);
+			languages.add(from.getLanguageCode());
+		});
+
+		assertEquals(102, lastId);
+		assertEquals(List.of(
+				"100 message 111 111 /start",
+				"101 callback_query 222 222 quest_dzen",
+				"102 my_chat_member 333 -100500 null"), seen);
+		assertSame(users.get(0), users.get(2), "объект пользователя переиспользуется");
+		assertSame(languages.get(0), languages.get(1), "код языка берется из пула");
+		assertEquals("en", languages.get(2));
+	}
+
+	/**
+	 * Поля предыдущего обновления не переносятся в следующее.
+	 */
+	@Test
+	void resetsUserBetweenUpdates() throws IOException {
+		TelegramUpdateParser parser = new TelegramUpdateParser(new JsonFactory());
+		List<String> names = new ArrayList<>();
+		parser.parse(RESPONSE.getBytes(StandardCharsets.UTF_8),
+				update -> names.add(update.getFrom().getFullName()));
+		assertEquals(List.of("Иван Петров", "Анна", "Олег"), names);
+	}
+
+	/**
+	 * Пустой ответ и ответ с ошибкой.
+	 */
+	@Test
+	void handlesEmptyAndErrorResponses() throws IOException {
+		TelegramUpdateParser parser = new TelegramUpdateParser(new JsonFactory());
+		assertEquals(-1, parser.parse("{\"ok\":true,\"result\":[]}".getBytes(StandardCharsets.UTF_8), update -> fail()));
+		assertThrows(IllegalStateException.class, () -> parser.parse(
+				"{\"ok\":false,\"error_code\":401,\"description\":\"Unauthorized\"}".getBytes(StandardCharsets.UTF_8),
+				update -> fail()));
+	}
+}
@@ -0,0 +1,214 @@
+package com.tapgame.tap_game.session;
+
+import com.tapgame.tap_game.models.PlayerState;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты кеша сессий {@link PlayerSessionCache}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Вытесненный игрок сохраняется и загружается с тем же прогрессом</li>
+ *   <li>Вес резидентных игроков не превышает бюджет</li>
+ *   <li>Однократный проход по множеству игроков не вытесняет постоянных</li>
+ *   <li>Одновременные запросы одного игрока загружают его один раз</li>
+ *   <li>Запрос игрока во время его сохранения ждет сохранения и загружает игрока заново</li>
+ *   <li>Только что загруженный игрок не вытесняется, даже если тяжелее бюджета</li>
+ *   <li>Игрок, закрепленный на время изменения, не вытесняется, и изменение не теряется</li>
+ * </ul>
+ */
+class PlayerSessionCacheTests {
+
+	private static final long PLAYER = PlayerSessionCache.ESTIMATED_PLAYER_BYTES;
+
+	/**
+	 * Хранилище в памяти со счетчиком загрузок.
+	 */
+	private static class MapStore implements PlayerStore {
+		final Map<Long, PlayerState> saved = new ConcurrentHashMap<>();
+		final AtomicInteger loads = new AtomicInteger();
+		volatile CountDownLatch loadGate;
+		volatile CountDownLatch saveGate;
+		final CountDownLatch saveStarted = new CountDownLatch(1);
+
+		@Override
+		public PlayerState load(long playerId) {
+			loads.incrementAndGet();
+			CountDownLatch gate = loadGate;
+			if (gate != null) {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return saved.get(playerId);
+		}
+
+		@Override
+		public void save(PlayerState player) {
+			saveStarted.countDown();
+			CountDownLatch gate = saveGate;
+			if (gate != null) {
+				try {
+					gate.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			saved.put(player.getPlayerId(), player);
+		}
+	}
+
+	/**
+	 * Прогресс игрока переживает вытеснение.
+	 */
+	@Test
+	void evictedPlayerIsSavedAndReloaded() {
+		MapStore store = new MapStore();
+		PlayerSessionCache cache = new PlayerSessionCache(store, 100 * PLAYER);
+		cache.get(1).getGooseGameState().tapGoose();
+		for (long id = 2; id < 1_000; id++) {
+			cache.get(id);
+		}
+		assertNull(cache.getIfPresent(1));
+		assertTrue(store.saved.containsKey(1L));
+		assertEquals(1, cache.get(1).getGooseGameState().getTotalClicks());
+		assertTrue(cache.getResidentBytes() <= cache.getMaximumBytes());
+		assertTrue(cache.size() <= 100);
+	}
+
+	/**
+	 * Постоянные игроки остаются в памяти после прохода по 10 000 разовых.
+	 */
+	@Test
+	void scanDoesNotEvictFrequentPlayers() {
+		MapStore store = new MapStore();
+		PlayerSessionCache cache = new PlayerSessionCache(store, 1_000 * PLAYER);
+		for (int round = 0; round < 5; round++) {
+			for (long id = 0; id < 500; id++) {
+				cache.get(id);
+			}
+		}
+		for (long id = 1_000_000; id < 1_010_000; id++) {
+			cache.get(id);
+		}
+		int resident = 0;
+		for (long id = 0; id < 500; id++) {
+			if (cache.getIfPresent(id) != null) {
+				resident++;
+			}
+		}
+		assertTrue(resident >= 490, "постоянных игроков в памяти: " + resident);
+	}
+
+	/**
+	 * Десять потоков запрашивают одного игрока во время медленной загрузки.
+	 */
+	@Test
+	void concurrentMissesLoadOnce() throws InterruptedException {
+		MapStore store = new MapStore();
+		store.loadGate = new CountDownLatch(1);
+		PlayerSessionCache cache = new PlayerSessionCache(store, 10 * PLAYER);
+		PlayerState[] results = new PlayerState[10];
+		Thread[] threads = new Thread[results.length];
+		for (int i = 0; i < threads.length; i++) {
+			int index = i;
+			threads[i] = new Thread(() -> results[index] = cache.get(42));
+			threads[i].start();
+		}
+		Thread.sleep(100);
+		store.loadGate.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(1, store.loads.get());
+		for (PlayerState result : results) {
+			assertSame(results[0], result);
+		}
+	}
+
+	/**
+	 * Пока вытесняемый игрок сохраняется, запрос этого игрока ждет и загружает его
+	 * из хранилища, а не изменяет уже сохраняемое состояние.
+	 */
+	@Test
+	void requestDuringEvictionWaitsAndReloads() throws Exception {
+		MapStore store = new MapStore();
+		PlayerSessionCache cache = new PlayerSessionCache(store, PLAYER);
+		cache.get(1);
+		store.saveGate = new CountDownLatch(1);
+
+		CompletableFuture<PlayerState> evicting = CompletableFuture.supplyAsync(() -> cache.get(2));
+		assertTrue(store.saveStarted.await(10, TimeUnit.SECONDS));
+		assertNull(cache.getIfPresent(1));
+		int loadsBefore = store.loads.get();
+		CompletableFuture<PlayerState> reloading = CompletableFuture.supplyAsync(() -> cache.get(1));
+		Thread.sleep(100);
+		assertFalse(reloading.isDone(), "Запрос получил игрока во время сохранения");
+
+		store.saveGate.countDown();
+		assertNotNull(evicting.get(10, TimeUnit.SECONDS));
+		assertSame(store.saved.get(1L), reloading.get(10, TimeUnit.SECONDS));
+		assertEquals(loadsBefore + 1, store.loads.get());
+	}
+
+	/**
+	 * Игрок тяжелее всего бюджета остается в кеше до следующей загрузки.
+	 */
+	@Test
+	void justAdmittedPlayerIsNotEvicted() {
+		MapStore store = new MapStore();
+		PlayerSessionCache cache = new PlayerSessionCache(store, 2 * PLAYER, player -> 3 * PLAYER);
+		cache.get(1);
+		assertNotNull(cache.getIfPresent(1));
+		assertTrue(store.saved.isEmpty());
+
+		cache.get(2);
+		assertNull(cache.getIfPresent(1));
+		assertNotNull(cache.getIfPresent(2));
+		assertEquals(1, cache.size());
+	}
+
+	/**
+	 * Вытеснение идет, пока другой поток изменяет игрока: закрепленный игрок остается в
+	 * кеше, а изменение попадает в следующее сохранение.
+	 */
+	@Test
+	void pinnedPlayerIsNotEvictedDuringUpdate() throws Exception {
+		MapStore store = new MapStore();
+		PlayerSessionCache cache = new PlayerSessionCache(store, PLAYER);
+		CountDownLatch pinned = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Long> updating = CompletableFuture.supplyAsync(() -> cache.withPlayer(1, player -> {
+			pinned.countDown();
+			try {
+				assertTrue(release.await(10, TimeUnit.SECONDS));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return player.getGooseGameState().tapGoose();
+		}));
+		assertTrue(pinned.await(10, TimeUnit.SECONDS));
+
+		cache.get(2);
+		assertNotNull(cache.getIfPresent(1), "Закрепленный игрок вытеснен");
+		assertFalse(store.saved.containsKey(1L));
+
+		release.countDown();
+		assertTrue(updating.get(10, TimeUnit.SECONDS) > 0);
+		cache.get(3);
+		cache.get(4);
+		assertNull(cache.getIfPresent(1));
+		assertEquals(1, cache.get(1).getGooseGameState().getTotalClicks());
+	}
+}
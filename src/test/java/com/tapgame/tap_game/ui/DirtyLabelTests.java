@@ -0,0 +1,65 @@
+package com.tapgame.tap_game.ui;
+
+import com.tapgame.tap_game.models.LargeNumber;
+import org.junit.jupiter.api.Test;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты отложенного обновления надписи {@link DirtyLabel}.
+ *
+ * <p>Надпись создается без элемента JavaFX ({@code target == null}), поэтому тесты не
+ * требуют запущенного инструментария; текст проверяется через {@link DirtyLabel#format}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Первое значение всегда грязное, даже если оно ноль</li>
+ *   <li>Повтор показанного значения не помечает надпись; возврат к нему до flush снимает пометку</li>
+ *   <li>Числа до миллиарда форматируются полностью, дальше - сокращенно</li>
+ * </ul>
+ */
+class DirtyLabelTests {
+
+	/**
+	 * Надпись грязная только пока отличается от показанного значения.
+	 */
+	@Test
+	void marksOnlyChangedValues() {
+		DirtyLabel label = new DirtyLabel(null, "", " монет", null);
+		assertTrue(label.set(0));
+		label.flush();
+		assertFalse(label.isDirty());
+
+		assertFalse(label.set(0));
+		assertTrue(label.set(5));
+		// Вернулись к показанному до кадра - перерисовывать нечего
+		assertFalse(label.set(new LargeNumber(0)));
+		assertFalse(label.isDirty());
+
+		assertTrue(label.set(new LargeNumber(7)));
+		label.flush();
+		assertFalse(label.isDirty());
+		assertFalse(label.set(7));
+	}
+
+	/**
+	 * Полная запись с разделителями до миллиарда, сокращенная - начиная с него.
+	 */
+	@Test
+	void formatsExactAndAbbreviatedValues() {
+		NumberFormat format = NumberFormat.getIntegerInstance(Locale.US);
+		DirtyLabel label = new DirtyLabel(null, "Баланс: ", " монет", format);
+		assertEquals("Баланс: 999,999,999 монет", label.format(new LargeNumber(999_999_999)));
+
+		LargeNumber billion = new LargeNumber(1_500_000_000);
+		String abbreviated = label.format(billion);
+		assertEquals("Баланс: " + billion.appendAbbreviated(new StringBuilder()) + " монет", abbreviated);
+		assertTrue(abbreviated.contains("млрд"), abbreviated);
+
+		DirtyLabel plain = new DirtyLabel(null, "", "", null);
+		assertEquals("1234", plain.format(new LargeNumber(1234)));
+	}
+}
@@ -0,0 +1,75 @@
+package com.tapgame.tap_game.ui;
+
+import com.tapgame.tap_game.metrics.GameMetrics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты трассировки задержки "клик → кадр" {@link InputLatencyTracer}.
+ *
+ * <p>Время передается явно, поэтому тесты не требуют JavaFX.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Клик учитывается в кадре, снимок которого уже содержит его, а не раньше</li>
+ *   <li>Полная задержка отсчитывается от события ввода и попадает в {@link GameMetrics#INPUT_LATENCY}</li>
+ *   <li>Сводка формируется по окончании окна; паузы между кадрами не считаются временем кадра</li>
+ *   <li>Переполнение очереди кликов в пути не ломает учет</li>
+ * </ul>
+ */
+class InputLatencyTracerTests {
+
+	private static final long MS = 1_000_000L;
+
+	/**
+	 * Два клика: первый выводится в первом кадре, второй - только когда его применит симуляция.
+	 */
+	@Test
+	void tracesEachTapToItsFrame() {
+		long before = GameMetrics.INPUT_LATENCY.getCount();
+		InputLatencyTracer tracer = new InputLatencyTracer(100);
+		long t = 1_000 * MS;
+
+		tracer.onInputEvent(t);
+		tracer.onTap(t + MS);
+		tracer.onTap(t + 2 * MS);
+		// Снимок содержит только первый клик
+		tracer.onRender(101, t + 3 * MS, t + 10 * MS);
+		tracer.onPulse(t + 12 * MS);
+		assertEquals(before + 1, GameMetrics.INPUT_LATENCY.getCount());
+		assertTrue(GameMetrics.INPUT_LATENCY.getMaxNanos() >= 12 * MS);
+
+		tracer.onRender(102, t + 20 * MS, t + 26 * MS);
+		tracer.onPulse(t + 28 * MS);
+		assertEquals(before + 2, GameMetrics.INPUT_LATENCY.getCount());
+		assertNull(tracer.getSummary());
+
+		// Кадр после окна: сводка по двум кликам
+		tracer.onPulse(t + 12 * MS + InputLatencyTracer.WINDOW_SECONDS * 1000 * MS);
+		assertEquals(2, tracer.getSummaryTaps());
+		String summary = tracer.getSummary();
+		assertTrue(summary.startsWith("клик → кадр"), summary);
+		assertTrue(summary.contains("(n=2)"), summary);
+		// Интервал 16 мс - кадр, пауза в пять секунд - нет
+		assertTrue(summary.lines().filter(line -> line.startsWith("кадр")).allMatch(line -> line.endsWith("(n=1)")), summary);
+	}
+
+	/**
+	 * Клики без кадров дольше емкости очереди.
+	 */
+	@Test
+	void dropsOldestTapsWhenTooManyInFlight() {
+		long before = GameMetrics.INPUT_LATENCY.getCount();
+		InputLatencyTracer tracer = new InputLatencyTracer(0);
+		long t = 1_000 * MS;
+		int taps = 5_000;
+		for (int i = 0; i < taps; i++) {
+			tracer.onTap(t + i);
+		}
+		tracer.onRender(taps, t + taps, t + taps + MS);
+		tracer.onPulse(t + taps + 2 * MS);
+		long traced = GameMetrics.INPUT_LATENCY.getCount() - before;
+		assertTrue(traced > 0 && traced <= 1024, "отслежено " + traced);
+	}
+}
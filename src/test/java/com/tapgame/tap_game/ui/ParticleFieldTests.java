@@ -0,0 +1,72 @@
+package com.tapgame.tap_game.ui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты состояния частиц {@link ParticleField}.
+ *
+ * <p>Отрисовка {@link ParticleLayer} требует запущенного JavaFX и здесь не проверяется.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>При переполнении новые частицы отбрасываются</li>
+ *   <li>Отжившие частицы удаляются, живые остаются в начале массивов со своими данными</li>
+ *   <li>Частица движется со своей скоростью и ускоряется вниз гравитацией</li>
+ * </ul>
+ */
+class ParticleFieldTests {
+
+	/**
+	 * Частицы сверх емкости не добавляются.
+	 */
+	@Test
+	void dropsParticlesWhenFull() {
+		ParticleField field = new ParticleField(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(field.emit(0, 0, 0, 0, 1, 4, (byte) 0));
+		}
+		assertFalse(field.emit(0, 0, 0, 0, 1, 4, (byte) 0));
+		assertEquals(4, field.getCount());
+	}
+
+	/**
+	 * Удаление перестановкой сохраняет данные живых частиц.
+	 */
+	@Test
+	void removesExpiredParticlesAndKeepsLiveOnesPacked() {
+		ParticleField field = new ParticleField(8);
+		for (int i = 0; i < 6; i++) {
+			// Частицы с четным номером живут 0.1 с, с нечетным - 1 с
+			field.emit(i, 0, 0, 0, i % 2 == 0 ? 0.1f : 1f, i, (byte) i);
+		}
+		field.advance(0.2f);
+
+		assertEquals(3, field.getCount());
+		for (int i = 0; i < field.getCount(); i++) {
+			assertEquals(1f, field.lifetime[i]);
+			assertEquals(field.x[i], field.size[i], "Данные частицы перемешались");
+			assertEquals((byte) field.x[i], field.color[i], "Данные частицы перемешались");
+			assertEquals(0.2f, field.age[i], 1e-6f);
+		}
+
+		field.advance(1f);
+		assertEquals(0, field.getCount());
+		assertTrue(field.emit(0, 0, 0, 0, 1, 4, (byte) 0), "Место освободилось");
+	}
+
+	/**
+	 * Скорость по вертикали растет на гравитацию за шаг.
+	 */
+	@Test
+	void movesParticlesWithGravity() {
+		ParticleField field = new ParticleField(1);
+		field.emit(10, 20, 100, -300, 5, 4, (byte) 0);
+		field.advance(0.1f);
+
+		assertEquals(-300 + ParticleField.GRAVITY * 0.1f, field.vy[0], 1e-3f);
+		assertEquals(10 + 100 * 0.1f, field.x[0], 1e-3f);
+		assertEquals(20 + field.vy[0] * 0.1f, field.y[0], 1e-3f);
+	}
+}
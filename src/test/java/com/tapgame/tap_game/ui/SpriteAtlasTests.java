@@ -0,0 +1,77 @@
+package com.tapgame.tap_game.ui;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты нарезки листа {@link SpriteAtlas}.
+ *
+ * <p>Лист создается как {@link WritableImage}: он сразу считается загруженным и не
+ * требует запущенного JavaFX.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Кадры нумеруются слева направо, сверху вниз и делят лист поровну</li>
+ *   <li>Номер кадра берется по модулю: анимация зацикливается без проверок</li>
+ *   <li>Показ кадра ставит лист и прямоугольник кадра, не копируя изображение</li>
+ *   <li>Сетка без кадров отклоняется</li>
+ * </ul>
+ */
+class SpriteAtlasTests {
+
+	/**
+	 * Прямоугольники кадров сетки 4x2 на листе 200x100.
+	 */
+	@Test
+	void slicesSheetRowByRow() {
+		SpriteAtlas atlas = new SpriteAtlas(new WritableImage(200, 100), 4, 2);
+		assertEquals(8, atlas.getFrameCount());
+
+		assertEquals(new Rectangle2D(0, 0, 50, 50), atlas.viewport(0));
+		assertEquals(new Rectangle2D(150, 0, 50, 50), atlas.viewport(3));
+		assertEquals(new Rectangle2D(0, 50, 50, 50), atlas.viewport(4));
+		assertEquals(new Rectangle2D(150, 50, 50, 50), atlas.viewport(7));
+	}
+
+	/**
+	 * Номера за пределами атласа заворачиваются в обе стороны.
+	 */
+	@Test
+	void wrapsFrameNumbers() {
+		SpriteAtlas atlas = new SpriteAtlas(new WritableImage(200, 100), 4, 2);
+		assertEquals(atlas.viewport(1), atlas.viewport(9));
+		assertEquals(atlas.viewport(7), atlas.viewport(-1));
+		assertSame(atlas.viewport(2), atlas.viewport(10), "Прямоугольники вычисляются один раз");
+	}
+
+	/**
+	 * Все кадры показываются из одного листа.
+	 */
+	@Test
+	void showsFrameFromSharedSheet() {
+		WritableImage sheet = new WritableImage(200, 100);
+		SpriteAtlas atlas = new SpriteAtlas(sheet, 4, 2);
+		ImageView view = new ImageView();
+
+		atlas.show(view, 5);
+		assertSame(sheet, view.getImage());
+		assertEquals(new Rectangle2D(50, 50, 50, 50), view.getViewport());
+
+		atlas.show(view, 6);
+		assertSame(sheet, view.getImage());
+		assertEquals(new Rectangle2D(100, 50, 50, 50), view.getViewport());
+	}
+
+	/**
+	 * Пустая сетка - ошибка конфигурации.
+	 */
+	@Test
+	void rejectsEmptyGrid() {
+		assertThrows(IllegalArgumentException.class, () -> new SpriteAtlas(new WritableImage(10, 10), 0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new SpriteAtlas(new WritableImage(10, 10), 1, -1));
+	}
+}
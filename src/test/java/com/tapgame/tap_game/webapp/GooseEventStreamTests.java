@@ -0,0 +1,431 @@
+package com.tapgame.tap_game.webapp;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import com.tapgame.tap_game.engine.CommandPipeline;
+import com.tapgame.tap_game.engine.CommandType;
+import com.tapgame.tap_game.models.GooseGameState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты потока изменений {@link GooseEventStream} через {@link MiniAppServer}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Первое событие несет все поля, следующие - только изменившиеся</li>
+ *   <li>Частые команды объединяются: событий не больше заданной частоты</li>
+ *   <li>Место в рейтинге меняется вместе с монетами; {@code initData} принимается параметром</li>
+ *   <li>Поток без действительной {@code initData} или с неверной частотой не открывается</li>
+ *   <li>Простаивающие соединения не держат потоков сервера</li>
+ *   <li>Клиент, который не читает, не задерживает события других соединений и
+ *       отключается по таймауту записи</li>
+ * </ul>
+ */
+class GooseEventStreamTests {
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+	private CommandPipeline pipeline;
+	private MiniAppServer server;
+
+	@BeforeEach
+	void start() throws Exception {
+		InitDataVerifier verifier = new InitDataVerifier(InitDataSigner.BOT_TOKEN, InitDataVerifier.DEFAULT_MAX_AGE_SECONDS);
+		pipeline = new CommandPipeline(2, 1024, (command, sequence, endOfBatch) -> { });
+		pipeline.start();
+		server = new MiniAppServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), verifier, pipeline, 2);
+		server.start();
+	}
+
+	@AfterEach
+	void stop() {
+		server.close();
+		pipeline.close();
+	}
+
+	/**
+	 * Полное состояние, затем объединенные изменения только монет.
+	 */
+	@Test
+	void streamsStateThenCoalescedDeltas() throws Exception {
+		try (EventReader events = open("/api/stream?rate=4", sign(2001))) {
+			String[] state = events.next();
+			assertEquals("state", state[0]);
+			assertTrue(state[1].contains("\"coins\":0,"), state[1]);
+			assertTrue(state[1].contains("\"coinsPerSecond\":"), state[1]);
+			assertTrue(state[1].contains("\"clickPowerUpgradeCost\":"), state[1]);
+			assertTrue(state[1].contains("\"rank\":1"), state[1]);
+
+			GooseGameState reference = new GooseGameState();
+			// 200 кликов в течение секунды: при 4 событиях в секунду приходит не больше 6-7
+			for (int i = 0; i < 200; i++) {
+				reference.tapGoose();
+				pipeline.submit(CommandType.TAP, 2001);
+				if (i % 20 == 0) {
+					Thread.sleep(100);
+				}
+			}
+			int deltas = 0;
+			String[] delta;
+			do {
+				delta = events.next();
+				deltas++;
+				assertEquals("delta", delta[0]);
+				assertFalse(delta[1].contains("coinsPerSecond"), delta[1]);
+				assertFalse(delta[1].contains("UpgradeCost"), delta[1]);
+			} while (!delta[1].equals("{\"coins\":" + reference.getCoins() + "}"));
+			assertTrue(deltas <= 8, "Событий: " + deltas);
+		}
+	}
+
+	/**
+	 * Место пересчитывается по монетам всех игроков.
+	 */
+	@Test
+	void ranksPlayersByCoins() throws Exception {
+		for (int i = 0; i < 50; i++) {
+			pipeline.submit(CommandType.TAP, 2002);
+		}
+		String initData = URLEncoder.encode(sign(2003), StandardCharsets.UTF_8);
+		try (EventReader events = open("/api/stream?rate=20&initData=" + initData, null)) {
+			events.awaitData("\"rank\":2");
+			for (int i = 0; i < 100; i++) {
+				pipeline.submit(CommandType.TAP, 2003);
+			}
+			events.awaitData("\"rank\":1");
+		}
+	}
+
+	/**
+	 * Без подписи и с неверной частотой поток не открывается.
+	 */
+	@Test
+	void rejectsInvalidStreamRequests() throws Exception {
+		assertEquals(401, get("/api/stream", null).statusCode());
+		assertEquals(401, get("/api/stream?initData=auth_date%3D1%26hash%3D00", null).statusCode());
+		assertEquals(400, get("/api/stream?rate=0", sign(2004)).statusCode());
+		assertEquals(400, get("/api/stream?rate=" + (GooseEventStream.MAX_RATE + 1), sign(2004)).statusCode());
+		assertEquals(0, server.getStreamCount());
+	}
+
+	/**
+	 * Сотни соединений открываются двумя потоками HTTP-сервера: обработчик не ждет
+	 * конца потока, а все соединения ведет один поток рассылки.
+	 */
+	@Test
+	void idleConnectionsHoldNoThreads() throws Exception {
+		List<HttpResponse<Stream<String>>> responses = new ArrayList<>();
+		try {
+			for (int i = 0; i < 200; i++) {
+				responses.add(client.sendAsync(request("/api/stream", sign(3000 + i)).build(),
+						HttpResponse.BodyHandlers.ofLines()).get(10, TimeUnit.SECONDS));
+			}
+			responses.forEach(response -> assertEquals(200, response.statusCode()));
+			awaitTrue(() -> server.getStreamCount() == 200);
+			long serverThreads = Thread.getAllStackTraces().keySet().stream()
+					.filter(thread -> thread.getName().startsWith("mini-app-"))
+					.count();
+			// Два потока HTTP-сервера, поток рассылки и потоки записи
+			assertEquals(3 + GooseEventStream.WRITER_THREADS, serverThreads);
+		} finally {
+			responses.forEach(response -> response.body().close());
+		}
+	}
+
+	/**
+	 * Запись зависшему клиенту не мешает событиям остальных и прерывается по таймауту.
+	 * Все потоки записи заняты зависшими клиентами, а событие здорового соединения
+	 * уходит сразу после их отключения. Остановка закрывает оставшиеся соединения.
+	 */
+	@Test
+	void stalledClientDoesNotBlockOtherStreams() throws Exception {
+		FakeExchange healthy;
+		try (GooseEventStream stream = new GooseEventStream(pipeline)) {
+			stream.start();
+			List<FakeExchange> stalled = new ArrayList<>();
+			for (int i = 0; i < GooseEventStream.WRITER_THREADS; i++) {
+				FakeExchange exchange = new FakeExchange(new StalledOutputStream());
+				stalled.add(exchange);
+				assertTrue(stream.open(exchange, 4000 + i, GooseEventStream.MAX_RATE));
+			}
+			for (FakeExchange exchange : stalled) {
+				assertTrue(((StalledOutputStream) exchange.out).writing.await(10, TimeUnit.SECONDS));
+			}
+			// Поток рассылки продолжает работать: новое соединение принимается и учитывается
+			RecordingOutputStream healthyOut = new RecordingOutputStream();
+			healthy = new FakeExchange(healthyOut);
+			assertTrue(stream.open(healthy, 4100, GooseEventStream.MAX_RATE));
+			awaitTrue(() -> stream.getConnectionCount() == GooseEventStream.WRITER_THREADS + 1);
+
+			awaitTrue(() -> healthyOut.text().contains("event: state"));
+			pipeline.submit(CommandType.TAP, 4100);
+			awaitTrue(() -> healthyOut.text().contains("event: delta"));
+
+			awaitTrue(() -> stream.getConnectionCount() == 1);
+			stalled.forEach(exchange -> assertTrue(exchange.closed, "Зависшее соединение не закрыто"));
+			assertFalse(healthy.closed);
+		}
+		assertTrue(healthy.closed, "Остановка рассылки закрывает соединения");
+	}
+
+	private static String sign(long userId) {
+		return InitDataSigner.sign(userId, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+	}
+
+	private HttpRequest.Builder request(String path, String initData) {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path));
+		if (initData != null) {
+			request.header("Authorization", "tma " + initData);
+		}
+		return request;
+	}
+
+	private HttpResponse<String> get(String path, String initData) throws Exception {
+		return client.send(request(path, initData).build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private EventReader open(String path, String initData) throws Exception {
+		HttpResponse<Stream<String>> response = client.send(request(path, initData).build(),
+				HttpResponse.BodyHandlers.ofLines());
+		assertEquals(200, response.statusCode());
+		assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/event-stream"));
+		return new EventReader(response.body());
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Условие не выполнено за 10 секунд");
+			Thread.sleep(5);
+		}
+	}
+
+	/**
+	 * Клиент, который не читает: запись висит, пока поток записи не прерван.
+	 */
+	private static final class StalledOutputStream extends OutputStream {
+
+		final CountDownLatch writing = new CountDownLatch(1);
+
+		@Override
+		public void write(int b) throws InterruptedIOException {
+			writing.countDown();
+			try {
+				new CountDownLatch(1).await();
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException("Запись прервана");
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws InterruptedIOException {
+			write(0);
+		}
+	}
+
+	/**
+	 * Ответ, сохраняющий все записанное.
+	 */
+	private static final class RecordingOutputStream extends OutputStream {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		@Override
+		public synchronized void write(int b) {
+			bytes.write(b);
+		}
+
+		@Override
+		public synchronized void write(byte[] b, int off, int len) {
+			bytes.write(b, off, len);
+		}
+
+		synchronized String text() {
+			return bytes.toString(StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Запрос {@code GET /api/stream} без сокета: ответ пишется в заданный поток.
+	 */
+	private static final class FakeExchange extends HttpExchange {
+
+		private final Headers requestHeaders = new Headers();
+		private final Headers responseHeaders = new Headers();
+		final OutputStream out;
+		volatile boolean closed;
+
+		FakeExchange(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public Headers getRequestHeaders() {
+			return requestHeaders;
+		}
+
+		@Override
+		public Headers getResponseHeaders() {
+			return responseHeaders;
+		}
+
+		@Override
+		public URI getRequestURI() {
+			return URI.create("/api/stream");
+		}
+
+		@Override
+		public String getRequestMethod() {
+			return "GET";
+		}
+
+		@Override
+		public HttpContext getHttpContext() {
+			return null;
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+
+		@Override
+		public InputStream getRequestBody() {
+			return new ByteArrayInputStream(new byte[0]);
+		}
+
+		@Override
+		public OutputStream getResponseBody() {
+			return out;
+		}
+
+		@Override
+		public void sendResponseHeaders(int rCode, long responseLength) {
+		}
+
+		@Override
+		public InetSocketAddress getRemoteAddress() {
+			return new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+		}
+
+		@Override
+		public int getResponseCode() {
+			return 200;
+		}
+
+		@Override
+		public InetSocketAddress getLocalAddress() {
+			return getRemoteAddress();
+		}
+
+		@Override
+		public String getProtocol() {
+			return "HTTP/1.1";
+		}
+
+		@Override
+		public Object getAttribute(String name) {
+			return null;
+		}
+
+		@Override
+		public void setAttribute(String name, Object value) {
+		}
+
+		@Override
+		public void setStreams(InputStream i, OutputStream o) {
+		}
+
+		@Override
+		public HttpPrincipal getPrincipal() {
+			return null;
+		}
+	}
+
+	/**
+	 * Разбор событий SSE в отдельном потоке: событие - пара {тип, данные}.
+	 */
+	private static final class EventReader implements AutoCloseable {
+
+		private final Stream<String> lines;
+		private final BlockingQueue<String[]> events = new LinkedBlockingQueue<>();
+
+		EventReader(Stream<String> lines) {
+			this.lines = lines;
+			Thread reader = new Thread(this::read, "sse-test-reader");
+			reader.setDaemon(true);
+			reader.start();
+		}
+
+		private void read() {
+			String type = "message";
+			String data = null;
+			try {
+				for (Iterator<String> it = lines.iterator(); it.hasNext(); ) {
+					String line = it.next();
+					if (line.startsWith("event: ")) {
+						type = line.substring("event: ".length());
+					} else if (line.startsWith("data: ")) {
+						data = line.substring("data: ".length());
+					} else if (line.isEmpty() && data != null) {
+						events.add(new String[] {type, data});
+						type = "message";
+						data = null;
+					}
+				}
+			} catch (RuntimeException e) {
+				// Поток закрыт тестом
+			}
+		}
+
+		String[] next() throws InterruptedException {
+			String[] event = events.poll(10, TimeUnit.SECONDS);
+			assertNotNull(event, "Событие не пришло за 10 секунд");
+			return event;
+		}
+
+		void awaitData(String fragment) throws InterruptedException {
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (System.nanoTime() < deadline) {
+				String[] event = events.poll(100, TimeUnit.MILLISECONDS);
+				if (event != null && event[1].contains(fragment)) {
+					return;
+				}
+			}
+			fail("Не пришло событие с " + fragment);
+		}
+
+		@Override
+		public void close() {
+			lines.close();
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.tapgame.tap_game.webapp;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * Подпись {@code initData} так, как это делает клиент Telegram, для тестов Mini App.
+ */
+final class InitDataSigner {
+
+	static final String BOT_TOKEN = "123456:TEST-TOKEN";
+
+	private InitDataSigner() {
+	}
+
+	/**
+	 * @param userId ID пользователя
+	 * @param authDateSeconds {@code auth_date}
+	 * @return подписанная строка {@code initData}
+	 */
+	static String sign(long userId, long authDateSeconds) {
+		Map<String, String> fields = new TreeMap<>();
+		fields.put("auth_date", Long.toString(authDateSeconds));
+		fields.put("query_id", "AAH" + userId);
+		fields.put("user", "{\"id\":" + userId + ",\"first_name\":\"Гусь\",\"language_code\":\"ru\",\"is_premium\":true}");
+		return sign(fields, BOT_TOKEN);
+	}
+
+	static String sign(Map<String, String> fields, String botToken) {
+		StringJoiner checkString = new StringJoiner("\n");
+		StringJoiner query = new StringJoiner("&");
+		new TreeMap<>(fields).forEach((name, value) -> {
+			checkString.add(name + "=" + value);
+			query.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+		});
+		byte[] secret = hmac("WebAppData".getBytes(StandardCharsets.UTF_8), botToken.getBytes(StandardCharsets.UTF_8));
+		byte[] hash = hmac(secret, checkString.toString().getBytes(StandardCharsets.UTF_8));
+		return query + "&hash=" + HexFormat.of().formatHex(hash);
+	}
+
+	private static byte[] hmac(byte[] key, byte[] data) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(key, "HmacSHA256"));
+			return mac.doFinal(data);
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package com.tapgame.tap_game.webapp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты проверки {@code initData} {@link InitDataVerifier}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Подписанные данные принимаются, пользователь берется из поля {@code user}</li>
+ *   <li>Измененное поле, чужой токен, испорченный {@code hash} и отсутствие полей отклоняются</li>
+ *   <li>Данные старше допустимого возраста или из будущего отклоняются</li>
+ *   <li>Повторный запрос сессии не вычисляет HMAC, а после истечения сессия не принимается</li>
+ * </ul>
+ */
+class InitDataVerifierTests {
+
+	private static final long NOW = 1_760_000_000_000L;
+	private static final long NOW_SECONDS = TimeUnit.MILLISECONDS.toSeconds(NOW);
+
+	private final InitDataVerifier verifier = new InitDataVerifier(InitDataSigner.BOT_TOKEN, 3600);
+
+	/**
+	 * Подпись клиента Telegram проходит проверку.
+	 */
+	@Test
+	void acceptsSignedInitData() {
+		WebAppSession session = verifier.verify(InitDataSigner.sign(42, NOW_SECONDS - 10), NOW);
+		assertNotNull(session);
+		assertEquals(42, session.getUserId());
+		assertEquals("ru", session.getUser().getLanguageCode());
+		assertEquals(TimeUnit.SECONDS.toMillis(NOW_SECONDS - 10 + 3600), session.getExpiresAtMillis());
+	}
+
+	/**
+	 * Любое расхождение с подписью отклоняется.
+	 */
+	@Test
+	void rejectsTamperedData() {
+		String initData = InitDataSigner.sign(42, NOW_SECONDS);
+		assertNull(verifier.verify(initData.replace("%22id%22%3A42", "%22id%22%3A43"), NOW));
+		char last = initData.charAt(initData.length() - 1);
+		assertNull(verifier.verify(initData.substring(0, initData.length() - 1) + (last == '0' ? '1' : '0'), NOW));
+		assertNull(verifier.verify(initData.replace("hash=", "hash=zz"), NOW));
+		assertNull(verifier.verify(InitDataSigner.sign(Map.of("auth_date", Long.toString(NOW_SECONDS),
+				"user", "{\"id\":42}"), "654321:OTHER"), NOW));
+		assertNull(verifier.verify(InitDataSigner.sign(Map.of("auth_date", Long.toString(NOW_SECONDS)),
+				InitDataSigner.BOT_TOKEN), NOW));
+		assertNull(verifier.verify("auth_date=1&user=%7B%7D", NOW));
+		assertNull(verifier.verify("", NOW));
+		assertEquals(0, verifier.getCachedSessions());
+	}
+
+	/**
+	 * Возраст данных ограничен в обе стороны.
+	 */
+	@Test
+	void rejectsStaleAndFutureAuthDate() {
+		assertNull(verifier.verify(InitDataSigner.sign(42, NOW_SECONDS - 3601), NOW));
+		assertNull(verifier.verify(InitDataSigner.sign(42, NOW_SECONDS + 600), NOW));
+		assertNotNull(verifier.verify(InitDataSigner.sign(42, NOW_SECONDS + 30), NOW));
+	}
+
+	/**
+	 * HMAC вычисляется один раз на сессию; истекшая сессия удаляется из кеша.
+	 */
+	@Test
+	void cachesSessionUntilExpiry() {
+		String initData = InitDataSigner.sign(7, NOW_SECONDS);
+		WebAppSession first = verifier.verify(initData, NOW);
+		for (int i = 0; i < 1000; i++) {
+			assertSame(first, verifier.verify(initData, NOW + i));
+		}
+		assertEquals(1, verifier.getSignatureChecks());
+
+		assertNull(verifier.verify(initData, TimeUnit.SECONDS.toMillis(NOW_SECONDS + 3600)));
+		assertEquals(0, verifier.getCachedSessions());
+	}
+}
@@ -0,0 +1,141 @@
+package com.tapgame.tap_game.webapp;
+
+import com.tapgame.tap_game.engine.CommandPipeline;
+import com.tapgame.tap_game.models.GooseGameState;
+import com.tapgame.tap_game.models.PlayerState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тесты HTTP API Mini App {@link MiniAppServer} поверх настоящего {@link CommandPipeline}.
+ *
+ * <p><strong>Покрываемые сценарии:</strong>
+ * <ul>
+ *   <li>Клики и улучшения проверенного пользователя меняют его {@link GooseGameState}</li>
+ *   <li>Клики одного запроса публикуются одной командой и дают те же монеты, что по одному</li>
+ *   <li>Запросы без {@code initData} или с неверной подписью получают 401 и не доходят до игры</li>
+ *   <li>Неверное количество кликов, неизвестный путь и метод отклоняются</li>
+ *   <li>Повторные запросы сессии не вычисляют подпись заново</li>
+ * </ul>
+ */
+class MiniAppServerTests {
+
+	private final HttpClient client = HttpClient.newHttpClient();
+	private InitDataVerifier verifier;
+	private CommandPipeline pipeline;
+	private MiniAppServer server;
+
+	@BeforeEach
+	void start() throws Exception {
+		verifier = new InitDataVerifier(InitDataSigner.BOT_TOKEN, InitDataVerifier.DEFAULT_MAX_AGE_SECONDS);
+		pipeline = new CommandPipeline(2, 1024, (command, sequence, endOfBatch) -> { });
+		pipeline.start();
+		server = new MiniAppServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), verifier, pipeline, 2);
+		server.start();
+	}
+
+	@AfterEach
+	void stop() {
+		server.close();
+		pipeline.close();
+	}
+
+	/**
+	 * Клики копятся до улучшения силы клика; оба доходят до состояния игрока. Каждый
+	 * запрос занимает одну ячейку буфера, сколько бы кликов в нем ни было.
+	 */
+	@Test
+	void tapsAndUpgradesDriveGooseState() throws Exception {
+		String initData = InitDataSigner.sign(1001, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+		GooseGameState reference = new GooseGameState();
+		int taps = 0;
+		while (reference.getCoins() < reference.getClickPowerUpgradeCost()) {
+			reference.tapGoose();
+			taps++;
+		}
+
+		assertTrue(reference.upgradeClickPower());
+
+		int sent = 0;
+		long sequence = -1;
+		while (sent < taps) {
+			int count = Math.min(MiniAppServer.MAX_TAPS_PER_REQUEST, taps - sent);
+			HttpResponse<String> response = post("/api/tap?count=" + count, initData);
+			assertEquals(202, response.statusCode(), response.body());
+			assertEquals("{\"accepted\":" + count + ",\"sequence\":" + (sequence + 1) + "}", response.body());
+			sequence++;
+			sent += count;
+		}
+		assertEquals(202, post("/api/upgrade/click-power", initData).statusCode());
+
+		awaitTrue(() -> {
+			PlayerState player = pipeline.getPlayers().get(1001);
+			return player != null && player.getGooseGameState().getClickPowerLevel() == 2;
+		});
+		GooseGameState goose = pipeline.getPlayers().get(1001).getGooseGameState();
+		assertEquals(taps, goose.getTotalClicks());
+		assertEquals(reference.getCoins(), goose.getCoins());
+		assertEquals(1, verifier.getSignatureChecks());
+	}
+
+	/**
+	 * Без действительной подписи команды не публикуются.
+	 */
+	@Test
+	void rejectsUnauthenticatedRequests() throws Exception {
+		assertEquals(401, post("/api/tap", null).statusCode());
+		assertEquals(401, post("/api/tap", "auth_date=1&hash=00").statusCode());
+		String expired = InitDataSigner.sign(1002, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis())
+				- InitDataVerifier.DEFAULT_MAX_AGE_SECONDS - 1);
+		assertEquals(401, post("/api/tap", expired).statusCode());
+		assertEquals(0, pipeline.getPlayerCount());
+	}
+
+	/**
+	 * Ошибки запроса не доходят до игры.
+	 */
+	@Test
+	void rejectsMalformedRequests() throws Exception {
+		String initData = InitDataSigner.sign(1003, TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+		assertEquals(400, post("/api/tap?count=0", initData).statusCode());
+		assertEquals(400, post("/api/tap?count=" + (MiniAppServer.MAX_TAPS_PER_REQUEST + 1), initData).statusCode());
+		assertEquals(400, post("/api/tap?count=много", initData).statusCode());
+		assertEquals(404, post("/api/upgrade/everything", initData).statusCode());
+		HttpResponse<String> get = client.send(HttpRequest.newBuilder(uri("/api/tap")).GET().build(),
+				HttpResponse.BodyHandlers.ofString());
+		assertEquals(405, get.statusCode());
+		assertEquals(0, pipeline.getPlayerCount());
+	}
+
+	private HttpResponse<String> post(String path, String initData) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.noBody());
+		if (initData != null) {
+			request.header("Authorization", "tma " + initData);
+		}
+		return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://127.0.0.1:" + server.getPort() + path);
+	}
+
+	private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "Условие не выполнено за 10 секунд");
+			Thread.sleep(5);
+		}
+	}
+}